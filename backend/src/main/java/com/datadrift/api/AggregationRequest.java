@@ -0,0 +1,34 @@
+package com.datadrift.api;
+
+import com.datadrift.domain.AggregationSpec;
+import com.datadrift.domain.ViewDefinition;
+import com.datadrift.domain.ViewMode;
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.validation.constraints.NotNull;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Request body for aggregating a Data View: the view as for a preview, optional {@code conditions}
+ * applied before grouping, and the grouping itself. Set {@code timeBucket.points} to the chart's
+ * width so a time series never carries more points than it can draw.
+ */
+public record AggregationRequest(
+        @NotNull(message = "dataSourceId is required") UUID dataSourceId,
+        @NotNull(message = "mode is required") ViewMode mode,
+        List<String> fields,
+        String sql,
+        JsonNode conditions,
+        List<String> groupBy,
+        List<AggregationSpec.Measure> measures,
+        AggregationSpec.TimeBucket timeBucket,
+        Integer limit) {
+
+    public ViewDefinition toDefinition() {
+        return new ViewDefinition(dataSourceId, mode, fields, sql);
+    }
+
+    public AggregationSpec toSpec() {
+        return new AggregationSpec(groupBy, measures, timeBucket, limit);
+    }
+}
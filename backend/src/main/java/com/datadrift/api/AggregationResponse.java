@@ -0,0 +1,10 @@
+package com.datadrift.api;
+
+import java.util.List;
+
+/**
+ * Aggregated Data View as returned by the API, column-major: {@code data[i]} holds the values of
+ * {@code columns[i]}, one per group, so each column can be handed to a chart as a series.
+ */
+public record AggregationResponse(
+        List<String> columns, List<List<Object>> data, int rows, boolean truncated) {}
@@ -0,0 +1,81 @@
+package com.datadrift.api;
+
+import com.datadrift.execution.ConditionCompiler;
+import com.datadrift.service.AggregationResult;
+import com.datadrift.service.DashboardService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/** REST API for dashboards: evaluates all tiles of a dashboard in one request. */
+@RestController
+@RequestMapping("/api/dashboard")
+public class DashboardController {
+
+    private final DashboardService dashboardService;
+    private final ObjectMapper objectMapper;
+
+    public DashboardController(
+            final DashboardService dashboardService, final ObjectMapper objectMapper) {
+        this.dashboardService = dashboardService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Streams one NDJSON line per tile in completion order, not request order; match lines to tiles
+     * by {@code id}. The request is validated up front (400); afterwards a failing tile is reported
+     * on its own line with {@code error}.
+     */
+    @PostMapping(value = "/tiles", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> tiles(
+            @Valid @RequestBody final DashboardRequest request) {
+        final List<DashboardService.Tile> tiles =
+                request.tiles().stream()
+                        .map(
+                                tile ->
+                                        new DashboardService.Tile(
+                                                tile.id(),
+                                                tile.query().toDefinition(),
+                                                ConditionCompiler.parse(tile.query().conditions()),
+                                                tile.query().toSpec()))
+                        .toList();
+        dashboardService.validate(tiles);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(
+                        out ->
+                                dashboardService.evaluate(
+                                        tiles, result -> writeLine(out, toResponse(result))));
+    }
+
+    private void writeLine(final OutputStream out, final DashboardTileResponse line)
+            throws IOException {
+        out.write(objectMapper.writeValueAsBytes(line));
+        out.write('\n');
+        // Flush per tile so the client can render it before the slower views finish.
+        out.flush();
+    }
+
+    private static DashboardTileResponse toResponse(final DashboardService.TileResult tile) {
+        final AggregationResult result = tile.result();
+        if (result == null) {
+            return new DashboardTileResponse(tile.id(), null, null, null, null, tile.error());
+        }
+        return new DashboardTileResponse(
+                tile.id(),
+                result.columns(),
+                result.data(),
+                result.rows(),
+                result.truncated(),
+                null);
+    }
+}
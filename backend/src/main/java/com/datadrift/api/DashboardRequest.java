@@ -0,0 +1,16 @@
+package com.datadrift.api;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import java.util.List;
+
+/**
+ * Request body for evaluating a dashboard: every tile's aggregation at once, so tiles over the same
+ * Data View can share a scan.
+ */
+public record DashboardRequest(@NotNull(message = "tiles is required") List<@Valid Tile> tiles) {
+
+    /** One tile; {@code id} identifies its line in the response. */
+    public record Tile(
+            String id, @NotNull(message = "query is required") @Valid AggregationRequest query) {}
+}
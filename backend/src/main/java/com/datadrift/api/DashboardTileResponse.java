@@ -0,0 +1,17 @@
+package com.datadrift.api;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.List;
+
+/**
+ * One NDJSON line of a dashboard evaluation: the tile's aggregated data as for {@code POST
+ * /api/views/aggregate}, or only {@code error} when the tile could not be computed.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record DashboardTileResponse(
+        String id,
+        List<String> columns,
+        List<List<Object>> data,
+        Integer rows,
+        Boolean truncated,
+        String error) {}
@@ -0,0 +1,9 @@
+package com.datadrift.api;
+
+import com.datadrift.domain.DataSourceType;
+import java.time.Instant;
+import java.util.UUID;
+
+/** Data source as listed by the API; config is only returned by {@code GET /{id}}. */
+public record DataSourceSummaryResponse(
+        UUID id, String name, DataSourceType type, Instant createdAt, Instant updatedAt) {}
@@ -0,0 +1,21 @@
+package com.datadrift.api;
+
+import com.datadrift.service.ConnectionTestResult;
+import java.util.UUID;
+
+/**
+ * One entry of POST /api/data-sources/test-all, also pushed on {@code /api/events}: probe outcome
+ * for a stored data source.
+ */
+public record DataSourceTestResultResponse(
+        UUID id, String name, boolean success, String message, long latencyMs) {
+
+    static DataSourceTestResultResponse from(final ConnectionTestResult result) {
+        return new DataSourceTestResultResponse(
+                result.dataSourceId(),
+                result.name(),
+                result.success(),
+                result.message(),
+                result.latencyMillis());
+    }
+}
@@ -1,11 +1,21 @@
 package com.datadrift.api;
 
 import com.datadrift.domain.DataSource;
+import com.datadrift.domain.DataSourceType;
+import com.datadrift.repository.DataSourceSummary;
+import com.datadrift.service.ConnectionTestResult;
+import com.datadrift.service.ConnectionTestService;
+import com.datadrift.service.DataSourceBulkService;
+import com.datadrift.service.DataSourcePage;
 import com.datadrift.service.DataSourceService;
+import com.datadrift.service.DriftService;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.UUID;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -14,20 +24,34 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 /**
- * REST API for data sources (configuration only, no execution). Sensitive config values are
- * encrypted at rest and masked on read.
+ * REST API for data sources: configuration CRUD, connectivity tests and drift detection. Sensitive
+ * config values are encrypted at rest and masked on read.
  */
 @RestController
 @RequestMapping("/api/data-sources")
 public class DataSourcesController {
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final DataSourceService dataSourceService;
+    private final DataSourceBulkService bulkService;
+    private final ConnectionTestService connectionTestService;
+    private final DriftService driftService;
 
-    public DataSourcesController(final DataSourceService dataSourceService) {
+    public DataSourcesController(
+            final DataSourceService dataSourceService,
+            final DataSourceBulkService bulkService,
+            final ConnectionTestService connectionTestService,
+            final DriftService driftService) {
         this.dataSourceService = dataSourceService;
+        this.bulkService = bulkService;
+        this.connectionTestService = connectionTestService;
+        this.driftService = driftService;
     }
 
     @PostMapping
@@ -38,11 +62,44 @@ public class DataSourcesController {
         return ResponseEntity.status(HttpStatus.CREATED).body(toResponse(created));
     }
 
+    /**
+     * Creates data sources from an NDJSON body, one {@code {"name","type","config"}} per line. All
+     * lines are validated before anything is written; with {@code upsert=true} existing names are
+     * updated instead of rejected.
+     */
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<DataSourceBulkService.BulkImportResult> importAll(
+            final InputStream body, @RequestParam(defaultValue = "false") final boolean upsert)
+            throws IOException {
+        return ResponseEntity.ok(bulkService.importAll(bulkService.parse(body), upsert));
+    }
+
+    /** Streams every data source as NDJSON with secrets still encrypted. */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportAll() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(bulkService::exportAll);
+    }
+
+    /**
+     * One page of data sources ordered by name, without config. When more rows exist the cursor for
+     * the next page is returned in the {@value #NEXT_CURSOR_HEADER} header.
+     */
     @GetMapping
-    public ResponseEntity<List<DataSourceResponse>> list() {
-        final List<DataSourceResponse> list =
-                dataSourceService.findAll().stream().map(this::toResponse).toList();
-        return ResponseEntity.ok(list);
+    public ResponseEntity<List<DataSourceSummaryResponse>> list(
+            @RequestParam(required = false) final DataSourceType type,
+            @RequestParam(required = false) final String namePrefix,
+            @RequestParam(required = false) final String cursor,
+            @RequestParam(required = false) final Integer limit) {
+        final DataSourcePage page = dataSourceService.findPage(type, namePrefix, cursor, limit);
+        final List<DataSourceSummaryResponse> list =
+                page.items().stream().map(this::toSummaryResponse).toList();
+        final ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(list);
     }
 
     @GetMapping("/{id}")
@@ -69,14 +126,47 @@ public class DataSourcesController {
     @PostMapping("/test")
     public ResponseEntity<TestConnectionResponse> testConnection(
             @Valid @RequestBody final CreateDataSourceRequest request) {
-        dataSourceService.validateConfigForTest(request.config());
-        return ResponseEntity.ok(new TestConnectionResponse(true, "Connection validated."));
+        final ConnectionTestResult result =
+                connectionTestService.test(request.type(), request.config());
+        return ResponseEntity.ok(toTestResponse(result));
     }
 
     @PostMapping("/{id}/test")
     public ResponseEntity<TestConnectionResponse> testConnectionById(@PathVariable final UUID id) {
-        dataSourceService.validateConfigForTestById(id);
-        return ResponseEntity.ok(new TestConnectionResponse(true, "Connection validated."));
+        return ResponseEntity.ok(toTestResponse(connectionTestService.testById(id)));
+    }
+
+    /**
+     * Reports rows inserted, deleted and changed since the previous drift run with the same key
+     * columns, then records the current state. The first run records a baseline.
+     */
+    @PostMapping("/{id}/drift")
+    public ResponseEntity<DriftResponse> drift(
+            @PathVariable final UUID id, @Valid @RequestBody final DriftRequest request) {
+        return ResponseEntity.ok(DriftResponse.from(driftService.detect(id, request.keyColumns())));
+    }
+
+    @PostMapping("/test-all")
+    public ResponseEntity<List<DataSourceTestResultResponse>> testAll() {
+        final List<DataSourceTestResultResponse> results =
+                connectionTestService.testAll().stream()
+                        .map(DataSourceTestResultResponse::from)
+                        .toList();
+        return ResponseEntity.ok(results);
+    }
+
+    private TestConnectionResponse toTestResponse(final ConnectionTestResult result) {
+        return new TestConnectionResponse(
+                result.success(), result.message(), result.latencyMillis());
+    }
+
+    private DataSourceSummaryResponse toSummaryResponse(final DataSourceSummary summary) {
+        return new DataSourceSummaryResponse(
+                summary.id(),
+                summary.name(),
+                summary.type(),
+                summary.createdAt(),
+                summary.updatedAt());
     }
 
     private DataSourceResponse toResponse(final DataSource entity) {
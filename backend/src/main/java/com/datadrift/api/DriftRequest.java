@@ -0,0 +1,7 @@
+package com.datadrift.api;
+
+import jakarta.validation.constraints.NotEmpty;
+import java.util.List;
+
+/** Request body for POST /api/data-sources/{id}/drift: the columns that identify a row. */
+public record DriftRequest(@NotEmpty(message = "keyColumns is required") List<String> keyColumns) {}
@@ -0,0 +1,28 @@
+package com.datadrift.api;
+
+import com.datadrift.service.DriftReport;
+import java.util.List;
+
+/** Drift since the previous run: exact counts plus sampled key values per kind of change. */
+public record DriftResponse(
+        List<String> keyColumns,
+        boolean baseline,
+        long inserted,
+        long deleted,
+        long changed,
+        List<List<String>> insertedKeys,
+        List<List<String>> deletedKeys,
+        List<List<String>> changedKeys) {
+
+    static DriftResponse from(final DriftReport report) {
+        return new DriftResponse(
+                report.keyColumns(),
+                report.baseline(),
+                report.inserted(),
+                report.deleted(),
+                report.changed(),
+                report.insertedKeys(),
+                report.deletedKeys(),
+                report.changedKeys());
+    }
+}
@@ -0,0 +1,28 @@
+package com.datadrift.api;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Server-Sent Events stream of live updates, so open pages react to executions and connection tests
+ * instead of polling: {@code execution-started}, {@code execution-finished} (an execution log
+ * entry) and {@code connection-tested} (a test-all entry).
+ */
+@RestController
+@RequestMapping("/api/events")
+public class EventsController {
+
+    private final LiveEventBroadcaster broadcaster;
+
+    public EventsController(final LiveEventBroadcaster broadcaster) {
+        this.broadcaster = broadcaster;
+    }
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe() {
+        return broadcaster.subscribe();
+    }
+}
@@ -0,0 +1,6 @@
+package com.datadrift.api;
+
+import java.util.List;
+
+/** A page of execution log entries; pass {@code nextCursor} back as {@code cursor} for more. */
+public record ExecutionPageResponse(List<ExecutionResponse> items, String nextCursor) {}
@@ -0,0 +1,37 @@
+package com.datadrift.api;
+
+import com.datadrift.domain.ExecutionRecord;
+import com.datadrift.domain.ExecutionStatus;
+import com.datadrift.domain.ExecutionTrigger;
+import java.time.Instant;
+import java.util.UUID;
+
+/** One execution log entry as returned by the API. */
+public record ExecutionResponse(
+        UUID id,
+        UUID ruleId,
+        String ruleName,
+        UUID dataSourceId,
+        ExecutionTrigger trigger,
+        ExecutionStatus status,
+        Instant startedAt,
+        Instant finishedAt,
+        long durationMs,
+        long rowsScanned,
+        String message) {
+
+    static ExecutionResponse from(final ExecutionRecord record) {
+        return new ExecutionResponse(
+                record.id(),
+                record.ruleId(),
+                record.ruleName(),
+                record.dataSourceId(),
+                record.trigger(),
+                record.status(),
+                record.startedAt(),
+                record.finishedAt(),
+                record.durationMillis(),
+                record.rowsScanned(),
+                record.message());
+    }
+}
@@ -1,18 +1,43 @@
 package com.datadrift.api;
 
-import java.util.Map;
+import com.datadrift.domain.ExecutionStatus;
+import com.datadrift.service.ExecutionLogService;
+import com.datadrift.service.ExecutionPage;
+import java.time.Instant;
+import java.util.UUID;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
-/** Placeholder for future implementation. */
+/**
+ * REST API for the execution (audit) log. Newest first; optional filters by rule, status and
+ * started-at range ({@code from} inclusive, {@code to} exclusive, ISO-8601 instants).
+ */
 @RestController
 @RequestMapping("/api/executions")
 public class ExecutionsController {
 
+    private final ExecutionLogService executionLogService;
+
+    public ExecutionsController(final ExecutionLogService executionLogService) {
+        this.executionLogService = executionLogService;
+    }
+
     @GetMapping
-    public ResponseEntity<Map<String, String>> list() {
-        return ResponseEntity.ok(Map.of("message", "Not implemented yet"));
+    public ResponseEntity<ExecutionPageResponse> list(
+            @RequestParam(required = false) final UUID ruleId,
+            @RequestParam(required = false) final ExecutionStatus status,
+            @RequestParam(required = false) final Instant from,
+            @RequestParam(required = false) final Instant to,
+            @RequestParam(required = false) final String cursor,
+            @RequestParam(required = false) final Integer limit) {
+        final ExecutionPage page =
+                executionLogService.find(ruleId, status, from, to, cursor, limit);
+        return ResponseEntity.ok(
+                new ExecutionPageResponse(
+                        page.items().stream().map(ExecutionResponse::from).toList(),
+                        page.nextCursor()));
     }
 }
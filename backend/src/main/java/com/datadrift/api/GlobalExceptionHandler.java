@@ -1,14 +1,23 @@
 package com.datadrift.api;
 
+import com.datadrift.connector.SourceReadException;
+import com.datadrift.execution.WebhookIngress;
+import com.datadrift.service.AutomationRuleService;
+import com.datadrift.service.DataSourceBulkService;
 import com.datadrift.service.DataSourceService;
+import com.datadrift.service.ReportService;
+import com.datadrift.service.ViewQueryService;
 import java.util.Map;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 /**
  * Translates exceptions into HTTP responses. Never exposes stack traces or internal errors to API
@@ -27,11 +36,63 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", ex.getMessage()));
     }
 
+    @ExceptionHandler(AutomationRuleService.RuleNotFoundException.class)
+    public ResponseEntity<Map<String, String>> handleRuleNotFound(
+            final AutomationRuleService.RuleNotFoundException ex) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", ex.getMessage()));
+    }
+
+    @ExceptionHandler(ReportService.ReportNotFoundException.class)
+    public ResponseEntity<Map<String, String>> handleReportNotFound(
+            final ReportService.ReportNotFoundException ex) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", ex.getMessage()));
+    }
+
+    /** E.g. deleting a data source that automation rules still reference. */
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<Map<String, String>> handleConflict(
+            final DataIntegrityViolationException ex) {
+        LOG.warn("Data integrity violation: {}", ex.getMostSpecificCause().getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(Map.of("error", "The resource is still referenced by other resources"));
+    }
+
+    /** Lists every rejected line so a whole import can be fixed in one pass. */
+    @ExceptionHandler(DataSourceBulkService.BulkImportException.class)
+    public ResponseEntity<Map<String, Object>> handleBulkImport(
+            final DataSourceBulkService.BulkImportException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(Map.of("error", ex.getMessage(), "details", ex.getErrors()));
+    }
+
+    /** The webhook buffer is full or the ingress is stopping; the caller should retry. */
+    @ExceptionHandler(WebhookIngress.WebhookRejectedException.class)
+    public ResponseEntity<Map<String, String>> handleWebhookRejected(
+            final WebhookIngress.WebhookRejectedException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(Map.of("error", ex.getMessage()));
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<Map<String, String>> handleBadRequest(final IllegalArgumentException ex) {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("error", ex.getMessage()));
     }
 
+    @ExceptionHandler(SourceReadException.class)
+    public ResponseEntity<Map<String, String>> handleSourceRead(final SourceReadException ex) {
+        LOG.warn("Data source read failed: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY)
+                .body(Map.of("error", ex.getMessage()));
+    }
+
+    @ExceptionHandler(ViewQueryService.ViewQueryException.class)
+    public ResponseEntity<Map<String, String>> handleViewQuery(
+            final ViewQueryService.ViewQueryException ex) {
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY)
+                .body(Map.of("error", ex.getMessage()));
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<Map<String, String>> handleValidation(
             final MethodArgumentNotValidException ex) {
@@ -43,6 +104,13 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("error", message));
     }
 
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<Map<String, String>> handleTypeMismatch(
+            final MethodArgumentTypeMismatchException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(Map.of("error", ex.getName() + " is invalid"));
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Map<String, String>> handleException(final Exception ex) {
         LOG.error("Unhandled exception", ex);
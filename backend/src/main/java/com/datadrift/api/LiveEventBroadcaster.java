@@ -0,0 +1,178 @@
+package com.datadrift.api;
+
+import com.datadrift.execution.ExecutionFinishedEvent;
+import com.datadrift.execution.ExecutionStartedEvent;
+import com.datadrift.service.ConnectionTestedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Fans execution and connection test events out to every open {@code /api/events} stream. Each
+ * client has a bounded queue drained by its own virtual thread, so publishing never blocks on a
+ * slow client: when a queue is full its oldest event is dropped (counted as {@code
+ * datadrift.events.dropped}) and the client catches up from the next one. A comment line is sent
+ * every heartbeat interval so dead connections are noticed and proxies keep the stream open.
+ */
+@Component
+public class LiveEventBroadcaster implements DisposableBean {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LiveEventBroadcaster.class);
+
+    private final Set<Client> clients = ConcurrentHashMap.newKeySet();
+    private final AtomicLong sequence = new AtomicLong();
+    private final int queueSize;
+    private final Counter dropped;
+    private final ScheduledExecutorService heartbeat;
+
+    public LiveEventBroadcaster(
+            final MeterRegistry registry,
+            @Value("${datadrift.events.queue-size:256}") final int queueSize,
+            @Value("${datadrift.events.heartbeat:15s}") final Duration heartbeatInterval) {
+        if (queueSize < 1 || heartbeatInterval.isNegative() || heartbeatInterval.isZero()) {
+            throw new IllegalArgumentException(
+                    "datadrift.events.queue-size and heartbeat must be positive");
+        }
+        this.queueSize = queueSize;
+        this.dropped =
+                Counter.builder("datadrift.events.dropped")
+                        .description("Events dropped because a client's queue was full")
+                        .register(registry);
+        Gauge.builder("datadrift.events.clients", clients, Set::size)
+                .description("Open live event streams")
+                .register(registry);
+        this.heartbeat =
+                Executors.newSingleThreadScheduledExecutor(
+                        Thread.ofPlatform().name("events-heartbeat").daemon().factory());
+        heartbeat.scheduleAtFixedRate(
+                () -> broadcast(Event.HEARTBEAT),
+                heartbeatInterval.toMillis(),
+                heartbeatInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    /** Opens a stream that receives every event published from now on until the client leaves. */
+    public SseEmitter subscribe() {
+        // No timeout: the stream lives until the client disconnects or a send fails.
+        final SseEmitter emitter = new SseEmitter(0L);
+        final Client client = new Client(emitter);
+        emitter.onCompletion(client::close);
+        emitter.onTimeout(client::close);
+        emitter.onError(error -> client.close());
+        clients.add(client);
+        client.start();
+        return emitter;
+    }
+
+    @EventListener
+    public void onExecutionStarted(final ExecutionStartedEvent event) {
+        broadcast(
+                "execution-started",
+                Map.of(
+                        "ruleId", event.ruleId(),
+                        "trigger", event.trigger(),
+                        "startedAt", event.startedAt()));
+    }
+
+    @EventListener
+    public void onExecutionFinished(final ExecutionFinishedEvent event) {
+        broadcast("execution-finished", ExecutionResponse.from(event.record()));
+    }
+
+    @EventListener
+    public void onConnectionTested(final ConnectionTestedEvent event) {
+        broadcast("connection-tested", DataSourceTestResultResponse.from(event.result()));
+    }
+
+    @Override
+    public void destroy() {
+        heartbeat.shutdownNow();
+        clients.forEach(client -> client.emitter.complete());
+    }
+
+    private void broadcast(final String name, final Object data) {
+        broadcast(new Event(sequence.incrementAndGet(), name, data));
+    }
+
+    private void broadcast(final Event event) {
+        for (final Client client : clients) {
+            client.offer(event);
+        }
+    }
+
+    /** One SSE message; {@link #HEARTBEAT} is sent as a comment. */
+    private record Event(long id, String name, Object data) {
+
+        static final Event HEARTBEAT = new Event(0, null, null);
+    }
+
+    /** An open stream with its queue and sender thread. */
+    private final class Client {
+
+        private final SseEmitter emitter;
+        private final LinkedBlockingDeque<Event> queue = new LinkedBlockingDeque<>(queueSize);
+        private volatile Thread sender;
+
+        Client(final SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void start() {
+            sender = Thread.ofVirtual().name("events-client").start(this::send);
+        }
+
+        /** Enqueues the event, evicting the oldest ones while the queue is full. */
+        synchronized void offer(final Event event) {
+            while (!queue.offerLast(event)) {
+                queue.pollFirst();
+                dropped.increment();
+            }
+        }
+
+        void close() {
+            if (clients.remove(this) && sender != null) {
+                sender.interrupt();
+            }
+        }
+
+        private void send() {
+            try {
+                while (!Thread.currentThread().isInterrupted()) {
+                    final Event event = queue.takeFirst();
+                    if (event == Event.HEARTBEAT) {
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                    } else {
+                        emitter.send(
+                                SseEmitter.event()
+                                        .id(Long.toString(event.id()))
+                                        .name(event.name())
+                                        .data(event.data()));
+                    }
+                }
+            } catch (final IOException e) {
+                LOG.debug("Live event client disconnected: {}", e.getMessage());
+                clients.remove(this);
+                emitter.completeWithError(e);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.datadrift.api;
+
+import com.datadrift.domain.ReportFormat;
+import com.datadrift.domain.ViewDefinition;
+import com.datadrift.domain.ViewMode;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Request body for generating a report: a Data View definition (as for previews) plus the output
+ * {@code format} and whether to gzip the file.
+ */
+public record ReportRequest(
+        @NotBlank(message = "name is required") String name,
+        @NotNull(message = "dataSourceId is required") UUID dataSourceId,
+        @NotNull(message = "mode is required") ViewMode mode,
+        List<String> fields,
+        String sql,
+        @NotNull(message = "format is required") ReportFormat format,
+        boolean gzip) {
+
+    public ViewDefinition toDefinition() {
+        return new ViewDefinition(dataSourceId, mode, fields, sql);
+    }
+}
@@ -0,0 +1,17 @@
+package com.datadrift.api;
+
+import com.datadrift.domain.ReportFormat;
+import java.time.Instant;
+import java.util.UUID;
+
+/** Report metadata as returned by the API; the file is at {@code /api/reports/{id}/download}. */
+public record ReportResponse(
+        UUID id,
+        String name,
+        UUID ruleId,
+        UUID dataSourceId,
+        ReportFormat format,
+        boolean compressed,
+        long rowCount,
+        long sizeBytes,
+        Instant createdAt) {}
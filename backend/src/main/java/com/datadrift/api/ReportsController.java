@@ -0,0 +1,95 @@
+package com.datadrift.api;
+
+import com.datadrift.domain.Report;
+import com.datadrift.service.ReportService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import java.io.IOException;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST API for reports. {@code POST} streams a Data View into a report file and returns its
+ * metadata once written; downloads support byte ranges (see {@link FileDownload}).
+ */
+@RestController
+@RequestMapping("/api/reports")
+public class ReportsController {
+
+    private final ReportService reportService;
+
+    public ReportsController(final ReportService reportService) {
+        this.reportService = reportService;
+    }
+
+    @PostMapping
+    public ResponseEntity<ReportResponse> create(@Valid @RequestBody final ReportRequest request) {
+        final Report report =
+                reportService.generate(
+                        request.name(),
+                        request.toDefinition(),
+                        request.format(),
+                        request.gzip(),
+                        null);
+        return ResponseEntity.status(HttpStatus.CREATED).body(toResponse(report));
+    }
+
+    @GetMapping
+    public ResponseEntity<List<ReportResponse>> list() {
+        return ResponseEntity.ok(reportService.findAll().stream().map(this::toResponse).toList());
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ReportResponse> getById(@PathVariable final UUID id) {
+        return ResponseEntity.ok(toResponse(reportService.getById(id)));
+    }
+
+    @GetMapping("/{id}/download")
+    public void download(
+            @PathVariable final UUID id,
+            final HttpServletRequest request,
+            final HttpServletResponse response)
+            throws IOException {
+        final Report report = reportService.getById(id);
+        FileDownload.send(
+                request,
+                response,
+                reportService.file(report),
+                report.contentType(),
+                downloadName(report));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteById(@PathVariable final UUID id) {
+        reportService.deleteById(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    private static String downloadName(final Report report) {
+        final String base = report.getName().replaceAll("[^\\w.-]+", "_");
+        return base + "." + report.getFormat().extension() + (report.isCompressed() ? ".gz" : "");
+    }
+
+    private ReportResponse toResponse(final Report report) {
+        return new ReportResponse(
+                report.getId(),
+                report.getName(),
+                report.getRuleId(),
+                report.getDataSourceId(),
+                report.getFormat(),
+                report.isCompressed(),
+                report.getRowCount(),
+                report.getSizeBytes(),
+                report.getCreatedAt());
+    }
+}
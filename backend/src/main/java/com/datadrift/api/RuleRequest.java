@@ -0,0 +1,17 @@
+package com.datadrift.api;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import java.util.UUID;
+
+/**
+ * Request body for creating or updating an automation rule. Trigger and definition are versioned
+ * JSON documents; see {@link com.datadrift.service.AutomationRuleService} for their shape.
+ */
+public record RuleRequest(
+        @NotBlank(message = "name is required") String name,
+        boolean enabled,
+        @NotNull(message = "dataSourceId is required") UUID dataSourceId,
+        @NotBlank(message = "trigger is required and must be a JSON object") String trigger,
+        @NotBlank(message = "definition is required and must be a JSON object")
+                String definition) {}
@@ -0,0 +1,16 @@
+package com.datadrift.api;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/** Automation rule as returned by the API. */
+public record RuleResponse(
+        UUID id,
+        String name,
+        boolean enabled,
+        UUID dataSourceId,
+        String trigger,
+        String definition,
+        int version,
+        Instant createdAt,
+        Instant updatedAt) {}
@@ -1,18 +1,98 @@
 package com.datadrift.api;
 
+import com.datadrift.domain.AutomationRule;
+import com.datadrift.execution.RuleScheduler;
+import com.datadrift.service.AutomationRuleService;
+import jakarta.validation.Valid;
+import java.util.List;
 import java.util.Map;
+import java.util.UUID;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-/** Placeholder for future implementation. */
+/**
+ * REST API for automation rules. Saved rules are picked up by the {@link RuleScheduler} without a
+ * restart; {@code POST /{id}/run} dispatches a rule immediately.
+ */
 @RestController
 @RequestMapping("/api/rules")
 public class RulesController {
 
+    private final AutomationRuleService ruleService;
+    private final RuleScheduler ruleScheduler;
+
+    public RulesController(
+            final AutomationRuleService ruleService, final RuleScheduler ruleScheduler) {
+        this.ruleService = ruleService;
+        this.ruleScheduler = ruleScheduler;
+    }
+
+    @PostMapping
+    public ResponseEntity<RuleResponse> create(@Valid @RequestBody final RuleRequest request) {
+        final AutomationRule created =
+                ruleService.create(
+                        request.name(),
+                        request.enabled(),
+                        request.dataSourceId(),
+                        request.trigger(),
+                        request.definition());
+        return ResponseEntity.status(HttpStatus.CREATED).body(toResponse(created));
+    }
+
     @GetMapping
-    public ResponseEntity<Map<String, String>> list() {
-        return ResponseEntity.ok(Map.of("message", "Not implemented yet"));
+    public ResponseEntity<List<RuleResponse>> list() {
+        return ResponseEntity.ok(ruleService.findAll().stream().map(this::toResponse).toList());
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<RuleResponse> getById(@PathVariable final UUID id) {
+        return ResponseEntity.ok(toResponse(ruleService.getById(id)));
+    }
+
+    @PutMapping("/{id}")
+    public ResponseEntity<RuleResponse> update(
+            @PathVariable final UUID id, @Valid @RequestBody final RuleRequest request) {
+        final AutomationRule updated =
+                ruleService.update(
+                        id,
+                        request.name(),
+                        request.enabled(),
+                        request.dataSourceId(),
+                        request.trigger(),
+                        request.definition());
+        return ResponseEntity.ok(toResponse(updated));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteById(@PathVariable final UUID id) {
+        ruleService.deleteById(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/{id}/run")
+    public ResponseEntity<Map<String, Boolean>> run(@PathVariable final UUID id) {
+        final boolean dispatched = ruleScheduler.runNow(id);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(Map.of("dispatched", dispatched));
+    }
+
+    private RuleResponse toResponse(final AutomationRule rule) {
+        return new RuleResponse(
+                rule.getId(),
+                rule.getName(),
+                rule.isEnabled(),
+                rule.getDataSourceId(),
+                rule.getTriggerConfig(),
+                rule.getDefinition(),
+                rule.getVersion(),
+                rule.getCreatedAt(),
+                rule.getUpdatedAt());
     }
 }
@@ -1,4 +1,4 @@
 package com.datadrift.api;
 
-/** Response for POST /api/data-sources/test. MVP validates config only; no real connectivity. */
-public record TestConnectionResponse(boolean success, String message) {}
+/** Response for POST /api/data-sources/test and /{id}/test: probe outcome and its latency. */
+public record TestConnectionResponse(boolean success, String message, long latencyMs) {}
@@ -0,0 +1,10 @@
+package com.datadrift.api;
+
+import java.util.List;
+
+/**
+ * Query plan of a preview: the SQL sent to DuckDB with its parameters, the conditions pushed into
+ * it and the residual conditions evaluated in the JVM (null when none).
+ */
+public record ViewPlanResponse(
+        String sql, List<Object> parameters, String pushed, String residual) {}
@@ -0,0 +1,26 @@
+package com.datadrift.api;
+
+import com.datadrift.domain.ViewDefinition;
+import com.datadrift.domain.ViewMode;
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.validation.constraints.NotNull;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Request body for previewing a Data View. Basic mode uses {@code fields}; Advanced mode uses
+ * {@code sql}, which refers to the data source as table {@code source}. Optional {@code conditions}
+ * (automation condition JSON) filter the rows; the response's plan shows what was pushed down.
+ */
+public record ViewPreviewRequest(
+        @NotNull(message = "dataSourceId is required") UUID dataSourceId,
+        @NotNull(message = "mode is required") ViewMode mode,
+        List<String> fields,
+        String sql,
+        JsonNode conditions,
+        Integer limit) {
+
+    public ViewDefinition toDefinition() {
+        return new ViewDefinition(dataSourceId, mode, fields, sql);
+    }
+}
@@ -0,0 +1,10 @@
+package com.datadrift.api;
+
+import java.util.List;
+
+/**
+ * Data View result as returned by the API: column names plus row values in column order, and the
+ * executed query plan.
+ */
+public record ViewResultResponse(
+        List<String> columns, List<List<Object>> rows, boolean truncated, ViewPlanResponse plan) {}
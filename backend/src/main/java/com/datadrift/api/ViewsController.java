@@ -1,18 +1,71 @@
 package com.datadrift.api;
 
+import com.datadrift.execution.ConditionCompiler;
+import com.datadrift.service.AggregationResult;
+import com.datadrift.service.ViewPlan;
+import com.datadrift.service.ViewQueryService;
+import com.datadrift.service.ViewResult;
+import jakarta.validation.Valid;
 import java.util.Map;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-/** Placeholder for future implementation. */
+/**
+ * REST API for Data Views. Listing is a placeholder; preview runs a definition on DuckDB and
+ * aggregate groups it there for dashboard visualisations.
+ */
 @RestController
 @RequestMapping("/api/views")
 public class ViewsController {
 
+    private final ViewQueryService viewQueryService;
+
+    public ViewsController(final ViewQueryService viewQueryService) {
+        this.viewQueryService = viewQueryService;
+    }
+
     @GetMapping
     public ResponseEntity<Map<String, String>> list() {
         return ResponseEntity.ok(Map.of("message", "Not implemented yet"));
     }
+
+    @PostMapping("/preview")
+    public ResponseEntity<ViewResultResponse> preview(
+            @Valid @RequestBody final ViewPreviewRequest request) {
+        final ViewResult result =
+                viewQueryService.preview(
+                        request.toDefinition(),
+                        ConditionCompiler.parse(request.conditions()),
+                        request.limit());
+        final ViewPlan plan = result.plan();
+        return ResponseEntity.ok(
+                new ViewResultResponse(
+                        result.columns(),
+                        result.rows(),
+                        result.truncated(),
+                        plan == null
+                                ? null
+                                : new ViewPlanResponse(
+                                        plan.sql(),
+                                        plan.parameters(),
+                                        plan.pushed(),
+                                        plan.residual())));
+    }
+
+    @PostMapping("/aggregate")
+    public ResponseEntity<AggregationResponse> aggregate(
+            @Valid @RequestBody final AggregationRequest request) {
+        final AggregationResult result =
+                viewQueryService.aggregate(
+                        request.toDefinition(),
+                        ConditionCompiler.parse(request.conditions()),
+                        request.toSpec());
+        return ResponseEntity.ok(
+                new AggregationResponse(
+                        result.columns(), result.data(), result.rows(), result.truncated()));
+    }
 }
@@ -0,0 +1,33 @@
+package com.datadrift.api;
+
+import com.datadrift.execution.WebhookIngress;
+import java.util.Map;
+import java.util.UUID;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Webhook ingress for rules with a WEBHOOK trigger. A call is accepted (202) once journaled; the
+ * rule runs shortly after, together with any other calls in its coalescing window. Any body is
+ * ignored. 503 with {@code Retry-After} when the buffer is full.
+ */
+@RestController
+@RequestMapping("/api/webhooks")
+public class WebhooksController {
+
+    private final WebhookIngress webhookIngress;
+
+    public WebhooksController(final WebhookIngress webhookIngress) {
+        this.webhookIngress = webhookIngress;
+    }
+
+    @PostMapping("/{ruleId}")
+    public ResponseEntity<Map<String, Long>> receive(@PathVariable final UUID ruleId) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(Map.of("sequence", webhookIngress.accept(ruleId)));
+    }
+}
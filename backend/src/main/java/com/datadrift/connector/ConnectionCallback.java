@@ -0,0 +1,10 @@
+package com.datadrift.connector;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/** Work to run on a borrowed JDBC connection; the connection is returned to its pool afterwards. */
+@FunctionalInterface
+public interface ConnectionCallback<T> {
+    T apply(final Connection connection) throws SQLException;
+}
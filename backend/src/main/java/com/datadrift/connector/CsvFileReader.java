@@ -0,0 +1,135 @@
+package com.datadrift.connector;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Streams rows from a CSV file by memory-mapping it in fixed-size windows and parsing the mapped
+ * bytes in place. Field values are only decoded when a consumer asks for them and a single row
+ * instance is reused, so heap use stays flat regardless of file size. Supports RFC 4180 quoting and
+ * any ASCII-compatible encoding (UTF-8, ISO-8859-1, windows-1252, ...).
+ */
+public class CsvFileReader {
+
+    static final int DEFAULT_WINDOW_BYTES = 64 * 1024 * 1024;
+
+    private static final String ASCII_PROBE = "\",;|\t\r\n";
+    private static final byte[] UTF8_BOM = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+
+    private final Path path;
+    private final Charset charset;
+    private final byte delimiter;
+    private final boolean header;
+    private final int windowBytes;
+
+    public CsvFileReader(
+            final Path path, final Charset charset, final char delimiter, final boolean header) {
+        this(path, charset, delimiter, header, DEFAULT_WINDOW_BYTES);
+    }
+
+    CsvFileReader(
+            final Path path,
+            final Charset charset,
+            final char delimiter,
+            final boolean header,
+            final int windowBytes) {
+        if (!Arrays.equals(
+                ASCII_PROBE.getBytes(charset), ASCII_PROBE.getBytes(StandardCharsets.US_ASCII))) {
+            throw new IllegalArgumentException(
+                    "Unsupported CSV encoding (must be ASCII-compatible): " + charset.name());
+        }
+        if (delimiter > 0x7F || delimiter == '"' || delimiter == '\r' || delimiter == '\n') {
+            throw new IllegalArgumentException("Unsupported CSV delimiter: " + delimiter);
+        }
+        this.path = path;
+        this.charset = charset;
+        this.delimiter = (byte) delimiter;
+        this.header = header;
+        this.windowBytes = windowBytes;
+    }
+
+    /**
+     * Reads the file and passes each data row to the handler. The header row (if enabled) is
+     * reported through {@link RowHandler#onStart}; otherwise columns are named column0..n-1, as in
+     * DuckDB.
+     *
+     * @return number of data rows passed to the handler
+     */
+    public long read(final RowHandler handler) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final long fileSize = channel.size();
+            final CsvRow row = new CsvRow(charset, delimiter);
+            boolean started = false;
+            long rows = 0;
+            long windowStart = 0;
+            while (windowStart < fileSize) {
+                final int length = (int) Math.min(windowBytes, fileSize - windowStart);
+                final boolean lastWindow = windowStart + length == fileSize;
+                final MappedByteBuffer buffer =
+                        channel.map(FileChannel.MapMode.READ_ONLY, windowStart, length);
+                int pos = windowStart == 0 ? bomLength(buffer) : 0;
+                while (pos < length) {
+                    final int next = row.parse(buffer, pos, length, lastWindow);
+                    if (next < 0) {
+                        break;
+                    }
+                    pos = next;
+                    if (row.isBlankLine()) {
+                        continue;
+                    }
+                    if (!started) {
+                        started = true;
+                        if (header) {
+                            handler.onStart(row.toHeader());
+                            continue;
+                        }
+                        handler.onStart(generatedColumns(row.size()));
+                    }
+                    rows++;
+                    if (!handler.onRow(row)) {
+                        return rows;
+                    }
+                }
+                if (pos == 0 && !lastWindow) {
+                    throw new SourceReadException(
+                            "CSV row exceeds maximum size of " + windowBytes + " bytes: " + path);
+                }
+                windowStart += pos;
+            }
+            if (!started) {
+                handler.onStart(List.of());
+            }
+            return rows;
+        } catch (final IOException e) {
+            throw new SourceReadException("Failed to read CSV file: " + path, e);
+        }
+    }
+
+    private int bomLength(final MappedByteBuffer buffer) {
+        if (!StandardCharsets.UTF_8.equals(charset) || buffer.limit() < UTF8_BOM.length) {
+            return 0;
+        }
+        for (int i = 0; i < UTF8_BOM.length; i++) {
+            if (buffer.get(i) != UTF8_BOM[i]) {
+                return 0;
+            }
+        }
+        return UTF8_BOM.length;
+    }
+
+    private static List<String> generatedColumns(final int count) {
+        final List<String> columns = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            columns.add("column" + i);
+        }
+        return columns;
+    }
+}
@@ -0,0 +1,218 @@
+package com.datadrift.connector;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Reusable row view over a mapped CSV window. Stores only field offsets; values are decoded on
+ * access. Only valid until the next call to {@link #parse}.
+ */
+final class CsvRow implements SourceRow {
+
+    private static final byte QUOTE = '"';
+    private static final byte LF = '\n';
+    private static final byte CR = '\r';
+    private static final byte PLAIN = 0;
+    private static final byte QUOTED = 1;
+    private static final byte QUOTED_WITH_ESCAPES = 2;
+    private static final int INITIAL_FIELDS = 16;
+    private static final int MAX_FAST_LONG_DIGITS = 18;
+
+    private final Charset charset;
+    private final byte delimiter;
+    private ByteBuffer buffer;
+    private int count;
+    private int[] starts = new int[INITIAL_FIELDS];
+    private int[] ends = new int[INITIAL_FIELDS];
+    private byte[] kinds = new byte[INITIAL_FIELDS];
+    private byte[] scratch = new byte[256];
+
+    CsvRow(final Charset charset, final byte delimiter) {
+        this.charset = charset;
+        this.delimiter = delimiter;
+    }
+
+    /**
+     * Parses one row starting at {@code start}.
+     *
+     * @return offset of the next row, or -1 if the row continues past {@code limit} and more data
+     *     is available in the file
+     */
+    int parse(final ByteBuffer buf, final int start, final int limit, final boolean lastWindow) {
+        buffer = buf;
+        count = 0;
+        int pos = start;
+        while (true) {
+            ensureCapacity(count + 1);
+            if (pos < limit && buf.get(pos) == QUOTE) {
+                int p = pos + 1;
+                boolean hasEscapes = false;
+                while (true) {
+                    if (p >= limit) {
+                        if (lastWindow) {
+                            throw new SourceReadException("Unterminated quoted CSV field");
+                        }
+                        return -1;
+                    }
+                    if (buf.get(p) == QUOTE) {
+                        if (p + 1 >= limit && !lastWindow) {
+                            return -1;
+                        }
+                        if (p + 1 < limit && buf.get(p + 1) == QUOTE) {
+                            hasEscapes = true;
+                            p += 2;
+                            continue;
+                        }
+                        break;
+                    }
+                    p++;
+                }
+                setField(pos + 1, p, hasEscapes ? QUOTED_WITH_ESCAPES : QUOTED);
+                pos = p + 1;
+            } else {
+                int p = pos;
+                while (p < limit) {
+                    final byte b = buf.get(p);
+                    if (b == delimiter || b == LF || b == CR) {
+                        break;
+                    }
+                    p++;
+                }
+                setField(pos, p, PLAIN);
+                pos = p;
+            }
+            if (pos >= limit) {
+                return lastWindow ? pos : -1;
+            }
+            final byte b = buf.get(pos);
+            if (b == delimiter) {
+                pos++;
+            } else if (b == LF) {
+                return pos + 1;
+            } else if (b == CR) {
+                if (pos + 1 < limit) {
+                    return buf.get(pos + 1) == LF ? pos + 2 : pos + 1;
+                }
+                return lastWindow ? pos + 1 : -1;
+            } else {
+                throw new SourceReadException("Unexpected character after quoted CSV field");
+            }
+        }
+    }
+
+    /** True if the last parsed line contained no characters at all. */
+    boolean isBlankLine() {
+        return count == 1 && starts[0] == ends[0] && kinds[0] == PLAIN;
+    }
+
+    /**
+     * Column names from the current row, named as DuckDB names them: trimmed, blank names become
+     * {@code column<i>}, and a name already taken (ignoring case) gets a {@code _1}, {@code _2},
+     * ... suffix.
+     */
+    List<String> toHeader() {
+        final List<String> names = new ArrayList<>(count);
+        final Set<String> taken = new HashSet<>();
+        for (int i = 0; i < count; i++) {
+            final String value = getString(i);
+            final String name = value == null || value.isBlank() ? "column" + i : value.trim();
+            String unique = name;
+            for (int suffix = 1; !taken.add(unique.toLowerCase(Locale.ROOT)); suffix++) {
+                unique = name + "_" + suffix;
+            }
+            names.add(unique);
+        }
+        return names;
+    }
+
+    @Override
+    public int size() {
+        return count;
+    }
+
+    @Override
+    public boolean isNull(final int index) {
+        return index < 0 || index >= count || starts[index] == ends[index];
+    }
+
+    @Override
+    public String getString(final int index) {
+        if (isNull(index)) {
+            return null;
+        }
+        final int length = ends[index] - starts[index];
+        if (scratch.length < length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+        buffer.get(starts[index], scratch, 0, length);
+        final String value = new String(scratch, 0, length, charset);
+        return kinds[index] == QUOTED_WITH_ESCAPES ? value.replace("\"\"", "\"") : value;
+    }
+
+    @Override
+    public long getLong(final int index) {
+        if (isNull(index)) {
+            throw new NumberFormatException("Field " + index + " is empty");
+        }
+        int pos = starts[index];
+        final int end = ends[index];
+        final boolean negative = buffer.get(pos) == '-';
+        if (negative || buffer.get(pos) == '+') {
+            pos++;
+        }
+        if (pos == end || end - pos > MAX_FAST_LONG_DIGITS) {
+            return Long.parseLong(getString(index).trim());
+        }
+        long value = 0;
+        for (int p = pos; p < end; p++) {
+            final int digit = buffer.get(p) - '0';
+            if (digit < 0 || digit > 9) {
+                return Long.parseLong(getString(index).trim());
+            }
+            value = value * 10 + digit;
+        }
+        return negative ? -value : value;
+    }
+
+    @Override
+    public double getDouble(final int index) {
+        if (isNull(index)) {
+            throw new NumberFormatException("Field " + index + " is empty");
+        }
+        final int start = starts[index];
+        final int end = ends[index];
+        for (int p = start; p < end; p++) {
+            final byte b = buffer.get(p);
+            if ((b < '0' || b > '9') && b != '-' && b != '+') {
+                return Double.parseDouble(getString(index).trim());
+            }
+        }
+        // Integers too long for a long are still valid doubles.
+        if (end - start > MAX_FAST_LONG_DIGITS) {
+            return Double.parseDouble(getString(index).trim());
+        }
+        return getLong(index);
+    }
+
+    private void setField(final int start, final int end, final byte kind) {
+        starts[count] = start;
+        ends[count] = end;
+        kinds[count] = kind;
+        count++;
+    }
+
+    private void ensureCapacity(final int required) {
+        if (required > starts.length) {
+            final int size = starts.length * 2;
+            starts = Arrays.copyOf(starts, size);
+            ends = Arrays.copyOf(ends, size);
+            kinds = Arrays.copyOf(kinds, size);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.datadrift.connector;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.nio.charset.Charset;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.StandardCharsets;
+import java.nio.charset.UnsupportedCharsetException;
+import java.nio.file.Path;
+
+/**
+ * Typed view of a CSV data source config: {@code path} (required), {@code encoding} (default
+ * UTF-8), {@code delimiter} (default ",") and {@code header} (default true).
+ */
+public record CsvSourceConfig(Path path, Charset charset, char delimiter, boolean header) {
+
+    public static CsvSourceConfig from(final JsonNode config) {
+        final String path = config.path("path").asText("");
+        if (path.isBlank()) {
+            throw new IllegalArgumentException("CSV data source requires a local file path");
+        }
+        final String delimiter = config.path("delimiter").asText(",");
+        if (delimiter.length() != 1) {
+            throw new IllegalArgumentException("CSV delimiter must be a single character");
+        }
+        return new CsvSourceConfig(
+                Path.of(path),
+                charsetOf(config),
+                delimiter.charAt(0),
+                config.path("header").asBoolean(true));
+    }
+
+    /** Resolves the {@code encoding} config key; defaults to UTF-8. Shared by file readers. */
+    static Charset charsetOf(final JsonNode config) {
+        final String encoding = config.path("encoding").asText("");
+        if (encoding.isBlank()) {
+            return StandardCharsets.UTF_8;
+        }
+        try {
+            return Charset.forName(encoding.trim());
+        } catch (final IllegalCharsetNameException | UnsupportedCharsetException e) {
+            throw new IllegalArgumentException("Unsupported encoding: " + encoding);
+        }
+    }
+
+    public CsvFileReader newReader() {
+        return new CsvFileReader(path, charset, delimiter, header);
+    }
+}
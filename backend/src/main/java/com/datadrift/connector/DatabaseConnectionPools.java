@@ -0,0 +1,150 @@
+package com.datadrift.connector;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * One bounded, read-only connection pool per DATABASE data source, created on first use and kept
+ * until the data source changes. Idle connections are retired after the idle timeout, so rarely
+ * used sources hold no connections.
+ *
+ * <p>Each pool remembers the updatedAt of the data source it was built from, and a caller holding a
+ * newer version replaces it. A pool therefore never outlives its settings, even if an eviction
+ * raced with a read of the old row.
+ */
+@Component
+public class DatabaseConnectionPools implements DisposableBean {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DatabaseConnectionPools.class);
+
+    private final Map<UUID, VersionedPool> pools = new ConcurrentHashMap<>();
+    private final int maxPoolSize;
+    private final Duration connectionTimeout;
+    private final Duration idleTimeout;
+
+    public DatabaseConnectionPools(
+            @Value("${datadrift.connectors.database.max-pool-size:4}") final int maxPoolSize,
+            @Value("${datadrift.connectors.database.connection-timeout:10s}")
+                    final Duration connectionTimeout,
+            @Value("${datadrift.connectors.database.idle-timeout:10m}")
+                    final Duration idleTimeout) {
+        this.maxPoolSize = maxPoolSize;
+        this.connectionTimeout = connectionTimeout;
+        this.idleTimeout = idleTimeout;
+    }
+
+    /**
+     * Borrows a connection from the data source's pool and runs the callback. The pool is created
+     * with the supplied settings if it does not exist yet or was built from an older {@code
+     * version} of the data source.
+     */
+    public <T> T withConnection(
+            final UUID dataSourceId,
+            final Instant version,
+            final Supplier<DatabaseSourceConfig> config,
+            final ConnectionCallback<T> callback)
+            throws SQLException {
+        final Instant current = Objects.requireNonNullElse(version, Instant.EPOCH);
+        final HikariDataSource[] replaced = new HikariDataSource[1];
+        final VersionedPool entry =
+                pools.compute(
+                        dataSourceId,
+                        (id, existing) -> {
+                            if (existing != null && !current.isAfter(existing.version())) {
+                                return existing;
+                            }
+                            replaced[0] = existing == null ? null : existing.pool();
+                            return new VersionedPool(current, create(id, config));
+                        });
+        if (replaced[0] != null) {
+            replaced[0].close();
+            LOG.info("Replaced connection pool for data source {}", dataSourceId);
+        }
+        try (Connection connection = entry.pool().getConnection()) {
+            return callback.apply(connection);
+        }
+    }
+
+    /** Closes and forgets the pool of a data source; the next use builds a new one. */
+    public void evict(final UUID dataSourceId) {
+        final VersionedPool entry = pools.remove(dataSourceId);
+        if (entry != null) {
+            entry.pool().close();
+            LOG.info("Closed connection pool for data source {}", dataSourceId);
+        }
+    }
+
+    public boolean hasPool(final UUID dataSourceId) {
+        return pools.containsKey(dataSourceId);
+    }
+
+    /** Connection counts of every open pool, by data source id. */
+    public Map<UUID, PoolStats> stats() {
+        final Map<UUID, PoolStats> stats = new HashMap<>();
+        pools.forEach(
+                (id, entry) -> {
+                    final HikariPoolMXBean bean = entry.pool().getHikariPoolMXBean();
+                    if (bean != null) {
+                        stats.put(
+                                id,
+                                new PoolStats(
+                                        bean.getActiveConnections(),
+                                        bean.getIdleConnections(),
+                                        bean.getThreadsAwaitingConnection()));
+                    }
+                });
+        return stats;
+    }
+
+    /** Point-in-time connection counts of one pool. */
+    public record PoolStats(int active, int idle, int waiting) {}
+
+    /** A pool and the updatedAt of the data source it was built from. */
+    private record VersionedPool(Instant version, HikariDataSource pool) {}
+
+    @Override
+    public void destroy() {
+        pools.keySet().forEach(this::evict);
+    }
+
+    private HikariDataSource create(
+            final UUID dataSourceId, final Supplier<DatabaseSourceConfig> supplier) {
+        final DatabaseSourceConfig config = supplier.get();
+        try {
+            DriverManager.getDriver(config.jdbcUrl());
+        } catch (final SQLException e) {
+            throw new SourceReadException("No JDBC driver available for " + config.jdbcUrl(), e);
+        }
+        final HikariConfig hikari = new HikariConfig();
+        hikari.setPoolName("ds-" + dataSourceId);
+        hikari.setJdbcUrl(config.jdbcUrl());
+        hikari.setUsername(config.username());
+        hikari.setPassword(config.password());
+        hikari.setReadOnly(true);
+        hikari.setMaximumPoolSize(maxPoolSize);
+        hikari.setMinimumIdle(0);
+        hikari.setConnectionTimeout(connectionTimeout.toMillis());
+        hikari.setIdleTimeout(idleTimeout.toMillis());
+        hikari.setInitializationFailTimeout(-1);
+        final HikariDataSource pool = new HikariDataSource(hikari);
+        LOG.info("Created connection pool for data source {}", dataSourceId);
+        return pool;
+    }
+}
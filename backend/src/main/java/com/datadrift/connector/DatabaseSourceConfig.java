@@ -0,0 +1,95 @@
+package com.datadrift.connector;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Properties;
+
+/**
+ * Connection settings of a DATABASE data source, built from its decrypted config: {@code dbType}
+ * (postgresql by default, mysql, sqlserver, oracle, or h2 for an embedded local database), {@code
+ * host}, {@code port}, {@code database}, {@code username} and {@code password}.
+ */
+public record DatabaseSourceConfig(String jdbcUrl, String username, String password) {
+
+    public static DatabaseSourceConfig from(final JsonNode config) {
+        final String dbType = config.path("dbType").asText("postgresql").toLowerCase(Locale.ROOT);
+        final String host = config.path("host").asText("");
+        final String database = config.path("database").asText("");
+        if (database.isBlank()) {
+            throw new IllegalArgumentException("DATABASE data source requires a database name");
+        }
+        if (host.isBlank() && !"h2".equals(dbType)) {
+            throw new IllegalArgumentException("DATABASE data source requires a host");
+        }
+        return new DatabaseSourceConfig(
+                jdbcUrl(dbType, host, database, config),
+                config.path("username").asText(""),
+                config.path("password").asText(""));
+    }
+
+    /**
+     * Driver properties for a one-off connection: the credentials plus the driver's own login,
+     * connect and socket timeouts, so neither the handshake nor a silent server can hold the
+     * connection longer than {@code timeout}. Drivers take seconds or milliseconds, by name.
+     */
+    public Properties connectionProperties(final Duration timeout) {
+        final Properties properties = new Properties();
+        properties.setProperty("user", username);
+        properties.setProperty("password", password);
+        final String seconds = Long.toString(Math.max(1, (timeout.toMillis() + 999) / 1000));
+        final String millis = Long.toString(Math.max(1, timeout.toMillis()));
+        if (jdbcUrl.startsWith("jdbc:postgresql:")) {
+            properties.setProperty("loginTimeout", seconds);
+            properties.setProperty("connectTimeout", seconds);
+            properties.setProperty("socketTimeout", seconds);
+        } else if (jdbcUrl.startsWith("jdbc:mysql:")) {
+            properties.setProperty("connectTimeout", millis);
+            properties.setProperty("socketTimeout", millis);
+        } else if (jdbcUrl.startsWith("jdbc:sqlserver:")) {
+            properties.setProperty("loginTimeout", seconds);
+            properties.setProperty("socketTimeout", millis);
+        } else if (jdbcUrl.startsWith("jdbc:oracle:")) {
+            properties.setProperty("oracle.net.CONNECT_TIMEOUT", millis);
+            properties.setProperty("oracle.jdbc.ReadTimeout", millis);
+        }
+        return properties;
+    }
+
+    private static String jdbcUrl(
+            final String dbType, final String host, final String database, final JsonNode config) {
+        return switch (dbType) {
+            case "postgresql", "postgres" -> "jdbc:postgresql://"
+                    + host
+                    + ":"
+                    + port(config, 5432)
+                    + "/"
+                    + database;
+            case "mysql" -> "jdbc:mysql://" + host + ":" + port(config, 3306) + "/" + database;
+            case "sqlserver" -> "jdbc:sqlserver://"
+                    + host
+                    + ":"
+                    + port(config, 1433)
+                    + ";databaseName="
+                    + database;
+            case "oracle" -> "jdbc:oracle:thin:@//"
+                    + host
+                    + ":"
+                    + port(config, 1521)
+                    + "/"
+                    + database;
+            case "h2" -> "jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1";
+            default -> throw new IllegalArgumentException("Unsupported dbType: " + dbType);
+        };
+    }
+
+    private static int port(final JsonNode config, final int defaultPort) {
+        return config.path("port").asInt(defaultPort);
+    }
+
+    /** Never print credentials. */
+    @Override
+    public String toString() {
+        return "DatabaseSourceConfig[jdbcUrl=" + jdbcUrl + ", username=" + username + "]";
+    }
+}
@@ -0,0 +1,150 @@
+package com.datadrift.connector;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import org.duckdb.DuckDBConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded pool of connections to a single in-memory DuckDB instance. All pooled connections are
+ * duplicates of one root connection, so tables registered through one are visible to all, while
+ * temporary views stay connection-local. Also enforces the query timeout by cancelling statements
+ * that run too long.
+ *
+ * <p>The instance never installs or loads extensions on demand (so e.g. {@code https://} paths do
+ * not pull in httpfs), and its configuration is locked once set so no query can change it. Which
+ * files a view may read is enforced when its SQL is validated (see {@code ViewQueryService}).
+ */
+@Component
+public class DuckDbConnectionPool implements DisposableBean {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DuckDbConnectionPool.class);
+    private static final String IN_MEMORY_URL = "jdbc:duckdb:";
+
+    private final DuckDBConnection root;
+    private final BlockingQueue<Connection> idle;
+    private final List<Connection> all;
+    private final Duration acquireTimeout;
+    private final Duration queryTimeout;
+    private final ScheduledExecutorService watchdog;
+
+    public DuckDbConnectionPool(
+            @Value("${datadrift.duckdb.pool-size:4}") final int poolSize,
+            @Value("${datadrift.duckdb.acquire-timeout:10s}") final Duration acquireTimeout,
+            @Value("${datadrift.duckdb.query-timeout:30s}") final Duration queryTimeout,
+            @Value("${datadrift.duckdb.memory-limit:1GB}") final String memoryLimit)
+            throws SQLException {
+        if (poolSize < 1) {
+            throw new IllegalArgumentException("datadrift.duckdb.pool-size must be at least 1");
+        }
+        this.root = DriverManager.getConnection(IN_MEMORY_URL).unwrap(DuckDBConnection.class);
+        try (Statement statement = root.createStatement()) {
+            statement.execute("SET memory_limit = '" + memoryLimit.replace("'", "''") + "'");
+            statement.execute("SET autoinstall_known_extensions = false");
+            statement.execute("SET autoload_known_extensions = false");
+            statement.execute("SET lock_configuration = true");
+        }
+        this.idle = new ArrayBlockingQueue<>(poolSize);
+        this.all = new ArrayList<>(poolSize);
+        for (int i = 0; i < poolSize; i++) {
+            final Connection connection = root.duplicate();
+            all.add(connection);
+            idle.add(connection);
+        }
+        this.acquireTimeout = acquireTimeout;
+        this.queryTimeout = queryTimeout;
+        this.watchdog =
+                Executors.newSingleThreadScheduledExecutor(
+                        Thread.ofPlatform().name("duckdb-watchdog").daemon().factory());
+        LOG.info("DuckDB in-memory pool started with {} connections", poolSize);
+    }
+
+    /**
+     * Borrows a connection, runs the callback and returns the connection to the pool. Waits up to
+     * the acquire timeout when all connections are busy.
+     */
+    public <T> T withConnection(final ConnectionCallback<T> callback) throws SQLException {
+        final Connection connection = acquire();
+        try {
+            return callback.apply(connection);
+        } finally {
+            idle.add(connection);
+        }
+    }
+
+    /**
+     * Schedules cancellation of the statement once the query timeout elapses. Cancel the returned
+     * future when the statement completes; {@link ScheduledFuture#isDone()} on an uncancelled
+     * future means the statement was interrupted by the timeout.
+     */
+    public ScheduledFuture<?> cancelOnTimeout(final Statement statement) {
+        return cancelOnTimeout(statement, queryTimeout);
+    }
+
+    /** As {@link #cancelOnTimeout(Statement)}, for callers with their own time budget. */
+    public ScheduledFuture<?> cancelOnTimeout(final Statement statement, final Duration timeout) {
+        return watchdog.schedule(
+                () -> {
+                    try {
+                        statement.cancel();
+                    } catch (final SQLException e) {
+                        LOG.debug("Could not cancel DuckDB statement: {}", e.getMessage());
+                    }
+                },
+                timeout.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    public Duration getQueryTimeout() {
+        return queryTimeout;
+    }
+
+    public int getPoolSize() {
+        return all.size();
+    }
+
+    /** Connections not currently borrowed. */
+    public int idleCount() {
+        return idle.size();
+    }
+
+    @Override
+    public void destroy() throws SQLException {
+        watchdog.shutdownNow();
+        for (final Connection connection : all) {
+            connection.close();
+        }
+        root.close();
+    }
+
+    private Connection acquire() throws SQLException {
+        try {
+            final Connection connection =
+                    idle.poll(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            if (connection == null) {
+                throw new SQLTransientConnectionException(
+                        "No DuckDB connection available within " + acquireTimeout);
+            }
+            return connection;
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted waiting for DuckDB connection");
+        }
+    }
+}
@@ -0,0 +1,356 @@
+package com.datadrift.connector;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.StringWriter;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Streams records from a JSON file with Jackson's {@link JsonParser}: no tree is built for the file
+ * or for a record, so heap use stays flat for multi-GB inputs. Accepts a top-level array of
+ * objects, NDJSON (one object per line), or an array nested under {@code recordsPath}.
+ *
+ * <p>With a projection, only the selected dotted paths ({@code customer.name}, optionally prefixed
+ * with {@code $.}) are materialized; every other value is skipped at the token level. Path segments
+ * match keys ignoring case, as DuckDB resolves columns and struct fields. Without one, the
+ * top-level keys of the first record become the columns. Scalars are returned in their JSON text
+ * form and typed by the token they came from; selected objects and arrays are returned as compact
+ * JSON.
+ */
+public class JsonFileReader {
+
+    private static final JsonFactory FACTORY = JsonFactory.builder().build();
+
+    private final Path path;
+    private final Charset charset;
+    private final List<String> recordsPath;
+
+    public JsonFileReader(final Path path, final Charset charset, final List<String> recordsPath) {
+        this.path = path;
+        this.charset = charset;
+        this.recordsPath = List.copyOf(recordsPath);
+    }
+
+    /** Reads every record with the first record's top-level keys as columns. */
+    public long read(final RowHandler handler) {
+        return read(List.of(), handler);
+    }
+
+    /**
+     * Reads every record, materializing only {@code fields} (in that order) when non-empty.
+     *
+     * @return number of rows passed to the handler
+     */
+    public long read(final List<String> fields, final RowHandler handler) {
+        final Projection projection = Projection.of(fields);
+        try (InputStream in = Files.newInputStream(path);
+                JsonParser parser = open(in)) {
+            JsonToken token = parser.nextToken();
+            if (!recordsPath.isEmpty() && token != null) {
+                token = seekRecords(parser, token);
+            }
+            final boolean array = token == JsonToken.START_ARRAY;
+            if (array) {
+                token = parser.nextToken();
+            }
+            final JsonRow row = new JsonRow(projection.columns.size());
+            long rows = 0;
+            boolean started = !projection.discover;
+            if (started) {
+                handler.onStart(List.copyOf(projection.columns));
+            }
+            while (token != null && token != JsonToken.END_ARRAY) {
+                if (token != JsonToken.START_OBJECT) {
+                    throw new SourceReadException(
+                            "JSON records must be objects, found "
+                                    + token.asString()
+                                    + " at "
+                                    + location(parser));
+                }
+                row.clear();
+                readObject(parser, projection.root, projection, row);
+                if (!started) {
+                    projection.discover = false;
+                    row.resize(projection.columns.size());
+                    handler.onStart(List.copyOf(projection.columns));
+                    started = true;
+                }
+                rows++;
+                if (!handler.onRow(row)) {
+                    break;
+                }
+                token = parser.nextToken();
+            }
+            if (!started) {
+                handler.onStart(List.of());
+            }
+            return rows;
+        } catch (final JsonProcessingException e) {
+            throw new SourceReadException(
+                    "Invalid JSON in " + path.getFileName() + ": " + e.getOriginalMessage(), e);
+        } catch (final IOException e) {
+            throw new SourceReadException("Failed to read JSON file " + path.getFileName(), e);
+        }
+    }
+
+    /**
+     * Returns the text of the scalar at {@code path} in a JSON document (e.g. the next-page cursor
+     * of a REST response), or null when it is absent or null. Streams until the value is found.
+     */
+    public static String scalarAt(final Path file, final List<String> path) {
+        try (JsonParser parser = FACTORY.createParser(file.toFile())) {
+            JsonToken token = parser.nextToken();
+            for (final String segment : path) {
+                if (token != JsonToken.START_OBJECT) {
+                    return null;
+                }
+                token = null;
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    final String name = parser.currentName();
+                    final JsonToken value = parser.nextToken();
+                    if (name.equals(segment)) {
+                        token = value;
+                        break;
+                    }
+                    parser.skipChildren();
+                }
+                if (token == null) {
+                    return null;
+                }
+            }
+            return token != null && token.isScalarValue() && token != JsonToken.VALUE_NULL
+                    ? parser.getText()
+                    : null;
+        } catch (final IOException e) {
+            throw new SourceReadException("Failed to read JSON file " + file.getFileName(), e);
+        }
+    }
+
+    /** Splits a dotted path ({@code $.a.b} or {@code a.b}) into its segments. */
+    public static List<String> parsePath(final String path) {
+        String trimmed = path.trim();
+        if (trimmed.startsWith("$")) {
+            trimmed = trimmed.substring(1);
+            if (trimmed.startsWith(".")) {
+                trimmed = trimmed.substring(1);
+            }
+        }
+        final List<String> segments = Arrays.asList(trimmed.split("\\.", -1));
+        if (trimmed.isEmpty() || segments.stream().anyMatch(s -> s.isEmpty() || s.contains("["))) {
+            throw new IllegalArgumentException(
+                    "Unsupported JSON path (use dotted names such as $.a.b): " + path);
+        }
+        return segments;
+    }
+
+    private JsonParser open(final InputStream in) throws IOException {
+        // Jackson detects UTF-8/16/32 from the bytes; other charsets are decoded up front.
+        if (charset.equals(StandardCharsets.UTF_8)) {
+            return FACTORY.createParser(in);
+        }
+        return FACTORY.createParser(new InputStreamReader(in, charset));
+    }
+
+    /** Advances from the root object to the START_ARRAY at {@code recordsPath}. */
+    private JsonToken seekRecords(final JsonParser parser, final JsonToken first)
+            throws IOException {
+        JsonToken token = first;
+        for (final String segment : recordsPath) {
+            if (token != JsonToken.START_OBJECT) {
+                throw new SourceReadException("recordsPath does not match the JSON structure");
+            }
+            boolean found = false;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final String name = parser.currentName();
+                token = parser.nextToken();
+                if (name.equals(segment)) {
+                    found = true;
+                    break;
+                }
+                parser.skipChildren();
+            }
+            if (!found) {
+                throw new SourceReadException("recordsPath not found: " + segment);
+            }
+        }
+        if (token != JsonToken.START_ARRAY) {
+            throw new SourceReadException("recordsPath must point at an array of records");
+        }
+        return token;
+    }
+
+    /** Walks one object; the parser is on its START_OBJECT and ends on the matching END_OBJECT. */
+    private static void readObject(
+            final JsonParser parser,
+            final PathNode node,
+            final Projection projection,
+            final JsonRow row)
+            throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String name = parser.currentName();
+            final JsonToken value = parser.nextToken();
+            PathNode child = node.children.get(name);
+            if (child == null && projection.discover && node == projection.root) {
+                child = projection.addColumn(name);
+                row.resize(projection.columns.size());
+            }
+            if (child == null) {
+                parser.skipChildren();
+            } else if (child.column >= 0) {
+                row.values[child.column] = valueText(parser, value);
+                row.strings[child.column] = value == JsonToken.VALUE_STRING;
+            } else if (value == JsonToken.START_OBJECT) {
+                readObject(parser, child, projection, row);
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    private static String valueText(final JsonParser parser, final JsonToken value)
+            throws IOException {
+        if (value == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (value.isScalarValue()) {
+            return parser.getText();
+        }
+        final StringWriter json = new StringWriter();
+        try (JsonGenerator generator = FACTORY.createGenerator(json)) {
+            generator.copyCurrentStructure(parser);
+        }
+        return json.toString();
+    }
+
+    private static String location(final JsonParser parser) {
+        return "line " + parser.currentLocation().getLineNr();
+    }
+
+    /** Selected paths as a trie; leaves carry the column index. */
+    private static final class Projection {
+        private final PathNode root = new PathNode(-1);
+        private final List<String> columns = new ArrayList<>();
+        private boolean discover;
+
+        static Projection of(final List<String> fields) {
+            final Projection projection = new Projection();
+            projection.discover = fields.isEmpty();
+            for (final String field : fields) {
+                PathNode node = projection.root;
+                final List<String> segments = parsePath(field);
+                for (int i = 0; i < segments.size(); i++) {
+                    final boolean leaf = i == segments.size() - 1;
+                    final int column = leaf ? projection.columns.size() : -1;
+                    node =
+                            node.children.computeIfAbsent(
+                                    segments.get(i), k -> new PathNode(column));
+                }
+                if (node.column != projection.columns.size()) {
+                    throw new IllegalArgumentException(
+                            "JSON field selected twice or nested under another field: " + field);
+                }
+                projection.columns.add(field);
+            }
+            return projection;
+        }
+
+        PathNode addColumn(final String name) {
+            final PathNode node = new PathNode(columns.size());
+            root.children.put(name, node);
+            columns.add(name);
+            return node;
+        }
+    }
+
+    private static final class PathNode {
+        private final int column;
+        private final Map<String, PathNode> children = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+
+        PathNode(final int column) {
+            this.column = column;
+        }
+    }
+
+    /**
+     * Reused for every record; values are the JSON text of each selected field, flagged when they
+     * were JSON strings.
+     */
+    private static final class JsonRow implements SourceRow {
+        private String[] values;
+        private boolean[] strings;
+
+        JsonRow(final int size) {
+            this.values = new String[size];
+            this.strings = new boolean[size];
+        }
+
+        void clear() {
+            Arrays.fill(values, null);
+            Arrays.fill(strings, false);
+        }
+
+        void resize(final int size) {
+            if (values.length < size) {
+                values = Arrays.copyOf(values, size);
+                strings = Arrays.copyOf(strings, size);
+            }
+        }
+
+        @Override
+        public int size() {
+            return values.length;
+        }
+
+        @Override
+        public boolean isNull(final int index) {
+            return index < 0
+                    || index >= values.length
+                    || values[index] == null
+                    || values[index].isEmpty();
+        }
+
+        @Override
+        public String getString(final int index) {
+            return isNull(index) ? null : values[index];
+        }
+
+        @Override
+        public long getLong(final int index) {
+            if (isNull(index)) {
+                throw new NumberFormatException("Field " + index + " is empty");
+            }
+            return Long.parseLong(values[index]);
+        }
+
+        @Override
+        public double getDouble(final int index) {
+            if (isNull(index)) {
+                throw new NumberFormatException("Field " + index + " is empty");
+            }
+            return Double.parseDouble(values[index]);
+        }
+
+        /** JSON strings stay text even when they look like numbers; other scalars are typed. */
+        @Override
+        public Object getValue(final int index) {
+            if (isNull(index)) {
+                return null;
+            }
+            return strings[index] ? values[index] : SourceRow.super.getValue(index);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.datadrift.connector;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Typed view of a JSON data source config: {@code path} (required), {@code encoding} (default
+ * UTF-8) and {@code recordsPath} (optional dotted path, e.g. {@code $.data.items}, to the records
+ * array inside a top-level object). Files may hold a top-level array of records or NDJSON.
+ */
+public record JsonSourceConfig(Path path, Charset charset, List<String> recordsPath) {
+
+    public static JsonSourceConfig from(final JsonNode config) {
+        final String path = config.path("path").asText("");
+        if (path.isBlank()) {
+            throw new IllegalArgumentException("JSON data source requires a local file path");
+        }
+        final String recordsPath = config.path("recordsPath").asText("");
+        return new JsonSourceConfig(
+                Path.of(path),
+                CsvSourceConfig.charsetOf(config),
+                recordsPath.isBlank() ? List.of() : JsonFileReader.parsePath(recordsPath));
+    }
+
+    public JsonFileReader newReader() {
+        return new JsonFileReader(path, charset, recordsPath);
+    }
+}
@@ -0,0 +1,85 @@
+package com.datadrift.connector;
+
+import java.util.List;
+
+/**
+ * Narrows the rows of a reader that cannot project natively (e.g. CSV) to the selected columns, in
+ * the selected order, before passing them on. Fields match columns ignoring case, as in DuckDB.
+ * Values are not copied; the wrapped row is read through an index map.
+ */
+public final class ProjectingRowHandler implements RowHandler {
+
+    private final List<String> fields;
+    private final RowHandler delegate;
+    private final ProjectedRow projected = new ProjectedRow();
+
+    public ProjectingRowHandler(final List<String> fields, final RowHandler delegate) {
+        this.fields = List.copyOf(fields);
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void onStart(final List<String> columns) {
+        final int[] indexes = new int[fields.size()];
+        for (int i = 0; i < indexes.length; i++) {
+            indexes[i] = indexOf(columns, fields.get(i));
+            if (indexes[i] < 0) {
+                throw new SourceReadException("Unknown column: " + fields.get(i));
+            }
+        }
+        projected.indexes = indexes;
+        delegate.onStart(fields);
+    }
+
+    @Override
+    public boolean onRow(final SourceRow row) {
+        projected.row = row;
+        return delegate.onRow(projected);
+    }
+
+    /** Position of the column named {@code field}, ignoring case as DuckDB does; -1 if absent. */
+    private static int indexOf(final List<String> columns, final String field) {
+        for (int i = 0; i < columns.size(); i++) {
+            if (columns.get(i).equalsIgnoreCase(field)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static final class ProjectedRow implements SourceRow {
+        private int[] indexes;
+        private SourceRow row;
+
+        @Override
+        public int size() {
+            return indexes.length;
+        }
+
+        @Override
+        public boolean isNull(final int index) {
+            final int source = indexes[index];
+            return source >= row.size() || row.isNull(source);
+        }
+
+        @Override
+        public String getString(final int index) {
+            return row.getString(indexes[index]);
+        }
+
+        @Override
+        public long getLong(final int index) {
+            return row.getLong(indexes[index]);
+        }
+
+        @Override
+        public double getDouble(final int index) {
+            return row.getDouble(indexes[index]);
+        }
+
+        @Override
+        public Object getValue(final int index) {
+            return isNull(index) ? null : row.getValue(indexes[index]);
+        }
+    }
+}
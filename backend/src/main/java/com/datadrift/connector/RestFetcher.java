@@ -0,0 +1,428 @@
+package com.datadrift.connector;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongConsumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fetches REST data sources page by page and streams the records of each JSON page to a {@link
+ * RowHandler} through {@link JsonFileReader}. Bodies are downloaded to disk rather than held in
+ * memory.
+ *
+ * <p>One shared {@link HttpClient} negotiates HTTP/2, so concurrent page requests to the same host
+ * are multiplexed over a single connection. PAGE pagination keeps up to {@code prefetch} requests
+ * in flight; LINK pagination requests the next page as soon as the current page's headers arrive.
+ * Every request revalidates against {@link RestResponseCache}, so unchanged pages come back as 304
+ * and are read from disk; {@code cache.gets} counts revalidated versus downloaded pages.
+ */
+@Component
+public class RestFetcher implements DisposableBean {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RestFetcher.class);
+    private static final int HTTP_NOT_MODIFIED = 304;
+    private static final int HTTP_ERROR_STATUS = 400;
+    private static final Pattern NEXT_LINK =
+            Pattern.compile("<([^>]*)>[^,]*?;\\s*rel=\"?next\"?", Pattern.CASE_INSENSITIVE);
+
+    private final RestResponseCache cache;
+    private final Duration requestTimeout;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final HttpClient httpClient;
+    private final Counter cacheHits;
+    private final Counter cacheMisses;
+
+    public RestFetcher(
+            final RestResponseCache cache,
+            final MeterRegistry registry,
+            @Value("${datadrift.connectors.rest.request-timeout:30s}")
+                    final Duration requestTimeout,
+            @Value("${datadrift.connectors.rest.connect-timeout:10s}")
+                    final Duration connectTimeout) {
+        this.cache = cache;
+        this.requestTimeout = requestTimeout;
+        this.httpClient =
+                HttpClient.newBuilder()
+                        .version(HttpClient.Version.HTTP_2)
+                        .connectTimeout(connectTimeout)
+                        .followRedirects(HttpClient.Redirect.NORMAL)
+                        .executor(executor)
+                        .build();
+        this.cacheHits = cacheCounter(registry, "hit");
+        this.cacheMisses = cacheCounter(registry, "miss");
+    }
+
+    /**
+     * Streams the records of every page to the handler; only {@code fields} when non-empty,
+     * otherwise the top-level keys of the first record.
+     *
+     * @return number of rows passed to the handler
+     */
+    public long fetch(
+            final RestSourceConfig config, final List<String> fields, final RowHandler handler) {
+        return fetch(config, fields, handler, bytes -> {});
+    }
+
+    /** Like {@link #fetch(RestSourceConfig, List, RowHandler)}, reporting each page's body size. */
+    public long fetch(
+            final RestSourceConfig config,
+            final List<String> fields,
+            final RowHandler handler,
+            final LongConsumer bytesRead) {
+        final PageSink sink = new PageSink(fields, handler, bytesRead);
+        switch (config.pagination().strategy()) {
+            case PAGE -> fetchNumberedPages(config, sink);
+            case CURSOR -> fetchCursorPages(config, sink);
+            default -> fetchLinkedPages(config, sink);
+        }
+        sink.finish();
+        return sink.rows;
+    }
+
+    @Override
+    public void destroy() {
+        httpClient.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    /** NONE and LINK: follow rel="next" links, requesting each page before reading the last. */
+    private void fetchLinkedPages(final RestSourceConfig config, final PageSink sink) {
+        final boolean followLinks = config.pagination().strategy() == RestPagination.Strategy.LINK;
+        CompletableFuture<Page> pending = request(config, config.url());
+        for (int page = 1; pending != null; page++) {
+            final Page current = await(pending);
+            pending =
+                    followLinks && current.next() != null && page < config.pagination().maxPages()
+                            ? request(config, current.next())
+                            : null;
+            if (!read(config, current, sink)) {
+                cancel(pending);
+                return;
+            }
+        }
+    }
+
+    private void fetchCursorPages(final RestSourceConfig config, final PageSink sink) {
+        final RestPagination pagination = config.pagination();
+        URI url = config.url();
+        for (int page = 1; page <= pagination.maxPages(); page++) {
+            final Page current = await(request(config, url));
+            final String cursor;
+            try {
+                cursor = JsonFileReader.scalarAt(current.body(), pagination.cursorPath());
+                if (!read(config, current, sink) || cursor == null || cursor.isBlank()) {
+                    return;
+                }
+            } finally {
+                current.release();
+            }
+            url = withQueryParam(config.url(), pagination.cursorParam(), cursor);
+        }
+    }
+
+    /** Pages are independent, so keep {@code prefetch} requests in flight and read in order. */
+    private void fetchNumberedPages(final RestSourceConfig config, final PageSink sink) {
+        final RestPagination pagination = config.pagination();
+        final Deque<CompletableFuture<Page>> window = new ArrayDeque<>();
+        int nextPage = pagination.startPage();
+        final int lastPage = pagination.startPage() + pagination.maxPages() - 1;
+        try {
+            while (true) {
+                while (window.size() < pagination.prefetch() && nextPage <= lastPage) {
+                    window.add(request(config, pageUrl(config, nextPage++)));
+                }
+                if (window.isEmpty()) {
+                    return;
+                }
+                final Page current = await(window.poll());
+                final long before = sink.rows;
+                if (!read(config, current, sink) || sink.rows == before) {
+                    return;
+                }
+            }
+        } finally {
+            window.forEach(RestFetcher::cancel);
+        }
+    }
+
+    /** Streams one page to the sink and releases it; false when the consumer stopped. */
+    private boolean read(final RestSourceConfig config, final Page page, final PageSink sink) {
+        try {
+            sink.bytesRead.accept(Files.size(page.body()));
+            new JsonFileReader(page.body(), StandardCharsets.UTF_8, config.recordsPath())
+                    .read(sink.fields(), sink);
+            return !sink.stopped;
+        } catch (final IOException e) {
+            throw new SourceReadException("Cannot read REST page: " + e.getMessage(), e);
+        } finally {
+            page.release();
+        }
+    }
+
+    private CompletableFuture<Page> request(final RestSourceConfig config, final URI url) {
+        final String key = RestResponseCache.key(url, config.headers());
+        final RestResponseCache.Entry cached = cache.lookup(key);
+        final HttpRequest.Builder request =
+                HttpRequest.newBuilder(url)
+                        .timeout(requestTimeout)
+                        .header("Accept", "application/json")
+                        .GET();
+        config.headers().forEach(request::header);
+        if (cached != null && cached.etag() != null) {
+            request.header("If-None-Match", cached.etag());
+        }
+        if (cached != null && cached.lastModified() != null) {
+            request.header("If-Modified-Since", cached.lastModified());
+        }
+        final Path download;
+        try {
+            download = cache.newTempFile();
+        } catch (final IOException e) {
+            throw new SourceReadException("Cannot create REST download file", e);
+        }
+        final CompletableFuture<Page> result = new CompletableFuture<>();
+        httpClient
+                .sendAsync(request.build(), HttpResponse.BodyHandlers.ofFile(download))
+                .thenApply(response -> toPage(url, key, cached, download, response))
+                .whenComplete(
+                        (page, error) -> {
+                            // Drops the lookup's pin; a page served from the cache holds its own.
+                            if (cached != null) {
+                                cache.unpin(key);
+                            }
+                            if (error != null) {
+                                deleteQuietly(download);
+                                result.completeExceptionally(error);
+                            } else if (!result.complete(page)) {
+                                // Cancelled while in flight: nobody will read this page.
+                                page.release();
+                            }
+                        });
+        return result;
+    }
+
+    private Page toPage(
+            final URI url,
+            final String key,
+            final RestResponseCache.Entry cached,
+            final Path download,
+            final HttpResponse<Path> response) {
+        final URI next = nextLink(url, response);
+        final int status = response.statusCode();
+        if (status == HTTP_NOT_MODIFIED && cached != null) {
+            cacheHits.increment();
+            deleteQuietly(download);
+            cache.pin(key);
+            return new Page(cached.body(), next, () -> cache.unpin(key));
+        }
+        if (status >= HTTP_ERROR_STATUS || status == HTTP_NOT_MODIFIED) {
+            deleteQuietly(download);
+            throw new SourceReadException(
+                    "REST source responded with HTTP " + status + " for " + url.getPath());
+        }
+        cacheMisses.increment();
+        final String etag = response.headers().firstValue("ETag").orElse(null);
+        final String lastModified = response.headers().firstValue("Last-Modified").orElse(null);
+        if (etag == null && lastModified == null) {
+            return new Page(download, next, () -> deleteQuietly(download));
+        }
+        try {
+            return new Page(
+                    cache.store(key, download, etag, lastModified), next, () -> cache.unpin(key));
+        } catch (final IOException e) {
+            LOG.warn("Could not cache REST response for {}: {}", url.getPath(), e.getMessage());
+            return new Page(download, next, () -> deleteQuietly(download));
+        }
+    }
+
+    private static Page await(final CompletableFuture<Page> future) {
+        try {
+            return future.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancel(future);
+            throw new SourceReadException("Interrupted while fetching REST source", e);
+        } catch (final ExecutionException e) {
+            final Throwable cause =
+                    e.getCause() instanceof CompletionException
+                            ? e.getCause().getCause()
+                            : e.getCause();
+            if (cause instanceof SourceReadException sourceReadException) {
+                throw sourceReadException;
+            }
+            throw new SourceReadException("REST request failed: " + describe(cause), cause);
+        }
+    }
+
+    /** Cancels a request that will not be read and discards its body once it lands. */
+    private static void cancel(final CompletableFuture<Page> future) {
+        if (future == null) {
+            return;
+        }
+        future.cancel(true);
+        future.thenAccept(Page::release)
+                .exceptionally(
+                        error -> {
+                            if (!(error instanceof CancellationException)) {
+                                LOG.debug("Discarded prefetched page: {}", error.getMessage());
+                            }
+                            return null;
+                        });
+    }
+
+    private static URI nextLink(final URI url, final HttpResponse<?> response) {
+        for (final String header : response.headers().allValues("Link")) {
+            final Matcher matcher = NEXT_LINK.matcher(header);
+            if (matcher.find()) {
+                return url.resolve(matcher.group(1).trim());
+            }
+        }
+        return null;
+    }
+
+    private static URI pageUrl(final RestSourceConfig config, final int page) {
+        final RestPagination pagination = config.pagination();
+        URI url = withQueryParam(config.url(), pagination.pageParam(), Integer.toString(page));
+        if (pagination.sizeParam() != null && pagination.pageSize() > 0) {
+            url =
+                    withQueryParam(
+                            url, pagination.sizeParam(), Integer.toString(pagination.pageSize()));
+        }
+        return url;
+    }
+
+    private static Counter cacheCounter(final MeterRegistry registry, final String result) {
+        return Counter.builder("cache.gets")
+                .description("REST pages served from the response cache (hit) or downloaded (miss)")
+                .tags("cache", "rest-responses", "result", result)
+                .register(registry);
+    }
+
+    static URI withQueryParam(final URI url, final String name, final String value) {
+        final String param =
+                URLEncoder.encode(name, StandardCharsets.UTF_8)
+                        + "="
+                        + URLEncoder.encode(value, StandardCharsets.UTF_8);
+        final String raw = url.toString();
+        final int fragment = raw.indexOf('#');
+        final String base = fragment < 0 ? raw : raw.substring(0, fragment);
+        return URI.create(base + (url.getRawQuery() == null ? "?" : "&") + param);
+    }
+
+    private static void deleteQuietly(final Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (final IOException e) {
+            LOG.debug("Could not delete REST download {}: {}", file, e.getMessage());
+        }
+    }
+
+    private static String describe(final Throwable error) {
+        final String message = error.getMessage();
+        return message == null || message.isBlank() ? error.getClass().getSimpleName() : message;
+    }
+
+    /** A downloaded page. Releasing it, once, deletes a temporary body or unpins a cached one. */
+    private static final class Page {
+        private final Path body;
+        private final URI next;
+        private final Runnable cleanup;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        Page(final Path body, final URI next, final Runnable cleanup) {
+            this.body = body;
+            this.next = next;
+            this.cleanup = cleanup;
+        }
+
+        Path body() {
+            return body;
+        }
+
+        URI next() {
+            return next;
+        }
+
+        void release() {
+            if (released.compareAndSet(false, true)) {
+                cleanup.run();
+            }
+        }
+    }
+
+    /**
+     * Joins the pages into one row stream: the handler sees onStart once, and after the first page
+     * the discovered columns become the projection for the rest so every page lines up.
+     */
+    private static final class PageSink implements RowHandler {
+        private final RowHandler delegate;
+        private final LongConsumer bytesRead;
+        private List<String> columns;
+        private boolean started;
+        private boolean stopped;
+        private long rows;
+
+        PageSink(
+                final List<String> fields,
+                final RowHandler delegate,
+                final LongConsumer bytesRead) {
+            this.delegate = delegate;
+            this.bytesRead = bytesRead;
+            this.columns = List.copyOf(fields);
+        }
+
+        List<String> fields() {
+            return columns;
+        }
+
+        @Override
+        public void onStart(final List<String> pageColumns) {
+            if (!started && !pageColumns.isEmpty()) {
+                columns = List.copyOf(pageColumns);
+            }
+        }
+
+        @Override
+        public boolean onRow(final SourceRow row) {
+            if (!started) {
+                delegate.onStart(columns);
+                started = true;
+            }
+            rows++;
+            stopped = !delegate.onRow(row);
+            return !stopped;
+        }
+
+        void finish() {
+            if (!started) {
+                delegate.onStart(columns);
+            }
+        }
+    }
+}
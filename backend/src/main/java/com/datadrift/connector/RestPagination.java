@@ -0,0 +1,77 @@
+package com.datadrift.connector;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * How a REST data source is paged, from the {@code pagination} config object:
+ *
+ * <ul>
+ *   <li>{@code NONE} (default): a single request.
+ *   <li>{@code CURSOR}: the next cursor is read from {@code cursorPath} (dotted path in the body)
+ *       and sent as the {@code cursorParam} query parameter (default "cursor").
+ *   <li>{@code PAGE}: {@code pageParam} (default "page") counts up from {@code startPage} (default
+ *       1), optionally with {@code sizeParam}/{@code pageSize}; stops at the first empty page.
+ *       Pages are independent, so up to {@code prefetch} (default 4) are fetched in parallel.
+ *   <li>{@code LINK}: follows the RFC 8288 {@code Link: <...>; rel="next"} response header.
+ * </ul>
+ *
+ * {@code maxPages} (default 1000) bounds every strategy.
+ */
+public record RestPagination(
+        Strategy strategy,
+        String cursorParam,
+        List<String> cursorPath,
+        String pageParam,
+        int startPage,
+        String sizeParam,
+        int pageSize,
+        int prefetch,
+        int maxPages) {
+
+    public static final RestPagination NONE =
+            new RestPagination(Strategy.NONE, null, List.of(), null, 1, null, 0, 1, 1);
+
+    /** Supported pagination strategies. */
+    public enum Strategy {
+        NONE,
+        CURSOR,
+        PAGE,
+        LINK
+    }
+
+    static RestPagination from(final JsonNode pagination) {
+        if (pagination.isMissingNode() || pagination.isNull()) {
+            return NONE;
+        }
+        final Strategy strategy;
+        try {
+            strategy =
+                    Strategy.valueOf(
+                            pagination.path("type").asText("NONE").trim().toUpperCase(Locale.ROOT));
+        } catch (final IllegalArgumentException e) {
+            throw new IllegalArgumentException(
+                    "pagination.type must be NONE, CURSOR, PAGE or LINK");
+        }
+        final int maxPages = pagination.path("maxPages").asInt(1000);
+        final int prefetch = pagination.path("prefetch").asInt(4);
+        if (maxPages < 1 || prefetch < 1) {
+            throw new IllegalArgumentException("pagination maxPages and prefetch must be positive");
+        }
+        final String cursorPath = pagination.path("cursorPath").asText("");
+        if (strategy == Strategy.CURSOR && cursorPath.isBlank()) {
+            throw new IllegalArgumentException("CURSOR pagination requires cursorPath");
+        }
+        return new RestPagination(
+                strategy,
+                pagination.path("cursorParam").asText("cursor"),
+                cursorPath.isBlank() ? List.of() : JsonFileReader.parsePath(cursorPath),
+                pagination.path("pageParam").asText("page"),
+                pagination.path("startPage").asInt(1),
+                pagination.hasNonNull("sizeParam") ? pagination.get("sizeParam").asText() : null,
+                pagination.path("pageSize").asInt(0),
+                strategy == Strategy.PAGE ? prefetch : 1,
+                strategy == Strategy.NONE ? 1 : maxPages);
+    }
+}
@@ -0,0 +1,228 @@
+package com.datadrift.connector;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Disk cache of REST response bodies with their validators (ETag, Last-Modified), so repeated polls
+ * can revalidate with a conditional request and reuse the body on 304. Entries are keyed by a
+ * SHA-256 of the URL and request headers; credentials never appear in file names. Bodies are
+ * written to a temp file and moved into place atomically. When the cache exceeds its size the least
+ * recently used bodies are deleted, except those pinned: {@link #lookup} and {@link #store} pin the
+ * entry they return until {@link #unpin}, so a body revalidated by a 304 is still there when it is
+ * read.
+ */
+@Component
+public class RestResponseCache {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RestResponseCache.class);
+    private static final String BODY_SUFFIX = ".body";
+    private static final String META_SUFFIX = ".meta";
+    private static final String ETAG = "etag";
+    private static final String LAST_MODIFIED = "lastModified";
+
+    private final Path directory;
+    private final long maxBytes;
+    private final AtomicLong totalBytes = new AtomicLong();
+    private final Map<String, Integer> pins = new ConcurrentHashMap<>();
+
+    public RestResponseCache(
+            @Value("${datadrift.connectors.rest.cache-dir:${java.io.tmpdir}/datadrift-rest-cache}")
+                    final Path directory,
+            @Value("${datadrift.connectors.rest.cache-max-size:256MB}") final DataSize maxSize) {
+        this.directory = directory;
+        this.maxBytes = maxSize.toBytes();
+        try {
+            Files.createDirectories(directory);
+            totalBytes.set(bodies().stream().mapToLong(RestResponseCache::sizeOf).sum());
+        } catch (final IOException e) {
+            throw new IllegalStateException("Cannot create REST cache directory " + directory, e);
+        }
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /** A cached body and the validators to revalidate it with. Either validator may be null. */
+    public record Entry(Path body, String etag, String lastModified) {}
+
+    /** Cache key for a request; covers the header values so different credentials never mix. */
+    public static String key(final URI url, final Map<String, String> headers) {
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(url.toString().getBytes(StandardCharsets.UTF_8));
+            for (final Map.Entry<String, String> header : new TreeMap<>(headers).entrySet()) {
+                digest.update((byte) '\n');
+                digest.update(header.getKey().getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) ':');
+                digest.update(header.getValue().getBytes(StandardCharsets.UTF_8));
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /** Returns the cached entry for the key, pinned, or null. */
+    public Entry lookup(final String key) {
+        pin(key);
+        final Path body = directory.resolve(key + BODY_SUFFIX);
+        final Path meta = directory.resolve(key + META_SUFFIX);
+        if (!Files.isRegularFile(body) || !Files.isRegularFile(meta)) {
+            unpin(key);
+            return null;
+        }
+        final Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(meta)) {
+            properties.load(in);
+            Files.setLastModifiedTime(body, FileTime.from(Instant.now()));
+        } catch (final IOException e) {
+            LOG.debug("Ignoring unreadable REST cache entry {}: {}", key, e.getMessage());
+            unpin(key);
+            return null;
+        }
+        return new Entry(body, properties.getProperty(ETAG), properties.getProperty(LAST_MODIFIED));
+    }
+
+    /**
+     * Keeps the entry's body from being trimmed until {@link #unpin} was called as often. Mutually
+     * exclusive with {@link #trim}, so a body that is still on disk once pinned stays there.
+     */
+    public synchronized void pin(final String key) {
+        pins.merge(key, 1, Integer::sum);
+    }
+
+    /** Releases one pin of the entry. */
+    public void unpin(final String key) {
+        pins.computeIfPresent(key, (k, count) -> count == 1 ? null : count - 1);
+    }
+
+    /** A fresh temp file in the cache directory, so {@link #store} can move it atomically. */
+    public Path newTempFile() throws IOException {
+        return Files.createTempFile(directory, "download-", ".tmp");
+    }
+
+    /**
+     * Moves a downloaded body into the cache with its validators and returns its cached path,
+     * pinned.
+     */
+    public Path store(
+            final String key, final Path download, final String etag, final String lastModified)
+            throws IOException {
+        pin(key);
+        final Path body = directory.resolve(key + BODY_SUFFIX);
+        final long previous = Files.exists(body) ? sizeOf(body) : 0;
+        final long size = sizeOf(download);
+        try {
+            Files.move(
+                    download,
+                    body,
+                    StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+            final Properties properties = new Properties();
+            if (etag != null) {
+                properties.setProperty(ETAG, etag);
+            }
+            if (lastModified != null) {
+                properties.setProperty(LAST_MODIFIED, lastModified);
+            }
+            final Path meta = newTempFile();
+            try (OutputStream out = Files.newOutputStream(meta)) {
+                properties.store(out, null);
+            }
+            Files.move(
+                    meta,
+                    directory.resolve(key + META_SUFFIX),
+                    StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (final IOException e) {
+            unpin(key);
+            throw e;
+        }
+        if (totalBytes.addAndGet(size - previous) > maxBytes) {
+            trim();
+        }
+        return body;
+    }
+
+    /** Deletes least recently used, unpinned entries until the cache is under 90% of its size. */
+    private synchronized void trim() {
+        final List<Path> bodies;
+        try {
+            bodies = bodies();
+        } catch (final IOException e) {
+            LOG.warn("Could not list REST cache directory: {}", e.getMessage());
+            return;
+        }
+        bodies.sort(
+                (a, b) -> {
+                    try {
+                        return Files.getLastModifiedTime(a).compareTo(Files.getLastModifiedTime(b));
+                    } catch (final IOException e) {
+                        return 0;
+                    }
+                });
+        final long target = maxBytes / 10 * 9;
+        for (final Path body : bodies) {
+            if (totalBytes.get() <= target) {
+                return;
+            }
+            final String name = body.getFileName().toString();
+            final String key = name.substring(0, name.length() - BODY_SUFFIX.length());
+            if (pins.containsKey(key)) {
+                continue;
+            }
+            final long size = sizeOf(body);
+            try {
+                Files.deleteIfExists(directory.resolve(key + META_SUFFIX));
+                if (Files.deleteIfExists(body)) {
+                    totalBytes.addAndGet(-size);
+                }
+            } catch (final IOException e) {
+                LOG.debug("Could not evict REST cache entry {}: {}", key, e.getMessage());
+            }
+        }
+    }
+
+    private List<Path> bodies() throws IOException {
+        final List<Path> bodies = new ArrayList<>();
+        try (DirectoryStream<Path> stream =
+                Files.newDirectoryStream(directory, "*" + BODY_SUFFIX)) {
+            stream.forEach(bodies::add);
+        }
+        return bodies;
+    }
+
+    private static long sizeOf(final Path file) {
+        try {
+            return Files.size(file);
+        } catch (final IOException e) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.datadrift.connector;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Typed view of a REST data source config: {@code url} (required) and optional {@code headers}
+ * object. A {@code token} is sent as a bearer Authorization header and an {@code apiKey} as
+ * X-API-Key unless the headers already define them. Responses are JSON; {@code recordsPath} locates
+ * the records array in each page (default: the body is the array) and {@code pagination} is
+ * described by {@link RestPagination}. Expects decrypted config.
+ */
+public record RestSourceConfig(
+        URI url, Map<String, String> headers, List<String> recordsPath, RestPagination pagination) {
+
+    private static final String AUTHORIZATION = "Authorization";
+    private static final String API_KEY_HEADER = "X-API-Key";
+
+    public RestSourceConfig {
+        headers = Map.copyOf(headers);
+        recordsPath = List.copyOf(recordsPath);
+    }
+
+    public static RestSourceConfig from(final JsonNode config) {
+        final String url = config.path("url").asText("");
+        if (url.isBlank()) {
+            throw new IllegalArgumentException("REST data source requires a url");
+        }
+        final URI uri;
+        try {
+            uri = URI.create(url.trim());
+        } catch (final IllegalArgumentException e) {
+            throw new IllegalArgumentException("REST data source url is not a valid URI: " + url);
+        }
+        if (!"http".equalsIgnoreCase(uri.getScheme())
+                && !"https".equalsIgnoreCase(uri.getScheme())) {
+            throw new IllegalArgumentException("REST data source url must be http or https");
+        }
+        final Map<String, String> headers = new LinkedHashMap<>();
+        config.path("headers")
+                .fields()
+                .forEachRemaining(entry -> headers.put(entry.getKey(), entry.getValue().asText()));
+        final String token = config.path("token").asText("");
+        if (!token.isBlank() && !containsIgnoreCase(headers, AUTHORIZATION)) {
+            headers.put(AUTHORIZATION, "Bearer " + token);
+        }
+        final String apiKey = config.path("apiKey").asText("");
+        if (!apiKey.isBlank() && !containsIgnoreCase(headers, API_KEY_HEADER)) {
+            headers.put(API_KEY_HEADER, apiKey);
+        }
+        final String recordsPath = config.path("recordsPath").asText("");
+        return new RestSourceConfig(
+                uri,
+                headers,
+                recordsPath.isBlank() ? List.of() : JsonFileReader.parsePath(recordsPath),
+                RestPagination.from(config.path("pagination")));
+    }
+
+    private static boolean containsIgnoreCase(
+            final Map<String, String> headers, final String name) {
+        return headers.keySet().stream().anyMatch(name::equalsIgnoreCase);
+    }
+
+    /** Never print header values; they usually carry credentials. */
+    @Override
+    public String toString() {
+        return "RestSourceConfig[url=" + url + ", headers=" + headers.keySet() + "]";
+    }
+}
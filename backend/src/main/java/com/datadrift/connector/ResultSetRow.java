@@ -0,0 +1,81 @@
+package com.datadrift.connector;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/** {@link SourceRow} view over the current row of a JDBC result set (0-based indexes). */
+public final class ResultSetRow implements SourceRow {
+
+    private final ResultSet resultSet;
+    private final int columnCount;
+
+    public ResultSetRow(final ResultSet resultSet, final int columnCount) {
+        this.resultSet = resultSet;
+        this.columnCount = columnCount;
+    }
+
+    @Override
+    public int size() {
+        return columnCount;
+    }
+
+    @Override
+    public boolean isNull(final int index) {
+        return getObject(index) == null;
+    }
+
+    @Override
+    public String getString(final int index) {
+        try {
+            return resultSet.getString(index + 1);
+        } catch (final SQLException e) {
+            throw new SourceReadException("Could not read column " + index, e);
+        }
+    }
+
+    @Override
+    public long getLong(final int index) {
+        final Object value = getObject(index);
+        if (value instanceof Number number) {
+            return number.longValue();
+        }
+        if (value == null) {
+            throw new NumberFormatException("Column " + index + " is null");
+        }
+        return Long.parseLong(value.toString().trim());
+    }
+
+    @Override
+    public double getDouble(final int index) {
+        final Object value = getObject(index);
+        if (value instanceof Number number) {
+            return number.doubleValue();
+        }
+        if (value == null) {
+            throw new NumberFormatException("Column " + index + " is null");
+        }
+        return Double.parseDouble(value.toString().trim());
+    }
+
+    /** The JDBC value; numbers, booleans and strings keep their type, others become text. */
+    @Override
+    public Object getValue(final int index) {
+        final Object value = getObject(index);
+        if (value == null
+                || value instanceof Number
+                || value instanceof Boolean
+                || value instanceof String) {
+            return value;
+        }
+        return value.toString();
+    }
+
+    /** Raw JDBC value of the column. */
+    public Object getObject(final int index) {
+        try {
+            return resultSet.getObject(index + 1);
+        } catch (final SQLException e) {
+            throw new SourceReadException("Could not read column " + index, e);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.datadrift.connector;
+
+import java.util.List;
+
+/** Receives rows streamed from a source reader. */
+@FunctionalInterface
+public interface RowHandler {
+
+    /** Called once before the first row with the column names of the source. */
+    default void onStart(final List<String> columns) {
+        // no-op by default
+    }
+
+    /**
+     * Called for each row. The row instance is only valid until this method returns.
+     *
+     * @return true to continue reading, false to stop early
+     */
+    boolean onRow(final SourceRow row);
+}
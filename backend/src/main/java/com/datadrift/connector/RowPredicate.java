@@ -0,0 +1,10 @@
+package com.datadrift.connector;
+
+/** Tests a streamed row; must not keep the row beyond the call (see {@link SourceRow}). */
+@FunctionalInterface
+public interface RowPredicate {
+
+    RowPredicate ALWAYS = row -> true;
+
+    boolean test(final SourceRow row);
+}
@@ -0,0 +1,13 @@
+package com.datadrift.connector;
+
+/** Thrown when a data source cannot be read (missing file, malformed content, I/O failure). */
+public class SourceReadException extends RuntimeException {
+
+    public SourceReadException(final String message) {
+        super(message);
+    }
+
+    public SourceReadException(final String message, final Throwable cause) {
+        super(message, cause);
+    }
+}
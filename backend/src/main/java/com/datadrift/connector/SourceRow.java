@@ -0,0 +1,65 @@
+package com.datadrift.connector;
+
+/**
+ * One row produced by a source reader. Implementations may reuse the same instance for every row,
+ * so consumers must copy values they want to keep before returning from {@link RowHandler#onRow}.
+ */
+public interface SourceRow {
+
+    /** Number of fields in the current row. */
+    int size();
+
+    /** True if the field is absent or empty. */
+    boolean isNull(final int index);
+
+    String getString(final int index);
+
+    /** Parses the field as a long. Throws {@link NumberFormatException} if it is not numeric. */
+    long getLong(final int index);
+
+    /** Parses the field as a double. Throws {@link NumberFormatException} if it is not numeric. */
+    double getDouble(final int index);
+
+    /**
+     * The field as a typed value: integers as {@link Long}, other numbers as {@link Double}, {@code
+     * true}/{@code false} as {@link Boolean} and anything else as its text, so text sources write
+     * the same values as DuckDB infers for them. Null if the field is absent or empty.
+     */
+    default Object getValue(final int index) {
+        return isNull(index) ? null : typed(getString(index));
+    }
+
+    private static Object typed(final String text) {
+        if ("true".equalsIgnoreCase(text) || "false".equalsIgnoreCase(text)) {
+            return Boolean.valueOf(text);
+        }
+        boolean digits = false;
+        boolean integral = true;
+        for (int i = 0; i < text.length(); i++) {
+            final char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits = true;
+            } else if (c == '.' || c == 'e' || c == 'E') {
+                integral = false;
+            } else if (c != '-' && c != '+') {
+                return text;
+            }
+        }
+        if (!digits) {
+            return text;
+        }
+        try {
+            if (integral) {
+                return Long.parseLong(text);
+            }
+            return Double.parseDouble(text);
+        } catch (final NumberFormatException e) {
+            // integers beyond the long range are still numbers
+            try {
+                return Double.parseDouble(text);
+            } catch (final NumberFormatException notNumeric) {
+                return text;
+            }
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.datadrift.domain;
+
+import java.util.List;
+
+/**
+ * Server-side aggregation of a Data View for a visualisation: rows are grouped by {@code groupBy}
+ * (and by time bucket when {@code timeBucket} is set) and reduced to {@code measures}. At most
+ * {@code limit} groups are returned.
+ */
+public record AggregationSpec(
+        List<String> groupBy, List<Measure> measures, TimeBucket timeBucket, Integer limit) {
+
+    public AggregationSpec {
+        groupBy = groupBy == null ? List.of() : List.copyOf(groupBy);
+        measures = measures == null ? List.of() : List.copyOf(measures);
+    }
+
+    /** Aggregate functions a measure may use. */
+    public enum Function {
+        COUNT,
+        COUNT_DISTINCT,
+        SUM,
+        AVG,
+        MIN,
+        MAX
+    }
+
+    /**
+     * One aggregate column. {@code field} may be null only for COUNT (all rows); {@code as} names
+     * the output column and defaults to e.g. {@code sum_amount}.
+     */
+    public record Measure(Function function, String field, String as) {}
+
+    /**
+     * Buckets the time column {@code field} so the series has at most {@code points} buckets
+     * between its first and last value, typically the chart's width in pixels.
+     */
+    public record TimeBucket(String field, Integer points) {}
+}
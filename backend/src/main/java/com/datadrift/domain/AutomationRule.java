@@ -0,0 +1,120 @@
+package com.datadrift.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Automation rule over one data source. The trigger and the definition (view, conditions, actions)
+ * are stored as versioned JSON; {@code version} increments on every edit so compiled artifacts can
+ * be cached per rule version.
+ */
+@Entity
+@Table(name = "automation_rules")
+public class AutomationRule {
+
+    @Id private UUID id;
+
+    @Column(name = "name", nullable = false, unique = true)
+    private String name;
+
+    @Column(name = "enabled", nullable = false)
+    private boolean enabled;
+
+    @Column(name = "data_source_id", nullable = false)
+    private UUID dataSourceId;
+
+    @Column(name = "trigger_config", nullable = false, columnDefinition = "text")
+    private String triggerConfig;
+
+    @Column(name = "definition", nullable = false, columnDefinition = "text")
+    private String definition;
+
+    @Column(name = "version", nullable = false)
+    private int version;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    protected AutomationRule() {
+        // JPA
+    }
+
+    public AutomationRule(
+            final UUID id,
+            final String name,
+            final boolean enabled,
+            final UUID dataSourceId,
+            final String triggerConfig,
+            final String definition,
+            final Instant createdAt) {
+        this.id = id;
+        this.name = name;
+        this.enabled = enabled;
+        this.dataSourceId = dataSourceId;
+        this.triggerConfig = triggerConfig;
+        this.definition = definition;
+        this.version = 1;
+        this.createdAt = createdAt;
+        this.updatedAt = createdAt;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public UUID getDataSourceId() {
+        return dataSourceId;
+    }
+
+    public String getTriggerConfig() {
+        return triggerConfig;
+    }
+
+    public String getDefinition() {
+        return definition;
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    /** Applies an edit and bumps the version. createdAt is never changed. */
+    public void update(
+            final String name,
+            final boolean enabled,
+            final UUID dataSourceId,
+            final String triggerConfig,
+            final String definition,
+            final Instant updatedAt) {
+        this.name = name;
+        this.enabled = enabled;
+        this.dataSourceId = dataSourceId;
+        this.triggerConfig = triggerConfig;
+        this.definition = definition;
+        this.version++;
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,52 @@
+package com.datadrift.domain;
+
+import java.util.List;
+
+/**
+ * Condition tree of an automation rule: groups combine child conditions with AND/OR, comparisons
+ * test one field of a row against literal values. Literals of one comparison share a type: {@link
+ * Double}, {@link String} or {@link Boolean}; null checks take none.
+ */
+public sealed interface Condition permits Condition.Group, Condition.Comparison {
+
+    /** How a group combines its children. */
+    enum Junction {
+        AND,
+        OR
+    }
+
+    /** Field comparison operators. */
+    enum Operator {
+        EQUALS,
+        NOT_EQUALS,
+        GT,
+        GTE,
+        LT,
+        LTE,
+        CONTAINS,
+        IN,
+        IS_NULL,
+        IS_NOT_NULL
+    }
+
+    /** AND/OR of at least one child condition. */
+    record Group(Junction junction, List<Condition> conditions) implements Condition {
+        public Group {
+            conditions = List.copyOf(conditions);
+        }
+    }
+
+    /**
+     * A test of {@code field} against {@code values} (one value, several for IN, none for nulls).
+     */
+    record Comparison(String field, Operator operator, List<Object> values) implements Condition {
+        public Comparison {
+            values = List.copyOf(values);
+        }
+
+        /** The single literal of a binary comparison. */
+        public Object value() {
+            return values.get(0);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.datadrift.domain;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * One row of the execution log. Immutable and append-only; {@code ruleName} and {@code
+ * dataSourceId} are copied at run time so the log stays readable after the rule changes or is
+ * deleted (both are null when the rule no longer existed).
+ */
+public record ExecutionRecord(
+        UUID id,
+        UUID ruleId,
+        String ruleName,
+        UUID dataSourceId,
+        ExecutionTrigger trigger,
+        ExecutionStatus status,
+        Instant startedAt,
+        Instant finishedAt,
+        long rowsScanned,
+        String message) {
+
+    /** Duration of the run in milliseconds. */
+    public long durationMillis() {
+        return finishedAt.toEpochMilli() - startedAt.toEpochMilli();
+    }
+}
@@ -0,0 +1,7 @@
+package com.datadrift.domain;
+
+/** Outcome of one automation rule execution. */
+public enum ExecutionStatus {
+    SUCCESS,
+    FAILED
+}
@@ -0,0 +1,8 @@
+package com.datadrift.domain;
+
+/** What started an automation rule execution. */
+public enum ExecutionTrigger {
+    SCHEDULE,
+    MANUAL,
+    WEBHOOK
+}
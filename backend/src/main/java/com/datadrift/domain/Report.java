@@ -0,0 +1,122 @@
+package com.datadrift.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A report artifact written from a Data View. Immutable once written; the file itself lives in the
+ * reports storage directory under {@code fileName}. {@code ruleId} is null for reports generated
+ * through the API rather than by an automation.
+ */
+@Entity
+@Table(name = "reports")
+public class Report {
+
+    @Id private UUID id;
+
+    @Column(name = "name", nullable = false)
+    private String name;
+
+    @Column(name = "rule_id")
+    private UUID ruleId;
+
+    @Column(name = "data_source_id", nullable = false)
+    private UUID dataSourceId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "format", nullable = false, length = 10)
+    private ReportFormat format;
+
+    @Column(name = "compressed", nullable = false)
+    private boolean compressed;
+
+    @Column(name = "file_name", nullable = false)
+    private String fileName;
+
+    @Column(name = "row_count", nullable = false)
+    private long rowCount;
+
+    @Column(name = "size_bytes", nullable = false)
+    private long sizeBytes;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    protected Report() {
+        // JPA
+    }
+
+    public Report(
+            final UUID id,
+            final String name,
+            final UUID ruleId,
+            final UUID dataSourceId,
+            final ReportFormat format,
+            final boolean compressed,
+            final String fileName,
+            final long rowCount,
+            final long sizeBytes,
+            final Instant createdAt) {
+        this.id = id;
+        this.name = name;
+        this.ruleId = ruleId;
+        this.dataSourceId = dataSourceId;
+        this.format = format;
+        this.compressed = compressed;
+        this.fileName = fileName;
+        this.rowCount = rowCount;
+        this.sizeBytes = sizeBytes;
+        this.createdAt = createdAt;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public UUID getRuleId() {
+        return ruleId;
+    }
+
+    public UUID getDataSourceId() {
+        return dataSourceId;
+    }
+
+    public ReportFormat getFormat() {
+        return format;
+    }
+
+    public boolean isCompressed() {
+        return compressed;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    public long getSizeBytes() {
+        return sizeBytes;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    /** Media type of the stored file; gzip when compressed. */
+    public String contentType() {
+        return compressed ? "application/gzip" : format.contentType();
+    }
+}
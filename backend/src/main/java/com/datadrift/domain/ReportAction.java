@@ -0,0 +1,7 @@
+package com.datadrift.domain;
+
+/**
+ * Report an automation rule writes on each successful run, from {@code definition.report}: the
+ * rule's Data View in {@code format}, optionally gzipped, named {@code name}.
+ */
+public record ReportAction(String name, ReportFormat format, boolean gzip) {}
@@ -0,0 +1,25 @@
+package com.datadrift.domain;
+
+/** File format of a report artifact, with its file extension and media type. */
+public enum ReportFormat {
+    CSV("csv", "text/csv"),
+    JSON("json", "application/json"),
+    XML("xml", "application/xml"),
+    YAML("yaml", "application/yaml");
+
+    private final String extension;
+    private final String contentType;
+
+    ReportFormat(final String extension, final String contentType) {
+        this.extension = extension;
+        this.contentType = contentType;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+}
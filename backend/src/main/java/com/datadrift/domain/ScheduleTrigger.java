@@ -0,0 +1,59 @@
+package com.datadrift.domain;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Scheduled trigger of an automation rule. INTERVAL fires every {@code interval} aligned to the
+ * epoch; HOURLY at {@code time}'s minute past each hour; DAILY at {@code time}; WEEKLY on {@code
+ * dayOfWeek} at {@code time}. Wall-clock frequencies are evaluated in {@code zone}.
+ */
+public record ScheduleTrigger(
+        Frequency frequency, Duration interval, LocalTime time, DayOfWeek dayOfWeek, ZoneId zone) {
+
+    /** Supported schedule frequencies. */
+    public enum Frequency {
+        INTERVAL,
+        HOURLY,
+        DAILY,
+        WEEKLY
+    }
+
+    /** Returns the first fire time strictly after {@code after}. */
+    public Instant nextFireAfter(final Instant after) {
+        if (frequency == Frequency.INTERVAL) {
+            final long step = interval.toMillis();
+            final long next = Math.floorDiv(after.toEpochMilli(), step) * step + step;
+            return Instant.ofEpochMilli(next);
+        }
+        final ZonedDateTime now = after.atZone(zone);
+        final ZonedDateTime candidate;
+        final ChronoUnit period;
+        switch (frequency) {
+            case HOURLY -> {
+                candidate = now.truncatedTo(ChronoUnit.HOURS).withMinute(time.getMinute());
+                period = ChronoUnit.HOURS;
+            }
+            case DAILY -> {
+                candidate = now.with(time).truncatedTo(ChronoUnit.MINUTES);
+                period = ChronoUnit.DAYS;
+            }
+            default -> {
+                candidate =
+                        now.with(TemporalAdjusters.previousOrSame(dayOfWeek))
+                                .with(time)
+                                .truncatedTo(ChronoUnit.MINUTES);
+                period = ChronoUnit.WEEKS;
+            }
+        }
+        return candidate.isAfter(now)
+                ? candidate.toInstant()
+                : candidate.plus(1, period).toInstant();
+    }
+}
@@ -0,0 +1,15 @@
+package com.datadrift.domain;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Definition of a Data View over one data source. Basic views select {@code fields} (all when
+ * empty); Advanced views run {@code sql}, which refers to the data source as table {@code source}.
+ */
+public record ViewDefinition(UUID dataSourceId, ViewMode mode, List<String> fields, String sql) {
+
+    public ViewDefinition {
+        fields = fields == null ? List.of() : List.copyOf(fields);
+    }
+}
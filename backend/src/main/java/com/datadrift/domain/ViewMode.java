@@ -0,0 +1,7 @@
+package com.datadrift.domain;
+
+/** How a Data View is defined: selected fields (Basic) or a SQL query (Advanced). */
+public enum ViewMode {
+    BASIC,
+    ADVANCED
+}
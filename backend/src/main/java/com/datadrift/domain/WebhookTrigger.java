@@ -0,0 +1,10 @@
+package com.datadrift.domain;
+
+import java.time.Duration;
+
+/**
+ * Webhook trigger of an automation rule: each call to the rule's webhook asks for a run, and the
+ * calls received within {@code coalesceWindow} of a run are folded into the next one. A null window
+ * means the configured default.
+ */
+public record WebhookTrigger(Duration coalesceWindow) {}
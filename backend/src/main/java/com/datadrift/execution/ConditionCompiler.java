@@ -0,0 +1,340 @@
+package com.datadrift.execution;
+
+import com.datadrift.connector.RowPredicate;
+import com.datadrift.connector.SourceRow;
+import com.datadrift.domain.Condition;
+import com.fasterxml.jackson.databind.JsonNode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Turns the condition JSON of an automation rule into a {@link Condition} tree once per rule
+ * version, and the tree into a {@link RowPredicate} once per run, when the view's columns are
+ * known. Fields are resolved to column positions and each comparison becomes a lambda specialized
+ * for its operator and literal type, so evaluating a row reads primitives straight from the {@link
+ * SourceRow} without walking JSON, looking up names or boxing numbers.
+ *
+ * <p>JSON: groups are {@code {"op":"AND","conditions":[...]}} (or OR); comparisons are {@code
+ * {"field":"amount","op":"GT","value":100}}, with {@code "values":[...]} for IN and no value for
+ * IS_NULL/IS_NOT_NULL. A numeric literal compares numerically, a string literal as text and a
+ * boolean only for (in)equality. A comparison is false when the field is null or its value cannot
+ * be compared with the literal.
+ */
+public final class ConditionCompiler {
+
+    private static final Comparator<Condition> BY_COST =
+            Comparator.comparingInt(ConditionCompiler::cost);
+
+    private ConditionCompiler() {}
+
+    /**
+     * Parses and normalizes a condition tree: nested groups with the same junction are flattened,
+     * single-child groups are unwrapped and cheap tests are ordered before expensive ones.
+     *
+     * @return the tree, or null when {@code json} is missing, null or empty (no conditions)
+     * @throws IllegalArgumentException if the JSON is not a valid condition tree
+     */
+    public static Condition parse(final JsonNode json) {
+        if (json == null || json.isMissingNode() || json.isNull() || json.isEmpty()) {
+            return null;
+        }
+        return normalize(parseNode(json, "conditions"));
+    }
+
+    /**
+     * Binds the tree to the view's columns.
+     *
+     * @throws IllegalArgumentException if a condition refers to a column the view does not have
+     */
+    public static RowPredicate compile(final Condition condition, final List<String> columns) {
+        if (condition == null) {
+            return RowPredicate.ALWAYS;
+        }
+        final Map<String, Integer> positions = new HashMap<>();
+        for (int i = columns.size() - 1; i >= 0; i--) {
+            positions.put(columns.get(i), i);
+        }
+        return compile(condition, positions);
+    }
+
+    private static Condition parseNode(final JsonNode node, final String path) {
+        if (!node.isObject()) {
+            throw new IllegalArgumentException(path + " must be an object");
+        }
+        final String op = node.path("op").asText("").trim().toUpperCase(Locale.ROOT);
+        if (node.has("conditions")) {
+            final Condition.Junction junction = parseEnum(Condition.Junction.class, op, path);
+            final JsonNode children = node.get("conditions");
+            if (!children.isArray() || children.isEmpty()) {
+                throw new IllegalArgumentException(path + ".conditions must be a non-empty array");
+            }
+            final List<Condition> conditions = new ArrayList<>(children.size());
+            for (int i = 0; i < children.size(); i++) {
+                conditions.add(parseNode(children.get(i), path + ".conditions[" + i + "]"));
+            }
+            return new Condition.Group(junction, conditions);
+        }
+        final String field = node.path("field").asText("");
+        if (field.isBlank()) {
+            throw new IllegalArgumentException(path + ".field is required");
+        }
+        final Condition.Operator operator = parseEnum(Condition.Operator.class, op, path);
+        return new Condition.Comparison(field, operator, parseValues(node, operator, path));
+    }
+
+    private static List<Object> parseValues(
+            final JsonNode node, final Condition.Operator operator, final String path) {
+        switch (operator) {
+            case IS_NULL, IS_NOT_NULL -> {
+                return List.of();
+            }
+            case IN -> {
+                final JsonNode values = node.path("values");
+                if (!values.isArray() || values.isEmpty()) {
+                    throw new IllegalArgumentException(path + ".values must be a non-empty array");
+                }
+                final List<Object> literals = new ArrayList<>(values.size());
+                values.forEach(value -> literals.add(literal(value, path)));
+                if (literals.stream().map(Object::getClass).distinct().count() > 1) {
+                    throw new IllegalArgumentException(path + ".values must share one type");
+                }
+                return literals;
+            }
+            default -> {
+                final Object value = literal(node.path("value"), path);
+                if (operator == Condition.Operator.CONTAINS) {
+                    return List.of(node.path("value").asText());
+                }
+                if (value instanceof Boolean
+                        && operator != Condition.Operator.EQUALS
+                        && operator != Condition.Operator.NOT_EQUALS) {
+                    throw new IllegalArgumentException(
+                            path + ": booleans only support EQUALS and NOT_EQUALS");
+                }
+                return List.of(value);
+            }
+        }
+    }
+
+    private static Object literal(final JsonNode value, final String path) {
+        if (value.isNumber()) {
+            return value.asDouble();
+        }
+        if (value.isTextual()) {
+            return value.asText();
+        }
+        if (value.isBoolean()) {
+            return value.asBoolean();
+        }
+        throw new IllegalArgumentException(path + ".value must be a number, string or boolean");
+    }
+
+    private static Condition normalize(final Condition condition) {
+        if (!(condition instanceof Condition.Group group)) {
+            return condition;
+        }
+        final List<Condition> children = new ArrayList<>();
+        for (final Condition child : group.conditions()) {
+            final Condition normalized = normalize(child);
+            if (normalized instanceof Condition.Group nested
+                    && nested.junction() == group.junction()) {
+                children.addAll(nested.conditions());
+            } else {
+                children.add(normalized);
+            }
+        }
+        if (children.size() == 1) {
+            return children.get(0);
+        }
+        children.sort(BY_COST);
+        return new Condition.Group(group.junction(), children);
+    }
+
+    /** Rough evaluation cost, used to put cheap tests first in a short-circuiting group. */
+    private static int cost(final Condition condition) {
+        if (condition instanceof Condition.Group group) {
+            return 10 + group.conditions().size();
+        }
+        final Condition.Comparison comparison = (Condition.Comparison) condition;
+        return switch (comparison.operator()) {
+            case IS_NULL, IS_NOT_NULL -> 0;
+            case CONTAINS -> 4;
+            case IN -> 3;
+            default -> comparison.value() instanceof Double ? 1 : 2;
+        };
+    }
+
+    private static RowPredicate compile(
+            final Condition condition, final Map<String, Integer> positions) {
+        if (condition instanceof Condition.Group group) {
+            final RowPredicate[] children =
+                    group.conditions().stream()
+                            .map(child -> compile(child, positions))
+                            .toArray(RowPredicate[]::new);
+            return group.junction() == Condition.Junction.AND ? and(children) : or(children);
+        }
+        final Condition.Comparison comparison = (Condition.Comparison) condition;
+        final Integer position = positions.get(comparison.field());
+        if (position == null) {
+            throw new IllegalArgumentException(
+                    "Condition refers to unknown field: " + comparison.field());
+        }
+        final int index = position;
+        return switch (comparison.operator()) {
+            case IS_NULL -> row -> row.isNull(index);
+            case IS_NOT_NULL -> row -> !row.isNull(index);
+            case IN -> in(index, comparison.values());
+            case CONTAINS -> contains(index, (String) comparison.value());
+            default -> compare(index, comparison.operator(), comparison.value());
+        };
+    }
+
+    private static RowPredicate and(final RowPredicate[] children) {
+        if (children.length == 2) {
+            final RowPredicate a = children[0];
+            final RowPredicate b = children[1];
+            return row -> a.test(row) && b.test(row);
+        }
+        return row -> {
+            for (final RowPredicate child : children) {
+                if (!child.test(row)) {
+                    return false;
+                }
+            }
+            return true;
+        };
+    }
+
+    private static RowPredicate or(final RowPredicate[] children) {
+        if (children.length == 2) {
+            final RowPredicate a = children[0];
+            final RowPredicate b = children[1];
+            return row -> a.test(row) || b.test(row);
+        }
+        return row -> {
+            for (final RowPredicate child : children) {
+                if (child.test(row)) {
+                    return true;
+                }
+            }
+            return false;
+        };
+    }
+
+    private static RowPredicate compare(
+            final int index, final Condition.Operator operator, final Object literal) {
+        if (literal instanceof Double number) {
+            return compareNumber(index, operator, number);
+        }
+        if (literal instanceof Boolean flag) {
+            final String expected = flag.toString();
+            return operator == Condition.Operator.EQUALS
+                    ? row -> expected.equalsIgnoreCase(row.getString(index))
+                    : row -> !row.isNull(index) && !expected.equalsIgnoreCase(row.getString(index));
+        }
+        return compareText(index, operator, (String) literal);
+    }
+
+    private static RowPredicate compareNumber(
+            final int index, final Condition.Operator operator, final double value) {
+        return switch (operator) {
+            case EQUALS -> row -> {
+                try {
+                    return !row.isNull(index) && row.getDouble(index) == value;
+                } catch (final NumberFormatException e) {
+                    return false;
+                }
+            };
+            case NOT_EQUALS -> row -> {
+                try {
+                    return !row.isNull(index) && row.getDouble(index) != value;
+                } catch (final NumberFormatException e) {
+                    return false;
+                }
+            };
+            case GT -> row -> {
+                try {
+                    return !row.isNull(index) && row.getDouble(index) > value;
+                } catch (final NumberFormatException e) {
+                    return false;
+                }
+            };
+            case GTE -> row -> {
+                try {
+                    return !row.isNull(index) && row.getDouble(index) >= value;
+                } catch (final NumberFormatException e) {
+                    return false;
+                }
+            };
+            case LT -> row -> {
+                try {
+                    return !row.isNull(index) && row.getDouble(index) < value;
+                } catch (final NumberFormatException e) {
+                    return false;
+                }
+            };
+            case LTE -> row -> {
+                try {
+                    return !row.isNull(index) && row.getDouble(index) <= value;
+                } catch (final NumberFormatException e) {
+                    return false;
+                }
+            };
+            default -> throw new IllegalArgumentException("Unsupported operator " + operator);
+        };
+    }
+
+    private static RowPredicate compareText(
+            final int index, final Condition.Operator operator, final String value) {
+        return switch (operator) {
+            case EQUALS -> row -> value.equals(row.getString(index));
+            case NOT_EQUALS -> row -> !row.isNull(index) && !value.equals(row.getString(index));
+            case GT -> row -> !row.isNull(index) && row.getString(index).compareTo(value) > 0;
+            case GTE -> row -> !row.isNull(index) && row.getString(index).compareTo(value) >= 0;
+            case LT -> row -> !row.isNull(index) && row.getString(index).compareTo(value) < 0;
+            case LTE -> row -> !row.isNull(index) && row.getString(index).compareTo(value) <= 0;
+            default -> throw new IllegalArgumentException("Unsupported operator " + operator);
+        };
+    }
+
+    private static RowPredicate contains(final int index, final String value) {
+        return row -> {
+            final String text = row.getString(index);
+            return text != null && text.contains(value);
+        };
+    }
+
+    private static RowPredicate in(final int index, final List<Object> values) {
+        if (values.get(0) instanceof Double) {
+            final double[] sorted = values.stream().mapToDouble(v -> (Double) v).sorted().toArray();
+            return row -> {
+                try {
+                    return !row.isNull(index)
+                            && Arrays.binarySearch(sorted, row.getDouble(index)) >= 0;
+                } catch (final NumberFormatException e) {
+                    return false;
+                }
+            };
+        }
+        final Set<String> texts = Set.copyOf(values.stream().map(Object::toString).toList());
+        return row -> {
+            final String text = row.getString(index);
+            return text != null && texts.contains(text);
+        };
+    }
+
+    private static <E extends Enum<E>> E parseEnum(
+            final Class<E> type, final String value, final String path) {
+        try {
+            return Enum.valueOf(type, value);
+        } catch (final IllegalArgumentException e) {
+            throw new IllegalArgumentException(path + ".op is invalid: " + value);
+        }
+    }
+}
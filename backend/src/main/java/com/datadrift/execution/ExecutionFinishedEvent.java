@@ -0,0 +1,6 @@
+package com.datadrift.execution;
+
+import com.datadrift.domain.ExecutionRecord;
+
+/** Published when a rule execution ends, with the record appended to the execution log. */
+public record ExecutionFinishedEvent(ExecutionRecord record) {}
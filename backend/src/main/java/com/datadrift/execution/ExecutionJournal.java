@@ -0,0 +1,288 @@
+package com.datadrift.execution;
+
+import com.datadrift.domain.ExecutionTrigger;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Local write-ahead journal of rule execution state, so a restart neither loses nor silently
+ * repeats executions. Every execution is journaled as queued when it is dispatched, running once it
+ * holds its data source permit and finished once the {@link ExecutionLogWriter} committed its
+ * record, so an outcome still buffered in the writer is not lost; executions found queued or
+ * running on start are handed to the {@link RuleScheduler} through {@link #recovered()}.
+ *
+ * <p>The journal is a {@link MappedJournal}: appends only copy into a memory-mapped file and
+ * concurrent executions share an fsync (group commit). It is compacted to the open executions on
+ * start and whenever it fills up. The journal never touches the database; the timer {@code
+ * datadrift.executions.journal.sync} and the gauge {@code datadrift.executions.journal.open} expose
+ * it.
+ */
+@Component
+public class ExecutionJournal implements SmartLifecycle {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ExecutionJournal.class);
+
+    /** state, execution id, rule id, trigger, epoch millis. */
+    private static final int ENTRY_BYTES = 1 + Long.BYTES * 4 + 1 + Long.BYTES;
+
+    private static final ExecutionTrigger[] TRIGGERS = ExecutionTrigger.values();
+
+    private final Path file;
+    private final Clock clock;
+    private final Map<UUID, OpenExecution> open = new LinkedHashMap<>();
+    private final MappedJournal<OpenExecution> journal;
+    private List<OpenExecution> recovered = List.of();
+    private volatile boolean running;
+
+    public ExecutionJournal(
+            final Clock clock,
+            final MeterRegistry registry,
+            @Value(
+                            "${datadrift.executions.journal.file:${java.io.tmpdir}/datadrift-executions.journal}")
+                    final Path file,
+            @Value("${datadrift.executions.journal.size:4MB}") final DataSize size) {
+        final int recordBytes = ENTRY_BYTES + MappedJournal.CRC_BYTES;
+        if (size.toBytes() < recordBytes || size.toBytes() > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(
+                    "datadrift.executions.journal.size must be between "
+                            + recordBytes
+                            + " bytes and 2GB");
+        }
+        this.file = file;
+        this.clock = clock;
+        this.journal =
+                new MappedJournal<>(
+                        file,
+                        (int) size.toBytes(),
+                        new Entries(),
+                        Timer.builder("datadrift.executions.journal.sync")
+                                .description(
+                                        "Time spent forcing journaled execution states to disk")
+                                .register(registry),
+                        "execution-journal");
+        Gauge.builder("datadrift.executions.journal.open", this, ExecutionJournal::openCount)
+                .description("Journaled executions not yet finished")
+                .register(registry);
+    }
+
+    /** Journals a newly dispatched execution and returns its id once the entry is durable. */
+    UUID queued(final UUID ruleId, final ExecutionTrigger trigger) {
+        final UUID executionId = UUID.randomUUID();
+        append(
+                List.of(
+                        new OpenExecution(
+                                executionId, ruleId, trigger, State.QUEUED, clock.instant())));
+        return executionId;
+    }
+
+    /** Journals that the execution started running; returns once the entry is durable. */
+    void running(final UUID executionId) {
+        transition(executionId, State.RUNNING);
+    }
+
+    /** Journals that the execution's outcome was recorded; returns once the entry is durable. */
+    void finished(final UUID executionId) {
+        transition(executionId, State.FINISHED);
+    }
+
+    /**
+     * Journals a committed batch of execution records as finished with a single sync. Ids without
+     * an open execution, e.g. records the journal never saw, are ignored.
+     */
+    void finished(final Collection<UUID> executionIds) {
+        final List<OpenExecution> entries = new ArrayList<>(executionIds.size());
+        synchronized (open) {
+            for (final UUID executionId : executionIds) {
+                final OpenExecution execution = open.get(executionId);
+                if (execution != null) {
+                    entries.add(
+                            new OpenExecution(
+                                    executionId,
+                                    execution.ruleId(),
+                                    execution.trigger(),
+                                    State.FINISHED,
+                                    clock.instant()));
+                }
+            }
+        }
+        append(entries);
+    }
+
+    /**
+     * Executions that were queued or running when the previous process stopped, oldest first. They
+     * stay open until {@link #finished} is called for them.
+     */
+    List<OpenExecution> recovered() {
+        return recovered;
+    }
+
+    /** Journaled executions not yet finished, including recovered ones. */
+    public int openCount() {
+        synchronized (open) {
+            return open.size();
+        }
+    }
+
+    @Override
+    public void start() {
+        synchronized (open) {
+            open.clear();
+        }
+        try {
+            journal.open();
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Could not open execution journal " + file, e);
+        }
+        synchronized (open) {
+            recovered = List.copyOf(open.values());
+        }
+        if (!recovered.isEmpty()) {
+            LOG.info("Recovered {} interrupted executions from the journal", recovered.size());
+        }
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        journal.close();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /** Starts before and stops after the execution log writer and the rule scheduler. */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 2;
+    }
+
+    private void transition(final UUID executionId, final State state) {
+        final OpenExecution execution;
+        synchronized (open) {
+            execution = open.get(executionId);
+        }
+        if (execution == null) {
+            throw new IllegalStateException("No open execution in the journal: " + executionId);
+        }
+        append(
+                List.of(
+                        new OpenExecution(
+                                executionId,
+                                execution.ruleId(),
+                                execution.trigger(),
+                                state,
+                                clock.instant())));
+    }
+
+    /** Journals the entries and waits until they are on disk. */
+    private void append(final List<OpenExecution> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        try {
+            journal.append(entries);
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Could not compact execution journal " + file, e);
+        }
+    }
+
+    /** Encodes execution states and keeps the open executions they add up to. */
+    private final class Entries implements MappedJournal.Records<OpenExecution> {
+
+        @Override
+        public int size() {
+            return ENTRY_BYTES;
+        }
+
+        @Override
+        public void write(final OpenExecution entry, final ByteBuffer out) {
+            out.put((byte) entry.state().code)
+                    .putLong(entry.executionId().getMostSignificantBits())
+                    .putLong(entry.executionId().getLeastSignificantBits())
+                    .putLong(entry.ruleId().getMostSignificantBits())
+                    .putLong(entry.ruleId().getLeastSignificantBits())
+                    .put((byte) entry.trigger().ordinal())
+                    .putLong(entry.since().toEpochMilli());
+        }
+
+        @Override
+        public OpenExecution read(final ByteBuffer in) {
+            final State state = State.of(in.get());
+            final UUID executionId = new UUID(in.getLong(), in.getLong());
+            final UUID ruleId = new UUID(in.getLong(), in.getLong());
+            final int trigger = in.get();
+            final long millis = in.getLong();
+            if (state == null || trigger < 0 || trigger >= TRIGGERS.length) {
+                return null;
+            }
+            return new OpenExecution(
+                    executionId, ruleId, TRIGGERS[trigger], state, Instant.ofEpochMilli(millis));
+        }
+
+        @Override
+        public void apply(final OpenExecution entry) {
+            synchronized (open) {
+                if (entry.state() == State.FINISHED) {
+                    open.remove(entry.executionId());
+                } else {
+                    open.put(entry.executionId(), entry);
+                }
+            }
+        }
+
+        @Override
+        public Collection<OpenExecution> live() {
+            synchronized (open) {
+                return List.copyOf(open.values());
+            }
+        }
+    }
+
+    /** Journaled state of an execution. */
+    enum State {
+        QUEUED(1),
+        RUNNING(2),
+        FINISHED(3);
+
+        private final int code;
+
+        State(final int code) {
+            this.code = code;
+        }
+
+        private static State of(final byte code) {
+            for (final State state : values()) {
+                if (state.code == code) {
+                    return state;
+                }
+            }
+            return null;
+        }
+    }
+
+    /** The latest journaled state of an unfinished execution, entered at {@code since}. */
+    record OpenExecution(
+            UUID executionId, UUID ruleId, ExecutionTrigger trigger, State state, Instant since) {}
+}
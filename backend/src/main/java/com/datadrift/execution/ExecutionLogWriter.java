@@ -0,0 +1,213 @@
+package com.datadrift.execution;
+
+import com.datadrift.domain.ExecutionRecord;
+import com.datadrift.repository.ExecutionLogRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Buffers execution records and writes them with JDBC batch inserts from a single flusher thread,
+ * so rule executions never wait on a per-run insert. Batches grow with load: the flusher drains
+ * everything queued (up to {@code batch-size}) each time it wakes.
+ *
+ * <p>The buffer is bounded; when it is full, {@link #append} blocks the (virtual) execution thread
+ * instead of dropping audit records. A batch that fails to insert is kept and retried with
+ * exponential backoff, from {@code flush-interval} up to {@code max-retry-backoff}, while new
+ * records wait in the buffer; a batch the database rejects as invalid is retried record by record
+ * so only the offending records are dropped. Stops after the rule scheduler and flushes what is
+ * left; records appended after that are written synchronously.
+ *
+ * <p>Once records are committed (or dropped as invalid) their executions are journaled as finished
+ * in the {@link ExecutionJournal}; until then a restart reports them as interrupted.
+ */
+@Component
+public class ExecutionLogWriter implements SmartLifecycle, MeterBinder {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ExecutionLogWriter.class);
+
+    private final ExecutionLogRepository repository;
+    private final ExecutionJournal journal;
+    private final BlockingQueue<ExecutionRecord> buffer;
+    private final int batchSize;
+    private final Duration flushInterval;
+    private final Duration maxRetryBackoff;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile List<ExecutionRecord> unwritten = List.of();
+    private Thread flusher;
+    private volatile boolean running;
+
+    public ExecutionLogWriter(
+            final ExecutionLogRepository repository,
+            final ExecutionJournal journal,
+            @Value("${datadrift.executions.buffer-capacity:10000}") final int bufferCapacity,
+            @Value("${datadrift.executions.batch-size:500}") final int batchSize,
+            @Value("${datadrift.executions.flush-interval:1s}") final Duration flushInterval,
+            @Value("${datadrift.executions.max-retry-backoff:1m}") final Duration maxRetryBackoff) {
+        if (bufferCapacity < 1 || batchSize < 1) {
+            throw new IllegalArgumentException(
+                    "datadrift.executions buffer-capacity and batch-size must be at least 1");
+        }
+        this.repository = repository;
+        this.journal = journal;
+        this.buffer = new LinkedBlockingQueue<>(bufferCapacity);
+        this.batchSize = batchSize;
+        this.flushInterval = flushInterval;
+        this.maxRetryBackoff = maxRetryBackoff;
+    }
+
+    /** Queues a record for the next batch. Blocks while the buffer is full. */
+    public void append(final ExecutionRecord record) {
+        if (!running) {
+            write(List.of(record));
+            return;
+        }
+        try {
+            buffer.put(record);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            write(List.of(record));
+        }
+    }
+
+    /**
+     * Writes everything buffered so far, including a batch awaiting retry, before returning. Used
+     * on stop, so a batch that still fails here is logged and lost.
+     */
+    public void flush() {
+        // While running, the flusher owns the batch awaiting retry.
+        final List<ExecutionRecord> retry = new ArrayList<>(running ? List.of() : unwritten);
+        if (!retry.isEmpty() && write(retry)) {
+            unwritten = List.of();
+        }
+        final List<ExecutionRecord> batch = new ArrayList<>(batchSize);
+        while (buffer.drainTo(batch, batchSize) > 0) {
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    /** Records waiting for the next batch or for a retry. */
+    public int pendingCount() {
+        return buffer.size() + unwritten.size();
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        Gauge.builder("datadrift.executions.pending", this, ExecutionLogWriter::pendingCount)
+                .description("Execution records waiting to be written")
+                .register(registry);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        flusher = Thread.ofPlatform().name("execution-log-writer").daemon().start(this::flushLoop);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        flusher.interrupt();
+        try {
+            flusher.join(flushInterval.toMillis() * 2);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /** Starts before and stops after the rule scheduler so in-flight runs are still recorded. */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 1;
+    }
+
+    private void flushLoop() {
+        final List<ExecutionRecord> batch = new ArrayList<>(batchSize);
+        Duration backoff = flushInterval;
+        while (running) {
+            try {
+                if (batch.isEmpty()) {
+                    final ExecutionRecord first =
+                            buffer.poll(flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                    buffer.drainTo(batch, batchSize - 1);
+                }
+                if (write(batch)) {
+                    batch.clear();
+                    unwritten = List.of();
+                    backoff = flushInterval;
+                    continue;
+                }
+                unwritten = List.copyOf(batch);
+                LOG.warn("Retrying {} execution records in {}", batch.size(), backoff);
+                Thread.sleep(backoff.toMillis());
+                backoff = backoff.multipliedBy(2);
+                if (backoff.compareTo(maxRetryBackoff) > 0) {
+                    backoff = maxRetryBackoff;
+                }
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Inserts the batch and returns whether every record is settled. A batch with invalid records
+     * is written record by record instead, dropping (and logging) only those records; records left
+     * unwritten by a failure part-way through stay in {@code batch} for the retry.
+     */
+    private boolean write(final List<ExecutionRecord> batch) {
+        writeLock.lock();
+        try {
+            repository.insertAll(batch);
+            settled(batch);
+            return true;
+        } catch (final DataIntegrityViolationException e) {
+            if (batch.size() == 1) {
+                LOG.error(
+                        "Dropping invalid execution record {}: {}",
+                        batch.get(0).id(),
+                        e.getMessage());
+                settled(batch);
+                return true;
+            }
+            batch.removeIf(record -> write(new ArrayList<>(List.of(record))));
+            return batch.isEmpty();
+        } catch (final DataAccessException e) {
+            LOG.error("Failed to write {} execution records: {}", batch.size(), e.getMessage());
+            return false;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /** Journals the executions of committed or dropped records as finished. */
+    private void settled(final List<ExecutionRecord> records) {
+        journal.finished(records.stream().map(ExecutionRecord::id).toList());
+    }
+}
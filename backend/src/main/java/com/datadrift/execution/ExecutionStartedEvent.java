@@ -0,0 +1,8 @@
+package com.datadrift.execution;
+
+import com.datadrift.domain.ExecutionTrigger;
+import java.time.Instant;
+import java.util.UUID;
+
+/** Published when a rule execution begins, before the rule is loaded. */
+public record ExecutionStartedEvent(UUID ruleId, ExecutionTrigger trigger, Instant startedAt) {}
@@ -0,0 +1,286 @@
+package com.datadrift.execution;
+
+import io.micrometer.core.instrument.Timer;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Append-only, memory-mapped file of fixed-size records, each followed by a CRC of its bytes, so a
+ * record torn by a crash ends the replay. Shared by the {@link ExecutionJournal} and the {@link
+ * WebhookJournal}, which define the records and the state they build up.
+ *
+ * <p>Writes only copy into the mapping; one committer thread forces the mapping to disk without
+ * holding the lock, and every writer waiting meanwhile is released by that same force, so
+ * concurrent writers share an fsync (group commit). The file is compacted to the records of the
+ * current state on open and whenever it fills up.
+ */
+final class MappedJournal<T> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MappedJournal.class);
+
+    static final int CRC_BYTES = Integer.BYTES;
+
+    /** Encodes one journal's records and keeps the state they build up. */
+    interface Records<T> {
+
+        /** Bytes of one encoded record, without its CRC. */
+        int size();
+
+        void write(T entry, ByteBuffer out);
+
+        /** Decodes one record whose CRC matched; null if it is still not a valid record. */
+        T read(ByteBuffer in);
+
+        /** Applies a replayed or written record to the state; called under the journal's lock. */
+        void apply(T entry);
+
+        /** Records that rebuild the current state; called under the journal's lock. */
+        Collection<T> live();
+    }
+
+    private final Path file;
+    private final int capacity;
+    private final Records<T> records;
+    private final Timer syncTimer;
+    private final String threadName;
+    private final int recordBytes;
+    private final ByteBuffer record;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition pending = lock.newCondition();
+    private final Condition committed = lock.newCondition();
+    private MappedByteBuffer map;
+    private int position;
+    private long appended;
+    private long durable;
+    private Thread committer;
+    private boolean running;
+
+    MappedJournal(
+            final Path file,
+            final int capacity,
+            final Records<T> records,
+            final Timer syncTimer,
+            final String threadName) {
+        this.file = file;
+        this.capacity = capacity;
+        this.records = records;
+        this.syncTimer = syncTimer;
+        this.threadName = threadName;
+        this.recordBytes = records.size() + CRC_BYTES;
+        this.record = ByteBuffer.allocate(recordBytes);
+    }
+
+    /**
+     * Replays the file into the state, compacts it to the state's records and starts the committer.
+     */
+    void open() throws IOException {
+        lock.lock();
+        try {
+            final Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            replay();
+            compact();
+            running = true;
+        } finally {
+            lock.unlock();
+        }
+        committer = Thread.ofPlatform().name(threadName).daemon().start(this::commitLoop);
+    }
+
+    /** Stops the committer and forces whatever was written since its last sync. */
+    void close() {
+        lock.lock();
+        try {
+            running = false;
+            pending.signal();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            committer.join();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        lock.lock();
+        try {
+            sync();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Writes the entries and returns once the committer forced them to disk. */
+    void append(final List<T> entries) throws IOException {
+        await(write(entries));
+    }
+
+    /**
+     * Applies the entries and copies them into the mapping without waiting for the disk; pass the
+     * returned ticket to {@link #await} to wait.
+     */
+    long write(final List<T> entries) throws IOException {
+        lock.lock();
+        try {
+            long ticket = durable;
+            for (final T entry : entries) {
+                records.apply(entry);
+                if (position + recordBytes > map.capacity()) {
+                    // Compaction forces the whole state, so all earlier entries are durable.
+                    compact();
+                    durable = appended;
+                    continue;
+                }
+                put(map, position, entry);
+                position += recordBytes;
+                ticket = ++appended;
+            }
+            return ticket;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Returns once everything written up to {@code ticket} is on disk. */
+    void await(final long ticket) {
+        lock.lock();
+        try {
+            if (durable >= ticket) {
+                return;
+            }
+            if (!running) {
+                sync();
+                return;
+            }
+            pending.signal();
+            while (durable < ticket && running) {
+                committed.await();
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Forces everything written so far in one batch, then wakes the writers it covered. */
+    private void commitLoop() {
+        lock.lock();
+        try {
+            while (running) {
+                if (durable == appended) {
+                    pending.await();
+                    continue;
+                }
+                final long batch = appended;
+                final MappedByteBuffer target = map;
+                lock.unlock();
+                try {
+                    force(target);
+                } finally {
+                    lock.lock();
+                }
+                durable = Math.max(durable, batch);
+                committed.signalAll();
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            committed.signalAll();
+            lock.unlock();
+        }
+    }
+
+    private void sync() {
+        force(map);
+        durable = appended;
+        committed.signalAll();
+    }
+
+    private void force(final MappedByteBuffer target) {
+        final Timer.Sample sample = Timer.start();
+        try {
+            target.force();
+        } catch (final UncheckedIOException e) {
+            LOG.error("Could not force journal {} to disk: {}", file, e.getMessage());
+        } finally {
+            sample.stop(syncTimer);
+        }
+    }
+
+    /**
+     * Replaces the file with one holding only the state's records and maps it for writes. The new
+     * file is written and forced under a temporary name first, so a crash leaves either journal.
+     */
+    private void compact() throws IOException {
+        final Collection<T> live = records.live();
+        final Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        final int size = Math.max(capacity, live.size() * recordBytes * 2);
+        final MappedByteBuffer compacted;
+        try (FileChannel channel =
+                FileChannel.open(
+                        temp,
+                        StandardOpenOption.CREATE,
+                        StandardOpenOption.TRUNCATE_EXISTING,
+                        StandardOpenOption.READ,
+                        StandardOpenOption.WRITE)) {
+            compacted = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+        int offset = 0;
+        for (final T entry : live) {
+            put(compacted, offset, entry);
+            offset += recordBytes;
+        }
+        compacted.force();
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        map = compacted;
+        position = offset;
+    }
+
+    private void put(final MappedByteBuffer target, final int offset, final T entry) {
+        record.clear();
+        records.write(entry, record);
+        final CRC32 crc = new CRC32();
+        crc.update(record.array(), 0, record.position());
+        record.putInt((int) crc.getValue());
+        target.put(offset, record.array());
+    }
+
+    /** Applies the file's records to the state, stopping at the first empty or torn record. */
+    private void replay() throws IOException {
+        if (!Files.exists(file)) {
+            return;
+        }
+        final ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+        final CRC32 crc = new CRC32();
+        while (buffer.remaining() >= recordBytes) {
+            final int start = buffer.position();
+            crc.reset();
+            crc.update(buffer.array(), start, recordBytes - CRC_BYTES);
+            if (buffer.getInt(start + recordBytes - CRC_BYTES) != (int) crc.getValue()) {
+                break;
+            }
+            final T entry = records.read(buffer.slice(start, recordBytes - CRC_BYTES));
+            if (entry == null) {
+                break;
+            }
+            records.apply(entry);
+            buffer.position(start + recordBytes);
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package com.datadrift.execution;
+
+import com.datadrift.connector.SourceReadException;
+import com.datadrift.domain.AutomationRule;
+import com.datadrift.domain.Condition;
+import com.datadrift.domain.ExecutionRecord;
+import com.datadrift.domain.ExecutionStatus;
+import com.datadrift.domain.ExecutionTrigger;
+import com.datadrift.domain.Report;
+import com.datadrift.domain.ReportAction;
+import com.datadrift.domain.ViewDefinition;
+import com.datadrift.service.AutomationRuleChangedEvent;
+import com.datadrift.service.AutomationRuleService;
+import com.datadrift.service.DataSourceService;
+import com.datadrift.service.DriftService;
+import com.datadrift.service.ReportService;
+import com.datadrift.service.ViewQueryService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.UncheckedIOException;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Executes an automation rule: evaluates its Data View by streaming the rows through the rule, runs
+ * drift detection and writes the rule's report when the rule asks for them, and appends the outcome
+ * to the execution log. Start and finish are published as {@link ExecutionStartedEvent} and {@link
+ * ExecutionFinishedEvent}. Failures are contained here, including undecryptable configs and
+ * database errors, and recorded as FAILED executions, so one broken rule never affects the
+ * scheduler or other rules. Durations are published as the {@code datadrift.rules.executions}
+ * histogram, tagged by status and trigger.
+ */
+@Component
+public class RuleExecutor implements RuleRunner {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RuleExecutor.class);
+
+    private final AutomationRuleService ruleService;
+    private final ViewQueryService viewQueryService;
+    private final DriftService driftService;
+    private final ReportService reportService;
+    private final ExecutionLogWriter executionLog;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Clock clock;
+    private final MeterRegistry registry;
+    private final Map<UUID, ParsedConditions> parsedConditions = new ConcurrentHashMap<>();
+
+    public RuleExecutor(
+            final AutomationRuleService ruleService,
+            final ViewQueryService viewQueryService,
+            final DriftService driftService,
+            final ReportService reportService,
+            final ExecutionLogWriter executionLog,
+            final ApplicationEventPublisher eventPublisher,
+            final Clock clock,
+            final MeterRegistry registry) {
+        this.ruleService = ruleService;
+        this.viewQueryService = viewQueryService;
+        this.driftService = driftService;
+        this.reportService = reportService;
+        this.executionLog = executionLog;
+        this.eventPublisher = eventPublisher;
+        this.clock = clock;
+        this.registry = registry;
+    }
+
+    @Override
+    public void run(final UUID executionId, final UUID ruleId, final ExecutionTrigger trigger) {
+        final Instant startedAt = now();
+        final long startedNanos = System.nanoTime();
+        AutomationRule rule = null;
+        ExecutionStatus status = ExecutionStatus.FAILED;
+        eventPublisher.publishEvent(new ExecutionStartedEvent(ruleId, trigger, startedAt));
+        try {
+            rule = ruleService.getById(ruleId);
+            final ViewDefinition view = ruleService.viewDefinition(rule);
+            final ViewQueryService.MatchCount counts =
+                    viewQueryService.countMatches(view, conditions(rule));
+            final long rows = counts.rows();
+            final List<String> driftKeys = ruleService.driftKeyColumns(rule);
+            String message = counts.matched() + " rows matched";
+            if (!driftKeys.isEmpty()) {
+                message +=
+                        "; drift "
+                                + driftService.detect(rule.getDataSourceId(), driftKeys).summary();
+            }
+            final ReportAction reportAction = ruleService.reportAction(rule);
+            if (reportAction != null) {
+                final Report report =
+                        reportService.generate(
+                                reportAction.name(),
+                                view,
+                                reportAction.format(),
+                                reportAction.gzip(),
+                                ruleId);
+                message += "; report " + report.getId() + " (" + report.getRowCount() + " rows)";
+            }
+            final ExecutionRecord record =
+                    record(
+                            executionId,
+                            ruleId,
+                            rule,
+                            trigger,
+                            ExecutionStatus.SUCCESS,
+                            startedAt,
+                            rows,
+                            message);
+            LOG.info(
+                    "Rule {} succeeded: {} of {} rows matched in {} ms",
+                    rule.getName(),
+                    counts.matched(),
+                    rows,
+                    record.durationMillis());
+            status = ExecutionStatus.SUCCESS;
+            finish(record);
+        } catch (final AutomationRuleService.RuleNotFoundException
+                | DataSourceService.DataSourceNotFoundException
+                | ViewQueryService.ViewQueryException
+                | SourceReadException
+                | UncheckedIOException
+                | IllegalArgumentException
+                | IllegalStateException
+                | DataAccessException e) {
+            LOG.warn("Rule {} failed: {}", ruleId, e.getMessage());
+            finish(
+                    record(
+                            executionId,
+                            ruleId,
+                            rule,
+                            trigger,
+                            ExecutionStatus.FAILED,
+                            startedAt,
+                            0,
+                            e.getMessage()));
+        } finally {
+            Timer.builder("datadrift.rules.executions")
+                    .description("Rule execution duration")
+                    .tags("status", status.name(), "trigger", trigger.name())
+                    .publishPercentileHistogram()
+                    .register(registry)
+                    .record(System.nanoTime() - startedNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /** Drops the parsed conditions of a deleted rule; edits are caught by the version check. */
+    @EventListener
+    public void onRuleChanged(final AutomationRuleChangedEvent event) {
+        if (event.deleted()) {
+            parsedConditions.remove(event.ruleId());
+        }
+    }
+
+    private Condition conditions(final AutomationRule rule) {
+        final ParsedConditions cached = parsedConditions.get(rule.getId());
+        if (cached != null && cached.version() == rule.getVersion()) {
+            return cached.condition();
+        }
+        final Condition condition = ruleService.conditions(rule);
+        parsedConditions.put(rule.getId(), new ParsedConditions(rule.getVersion(), condition));
+        return condition;
+    }
+
+    private void finish(final ExecutionRecord record) {
+        executionLog.append(record);
+        eventPublisher.publishEvent(new ExecutionFinishedEvent(record));
+    }
+
+    private ExecutionRecord record(
+            final UUID executionId,
+            final UUID ruleId,
+            final AutomationRule rule,
+            final ExecutionTrigger trigger,
+            final ExecutionStatus status,
+            final Instant startedAt,
+            final long rows,
+            final String message) {
+        return new ExecutionRecord(
+                executionId,
+                ruleId,
+                rule == null ? null : rule.getName(),
+                rule == null ? null : rule.getDataSourceId(),
+                trigger,
+                status,
+                startedAt,
+                now(),
+                rows,
+                message);
+    }
+
+    /** Microsecond precision, so log timestamps round-trip through TIMESTAMP columns exactly. */
+    private Instant now() {
+        return clock.instant().truncatedTo(ChronoUnit.MICROS);
+    }
+
+    private record ParsedConditions(int version, Condition condition) {}
+}
@@ -0,0 +1,14 @@
+package com.datadrift.execution;
+
+import com.datadrift.domain.ExecutionTrigger;
+import java.util.UUID;
+
+/**
+ * Runs one execution of an automation rule. Implementations must not throw for rule failures and
+ * must record the outcome under {@code executionId}, the execution's id in the {@link
+ * ExecutionJournal}.
+ */
+@FunctionalInterface
+public interface RuleRunner {
+    void run(final UUID executionId, final UUID ruleId, final ExecutionTrigger trigger);
+}
@@ -0,0 +1,371 @@
+package com.datadrift.execution;
+
+import com.datadrift.domain.AutomationRule;
+import com.datadrift.domain.ExecutionRecord;
+import com.datadrift.domain.ExecutionStatus;
+import com.datadrift.domain.ExecutionTrigger;
+import com.datadrift.domain.ScheduleTrigger;
+import com.datadrift.service.AutomationRuleChangedEvent;
+import com.datadrift.service.AutomationRuleService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fires scheduled automation rules. Upcoming fire times live in a priority queue ordered by due
+ * time, so scheduling and rescheduling cost O(log n) and the dispatcher sleeps until the earliest
+ * rule is due instead of scanning all rules. Rule edits are applied by bumping the rule's
+ * generation; superseded queue entries are discarded when they reach the head.
+ *
+ * <p>Each execution runs on its own virtual thread. Concurrency is capped per data source so a slow
+ * source only delays its own rules, and a rule that is still running skips its next firing rather
+ * than overlapping.
+ *
+ * <p>Every execution's progress is kept in the {@link ExecutionJournal}. On start, executions the
+ * previous process had queued are dispatched again under their journaled id; executions it was
+ * running, or whose record had not been committed to the execution log yet, are recorded as failed
+ * rather than re-run, since they may already have had effects (e.g. a written report).
+ *
+ * <p>Gauges {@code datadrift.rules.scheduled}, {@code datadrift.rules.in.flight} and {@code
+ * datadrift.rules.queued} (dispatched, waiting for a source permit) expose the queue; {@code
+ * datadrift.rules.queue.wait} times how long executions waited for their permit.
+ */
+@Component
+public class RuleScheduler implements SmartLifecycle {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RuleScheduler.class);
+
+    private final AutomationRuleService ruleService;
+    private final RuleRunner ruleRunner;
+    private final ExecutionJournal journal;
+    private final ExecutionLogWriter executionLog;
+    private final Clock clock;
+    private final int maxConcurrentPerSource;
+    private final boolean enabled;
+    private final PriorityQueue<ScheduledRun> queue =
+            new PriorityQueue<>(Comparator.comparing(ScheduledRun::dueAt));
+    private final Map<UUID, RuleSchedule> schedules = new ConcurrentHashMap<>();
+    private final Map<UUID, Semaphore> sourcePermits = new ConcurrentHashMap<>();
+    private final Set<UUID> inFlight = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final Timer queueWait;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    private ExecutorService executor;
+    private Thread dispatcher;
+    private volatile boolean running;
+    private long generations;
+
+    public RuleScheduler(
+            final AutomationRuleService ruleService,
+            final RuleRunner ruleRunner,
+            final ExecutionJournal journal,
+            final ExecutionLogWriter executionLog,
+            final Clock clock,
+            final MeterRegistry registry,
+            @Value("${datadrift.scheduler.max-concurrent-per-source:2}")
+                    final int maxConcurrentPerSource,
+            @Value("${datadrift.scheduler.enabled:true}") final boolean enabled) {
+        if (maxConcurrentPerSource < 1) {
+            throw new IllegalArgumentException(
+                    "datadrift.scheduler.max-concurrent-per-source must be at least 1");
+        }
+        this.ruleService = ruleService;
+        this.ruleRunner = ruleRunner;
+        this.journal = journal;
+        this.executionLog = executionLog;
+        this.clock = clock;
+        this.maxConcurrentPerSource = maxConcurrentPerSource;
+        this.enabled = enabled;
+        Gauge.builder("datadrift.rules.scheduled", schedules, Map::size)
+                .description("Rules with an active schedule")
+                .register(registry);
+        Gauge.builder("datadrift.rules.in.flight", inFlight, Set::size)
+                .description("Rule executions dispatched and not yet finished")
+                .register(registry);
+        Gauge.builder("datadrift.rules.queued", queued, AtomicInteger::get)
+                .description("Rule executions waiting for a data source permit")
+                .register(registry);
+        this.queueWait =
+                Timer.builder("datadrift.rules.queue.wait")
+                        .description("Time rule executions waited for a data source permit")
+                        .publishPercentileHistogram()
+                        .register(registry);
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            LOG.info("Rule scheduler disabled");
+            return;
+        }
+        open();
+        dispatcher = Thread.ofPlatform().name("rule-scheduler").daemon().start(this::dispatchLoop);
+        LOG.info("Rule scheduler started with {} scheduled rules", schedules.size());
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        if (dispatcher != null) {
+            dispatcher.interrupt();
+        }
+        executor.shutdownNow();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /** Re-reads a changed rule and schedules, reschedules or unschedules it. */
+    @EventListener
+    public void onRuleChanged(final AutomationRuleChangedEvent event) {
+        if (!running) {
+            return;
+        }
+        if (event.deleted()) {
+            unschedule(event.ruleId());
+            return;
+        }
+        schedule(ruleService.getById(event.ruleId()));
+    }
+
+    /** Dispatches the rule immediately, outside its schedule, as a manual run. */
+    public boolean runNow(final UUID ruleId) {
+        return runNow(ruleId, ExecutionTrigger.MANUAL);
+    }
+
+    /**
+     * Dispatches the rule immediately, outside its schedule (e.g. manual run or webhook). Returns
+     * false when the rule is still running or the scheduler is stopped.
+     */
+    public boolean runNow(final UUID ruleId, final ExecutionTrigger trigger) {
+        final AutomationRule rule = ruleService.getById(ruleId);
+        return dispatch(rule.getId(), rule.getDataSourceId(), trigger, null);
+    }
+
+    /** Number of rules currently scheduled. */
+    public int scheduledCount() {
+        return schedules.size();
+    }
+
+    /** Number of executions dispatched and not yet finished, including those awaiting a permit. */
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    /**
+     * Schedules the enabled rules and resumes journaled executions. {@link #start} then runs the
+     * dispatcher thread; tests call this and drive {@link #fireDue} themselves.
+     */
+    void open() {
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        running = true;
+        for (final AutomationRule rule : ruleService.findEnabled()) {
+            schedule(rule);
+        }
+        recover(journal.recovered());
+    }
+
+    void schedule(final AutomationRule rule) {
+        final ScheduleTrigger trigger = rule.isEnabled() ? ruleService.scheduleTrigger(rule) : null;
+        if (trigger == null) {
+            unschedule(rule.getId());
+            return;
+        }
+        lock.lock();
+        try {
+            final long generation = ++generations;
+            schedules.put(
+                    rule.getId(),
+                    new RuleSchedule(rule.getId(), rule.getDataSourceId(), trigger, generation));
+            queue.add(
+                    new ScheduledRun(
+                            trigger.nextFireAfter(clock.instant()), rule.getId(), generation));
+            changed.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void unschedule(final UUID ruleId) {
+        schedules.remove(ruleId);
+    }
+
+    private void dispatchLoop() {
+        lock.lock();
+        try {
+            while (running) {
+                final ScheduledRun head = queue.peek();
+                if (head == null) {
+                    changed.await();
+                    continue;
+                }
+                final Instant now = clock.instant();
+                final long waitMillis = Duration.between(now, head.dueAt()).toMillis();
+                if (waitMillis > 0) {
+                    changed.await(waitMillis, TimeUnit.MILLISECONDS);
+                    continue;
+                }
+                fireDue(now);
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Dispatches every run due at {@code now}, earliest first, and queues each rule's next firing.
+     * Returns the rules actually dispatched, in order; a rule still running is skipped.
+     */
+    List<UUID> fireDue(final Instant now) {
+        final List<UUID> fired = new ArrayList<>();
+        lock.lock();
+        try {
+            while (!queue.isEmpty() && !queue.peek().dueAt().isAfter(now)) {
+                final ScheduledRun head = queue.poll();
+                final RuleSchedule schedule = schedules.get(head.ruleId());
+                if (schedule == null || schedule.generation() != head.generation()) {
+                    continue;
+                }
+                queue.add(
+                        new ScheduledRun(
+                                schedule.trigger().nextFireAfter(now),
+                                schedule.ruleId(),
+                                schedule.generation()));
+                if (dispatch(
+                        schedule.ruleId(),
+                        schedule.dataSourceId(),
+                        ExecutionTrigger.SCHEDULE,
+                        null)) {
+                    fired.add(schedule.ruleId());
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        return fired;
+    }
+
+    /** Resumes the executions the journal found unfinished; see the class comment. */
+    private void recover(final List<ExecutionJournal.OpenExecution> executions) {
+        for (final ExecutionJournal.OpenExecution execution : executions) {
+            AutomationRule rule = null;
+            try {
+                rule = ruleService.getById(execution.ruleId());
+            } catch (final AutomationRuleService.RuleNotFoundException e) {
+                LOG.info("Dropping interrupted execution of deleted rule {}", execution.ruleId());
+            }
+            if (execution.state() == ExecutionJournal.State.RUNNING) {
+                LOG.warn("Rule {} was interrupted by a restart", execution.ruleId());
+                // Recorded under the journaled id: if the run's own record was committed just
+                // before the restart, the database rejects this one as a duplicate.
+                executionLog.append(
+                        new ExecutionRecord(
+                                execution.executionId(),
+                                execution.ruleId(),
+                                rule == null ? null : rule.getName(),
+                                rule == null ? null : rule.getDataSourceId(),
+                                execution.trigger(),
+                                ExecutionStatus.FAILED,
+                                execution.since(),
+                                clock.instant().truncatedTo(ChronoUnit.MICROS),
+                                0,
+                                "Interrupted by a restart; not re-run"));
+                continue;
+            }
+            if (rule != null
+                    && rule.isEnabled()
+                    && dispatch(
+                            rule.getId(),
+                            rule.getDataSourceId(),
+                            execution.trigger(),
+                            execution.executionId())) {
+                continue;
+            }
+            journal.finished(execution.executionId());
+        }
+    }
+
+    /**
+     * Runs the rule on a virtual thread. {@code executionId} is the journaled id of a recovered
+     * execution, or null to journal a new one.
+     */
+    private boolean dispatch(
+            final UUID ruleId,
+            final UUID dataSourceId,
+            final ExecutionTrigger trigger,
+            final UUID executionId) {
+        if (!running || !inFlight.add(ruleId)) {
+            LOG.debug("Rule {} is still running; skipping this firing", ruleId);
+            return false;
+        }
+        final Semaphore permits =
+                sourcePermits.computeIfAbsent(
+                        dataSourceId, id -> new Semaphore(maxConcurrentPerSource, true));
+        executor.execute(
+                () -> {
+                    final long queuedAt = System.nanoTime();
+                    queued.incrementAndGet();
+                    try {
+                        // Journaled here, not by the caller: the dispatcher never waits on a sync.
+                        final UUID journaled =
+                                executionId == null ? journal.queued(ruleId, trigger) : executionId;
+                        try {
+                            permits.acquire();
+                        } finally {
+                            queued.decrementAndGet();
+                            queueWait.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+                        }
+                        // The execution log journals it finished once its record is committed.
+                        try {
+                            journal.running(journaled);
+                            ruleRunner.run(journaled, ruleId, trigger);
+                        } finally {
+                            permits.release();
+                        }
+                    } catch (final InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        inFlight.remove(ruleId);
+                    }
+                });
+        return true;
+    }
+
+    private record RuleSchedule(
+            UUID ruleId, UUID dataSourceId, ScheduleTrigger trigger, long generation) {}
+
+    private record ScheduledRun(Instant dueAt, UUID ruleId, long generation) {}
+}
@@ -0,0 +1,345 @@
+package com.datadrift.execution;
+
+import com.datadrift.domain.AutomationRule;
+import com.datadrift.domain.ExecutionTrigger;
+import com.datadrift.domain.WebhookTrigger;
+import com.datadrift.service.AutomationRuleChangedEvent;
+import com.datadrift.service.AutomationRuleService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Receives webhook calls for webhook-triggered rules and turns them into rule runs. Each call is
+ * written to a {@link WebhookJournal} and placed in a bounded ring buffer (an {@link
+ * ArrayBlockingQueue}); when the buffer is full the call is rejected rather than queued without
+ * limit. Both happen under one short lock; the caller then waits for the journal's fsync outside
+ * it, so concurrent calls share a sync. A single dispatcher thread drains the buffer and throttles
+ * each rule to one run per coalescing window: the first call runs the rule at once and calls
+ * arriving within the window after a run are folded into a single run at the end of the window, so
+ * a chatty upstream costs at most one run per window. The payload of a call is not read: a webhook
+ * only says that the data changed.
+ *
+ * <p>Events are acknowledged in the journal once their run was dispatched; unacknowledged events
+ * are replayed on start. Counters {@code datadrift.webhooks.events} (tagged accepted or rejected)
+ * and {@code datadrift.webhooks.coalesced} (calls that did not need a run of their own), the gauge
+ * {@code datadrift.webhooks.buffered} and the timer {@code datadrift.webhooks.journal.sync} expose
+ * the ingress.
+ */
+@Component
+public class WebhookIngress implements SmartLifecycle {
+
+    private static final Logger LOG = LoggerFactory.getLogger(WebhookIngress.class);
+    private static final long IDLE_POLL_MILLIS = 1000;
+
+    /** How soon a rule still running from its previous run is tried again. */
+    private static final Duration RETRY_DELAY = Duration.ofSeconds(1);
+
+    private final AutomationRuleService ruleService;
+    private final RuleScheduler ruleScheduler;
+    private final Clock clock;
+    private final Path journalFile;
+    private final boolean fsync;
+    private final int journalBytes;
+    private final Timer syncTimer;
+    private final Duration defaultWindow;
+    private final BlockingQueue<WebhookJournal.Event> buffer;
+    private final Map<UUID, Duration> webhookRules = new ConcurrentHashMap<>();
+    private final ReentrantLock acceptLock = new ReentrantLock();
+    private final Counter accepted;
+    private final Counter rejected;
+    private final Counter coalesced;
+    private WebhookJournal journal;
+    private Thread dispatcher;
+    private volatile boolean running;
+
+    public WebhookIngress(
+            final AutomationRuleService ruleService,
+            final RuleScheduler ruleScheduler,
+            final Clock clock,
+            final MeterRegistry registry,
+            @Value("${datadrift.webhooks.journal:${java.io.tmpdir}/datadrift-webhooks.journal}")
+                    final Path journalFile,
+            @Value("${datadrift.webhooks.fsync:true}") final boolean fsync,
+            @Value("${datadrift.webhooks.journal-size:1MB}") final DataSize journalSize,
+            @Value("${datadrift.webhooks.buffer-size:4096}") final int bufferSize,
+            @Value("${datadrift.webhooks.coalesce-window:30s}") final Duration defaultWindow) {
+        if (bufferSize < 1 || defaultWindow.isNegative()) {
+            throw new IllegalArgumentException(
+                    "datadrift.webhooks.buffer-size must be positive and coalesce-window must not"
+                            + " be negative");
+        }
+        if (journalSize.toBytes() < WebhookJournal.MIN_BYTES
+                || journalSize.toBytes() > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(
+                    "datadrift.webhooks.journal-size must be between "
+                            + WebhookJournal.MIN_BYTES
+                            + " bytes and 2GB");
+        }
+        this.ruleService = ruleService;
+        this.ruleScheduler = ruleScheduler;
+        this.clock = clock;
+        this.journalFile = journalFile;
+        this.fsync = fsync;
+        this.journalBytes = (int) journalSize.toBytes();
+        this.syncTimer =
+                Timer.builder("datadrift.webhooks.journal.sync")
+                        .description("Time spent forcing journaled webhook calls to disk")
+                        .register(registry);
+        this.defaultWindow = defaultWindow;
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        this.accepted = events(registry, "accepted");
+        this.rejected = events(registry, "rejected");
+        this.coalesced =
+                Counter.builder("datadrift.webhooks.coalesced")
+                        .description("Webhook calls folded into another call's rule run")
+                        .register(registry);
+        Gauge.builder("datadrift.webhooks.buffered", buffer, BlockingQueue::size)
+                .description("Webhook calls waiting for the dispatcher")
+                .register(registry);
+    }
+
+    /**
+     * Records a call to the rule's webhook and returns its sequence number once it is journaled.
+     *
+     * @throws AutomationRuleService.RuleNotFoundException if no enabled webhook rule has this id
+     * @throws WebhookRejectedException if the buffer is full or the ingress is not running
+     */
+    public long accept(final UUID ruleId) {
+        if (!webhookRules.containsKey(ruleId)) {
+            throw new AutomationRuleService.RuleNotFoundException(
+                    "No enabled webhook rule: " + ruleId);
+        }
+        final WebhookJournal.Event event;
+        acceptLock.lock();
+        try {
+            if (!running) {
+                rejected.increment();
+                throw new WebhookRejectedException("Webhook ingress is not running");
+            }
+            if (buffer.remainingCapacity() == 0) {
+                rejected.increment();
+                throw new WebhookRejectedException("Webhook buffer is full; retry later");
+            }
+            // Journal in buffer order, so an ack of a rule's sequence covers its earlier calls.
+            event = journal.append(ruleId, clock.instant());
+            buffer.add(event);
+            accepted.increment();
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Could not journal webhook call", e);
+        } finally {
+            acceptLock.unlock();
+        }
+        // Durable before acknowledged to the caller, so the call survives a restart.
+        journal.awaitDurable();
+        return event.sequence();
+    }
+
+    /** Tracks which rules accept webhook calls, and with which window. */
+    @EventListener
+    public void onRuleChanged(final AutomationRuleChangedEvent event) {
+        if (event.deleted()) {
+            webhookRules.remove(event.ruleId());
+            return;
+        }
+        register(ruleService.getById(event.ruleId()));
+    }
+
+    @Override
+    public void start() {
+        try {
+            journal = WebhookJournal.open(journalFile, fsync, journalBytes, syncTimer);
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Could not open webhook journal " + journalFile, e);
+        }
+        for (final AutomationRule rule : ruleService.findEnabled()) {
+            register(rule);
+        }
+        final List<WebhookJournal.Event> replayed = journal.replayed();
+        if (!replayed.isEmpty()) {
+            LOG.info("Replaying {} journaled webhook calls", replayed.size());
+        }
+        running = true;
+        dispatcher =
+                Thread.ofPlatform()
+                        .name("webhook-dispatcher")
+                        .daemon()
+                        .start(() -> dispatchLoop(replayed));
+    }
+
+    @Override
+    public void stop() {
+        acceptLock.lock();
+        try {
+            running = false;
+        } finally {
+            acceptLock.unlock();
+        }
+        dispatcher.interrupt();
+        try {
+            dispatcher.join(IDLE_POLL_MILLIS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        journal.close();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void register(final AutomationRule rule) {
+        final WebhookTrigger trigger = rule.isEnabled() ? ruleService.webhookTrigger(rule) : null;
+        if (trigger == null) {
+            webhookRules.remove(rule.getId());
+            return;
+        }
+        webhookRules.put(
+                rule.getId(),
+                trigger.coalesceWindow() == null ? defaultWindow : trigger.coalesceWindow());
+    }
+
+    private void dispatchLoop(final List<WebhookJournal.Event> replayed) {
+        final Map<UUID, Window> windows = new HashMap<>();
+        final Map<UUID, Instant> lastRuns = new HashMap<>();
+        final List<WebhookJournal.Event> batch = new ArrayList<>(replayed);
+        while (running) {
+            try {
+                for (final WebhookJournal.Event event : batch) {
+                    fold(windows, lastRuns, event);
+                }
+                batch.clear();
+                dispatchDue(windows, lastRuns);
+                final WebhookJournal.Event next =
+                        buffer.poll(waitMillis(windows), TimeUnit.MILLISECONDS);
+                if (next != null) {
+                    batch.add(next);
+                    buffer.drainTo(batch);
+                }
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /** Adds the call to its rule's open window, opening one due after the rule's last run. */
+    private void fold(
+            final Map<UUID, Window> windows,
+            final Map<UUID, Instant> lastRuns,
+            final WebhookJournal.Event event) {
+        final Window window = windows.get(event.ruleId());
+        if (window != null) {
+            window.lastSequence = event.sequence();
+            window.events++;
+            return;
+        }
+        final Instant now = clock.instant();
+        final Instant lastRun = lastRuns.get(event.ruleId());
+        final Duration length = webhookRules.getOrDefault(event.ruleId(), Duration.ZERO);
+        final Instant dueAt =
+                lastRun == null || lastRun.plus(length).isBefore(now) ? now : lastRun.plus(length);
+        windows.put(event.ruleId(), new Window(event.sequence(), dueAt));
+    }
+
+    private void dispatchDue(final Map<UUID, Window> windows, final Map<UUID, Instant> lastRuns) {
+        final Instant now = clock.instant();
+        final Iterator<Map.Entry<UUID, Window>> entries = windows.entrySet().iterator();
+        while (entries.hasNext()) {
+            final Map.Entry<UUID, Window> entry = entries.next();
+            final UUID ruleId = entry.getKey();
+            final Window window = entry.getValue();
+            if (window.dueAt.isAfter(now)) {
+                continue;
+            }
+            boolean dispatched = false;
+            if (webhookRules.containsKey(ruleId)) {
+                try {
+                    dispatched = ruleScheduler.runNow(ruleId, ExecutionTrigger.WEBHOOK);
+                } catch (final AutomationRuleService.RuleNotFoundException e) {
+                    webhookRules.remove(ruleId);
+                }
+                if (!dispatched && webhookRules.containsKey(ruleId)) {
+                    // Still running from its previous run: this window becomes its next run.
+                    window.dueAt = now.plus(RETRY_DELAY);
+                    continue;
+                }
+            }
+            if (dispatched) {
+                lastRuns.put(ruleId, now);
+                coalesced.increment(window.events - 1);
+            }
+            entries.remove();
+            try {
+                journal.ack(ruleId, window.lastSequence);
+            } catch (final IOException e) {
+                LOG.error(
+                        "Could not acknowledge webhook calls of rule {}; they will be replayed: {}",
+                        ruleId,
+                        e.getMessage());
+            }
+        }
+    }
+
+    private long waitMillis(final Map<UUID, Window> windows) {
+        final Instant now = clock.instant();
+        long wait = IDLE_POLL_MILLIS;
+        for (final Window window : windows.values()) {
+            wait = Math.min(wait, Math.max(0, Duration.between(now, window.dueAt).toMillis()));
+        }
+        return wait;
+    }
+
+    private static Counter events(final MeterRegistry registry, final String outcome) {
+        return Counter.builder("datadrift.webhooks.events")
+                .description("Webhook calls received")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    /** Calls for one rule waiting for its next run; owned by the dispatcher thread. */
+    private static final class Window {
+
+        private long lastSequence;
+        private int events = 1;
+        private Instant dueAt;
+
+        Window(final long lastSequence, final Instant dueAt) {
+            this.lastSequence = lastSequence;
+            this.dueAt = dueAt;
+        }
+    }
+
+    /** Thrown when a webhook call cannot be accepted right now; the caller should retry. */
+    public static final class WebhookRejectedException extends RuntimeException {
+        public WebhookRejectedException(final String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.datadrift.execution;
+
+import io.micrometer.core.instrument.Timer;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Journal of accepted webhook events, so events that have not yet led to a rule run survive a
+ * restart. It is a {@link MappedJournal}: an event is copied into the mapped file under the
+ * caller's lock and made durable afterwards with {@link #awaitDurable}, where concurrent calls
+ * share an fsync. An event is acknowledged once a run covering it was dispatched: an ack covers
+ * every earlier event of the same rule. The file is compacted to the outstanding events whenever it
+ * fills up, so it stays as small as the backlog.
+ */
+final class WebhookJournal implements Closeable {
+
+    private static final byte EVENT = 1;
+    private static final byte ACK = 2;
+
+    /** type, sequence, rule id, received-at millis. */
+    private static final int ENTRY_BYTES = 1 + Long.BYTES * 4;
+
+    /** Smallest journal that holds a record. */
+    static final int MIN_BYTES = ENTRY_BYTES + MappedJournal.CRC_BYTES;
+
+    private final boolean fsync;
+    private final Map<Long, Event> outstanding = new LinkedHashMap<>();
+    private final MappedJournal<Entry> journal;
+    private final List<Event> replayed;
+    private long lastSequence;
+    private long lastTicket;
+
+    private WebhookJournal(
+            final Path file, final boolean fsync, final int capacity, final Timer syncTimer)
+            throws IOException {
+        this.fsync = fsync;
+        this.journal =
+                new MappedJournal<>(file, capacity, new Entries(), syncTimer, "webhook-journal");
+        journal.open();
+        synchronized (outstanding) {
+            this.replayed = List.copyOf(outstanding.values());
+        }
+        for (final Event event : replayed) {
+            lastSequence = Math.max(lastSequence, event.sequence());
+        }
+    }
+
+    /**
+     * Opens the journal, replaying the events that were not acknowledged and compacting the file to
+     * just those.
+     */
+    static WebhookJournal open(
+            final Path file, final boolean fsync, final int capacity, final Timer syncTimer)
+            throws IOException {
+        return new WebhookJournal(file, fsync, capacity, syncTimer);
+    }
+
+    /** Events found unacknowledged when the journal was opened, oldest first. */
+    List<Event> replayed() {
+        return replayed;
+    }
+
+    /**
+     * Assigns the next sequence number and journals the event without waiting for the disk; call
+     * {@link #awaitDurable} before acknowledging the event to its sender.
+     */
+    synchronized Event append(final UUID ruleId, final Instant receivedAt) throws IOException {
+        final Event event = new Event(lastSequence + 1, ruleId, receivedAt);
+        lastTicket = journal.write(List.of(new Entry(EVENT, event)));
+        lastSequence = event.sequence();
+        return event;
+    }
+
+    /** Returns once every event appended so far is on disk; at once when fsync is off. */
+    void awaitDurable() {
+        if (!fsync) {
+            return;
+        }
+        final long ticket;
+        synchronized (this) {
+            ticket = lastTicket;
+        }
+        journal.await(ticket);
+    }
+
+    /**
+     * Acknowledges the rule's events up to and including {@code sequence}. The ack is not waited
+     * for: if it is lost, the events are replayed and run once more.
+     */
+    void ack(final UUID ruleId, final long sequence) throws IOException {
+        journal.write(List.of(new Entry(ACK, new Event(sequence, ruleId, Instant.EPOCH))));
+    }
+
+    @Override
+    public void close() {
+        journal.close();
+    }
+
+    /** One accepted webhook call. */
+    record Event(long sequence, UUID ruleId, Instant receivedAt) {}
+
+    /** An event, or an ack of the rule's events up to the sequence. */
+    private record Entry(byte type, Event event) {}
+
+    /** Encodes events and acks and keeps the events not yet acknowledged. */
+    private final class Entries implements MappedJournal.Records<Entry> {
+
+        @Override
+        public int size() {
+            return ENTRY_BYTES;
+        }
+
+        @Override
+        public void write(final Entry entry, final ByteBuffer out) {
+            final Event event = entry.event();
+            out.put(entry.type())
+                    .putLong(event.sequence())
+                    .putLong(event.ruleId().getMostSignificantBits())
+                    .putLong(event.ruleId().getLeastSignificantBits())
+                    .putLong(event.receivedAt().toEpochMilli());
+        }
+
+        @Override
+        public Entry read(final ByteBuffer in) {
+            final byte type = in.get();
+            final long sequence = in.getLong();
+            final UUID ruleId = new UUID(in.getLong(), in.getLong());
+            final long millis = in.getLong();
+            if (type != EVENT && type != ACK) {
+                return null;
+            }
+            return new Entry(type, new Event(sequence, ruleId, Instant.ofEpochMilli(millis)));
+        }
+
+        @Override
+        public void apply(final Entry entry) {
+            final Event event = entry.event();
+            synchronized (outstanding) {
+                if (entry.type() == EVENT) {
+                    outstanding.put(event.sequence(), event);
+                    return;
+                }
+                final Iterator<Event> events = outstanding.values().iterator();
+                while (events.hasNext()) {
+                    final Event pending = events.next();
+                    if (pending.ruleId().equals(event.ruleId())
+                            && pending.sequence() <= event.sequence()) {
+                        events.remove();
+                    }
+                }
+            }
+        }
+
+        @Override
+        public Collection<Entry> live() {
+            synchronized (outstanding) {
+                final List<Entry> entries = new ArrayList<>(outstanding.size());
+                for (final Event event : outstanding.values()) {
+                    entries.add(new Entry(EVENT, event));
+                }
+                return entries;
+            }
+        }
+    }
+}
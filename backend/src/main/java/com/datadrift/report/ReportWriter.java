@@ -0,0 +1,33 @@
+package com.datadrift.report;
+
+import com.datadrift.domain.ReportFormat;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * Encodes rows of a Data View into a report format as they arrive. Implementations write through a
+ * bounded buffer and never hold more than the current row, so report size is limited only by disk.
+ * Values are {@link Number}, {@link Boolean}, {@link String} or null.
+ */
+public interface ReportWriter {
+
+    /** Writes the header (if the format has one) for the given columns. Called exactly once. */
+    void start(final List<String> columns) throws IOException;
+
+    /** Writes one row; {@code values} is only valid during the call. */
+    void row(final Object[] values) throws IOException;
+
+    /** Writes the trailer and flushes. Does not close the underlying stream. */
+    void finish() throws IOException;
+
+    /** Returns a writer for {@code format} writing UTF-8 to {@code out}. */
+    static ReportWriter create(final ReportFormat format, final OutputStream out) {
+        return switch (format) {
+            case CSV -> new CsvReportWriter(out);
+            case JSON -> new JsonReportWriter(out);
+            case XML -> new XmlReportWriter(out);
+            case YAML -> new YamlReportWriter(out);
+        };
+    }
+}
@@ -0,0 +1,74 @@
+package com.datadrift.report;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+/**
+ * {@code <report><row><field name="...">value</field>...</row>...</report>}. Column names go into
+ * an attribute because they are rarely valid XML element names; null values are written as {@code
+ * <field name="..." null="true"/>}.
+ */
+final class XmlReportWriter implements ReportWriter {
+
+    private static final XMLOutputFactory FACTORY = XMLOutputFactory.newFactory();
+
+    private final OutputStream out;
+    private XMLStreamWriter writer;
+    private List<String> columns;
+
+    XmlReportWriter(final OutputStream out) {
+        this.out = out;
+    }
+
+    @Override
+    public void start(final List<String> columns) throws IOException {
+        this.columns = List.copyOf(columns);
+        try {
+            writer = FACTORY.createXMLStreamWriter(out, StandardCharsets.UTF_8.name());
+            writer.writeStartDocument(StandardCharsets.UTF_8.name(), "1.0");
+            writer.writeStartElement("report");
+        } catch (final XMLStreamException e) {
+            throw new IOException("Could not start XML report", e);
+        }
+    }
+
+    @Override
+    public void row(final Object[] values) throws IOException {
+        try {
+            writer.writeStartElement("row");
+            for (int i = 0; i < values.length; i++) {
+                if (values[i] == null) {
+                    writer.writeEmptyElement("field");
+                    writer.writeAttribute("name", columns.get(i));
+                    writer.writeAttribute("null", "true");
+                } else {
+                    writer.writeStartElement("field");
+                    writer.writeAttribute("name", columns.get(i));
+                    writer.writeCharacters(values[i].toString());
+                    writer.writeEndElement();
+                }
+            }
+            writer.writeEndElement();
+        } catch (final XMLStreamException e) {
+            throw new IOException("Could not write XML row", e);
+        }
+    }
+
+    @Override
+    public void finish() throws IOException {
+        try {
+            writer.writeEndElement();
+            writer.writeEndDocument();
+            writer.flush();
+            writer.close();
+            out.flush();
+        } catch (final XMLStreamException e) {
+            throw new IOException("Could not finish XML report", e);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.datadrift.report;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A YAML sequence with one mapping per row. Keys and strings are written as double-quoted scalars
+ * so no value can be misread as a number, boolean or YAML syntax; an empty report is {@code []}.
+ */
+final class YamlReportWriter implements ReportWriter {
+
+    private static final int BUFFER_CHARS = 64 * 1024;
+
+    private final Writer out;
+    private List<String> keys;
+    private boolean empty = true;
+
+    YamlReportWriter(final OutputStream out) {
+        this.out =
+                new BufferedWriter(
+                        new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_CHARS);
+    }
+
+    @Override
+    public void start(final List<String> columns) {
+        keys = new ArrayList<>(columns.size());
+        for (final String column : columns) {
+            keys.add(quote(column) + ": ");
+        }
+    }
+
+    @Override
+    public void row(final Object[] values) throws IOException {
+        empty = false;
+        for (int i = 0; i < values.length; i++) {
+            out.write(i == 0 ? "- " : "  ");
+            out.write(keys.get(i));
+            out.write(scalar(values[i]));
+            out.write('\n');
+        }
+        if (values.length == 0) {
+            out.write("- {}\n");
+        }
+    }
+
+    @Override
+    public void finish() throws IOException {
+        if (empty) {
+            out.write("[]\n");
+        }
+        out.flush();
+    }
+
+    private static String scalar(final Object value) {
+        if (value == null) {
+            return "null";
+        }
+        if (value instanceof Boolean) {
+            return value.toString();
+        }
+        if (value instanceof Double || value instanceof Float) {
+            final double number = ((Number) value).doubleValue();
+            if (Double.isNaN(number)) {
+                return ".nan";
+            }
+            if (Double.isInfinite(number)) {
+                return number > 0 ? ".inf" : "-.inf";
+            }
+            return value.toString();
+        }
+        if (value instanceof Number) {
+            return value.toString();
+        }
+        return quote(value.toString());
+    }
+
+    /** Double-quoted YAML scalar; escapes use the JSON-compatible subset of YAML escapes. */
+    private static String quote(final String value) {
+        final StringBuilder quoted = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            switch (c) {
+                case '"' -> quoted.append("\\\"");
+                case '\\' -> quoted.append("\\\\");
+                case '\n' -> quoted.append("\\n");
+                case '\r' -> quoted.append("\\r");
+                case '\t' -> quoted.append("\\t");
+                default -> {
+                    if (c < 0x20 || c == 0x7f) {
+                        quoted.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        quoted.append(c);
+                    }
+                }
+            }
+        }
+        return quoted.append('"').toString();
+    }
+}
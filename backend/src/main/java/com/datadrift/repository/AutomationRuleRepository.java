@@ -0,0 +1,17 @@
+package com.datadrift.repository;
+
+import com.datadrift.domain.AutomationRule;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+/** JPA repository for AutomationRule. */
+public interface AutomationRuleRepository extends JpaRepository<AutomationRule, UUID> {
+
+    List<AutomationRule> findByEnabledTrue();
+
+    boolean existsByName(final String name);
+
+    /** True if another rule (excluding this id) has the given name. */
+    boolean existsByNameAndIdNot(final String name, final UUID id);
+}
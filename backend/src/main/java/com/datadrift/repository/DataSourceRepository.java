@@ -1,12 +1,16 @@
 package com.datadrift.repository;
 
 import com.datadrift.domain.DataSource;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 
-/** JPA repository for DataSource. */
-public interface DataSourceRepository extends JpaRepository<DataSource, UUID> {
+/** JPA repository for DataSource. List views use {@link #findSummaries} instead of findAll. */
+public interface DataSourceRepository
+        extends JpaRepository<DataSource, UUID>, DataSourceSummaryQueries {
 
     Optional<DataSource> findByName(final String name);
 
@@ -14,4 +18,10 @@ public interface DataSourceRepository extends JpaRepository<DataSource, UUID> {
 
     /** True if another data source (excluding this id) has the given name. */
     boolean existsByNameAndIdNot(final String name, final UUID id);
+
+    /** Data sources with any of the given names, in a single {@code IN} query. */
+    List<DataSource> findAllByNameIn(final Collection<String> names);
+
+    /** Keyset page for exports: the next {@code limit} data sources ordered by name. */
+    List<DataSource> findByNameGreaterThanOrderByNameAsc(final String afterName, final Limit limit);
 }
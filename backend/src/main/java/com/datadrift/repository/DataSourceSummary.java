@@ -0,0 +1,9 @@
+package com.datadrift.repository;
+
+import com.datadrift.domain.DataSourceType;
+import java.time.Instant;
+import java.util.UUID;
+
+/** List-view projection of a data source; never loads the config column. */
+public record DataSourceSummary(
+        UUID id, String name, DataSourceType type, Instant createdAt, Instant updatedAt) {}
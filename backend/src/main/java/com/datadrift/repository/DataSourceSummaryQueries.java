@@ -0,0 +1,18 @@
+package com.datadrift.repository;
+
+import com.datadrift.domain.DataSourceType;
+import java.util.List;
+
+/** Keyset-paged summary queries; implemented by {@link DataSourceSummaryQueriesImpl}. */
+public interface DataSourceSummaryQueries {
+
+    /**
+     * Returns up to {@code limit} summaries ordered by name, starting after {@code afterName}. Null
+     * filters are ignored; names are unique, so the name alone is a stable keyset.
+     */
+    List<DataSourceSummary> findSummaries(
+            final DataSourceType type,
+            final String namePrefix,
+            final String afterName,
+            final int limit);
+}
@@ -0,0 +1,69 @@
+package com.datadrift.repository;
+
+import com.datadrift.domain.DataSourceType;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import java.util.List;
+
+/**
+ * Spring Data fragment for {@link DataSourceRepository}. Builds the JPQL for only the filters in
+ * use so each combination stays a plain index range scan: {@code idx_data_sources_name} serves the
+ * name prefix, the keyset and the ordering; {@code idx_data_sources_type} the type filter.
+ */
+class DataSourceSummaryQueriesImpl implements DataSourceSummaryQueries {
+
+    private static final char LIKE_ESCAPE = '!';
+
+    private final EntityManager entityManager;
+
+    DataSourceSummaryQueriesImpl(final EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<DataSourceSummary> findSummaries(
+            final DataSourceType type,
+            final String namePrefix,
+            final String afterName,
+            final int limit) {
+        final StringBuilder jpql =
+                new StringBuilder(
+                        "select new com.datadrift.repository.DataSourceSummary("
+                                + "d.id, d.name, d.type, d.createdAt, d.updatedAt)"
+                                + " from DataSource d where 1 = 1");
+        if (type != null) {
+            jpql.append(" and d.type = :type");
+        }
+        if (namePrefix != null) {
+            jpql.append(" and d.name like :prefix escape '").append(LIKE_ESCAPE).append('\'');
+        }
+        if (afterName != null) {
+            jpql.append(" and d.name > :afterName");
+        }
+        jpql.append(" order by d.name");
+        final TypedQuery<DataSourceSummary> query =
+                entityManager.createQuery(jpql.toString(), DataSourceSummary.class);
+        if (type != null) {
+            query.setParameter("type", type);
+        }
+        if (namePrefix != null) {
+            query.setParameter("prefix", escapeLike(namePrefix) + "%");
+        }
+        if (afterName != null) {
+            query.setParameter("afterName", afterName);
+        }
+        return query.setMaxResults(limit).getResultList();
+    }
+
+    private static String escapeLike(final String value) {
+        final StringBuilder escaped = new StringBuilder(value.length() + 4);
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            if (c == '%' || c == '_' || c == LIKE_ESCAPE) {
+                escaped.append(LIKE_ESCAPE);
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+}
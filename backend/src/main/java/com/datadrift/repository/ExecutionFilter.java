@@ -0,0 +1,18 @@
+package com.datadrift.repository;
+
+import com.datadrift.domain.ExecutionStatus;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Criteria for reading the execution log newest-first. Null fields are not filtered on; {@code
+ * afterStartedAt}/{@code afterId} is the keyset position of the last row of the previous page.
+ */
+public record ExecutionFilter(
+        UUID ruleId,
+        ExecutionStatus status,
+        Instant from,
+        Instant to,
+        Instant afterStartedAt,
+        UUID afterId,
+        int limit) {}
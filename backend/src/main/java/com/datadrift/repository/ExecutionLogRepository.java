@@ -0,0 +1,117 @@
+package com.datadrift.repository;
+
+import com.datadrift.domain.ExecutionRecord;
+import com.datadrift.domain.ExecutionStatus;
+import com.datadrift.domain.ExecutionTrigger;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Plain JDBC access to the append-only executions table. Writes go through {@link #insertAll} as a
+ * single JDBC batch; reads page newest-first with a (started_at, id) keyset so deep pages cost the
+ * same as the first one.
+ */
+@Repository
+public class ExecutionLogRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO executions (id, rule_id, rule_name, data_source_id, trigger_type, status,"
+                    + " started_at, finished_at, rows_scanned, message)"
+                    + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String SELECT_SQL =
+            "SELECT id, rule_id, rule_name, data_source_id, trigger_type, status, started_at,"
+                    + " finished_at, rows_scanned, message FROM executions WHERE 1 = 1";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ExecutionLogRepository(final JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Inserts all records in one JDBC batch and one transaction, so a failed batch can be retried.
+     */
+    @Transactional
+    public void insertAll(final List<ExecutionRecord> records) {
+        if (records.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(
+                INSERT_SQL, records, records.size(), ExecutionLogRepository::bindInsert);
+    }
+
+    /** Returns up to {@code filter.limit()} records ordered by started_at and id, newest first. */
+    public List<ExecutionRecord> find(final ExecutionFilter filter) {
+        final StringBuilder sql = new StringBuilder(SELECT_SQL);
+        final List<Object> args = new ArrayList<>();
+        if (filter.ruleId() != null) {
+            sql.append(" AND rule_id = ?");
+            args.add(filter.ruleId());
+        }
+        if (filter.status() != null) {
+            sql.append(" AND status = ?");
+            args.add(filter.status().name());
+        }
+        if (filter.from() != null) {
+            sql.append(" AND started_at >= ?");
+            args.add(Timestamp.from(filter.from()));
+        }
+        if (filter.to() != null) {
+            sql.append(" AND started_at < ?");
+            args.add(Timestamp.from(filter.to()));
+        }
+        if (filter.afterStartedAt() != null && filter.afterId() != null) {
+            final Timestamp after = Timestamp.from(filter.afterStartedAt());
+            sql.append(" AND (started_at < ? OR (started_at = ? AND id < ?))");
+            args.add(after);
+            args.add(after);
+            args.add(filter.afterId());
+        }
+        sql.append(" ORDER BY started_at DESC, id DESC LIMIT ?");
+        args.add(filter.limit());
+        return jdbcTemplate.query(sql.toString(), ExecutionLogRepository::mapRow, args.toArray());
+    }
+
+    private static void bindInsert(final PreparedStatement ps, final ExecutionRecord record)
+            throws SQLException {
+        ps.setObject(1, record.id());
+        ps.setObject(2, record.ruleId());
+        ps.setString(3, record.ruleName());
+        if (record.dataSourceId() == null) {
+            ps.setNull(4, Types.OTHER);
+        } else {
+            ps.setObject(4, record.dataSourceId());
+        }
+        ps.setString(5, record.trigger().name());
+        ps.setString(6, record.status().name());
+        ps.setTimestamp(7, Timestamp.from(record.startedAt()));
+        ps.setTimestamp(8, Timestamp.from(record.finishedAt()));
+        ps.setLong(9, record.rowsScanned());
+        ps.setString(10, record.message());
+    }
+
+    private static ExecutionRecord mapRow(final ResultSet rs, final int rowNum)
+            throws SQLException {
+        return new ExecutionRecord(
+                rs.getObject("id", UUID.class),
+                rs.getObject("rule_id", UUID.class),
+                rs.getString("rule_name"),
+                rs.getObject("data_source_id", UUID.class),
+                ExecutionTrigger.valueOf(rs.getString("trigger_type")),
+                ExecutionStatus.valueOf(rs.getString("status")),
+                rs.getTimestamp("started_at").toInstant(),
+                rs.getTimestamp("finished_at").toInstant(),
+                rs.getLong("rows_scanned"),
+                rs.getString("message"));
+    }
+}
@@ -0,0 +1,12 @@
+package com.datadrift.repository;
+
+import com.datadrift.domain.Report;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+/** JPA repository for Report. */
+public interface ReportRepository extends JpaRepository<Report, UUID> {
+
+    List<Report> findAllByOrderByCreatedAtDesc();
+}
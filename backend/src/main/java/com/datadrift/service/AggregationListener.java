@@ -0,0 +1,14 @@
+package com.datadrift.service;
+
+/**
+ * Receives the results of {@link ViewQueryService#aggregateAll} one spec at a time, once the view's
+ * specs are done and its connection is released. {@code index} is the spec's position in the
+ * request.
+ */
+public interface AggregationListener {
+
+    void onResult(int index, AggregationResult result);
+
+    /** The spec was invalid or its query failed; the other specs are unaffected. */
+    void onError(int index, RuntimeException error);
+}
@@ -0,0 +1,192 @@
+package com.datadrift.service;
+
+import com.datadrift.domain.AggregationSpec;
+import com.datadrift.domain.AggregationSpec.Measure;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Builds the SQL for {@link AggregationSpec}s over a view query. The view's rows never leave the
+ * engine: grouping, measures and time bucketing all run in DuckDB and only one row per group is
+ * returned.
+ *
+ * <p>Time buckets are sized from the data, not fixed: the column's min and max (cheap on Parquet,
+ * which stores both per row group) give the span, and the bucket width is the span divided by the
+ * requested number of points, so a chart gets at most one point per pixel whatever the date range.
+ * Bucket starts are returned as epoch milliseconds in the first column.
+ */
+final class AggregationPlanner {
+
+    static final String BUCKET_COLUMN = "bucket";
+    static final int DEFAULT_POINTS = 500;
+    static final int MAX_POINTS = 10_000;
+
+    private AggregationPlanner() {}
+
+    /** Output column names, in result order. */
+    static List<String> columns(final AggregationSpec spec) {
+        final List<String> columns = new ArrayList<>();
+        if (spec.timeBucket() != null) {
+            columns.add(BUCKET_COLUMN);
+        }
+        columns.addAll(spec.groupBy());
+        for (final Measure measure : spec.measures()) {
+            columns.add(alias(measure));
+        }
+        return columns;
+    }
+
+    /** View columns the spec reads, in first-use order. */
+    static Set<String> fields(final AggregationSpec spec) {
+        final Set<String> fields = new LinkedHashSet<>();
+        if (spec.timeBucket() != null && !isBlank(spec.timeBucket().field())) {
+            fields.add(spec.timeBucket().field());
+        }
+        fields.addAll(spec.groupBy());
+        for (final Measure measure : spec.measures()) {
+            if (measure != null && !isBlank(measure.field())) {
+                fields.add(measure.field());
+            }
+        }
+        return fields;
+    }
+
+    /**
+     * Returns the aggregation query over {@code filteredViewSql} (the view with any pushed-down
+     * filter applied, referenced once so its parameters bind once), returning at most {@code limit}
+     * groups ordered by bucket and group keys.
+     *
+     * @throws IllegalArgumentException if the spec is incomplete or names clash
+     */
+    static String sql(final String filteredViewSql, final AggregationSpec spec, final int limit) {
+        validate(spec);
+        int keys = 0;
+        final List<String> select = new ArrayList<>();
+        String from = "view_result";
+        String where = "";
+        if (spec.timeBucket() != null) {
+            final String micros = epochMicros(spec.timeBucket().field());
+            from +=
+                    ", (SELECT lo, greatest(1, (hi - lo) // "
+                            + points(spec.timeBucket())
+                            + " + 1) AS step FROM (SELECT min("
+                            + micros
+                            + ") AS lo, max("
+                            + micros
+                            + ") AS hi FROM view_result)) AS bounds";
+            select.add(
+                    "(lo + (("
+                            + micros
+                            + " - lo) // step) * step) // 1000 AS "
+                            + ViewQueryService.quoteIdentifier(BUCKET_COLUMN));
+            keys++;
+            where = " WHERE " + micros + " IS NOT NULL";
+        }
+        for (final String field : spec.groupBy()) {
+            final String column = ViewQueryService.quoteIdentifier(field);
+            select.add(column);
+            keys++;
+        }
+        for (final Measure measure : spec.measures()) {
+            select.add(
+                    expression(measure)
+                            + " AS "
+                            + ViewQueryService.quoteIdentifier(alias(measure)));
+        }
+        final StringBuilder sql =
+                new StringBuilder("WITH view_result AS (")
+                        .append(filteredViewSql)
+                        .append(") SELECT ")
+                        .append(String.join(", ", select))
+                        .append(" FROM ")
+                        .append(from)
+                        .append(where);
+        if (keys > 0) {
+            // Positional keys: the bucket expression is not repeated in GROUP BY and ORDER BY.
+            final List<String> positions = new ArrayList<>();
+            for (int i = 1; i <= keys; i++) {
+                positions.add(Integer.toString(i));
+            }
+            sql.append(" GROUP BY ").append(String.join(", ", positions));
+            sql.append(" ORDER BY ").append(String.join(", ", positions));
+        }
+        return sql.append(" LIMIT ").append(limit).toString();
+    }
+
+    static int points(final AggregationSpec.TimeBucket bucket) {
+        final int points = bucket.points() == null ? DEFAULT_POINTS : bucket.points();
+        if (points < 1 || points > MAX_POINTS) {
+            throw new IllegalArgumentException(
+                    "timeBucket.points must be between 1 and " + MAX_POINTS);
+        }
+        return points;
+    }
+
+    /**
+     * Checks that the spec is complete and its output names are distinct.
+     *
+     * @throws IllegalArgumentException if not
+     */
+    static void validate(final AggregationSpec spec) {
+        if (spec.measures().isEmpty()) {
+            throw new IllegalArgumentException("measures must not be empty");
+        }
+        if (spec.timeBucket() != null && isBlank(spec.timeBucket().field())) {
+            throw new IllegalArgumentException("timeBucket.field is required");
+        }
+        for (final String field : spec.groupBy()) {
+            if (isBlank(field)) {
+                throw new IllegalArgumentException("groupBy must not contain blank names");
+            }
+        }
+        for (final Measure measure : spec.measures()) {
+            if (measure == null || measure.function() == null) {
+                throw new IllegalArgumentException("measure function is required");
+            }
+            if (measure.function() != AggregationSpec.Function.COUNT && isBlank(measure.field())) {
+                throw new IllegalArgumentException(measure.function() + " requires a field");
+            }
+        }
+        final Set<String> names = new HashSet<>();
+        for (final String column : columns(spec)) {
+            if (!names.add(column)) {
+                throw new IllegalArgumentException("duplicate output column: " + column);
+            }
+        }
+    }
+
+    private static String expression(final Measure measure) {
+        if (isBlank(measure.field())) {
+            return "count(*)";
+        }
+        final String field = ViewQueryService.quoteIdentifier(measure.field());
+        return switch (measure.function()) {
+            case COUNT -> "count(" + field + ")";
+            case COUNT_DISTINCT -> "count(DISTINCT " + field + ")";
+            case SUM -> "sum(" + field + ")";
+            case AVG -> "avg(" + field + ")";
+            case MIN -> "min(" + field + ")";
+            case MAX -> "max(" + field + ")";
+        };
+    }
+
+    private static String alias(final Measure measure) {
+        if (!isBlank(measure.as())) {
+            return measure.as();
+        }
+        final String function = measure.function().name().toLowerCase(Locale.ROOT);
+        return isBlank(measure.field()) ? function : function + "_" + measure.field();
+    }
+
+    private static String epochMicros(final String field) {
+        return "epoch_us(CAST(" + ViewQueryService.quoteIdentifier(field) + " AS TIMESTAMP))";
+    }
+
+    private static boolean isBlank(final String value) {
+        return value == null || value.isBlank();
+    }
+}
@@ -0,0 +1,11 @@
+package com.datadrift.service;
+
+import java.util.List;
+
+/**
+ * Aggregated rows of a Data View in columnar form: {@code data.get(i)} holds every value of {@code
+ * columns.get(i)}, one per group. {@code truncated} is true when more than {@code rows} groups
+ * exist.
+ */
+public record AggregationResult(
+        List<String> columns, List<List<Object>> data, int rows, boolean truncated) {}
@@ -0,0 +1,6 @@
+package com.datadrift.service;
+
+import java.util.UUID;
+
+/** Published after an automation rule is created, updated or deleted. */
+public record AutomationRuleChangedEvent(UUID ruleId, boolean deleted) {}
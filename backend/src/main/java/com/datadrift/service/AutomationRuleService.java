@@ -0,0 +1,351 @@
+package com.datadrift.service;
+
+import com.datadrift.domain.AutomationRule;
+import com.datadrift.domain.Condition;
+import com.datadrift.domain.ReportAction;
+import com.datadrift.domain.ReportFormat;
+import com.datadrift.domain.ScheduleTrigger;
+import com.datadrift.domain.ViewDefinition;
+import com.datadrift.domain.ViewMode;
+import com.datadrift.domain.WebhookTrigger;
+import com.datadrift.execution.ConditionCompiler;
+import com.datadrift.repository.AutomationRuleRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.DateTimeException;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Manages automation rules: validates the trigger and definition JSON, persists rules and publishes
+ * {@link AutomationRuleChangedEvent} so the scheduler picks up changes.
+ *
+ * <p>Trigger JSON: {@code {"version":1,"type":"SCHEDULE","frequency":"DAILY","time":"08:30",
+ * "timezone":"UTC"}}; frequency is INTERVAL (with {@code intervalMinutes}), HOURLY, DAILY or WEEKLY
+ * (with {@code dayOfWeek}). Webhook-triggered rules use {@code {"version":1,"type":"WEBHOOK",
+ * "coalesceSeconds":30}}, the window being optional. Definition JSON: {@code
+ * {"version":1,"view":{"mode":"ADVANCED", "sql":"SELECT
+ * ..."},"drift":{"keyColumns":["id"]},"conditions":{...},"actions":[...]}}; the optional {@code
+ * drift} block makes each run report rows changed since the previous run, and {@code conditions}
+ * are described by {@link ConditionCompiler}. An optional {@code
+ * "report":{"format":"CSV","gzip":true,"name":"..."}} writes the view to a report file on each run.
+ */
+@Service
+public class AutomationRuleService {
+
+    private static final String TRIGGER_SCHEDULE = "SCHEDULE";
+    private static final String TRIGGER_WEBHOOK = "WEBHOOK";
+    private static final int MAX_COALESCE_SECONDS = 86_400;
+    private static final int SUPPORTED_VERSION = 1;
+
+    private final AutomationRuleRepository ruleRepository;
+    private final DataSourceService dataSourceService;
+    private final ViewQueryService viewQueryService;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public AutomationRuleService(
+            final AutomationRuleRepository ruleRepository,
+            final DataSourceService dataSourceService,
+            final ViewQueryService viewQueryService,
+            final ObjectMapper objectMapper,
+            final ApplicationEventPublisher eventPublisher) {
+        this.ruleRepository = ruleRepository;
+        this.dataSourceService = dataSourceService;
+        this.viewQueryService = viewQueryService;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Transactional
+    public AutomationRule create(
+            final String name,
+            final boolean enabled,
+            final UUID dataSourceId,
+            final String triggerJson,
+            final String definitionJson) {
+        final String trimmedName = requireName(name);
+        if (ruleRepository.existsByName(trimmedName)) {
+            throw new IllegalArgumentException("name must be unique: " + name);
+        }
+        validate(dataSourceId, triggerJson, definitionJson);
+        final AutomationRule rule =
+                new AutomationRule(
+                        UUID.randomUUID(),
+                        trimmedName,
+                        enabled,
+                        dataSourceId,
+                        triggerJson,
+                        definitionJson,
+                        Instant.now());
+        final AutomationRule saved = ruleRepository.save(rule);
+        eventPublisher.publishEvent(new AutomationRuleChangedEvent(saved.getId(), false));
+        return saved;
+    }
+
+    @Transactional
+    public AutomationRule update(
+            final UUID id,
+            final String name,
+            final boolean enabled,
+            final UUID dataSourceId,
+            final String triggerJson,
+            final String definitionJson) {
+        final AutomationRule rule = getById(id);
+        final String trimmedName = requireName(name);
+        if (ruleRepository.existsByNameAndIdNot(trimmedName, id)) {
+            throw new IllegalArgumentException("name must be unique: " + name);
+        }
+        validate(dataSourceId, triggerJson, definitionJson);
+        rule.update(trimmedName, enabled, dataSourceId, triggerJson, definitionJson, Instant.now());
+        final AutomationRule saved = ruleRepository.save(rule);
+        eventPublisher.publishEvent(new AutomationRuleChangedEvent(id, false));
+        return saved;
+    }
+
+    public List<AutomationRule> findAll() {
+        return ruleRepository.findAll();
+    }
+
+    public List<AutomationRule> findEnabled() {
+        return ruleRepository.findByEnabledTrue();
+    }
+
+    public AutomationRule getById(final UUID id) {
+        return ruleRepository
+                .findById(id)
+                .orElseThrow(() -> new RuleNotFoundException("Automation rule not found: " + id));
+    }
+
+    @Transactional
+    public void deleteById(final UUID id) {
+        if (!ruleRepository.existsById(id)) {
+            throw new RuleNotFoundException("Automation rule not found: " + id);
+        }
+        ruleRepository.deleteById(id);
+        eventPublisher.publishEvent(new AutomationRuleChangedEvent(id, true));
+    }
+
+    /** Returns the rule's schedule, or null when it is not triggered by a schedule. */
+    public ScheduleTrigger scheduleTrigger(final AutomationRule rule) {
+        final JsonNode trigger = parseObject(rule.getTriggerConfig(), "trigger");
+        if (!TRIGGER_SCHEDULE.equalsIgnoreCase(trigger.path("type").asText(TRIGGER_SCHEDULE))) {
+            return null;
+        }
+        return parseSchedule(trigger);
+    }
+
+    /** Returns the rule's webhook trigger, or null when it is not triggered by webhook. */
+    public WebhookTrigger webhookTrigger(final AutomationRule rule) {
+        final JsonNode trigger = parseObject(rule.getTriggerConfig(), "trigger");
+        if (!TRIGGER_WEBHOOK.equalsIgnoreCase(trigger.path("type").asText(TRIGGER_SCHEDULE))) {
+            return null;
+        }
+        return parseWebhook(trigger);
+    }
+
+    /** The Data View the rule evaluates, over the rule's data source. */
+    public ViewDefinition viewDefinition(final AutomationRule rule) {
+        final JsonNode view = parseObject(rule.getDefinition(), "definition").path("view");
+        return toViewDefinition(rule.getDataSourceId(), view);
+    }
+
+    /** The rule's condition tree, or null when every row matches. */
+    public Condition conditions(final AutomationRule rule) {
+        return ConditionCompiler.parse(
+                parseObject(rule.getDefinition(), "definition").path("conditions"));
+    }
+
+    /** Key columns for drift detection on each run, or an empty list when drift is off. */
+    public List<String> driftKeyColumns(final AutomationRule rule) {
+        return driftKeyColumns(parseObject(rule.getDefinition(), "definition").path("drift"));
+    }
+
+    /** The report the rule writes on each run, or null when it writes none. */
+    public ReportAction reportAction(final AutomationRule rule) {
+        return reportAction(
+                parseObject(rule.getDefinition(), "definition").path("report"), rule.getName());
+    }
+
+    private void validate(
+            final UUID dataSourceId, final String triggerJson, final String definitionJson) {
+        if (dataSourceId == null) {
+            throw new IllegalArgumentException("dataSourceId is required");
+        }
+        dataSourceService.getById(dataSourceId);
+        final JsonNode trigger = parseObject(triggerJson, "trigger");
+        requireSupportedVersion(trigger, "trigger");
+        final String type = trigger.path("type").asText(TRIGGER_SCHEDULE);
+        if (TRIGGER_WEBHOOK.equalsIgnoreCase(type)) {
+            parseWebhook(trigger);
+        } else if (TRIGGER_SCHEDULE.equalsIgnoreCase(type)) {
+            parseSchedule(trigger);
+        } else {
+            throw new IllegalArgumentException("Unsupported trigger type: " + type);
+        }
+        final JsonNode definition = parseObject(definitionJson, "definition");
+        requireSupportedVersion(definition, "definition");
+        viewQueryService.buildSql(toViewDefinition(dataSourceId, definition.path("view")));
+        driftKeyColumns(definition.path("drift"));
+        ConditionCompiler.parse(definition.path("conditions"));
+        reportAction(definition.path("report"), "report");
+    }
+
+    private static WebhookTrigger parseWebhook(final JsonNode trigger) {
+        if (!trigger.hasNonNull("coalesceSeconds")) {
+            return new WebhookTrigger(null);
+        }
+        final JsonNode seconds = trigger.get("coalesceSeconds");
+        if (!seconds.canConvertToInt()
+                || seconds.asInt() < 0
+                || seconds.asInt() > MAX_COALESCE_SECONDS) {
+            throw new IllegalArgumentException(
+                    "coalesceSeconds must be between 0 and " + MAX_COALESCE_SECONDS);
+        }
+        return new WebhookTrigger(Duration.ofSeconds(seconds.asInt()));
+    }
+
+    private ScheduleTrigger parseSchedule(final JsonNode trigger) {
+        final ScheduleTrigger.Frequency frequency =
+                parseEnum(ScheduleTrigger.Frequency.class, trigger.path("frequency"), "frequency");
+        final ZoneId zone;
+        try {
+            zone =
+                    trigger.hasNonNull("timezone")
+                            ? ZoneId.of(trigger.get("timezone").asText())
+                            : ZoneOffset.UTC;
+        } catch (final DateTimeException e) {
+            throw new IllegalArgumentException("trigger timezone is invalid");
+        }
+        final LocalTime time;
+        try {
+            time = LocalTime.parse(trigger.path("time").asText("00:00"));
+        } catch (final DateTimeParseException e) {
+            throw new IllegalArgumentException("trigger time must be HH:mm");
+        }
+        Duration interval = null;
+        DayOfWeek dayOfWeek = null;
+        if (frequency == ScheduleTrigger.Frequency.INTERVAL) {
+            final int minutes = trigger.path("intervalMinutes").asInt(0);
+            if (minutes < 1) {
+                throw new IllegalArgumentException("intervalMinutes must be at least 1");
+            }
+            interval = Duration.ofMinutes(minutes);
+        } else if (frequency == ScheduleTrigger.Frequency.WEEKLY) {
+            dayOfWeek = parseEnum(DayOfWeek.class, trigger.path("dayOfWeek"), "dayOfWeek");
+        }
+        return new ScheduleTrigger(frequency, interval, time, dayOfWeek, zone);
+    }
+
+    private static ViewDefinition toViewDefinition(final UUID dataSourceId, final JsonNode view) {
+        if (!view.isObject()) {
+            throw new IllegalArgumentException("definition.view is required");
+        }
+        final ViewMode mode = parseEnum(ViewMode.class, view.path("mode"), "view.mode");
+        final List<String> fields = new ArrayList<>();
+        view.path("fields").forEach(field -> fields.add(field.asText()));
+        return new ViewDefinition(
+                dataSourceId,
+                mode,
+                fields,
+                view.hasNonNull("sql") ? view.get("sql").asText() : null);
+    }
+
+    private static List<String> driftKeyColumns(final JsonNode drift) {
+        if (drift.isMissingNode() || drift.isNull()) {
+            return List.of();
+        }
+        final JsonNode keys = drift.path("keyColumns");
+        if (!keys.isArray() || keys.isEmpty()) {
+            throw new IllegalArgumentException("drift.keyColumns must be a non-empty array");
+        }
+        final List<String> columns = new ArrayList<>(keys.size());
+        for (final JsonNode key : keys) {
+            if (!key.isTextual() || key.asText().isBlank()) {
+                throw new IllegalArgumentException("drift.keyColumns must not contain blank names");
+            }
+            columns.add(key.asText());
+        }
+        return columns;
+    }
+
+    private static ReportAction reportAction(final JsonNode report, final String defaultName) {
+        if (report.isMissingNode() || report.isNull()) {
+            return null;
+        }
+        if (!report.isObject()) {
+            throw new IllegalArgumentException("definition.report must be an object");
+        }
+        final ReportFormat format =
+                parseEnum(ReportFormat.class, report.path("format"), "report.format");
+        final JsonNode name = report.path("name");
+        if (!name.isMissingNode() && (!name.isTextual() || name.asText().isBlank())) {
+            throw new IllegalArgumentException("report.name must not be blank");
+        }
+        return new ReportAction(
+                name.isTextual() ? name.asText().trim() : defaultName,
+                format,
+                report.path("gzip").asBoolean(false));
+    }
+
+    private static <E extends Enum<E>> E parseEnum(
+            final Class<E> type, final JsonNode value, final String field) {
+        if (!value.isTextual()) {
+            throw new IllegalArgumentException(field + " is required");
+        }
+        try {
+            return Enum.valueOf(type, value.asText().trim().toUpperCase(Locale.ROOT));
+        } catch (final IllegalArgumentException e) {
+            throw new IllegalArgumentException(field + " is invalid: " + value.asText());
+        }
+    }
+
+    private static void requireSupportedVersion(final JsonNode node, final String field) {
+        final int version = node.path("version").asInt(SUPPORTED_VERSION);
+        if (version != SUPPORTED_VERSION) {
+            throw new IllegalArgumentException("Unsupported " + field + " version: " + version);
+        }
+    }
+
+    private JsonNode parseObject(final String json, final String field) {
+        if (json == null || json.isBlank()) {
+            throw new IllegalArgumentException(field + " is required and must be a JSON object");
+        }
+        try {
+            final JsonNode node = objectMapper.readTree(json);
+            if (!node.isObject()) {
+                throw new IllegalArgumentException(field + " must be a JSON object");
+            }
+            return node;
+        } catch (final JsonProcessingException e) {
+            throw new IllegalArgumentException(field + " must be valid JSON: " + e.getMessage());
+        }
+    }
+
+    private static String requireName(final String name) {
+        if (name == null || name.isBlank()) {
+            throw new IllegalArgumentException("name is required");
+        }
+        return name.trim();
+    }
+
+    /** Thrown when an automation rule is not found. */
+    public static final class RuleNotFoundException extends RuntimeException {
+        public RuleNotFoundException(final String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package com.datadrift.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+/**
+ * Secret handling for data source config JSON. Each operation parses the document once and makes a
+ * single pass over the tree: storing validates, restores masked secrets from the stored config and
+ * collects sensitive leaves to encrypt; masking rewrites the freshly parsed tree in place.
+ * Encryption and decryption of the collected leaves go through {@link EncryptionService}'s batch
+ * API.
+ */
+public final class ConfigTransformer {
+
+    static final String MASKED_VALUE = "******";
+
+    /** Config keys whose values are encrypted at rest and masked on API read (any case). */
+    private static final NavigableSet<String> SENSITIVE_KEYS = sensitiveKeys();
+
+    private final ObjectMapper objectMapper;
+    private final EncryptionService encryptionService;
+
+    public ConfigTransformer(
+            final ObjectMapper objectMapper, final EncryptionService encryptionService) {
+        this.objectMapper = objectMapper;
+        this.encryptionService = encryptionService;
+    }
+
+    /**
+     * Validates {@code configJson} and returns it ready for persistence with sensitive values
+     * encrypted. When {@code storedJson} is given (an update), sensitive keys sent as "******" or
+     * blank keep their stored value so secrets are never overwritten when not updated.
+     */
+    public String prepareForStorage(final String configJson, final String storedJson) {
+        final JsonNode root = parse(configJson);
+        if (!root.isObject()) {
+            return configJson;
+        }
+        final JsonNode stored = storedJson == null ? null : readStored(storedJson);
+        final TextLeaves toEncrypt = new TextLeaves();
+        prepare((ObjectNode) root, stored != null && stored.isObject() ? stored : null, toEncrypt);
+        toEncrypt.replaceWith(encryptionService.encryptAll(toEncrypt.values));
+        return write(root);
+    }
+
+    /** Throws {@link IllegalArgumentException} unless {@code configJson} is valid JSON. */
+    public void validate(final String configJson) {
+        parse(configJson);
+    }
+
+    /**
+     * Returns config JSON with sensitive fields masked (e.g. "password": "******"). Never returns
+     * decrypted secrets.
+     */
+    public String mask(final String configJson) throws JsonProcessingException {
+        if (configJson == null || configJson.isBlank()) {
+            return configJson;
+        }
+        final JsonNode root = objectMapper.readTree(configJson);
+        if (!root.isObject()) {
+            return configJson;
+        }
+        mask((ObjectNode) root);
+        return objectMapper.writeValueAsString(root);
+    }
+
+    /**
+     * Returns the stored config with encrypted values decrypted. The result must stay inside the
+     * JVM: never log it or return it from the API.
+     */
+    public JsonNode decrypt(final String storedJson) {
+        final JsonNode root = readStored(storedJson);
+        if (root.isObject()) {
+            final TextLeaves leaves = new TextLeaves();
+            collectEncrypted((ObjectNode) root, leaves);
+            leaves.replaceWith(encryptionService.decryptAll(leaves.values));
+        }
+        return root;
+    }
+
+    /** True when values under {@code key} are secrets; case-insensitive, no allocation. */
+    public static boolean isSensitiveKey(final String key) {
+        return key != null && SENSITIVE_KEYS.contains(key);
+    }
+
+    private void prepare(final ObjectNode node, final JsonNode stored, final TextLeaves toEncrypt) {
+        final Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+        while (fields.hasNext()) {
+            final Map.Entry<String, JsonNode> entry = fields.next();
+            final String key = entry.getKey();
+            JsonNode value = entry.getValue();
+            if (value.isObject()) {
+                final JsonNode storedChild = stored == null ? null : stored.get(key);
+                prepare(
+                        (ObjectNode) value,
+                        storedChild != null && storedChild.isObject() ? storedChild : null,
+                        toEncrypt);
+                continue;
+            }
+            if (!value.isTextual() || !isSensitiveKey(key)) {
+                continue;
+            }
+            final String text = value.asText();
+            if (stored != null && (MASKED_VALUE.equals(text) || text.isBlank())) {
+                final JsonNode storedValue = stored.get(key);
+                if (storedValue != null) {
+                    // Replacing the value of an existing key is not a structural change.
+                    entry.setValue(storedValue);
+                    value = storedValue;
+                }
+            }
+            if (value.isTextual() && !encryptionService.isEncrypted(value.asText())) {
+                toEncrypt.add(node, key, value.asText());
+            }
+        }
+    }
+
+    private void mask(final ObjectNode node) {
+        final Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+        while (fields.hasNext()) {
+            final Map.Entry<String, JsonNode> entry = fields.next();
+            final JsonNode value = entry.getValue();
+            if (value.isObject()) {
+                mask((ObjectNode) value);
+            } else if (value.isTextual()
+                    && (isSensitiveKey(entry.getKey())
+                            || encryptionService.isEncrypted(value.asText()))) {
+                entry.setValue(node.textNode(MASKED_VALUE));
+            }
+        }
+    }
+
+    private void collectEncrypted(final ObjectNode node, final TextLeaves leaves) {
+        final Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+        while (fields.hasNext()) {
+            final Map.Entry<String, JsonNode> entry = fields.next();
+            final JsonNode value = entry.getValue();
+            if (value.isObject()) {
+                collectEncrypted((ObjectNode) value, leaves);
+            } else if (value.isTextual() && encryptionService.isEncrypted(value.asText())) {
+                leaves.add(node, entry.getKey(), value.asText());
+            }
+        }
+    }
+
+    private JsonNode parse(final String configJson) {
+        if (configJson == null || configJson.isBlank()) {
+            throw new IllegalArgumentException("config is required and must be valid JSON");
+        }
+        try {
+            return objectMapper.readTree(configJson);
+        } catch (final JsonProcessingException e) {
+            throw new IllegalArgumentException("config must be valid JSON: " + e.getMessage());
+        }
+    }
+
+    private JsonNode readStored(final String storedJson) {
+        try {
+            return objectMapper.readTree(storedJson);
+        } catch (final JsonProcessingException e) {
+            throw new IllegalStateException("Stored config is not valid JSON", e);
+        }
+    }
+
+    private String write(final JsonNode root) {
+        try {
+            return objectMapper.writeValueAsString(root);
+        } catch (final JsonProcessingException e) {
+            throw new IllegalStateException("Failed to encrypt config", e);
+        }
+    }
+
+    private static NavigableSet<String> sensitiveKeys() {
+        final TreeSet<String> keys = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        keys.addAll(
+                List.of(
+                        "password",
+                        "passwd",
+                        "apiKey",
+                        "api_key",
+                        "token",
+                        "access_token",
+                        "secret",
+                        "credentials"));
+        return Collections.unmodifiableNavigableSet(keys);
+    }
+
+    /**
+     * Textual leaves selected from a config tree, so all of them can be encrypted or decrypted in
+     * one batch and written back in place.
+     */
+    private static final class TextLeaves {
+        private final List<ObjectNode> parents = new ArrayList<>();
+        private final List<String> keys = new ArrayList<>();
+        private final List<String> values = new ArrayList<>();
+
+        void add(final ObjectNode parent, final String key, final String value) {
+            parents.add(parent);
+            keys.add(key);
+            values.add(value);
+        }
+
+        void replaceWith(final List<String> replacements) {
+            for (int i = 0; i < parents.size(); i++) {
+                parents.get(i).put(keys.get(i), replacements.get(i));
+            }
+        }
+    }
+}
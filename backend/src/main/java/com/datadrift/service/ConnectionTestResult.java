@@ -0,0 +1,10 @@
+package com.datadrift.service;
+
+import java.util.UUID;
+
+/**
+ * Outcome of probing one data source. {@code dataSourceId} and {@code name} are null when an
+ * unsaved config was tested.
+ */
+public record ConnectionTestResult(
+        UUID dataSourceId, String name, boolean success, String message, long latencyMillis) {}
@@ -0,0 +1,266 @@
+package com.datadrift.service;
+
+import com.datadrift.connector.DatabaseSourceConfig;
+import com.datadrift.connector.RestSourceConfig;
+import com.datadrift.connector.SourceReadException;
+import com.datadrift.domain.DataSource;
+import com.datadrift.domain.DataSourceType;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.Driver;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+/**
+ * Probes data source connectivity: the file is readable for CSV/JSON, a JDBC handshake succeeds for
+ * DATABASE, and a HEAD (falling back to GET) answers without an error status for REST. Every probe
+ * runs on a virtual thread and is abandoned once the timeout elapses, so a batch of probes takes
+ * about as long as the slowest one rather than their sum. JDBC probes also pass the timeout to the
+ * driver, so an abandoned handshake does not keep its thread and socket.
+ */
+@Service
+public class ConnectionTestService implements DisposableBean {
+
+    private static final int HTTP_ERROR_STATUS = 400;
+    private static final int HTTP_METHOD_NOT_ALLOWED = 405;
+    private static final int HTTP_NOT_IMPLEMENTED = 501;
+
+    private final DataSourceService dataSourceService;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration timeout;
+    private final HttpClient httpClient;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public ConnectionTestService(
+            final DataSourceService dataSourceService,
+            final ObjectMapper objectMapper,
+            final ApplicationEventPublisher eventPublisher,
+            @Value("${datadrift.connection-test.timeout:5s}") final Duration timeout) {
+        this.dataSourceService = dataSourceService;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.timeout = timeout;
+        this.httpClient =
+                HttpClient.newBuilder()
+                        .connectTimeout(timeout)
+                        .followRedirects(HttpClient.Redirect.NORMAL)
+                        .build();
+    }
+
+    /** Tests an unsaved config as submitted from the create/edit form. */
+    public ConnectionTestResult test(final DataSourceType type, final String configJson) {
+        dataSourceService.validateConfigForTest(configJson);
+        final JsonNode config = parse(configJson);
+        final long started = System.nanoTime();
+        return await(executor.submit(() -> probe(null, null, type, config)), started, null, null);
+    }
+
+    /** Tests a stored data source using its decrypted config and publishes the outcome. */
+    public ConnectionTestResult testById(final UUID id) {
+        final DataSource dataSource = dataSourceService.getById(id);
+        final long started = System.nanoTime();
+        return published(await(submit(dataSource), started, id, dataSource.getName()));
+    }
+
+    /**
+     * Tests every stored data source concurrently; results are in listing order and each is
+     * published.
+     */
+    public List<ConnectionTestResult> testAll() {
+        final List<DataSource> dataSources = dataSourceService.findAll();
+        final long started = System.nanoTime();
+        final List<Future<ConnectionTestResult>> futures = new ArrayList<>(dataSources.size());
+        for (final DataSource dataSource : dataSources) {
+            futures.add(submit(dataSource));
+        }
+        final List<ConnectionTestResult> results = new ArrayList<>(dataSources.size());
+        for (int i = 0; i < dataSources.size(); i++) {
+            final DataSource dataSource = dataSources.get(i);
+            results.add(
+                    published(
+                            await(
+                                    futures.get(i),
+                                    started,
+                                    dataSource.getId(),
+                                    dataSource.getName())));
+        }
+        return results;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private ConnectionTestResult published(final ConnectionTestResult result) {
+        eventPublisher.publishEvent(new ConnectionTestedEvent(result));
+        return result;
+    }
+
+    private Future<ConnectionTestResult> submit(final DataSource dataSource) {
+        return executor.submit(
+                () ->
+                        probe(
+                                dataSource.getId(),
+                                dataSource.getName(),
+                                dataSource.getType(),
+                                dataSourceService.decryptConfig(dataSource)));
+    }
+
+    private ConnectionTestResult await(
+            final Future<ConnectionTestResult> future,
+            final long started,
+            final UUID id,
+            final String name) {
+        final long deadline = started + timeout.toNanos();
+        try {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (final TimeoutException e) {
+            future.cancel(true);
+            return new ConnectionTestResult(
+                    id,
+                    name,
+                    false,
+                    "Timed out after " + timeout.toMillis() + " ms.",
+                    timeout.toMillis());
+        } catch (final ExecutionException e) {
+            return new ConnectionTestResult(
+                    id, name, false, describe(e.getCause()), elapsedMillis(started));
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            return new ConnectionTestResult(
+                    id, name, false, "Connection test interrupted.", elapsedMillis(started));
+        }
+    }
+
+    private ConnectionTestResult probe(
+            final UUID id, final String name, final DataSourceType type, final JsonNode config) {
+        final long start = System.nanoTime();
+        boolean success = false;
+        String message;
+        try {
+            message = probeByType(type, config);
+            success = true;
+        } catch (final IOException
+                | SQLException
+                | SourceReadException
+                | IllegalArgumentException e) {
+            message = describe(e);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            message = "Connection test interrupted.";
+        }
+        return new ConnectionTestResult(id, name, success, message, elapsedMillis(start));
+    }
+
+    private String probeByType(final DataSourceType type, final JsonNode config)
+            throws IOException, SQLException, InterruptedException {
+        return switch (type) {
+            case CSV, JSON -> probeFile(config);
+            case DATABASE -> probeDatabase(config);
+            case REST -> probeHttp(RestSourceConfig.from(config));
+        };
+    }
+
+    private String probeFile(final JsonNode config) throws IOException, InterruptedException {
+        final String pathValue = config.path("path").asText("");
+        if (pathValue.isBlank() && !config.path("url").asText("").isBlank()) {
+            return probeHttp(RestSourceConfig.from(config));
+        }
+        if (pathValue.isBlank()) {
+            throw new IllegalArgumentException("File path is required.");
+        }
+        final Path path = Path.of(pathValue);
+        if (!Files.isRegularFile(path)) {
+            throw new SourceReadException("File not found: " + path);
+        }
+        if (!Files.isReadable(path)) {
+            throw new SourceReadException("File is not readable: " + path);
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            channel.read(ByteBuffer.allocate(1));
+            return "File is readable (" + channel.size() + " bytes).";
+        }
+    }
+
+    private String probeDatabase(final JsonNode config) throws SQLException {
+        final DatabaseSourceConfig database = DatabaseSourceConfig.from(config);
+        final Driver driver = DriverManager.getDriver(database.jdbcUrl());
+        final Properties properties = database.connectionProperties(timeout);
+        try (Connection connection = driver.connect(database.jdbcUrl(), properties)) {
+            if (connection == null || !connection.isValid((int) timeout.toSeconds())) {
+                throw new SQLException("Connection is not valid");
+            }
+            return "Connected to " + connection.getMetaData().getDatabaseProductName() + ".";
+        }
+    }
+
+    private String probeHttp(final RestSourceConfig rest) throws IOException, InterruptedException {
+        int status = send(rest.url(), rest, "HEAD");
+        if (status == HTTP_METHOD_NOT_ALLOWED || status == HTTP_NOT_IMPLEMENTED) {
+            status = send(rest.url(), rest, "GET");
+        }
+        if (status >= HTTP_ERROR_STATUS) {
+            throw new SourceReadException("Endpoint responded with HTTP " + status + ".");
+        }
+        return "Endpoint responded with HTTP " + status + ".";
+    }
+
+    private int send(final URI url, final RestSourceConfig rest, final String method)
+            throws IOException, InterruptedException {
+        final HttpRequest.Builder request =
+                HttpRequest.newBuilder(url)
+                        .timeout(timeout)
+                        .method(method, HttpRequest.BodyPublishers.noBody());
+        rest.headers().forEach(request::header);
+        return httpClient
+                .send(request.build(), HttpResponse.BodyHandlers.discarding())
+                .statusCode();
+    }
+
+    private JsonNode parse(final String configJson) {
+        try {
+            return objectMapper.readTree(configJson);
+        } catch (final JsonProcessingException e) {
+            throw new IllegalArgumentException("config must be valid JSON: " + e.getMessage());
+        }
+    }
+
+    private static long elapsedMillis(final long start) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    private static String describe(final Throwable error) {
+        final String message = error.getMessage();
+        return message == null || message.isBlank() ? error.getClass().getSimpleName() : message;
+    }
+}
@@ -0,0 +1,7 @@
+package com.datadrift.service;
+
+/**
+ * Published after a stored data source was probed, so open clients can update its status without
+ * polling.
+ */
+public record ConnectionTestedEvent(ConnectionTestResult result) {}
@@ -0,0 +1,215 @@
+package com.datadrift.service;
+
+import com.datadrift.connector.SourceReadException;
+import com.datadrift.domain.AggregationSpec;
+import com.datadrift.domain.Condition;
+import com.datadrift.domain.ViewDefinition;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Evaluates every tile of a dashboard in one call. Tiles over the same Data View and conditions
+ * share one scan of the source, up to {@code shared-scan-max-rows} rows (see {@link
+ * ViewQueryService#aggregateAll}); different views run concurrently on virtual threads, bounded by
+ * the DuckDB connection pool. Each view's tile results are handed to the sink as soon as the view
+ * is done, so the first view does not wait for the slowest one.
+ */
+@Service
+public class DashboardService implements DisposableBean {
+
+    private final ViewQueryService viewQueryService;
+    private final int maxTiles;
+    private final long maxSharedRows;
+    private final Timer evaluateTimer;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public DashboardService(
+            final ViewQueryService viewQueryService,
+            final MeterRegistry registry,
+            @Value("${datadrift.dashboard.max-tiles:100}") final int maxTiles,
+            @Value("${datadrift.dashboard.shared-scan-max-rows:1000000}")
+                    final long maxSharedRows) {
+        if (maxTiles < 1) {
+            throw new IllegalArgumentException("datadrift.dashboard.max-tiles must be positive");
+        }
+        if (maxSharedRows < 1) {
+            throw new IllegalArgumentException(
+                    "datadrift.dashboard.shared-scan-max-rows must be positive");
+        }
+        this.viewQueryService = viewQueryService;
+        this.maxTiles = maxTiles;
+        this.maxSharedRows = maxSharedRows;
+        this.evaluateTimer =
+                Timer.builder("datadrift.dashboard.evaluations")
+                        .description("Time to evaluate every tile of a dashboard")
+                        .register(registry);
+    }
+
+    /**
+     * Checks a dashboard request before anything is evaluated.
+     *
+     * @throws IllegalArgumentException if there are no tiles, too many, or ids are blank or
+     *     repeated
+     */
+    public void validate(final List<Tile> tiles) {
+        if (tiles == null || tiles.isEmpty()) {
+            throw new IllegalArgumentException("tiles must not be empty");
+        }
+        if (tiles.size() > maxTiles) {
+            throw new IllegalArgumentException(
+                    "a dashboard may contain at most " + maxTiles + " tiles");
+        }
+        final Set<String> ids = new HashSet<>();
+        for (final Tile tile : tiles) {
+            if (tile.id() == null || tile.id().isBlank()) {
+                throw new IllegalArgumentException("tile id is required");
+            }
+            if (!ids.add(tile.id())) {
+                throw new IllegalArgumentException("duplicate tile id: " + tile.id());
+            }
+        }
+    }
+
+    /**
+     * Evaluates the tiles and hands each result to {@code sink} as it completes, one call at a
+     * time. Once the sink fails (e.g. the client went away) no further results are delivered and
+     * the failure is rethrown after the running scans finish.
+     */
+    public void evaluate(final List<Tile> tiles, final TileSink sink) throws IOException {
+        validate(tiles);
+        final Map<ViewKey, List<Tile>> groups = new LinkedHashMap<>();
+        for (final Tile tile : tiles) {
+            groups.computeIfAbsent(
+                            new ViewKey(tile.definition(), tile.condition()),
+                            key -> new ArrayList<>())
+                    .add(tile);
+        }
+        final Timer.Sample sample = Timer.start();
+        final SerialSink serial = new SerialSink(sink);
+        final List<Future<?>> futures = new ArrayList<>(groups.size());
+        try {
+            for (final Map.Entry<ViewKey, List<Tile>> group : groups.entrySet()) {
+                futures.add(
+                        executor.submit(
+                                () -> evaluateGroup(group.getKey(), group.getValue(), serial)));
+            }
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        } catch (final InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while evaluating dashboard", e);
+        } catch (final ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Dashboard evaluation failed", e.getCause());
+        } finally {
+            sample.stop(evaluateTimer);
+        }
+        serial.rethrow();
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private void evaluateGroup(final ViewKey view, final List<Tile> tiles, final SerialSink sink) {
+        final boolean[] reported = new boolean[tiles.size()];
+        try {
+            viewQueryService.aggregateAll(
+                    view.definition(),
+                    view.condition(),
+                    tiles.stream().map(Tile::spec).toList(),
+                    maxSharedRows,
+                    new AggregationListener() {
+                        @Override
+                        public void onResult(final int index, final AggregationResult result) {
+                            reported[index] = true;
+                            sink.accept(new TileResult(tiles.get(index).id(), result, null));
+                        }
+
+                        @Override
+                        public void onError(final int index, final RuntimeException error) {
+                            reported[index] = true;
+                            sink.accept(
+                                    new TileResult(
+                                            tiles.get(index).id(), null, error.getMessage()));
+                        }
+                    });
+        } catch (final DataSourceService.DataSourceNotFoundException
+                | ViewQueryService.ViewQueryException
+                | SourceReadException
+                | UncheckedIOException
+                | IllegalArgumentException e) {
+            // The view itself failed: every tile over it that has no result yet shares the error.
+            for (int i = 0; i < tiles.size(); i++) {
+                if (!reported[i]) {
+                    sink.accept(new TileResult(tiles.get(i).id(), null, e.getMessage()));
+                }
+            }
+        }
+    }
+
+    /** One dashboard tile: an aggregation over a Data View, identified by the caller's id. */
+    public record Tile(
+            String id, ViewDefinition definition, Condition condition, AggregationSpec spec) {}
+
+    /** A tile's aggregated data, or the reason it could not be computed. */
+    public record TileResult(String id, AggregationResult result, String error) {}
+
+    /** Receives tile results; calls are never concurrent. */
+    @FunctionalInterface
+    public interface TileSink {
+        void accept(TileResult result) throws IOException;
+    }
+
+    /** Tiles with equal keys read the same rows and can share a scan. */
+    private record ViewKey(ViewDefinition definition, Condition condition) {}
+
+    /** Serializes sink calls across view threads and stops delivering after the first failure. */
+    private static final class SerialSink {
+
+        private final TileSink sink;
+        private IOException failure;
+
+        SerialSink(final TileSink sink) {
+            this.sink = sink;
+        }
+
+        synchronized void accept(final TileResult result) {
+            if (failure != null) {
+                return;
+            }
+            try {
+                sink.accept(result);
+            } catch (final IOException e) {
+                failure = e;
+            }
+        }
+
+        synchronized void rethrow() throws IOException {
+            if (failure != null) {
+                throw failure;
+            }
+        }
+    }
+}
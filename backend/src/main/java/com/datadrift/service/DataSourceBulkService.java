@@ -0,0 +1,330 @@
+package com.datadrift.service;
+
+import com.datadrift.domain.DataSource;
+import com.datadrift.domain.DataSourceType;
+import com.datadrift.repository.DataSourceRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Bulk import and export of data sources as NDJSON, one {@code {"name","type","config"}} object per
+ * line. An import is all or nothing: every line is validated before anything is written, existing
+ * names are looked up in one {@code IN} query, configs are encrypted on a parallel pool and new
+ * rows are persisted in one transaction so Hibernate sends them as JDBC batches. Exports stream the
+ * stored configs page by page with secrets still encrypted, so an export can be imported into an
+ * environment that shares the encryption key.
+ */
+@Service
+public class DataSourceBulkService implements DisposableBean {
+
+    private static final int EXPORT_PAGE_SIZE = 500;
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    private final DataSourceRepository dataSourceRepository;
+    private final EntityManager entityManager;
+    private final ConfigTransformer configTransformer;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ExecutorService encryptPool;
+    private final int maxItems;
+    private final Timer importTimer;
+    private final Timer exportTimer;
+
+    public DataSourceBulkService(
+            final DataSourceRepository dataSourceRepository,
+            final EntityManager entityManager,
+            final EncryptionService encryptionService,
+            final ObjectMapper objectMapper,
+            final ApplicationEventPublisher eventPublisher,
+            final MeterRegistry registry,
+            @Value("${datadrift.data-sources.bulk.max-items:10000}") final int maxItems,
+            @Value("${datadrift.data-sources.bulk.encrypt-threads:0}") final int encryptThreads) {
+        if (maxItems < 1 || encryptThreads < 0) {
+            throw new IllegalArgumentException(
+                    "datadrift.data-sources.bulk.max-items must be positive and encrypt-threads"
+                            + " must not be negative");
+        }
+        this.dataSourceRepository = dataSourceRepository;
+        this.entityManager = entityManager;
+        this.configTransformer = new ConfigTransformer(objectMapper, encryptionService);
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        // Encryption is CPU-bound, so the pool is sized to the cores rather than virtual threads.
+        this.encryptPool =
+                Executors.newFixedThreadPool(
+                        encryptThreads == 0
+                                ? Runtime.getRuntime().availableProcessors()
+                                : encryptThreads,
+                        Thread.ofPlatform().name("datasource-encrypt-", 0).daemon().factory());
+        this.maxItems = maxItems;
+        this.importTimer = timer(registry, "bulk-import");
+        this.exportTimer = timer(registry, "bulk-export");
+    }
+
+    /**
+     * Reads and validates an NDJSON import. Blank lines are skipped; {@code config} may be a JSON
+     * object or a string holding one.
+     *
+     * @throws BulkImportException listing every invalid line (names must be unique in the file)
+     */
+    public List<BulkItem> parse(final InputStream ndjson) throws IOException {
+        final List<BulkItem> items = new ArrayList<>();
+        final List<String> errors = new ArrayList<>();
+        final Set<String> names = new HashSet<>();
+        final BufferedReader reader =
+                new BufferedReader(new InputStreamReader(ndjson, StandardCharsets.UTF_8));
+        int number = 0;
+        for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+            number++;
+            if (line.isBlank()) {
+                continue;
+            }
+            if (items.size() + errors.size() == maxItems) {
+                throw new IllegalArgumentException(
+                        "an import may contain at most " + maxItems + " data sources");
+            }
+            try {
+                final BulkItem item = parseItem(number, line);
+                if (!names.add(item.name())) {
+                    throw new IllegalArgumentException("duplicate name in import: " + item.name());
+                }
+                items.add(item);
+            } catch (final IllegalArgumentException e) {
+                errors.add("line " + number + ": " + e.getMessage());
+            }
+        }
+        if (!errors.isEmpty()) {
+            throw new BulkImportException(errors);
+        }
+        if (items.isEmpty()) {
+            throw new IllegalArgumentException("import contains no data sources");
+        }
+        return items;
+    }
+
+    /**
+     * Creates the parsed data sources in one transaction. With {@code upsert}, data sources whose
+     * name exists are updated instead (masked secrets keep their stored value, as for a single
+     * update); otherwise any existing name rejects the whole import.
+     */
+    @Transactional
+    public BulkImportResult importAll(final List<BulkItem> items, final boolean upsert) {
+        return importTimer.record(
+                () -> {
+                    final Map<String, DataSource> existing = new HashMap<>();
+                    for (final DataSource stored :
+                            dataSourceRepository.findAllByNameIn(
+                                    items.stream().map(BulkItem::name).toList())) {
+                        existing.put(stored.getName(), stored);
+                    }
+                    if (!upsert && !existing.isEmpty()) {
+                        throw new BulkImportException(
+                                items.stream()
+                                        .filter(item -> existing.containsKey(item.name()))
+                                        .map(
+                                                item ->
+                                                        "line "
+                                                                + item.line()
+                                                                + ": name must be unique: "
+                                                                + item.name())
+                                        .toList());
+                    }
+                    final List<String> configs = prepareAll(items, existing);
+                    final Instant now = Instant.now();
+                    final List<UUID> updated = new ArrayList<>();
+                    for (int i = 0; i < items.size(); i++) {
+                        final BulkItem item = items.get(i);
+                        final DataSource stored = existing.get(item.name());
+                        if (stored == null) {
+                            // persist, not save: ids are assigned, and save would merge (a SELECT
+                            // per row) instead of queueing a batched INSERT.
+                            entityManager.persist(
+                                    new DataSource(
+                                            UUID.randomUUID(),
+                                            item.name(),
+                                            item.type(),
+                                            configs.get(i),
+                                            now,
+                                            now));
+                        } else {
+                            stored.setType(item.type());
+                            stored.setConfig(configs.get(i));
+                            stored.setUpdatedAt(now);
+                            updated.add(stored.getId());
+                        }
+                    }
+                    entityManager.flush();
+                    updated.forEach(
+                            id ->
+                                    eventPublisher.publishEvent(
+                                            new DataSourceChangedEvent(id, false)));
+                    return new BulkImportResult(items.size() - updated.size(), updated.size());
+                });
+    }
+
+    /**
+     * Writes every data source as one NDJSON line ordered by name, reading {@value
+     * #EXPORT_PAGE_SIZE} at a time. Configs are written as stored: secrets stay encrypted.
+     */
+    public void exportAll(final OutputStream out) throws IOException {
+        final Timer.Sample sample = Timer.start();
+        try {
+            final OutputStream buffered = new BufferedOutputStream(out);
+            String afterName = "";
+            while (true) {
+                final List<DataSource> page =
+                        dataSourceRepository.findByNameGreaterThanOrderByNameAsc(
+                                afterName, Limit.of(EXPORT_PAGE_SIZE));
+                for (final DataSource dataSource : page) {
+                    buffered.write(objectMapper.writeValueAsBytes(toExport(dataSource)));
+                    buffered.write('\n');
+                }
+                if (page.size() < EXPORT_PAGE_SIZE) {
+                    break;
+                }
+                afterName = page.get(page.size() - 1).getName();
+            }
+            buffered.flush();
+        } finally {
+            sample.stop(exportTimer);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        encryptPool.shutdownNow();
+    }
+
+    private BulkItem parseItem(final int line, final String json) {
+        final JsonNode node;
+        try {
+            node = objectMapper.readTree(json);
+        } catch (final JsonProcessingException e) {
+            throw new IllegalArgumentException("not valid JSON");
+        }
+        if (!node.isObject()) {
+            throw new IllegalArgumentException("expected a JSON object");
+        }
+        final String name = node.path("name").asText("").trim();
+        if (name.isEmpty()) {
+            throw new IllegalArgumentException("name is required");
+        }
+        final DataSourceType type;
+        try {
+            type = DataSourceType.valueOf(node.path("type").asText("").toUpperCase(Locale.ROOT));
+        } catch (final IllegalArgumentException e) {
+            throw new IllegalArgumentException("type is invalid: " + node.path("type").asText());
+        }
+        final JsonNode config = node.path("config");
+        if (!config.isObject() && !config.isTextual()) {
+            throw new IllegalArgumentException("config is required and must be valid JSON");
+        }
+        final String configJson = config.isTextual() ? config.asText() : config.toString();
+        configTransformer.validate(configJson);
+        return new BulkItem(line, name, type, configJson);
+    }
+
+    /** Encrypts every config on the pool; order matches {@code items}. */
+    private List<String> prepareAll(
+            final List<BulkItem> items, final Map<String, DataSource> existing) {
+        final List<Future<String>> futures = new ArrayList<>(items.size());
+        for (final BulkItem item : items) {
+            final DataSource stored = existing.get(item.name());
+            final String storedConfig = stored == null ? null : stored.getConfig();
+            futures.add(
+                    encryptPool.submit(
+                            () ->
+                                    configTransformer.prepareForStorage(
+                                            item.config(), storedConfig)));
+        }
+        final List<String> configs = new ArrayList<>(items.size());
+        try {
+            for (final Future<String> future : futures) {
+                configs.add(future.get());
+            }
+        } catch (final InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while encrypting configs", e);
+        } catch (final ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Failed to encrypt config", e.getCause());
+        }
+        return configs;
+    }
+
+    private ObjectNode toExport(final DataSource dataSource) throws IOException {
+        final ObjectNode node = objectMapper.createObjectNode();
+        node.put("id", dataSource.getId().toString());
+        node.put("name", dataSource.getName());
+        node.put("type", dataSource.getType().name());
+        node.set("config", objectMapper.readTree(dataSource.getConfig()));
+        node.put("createdAt", dataSource.getCreatedAt().toString());
+        node.put("updatedAt", dataSource.getUpdatedAt().toString());
+        return node;
+    }
+
+    private static Timer timer(final MeterRegistry registry, final String operation) {
+        return Timer.builder("datadrift.datasource.operations")
+                .description("Time spent in data source service operations")
+                .tag("operation", operation)
+                .register(registry);
+    }
+
+    /** One validated line of an import. */
+    public record BulkItem(int line, String name, DataSourceType type, String config) {}
+
+    /** Outcome of an import. */
+    public record BulkImportResult(int created, int updated) {}
+
+    /** Thrown when an import is rejected; nothing was written. */
+    public static final class BulkImportException extends RuntimeException {
+
+        private final List<String> errors;
+
+        public BulkImportException(final List<String> errors) {
+            super(errors.size() + " invalid data source(s) in import");
+            this.errors =
+                    List.copyOf(errors.subList(0, Math.min(errors.size(), MAX_REPORTED_ERRORS)));
+        }
+
+        /** Up to the first 100 problems, each prefixed with its line number. */
+        public List<String> getErrors() {
+            return errors;
+        }
+    }
+}
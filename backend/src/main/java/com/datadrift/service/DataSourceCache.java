@@ -0,0 +1,103 @@
+package com.datadrift.service;
+
+import com.datadrift.domain.DataSource;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * In-process cache of data sources by id and of their decrypted configs, so rule executions and
+ * connectors do not query the database or run AES-GCM on every run. Both caches are bounded by
+ * entry count and expire entries {@code ttl} after they were written.
+ *
+ * <p>{@link DataSourceService} evicts on update and delete, and eviction is repeated once the
+ * transaction commits so a concurrent read cannot re-cache the old row. Cached data sources are
+ * detached copies that belong to no persistence context. Decrypted configs are also keyed by the
+ * data source's updatedAt, so a config is never served for a different version of its data source.
+ * They are only handed out through {@link DataSourceService#decryptConfig}, as a copy: they never
+ * reach API responses or the masking path.
+ *
+ * <p>Publishes the standard {@code cache.*} meters with tags {@code cache=data-sources} and {@code
+ * cache=data-source-configs}.
+ */
+@Component
+public class DataSourceCache implements MeterBinder {
+
+    private final Cache<UUID, DataSource> byId;
+    private final Cache<UUID, DecryptedConfig> configs;
+
+    public DataSourceCache(
+            @Value("${datadrift.data-sources.cache.ttl:5m}") final Duration ttl,
+            @Value("${datadrift.data-sources.cache.max-size:10000}") final long maxSize) {
+        if (ttl.isNegative() || maxSize < 0) {
+            throw new IllegalArgumentException(
+                    "datadrift.data-sources.cache.ttl and max-size must not be negative");
+        }
+        this.byId =
+                Caffeine.newBuilder()
+                        .maximumSize(maxSize)
+                        .expireAfterWrite(ttl)
+                        .recordStats()
+                        .build();
+        this.configs =
+                Caffeine.newBuilder()
+                        .maximumSize(maxSize)
+                        .expireAfterWrite(ttl)
+                        .recordStats()
+                        .build();
+    }
+
+    /** Returns the cached data source or loads it; the loader may throw and nothing is cached. */
+    DataSource get(final UUID id, final Function<UUID, DataSource> loader) {
+        return byId.get(id, loader);
+    }
+
+    /**
+     * Returns a private copy of the decrypted config for this version of the data source,
+     * decrypting it with {@code decrypt} on a miss.
+     */
+    JsonNode decryptedConfig(final DataSource dataSource, final Supplier<JsonNode> decrypt) {
+        final DecryptedConfig cached = configs.getIfPresent(dataSource.getId());
+        if (cached != null && cached.version().equals(dataSource.getUpdatedAt())) {
+            return cached.config().deepCopy();
+        }
+        final JsonNode config = decrypt.get();
+        configs.put(
+                dataSource.getId(),
+                new DecryptedConfig(dataSource.getUpdatedAt(), config.deepCopy()));
+        return config;
+    }
+
+    /** Drops the data source and its decrypted config. */
+    public void evict(final UUID id) {
+        byId.invalidate(id);
+        configs.invalidate(id);
+    }
+
+    /** Runs after commit (or immediately without a transaction) for every writer, bulk included. */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION, fallbackExecution = true)
+    public void onDataSourceChanged(final DataSourceChangedEvent event) {
+        evict(event.dataSourceId());
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, byId, "data-sources");
+        CaffeineCacheMetrics.monitor(registry, configs, "data-source-configs");
+    }
+
+    /** A decrypted config and the updatedAt of the data source it was decrypted from. */
+    private record DecryptedConfig(Instant version, JsonNode config) {}
+}
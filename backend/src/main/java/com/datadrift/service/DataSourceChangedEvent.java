@@ -0,0 +1,9 @@
+package com.datadrift.service;
+
+import java.util.UUID;
+
+/**
+ * Published after a data source is updated or deleted so components holding derived state (cached
+ * results, loaded tables, connection pools) can drop it.
+ */
+public record DataSourceChangedEvent(UUID dataSourceId, boolean deleted) {}
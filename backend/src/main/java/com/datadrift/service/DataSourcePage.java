@@ -0,0 +1,7 @@
+package com.datadrift.service;
+
+import com.datadrift.repository.DataSourceSummary;
+import java.util.List;
+
+/** One page of data source summaries; {@code nextCursor} is null on the last page. */
+public record DataSourcePage(List<DataSourceSummary> items, String nextCursor) {}
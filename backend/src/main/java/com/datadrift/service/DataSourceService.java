@@ -3,170 +3,106 @@ package com.datadrift.service;
 import com.datadrift.domain.DataSource;
 import com.datadrift.domain.DataSourceType;
 import com.datadrift.repository.DataSourceRepository;
+import com.datadrift.repository.DataSourceSummary;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
+import java.util.Base64;
 import java.util.List;
-import java.util.Set;
 import java.util.UUID;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Handles validation, encryption of sensitive config fields before persistence, and masking of
- * secrets on read. No execution or connectivity logic in MVP.
+ * secrets on read (see {@link ConfigTransformer}). Connectivity lives in {@link
+ * ConnectionTestService} and the connectors. Lookups by id and decrypted configs are served from
+ * {@link DataSourceCache}. Operations are timed as {@code datadrift.datasource.operations} tagged
+ * by operation.
  */
 @Service
 public class DataSourceService {
 
     private static final Logger LOG = LoggerFactory.getLogger(DataSourceService.class);
-    private static final String MASKED_VALUE = "******";
-
-    /** Config keys whose values are encrypted at rest and masked on API read. */
-    private static final Set<String> SENSITIVE_KEYS =
-            Set.of(
-                    "password",
-                    "passwd",
-                    "apiKey",
-                    "api_key",
-                    "token",
-                    "access_token",
-                    "secret",
-                    "credentials");
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int MAX_PAGE_SIZE = 500;
 
     private final DataSourceRepository dataSourceRepository;
-    private final EncryptionService encryptionService;
-    private final ObjectMapper objectMapper;
+    private final ConfigTransformer configTransformer;
+    private final ApplicationEventPublisher eventPublisher;
+    private final DataSourceCache cache;
+    private final Timer createTimer;
+    private final Timer updateTimer;
+    private final Timer deleteTimer;
+    private final Timer readTimer;
+    private final Timer pageTimer;
+    private final Timer decryptTimer;
 
     public DataSourceService(
             final DataSourceRepository dataSourceRepository,
             final EncryptionService encryptionService,
-            final ObjectMapper objectMapper) {
+            final ObjectMapper objectMapper,
+            final ApplicationEventPublisher eventPublisher,
+            final DataSourceCache cache,
+            final MeterRegistry registry) {
         this.dataSourceRepository = dataSourceRepository;
-        this.encryptionService = encryptionService;
-        this.objectMapper = objectMapper;
+        this.configTransformer = new ConfigTransformer(objectMapper, encryptionService);
+        this.eventPublisher = eventPublisher;
+        this.cache = cache;
+        this.createTimer = timer(registry, "create");
+        this.updateTimer = timer(registry, "update");
+        this.deleteTimer = timer(registry, "delete");
+        this.readTimer = timer(registry, "read");
+        this.pageTimer = timer(registry, "page");
+        this.decryptTimer = timer(registry, "decrypt-config");
     }
 
     @Transactional
     public DataSource create(
             final String name, final DataSourceType type, final String configJson) {
-        if (name == null || name.isBlank()) {
-            throw new IllegalArgumentException("name is required");
-        }
-        if (type == null) {
-            throw new IllegalArgumentException("type is required");
-        }
-        if (dataSourceRepository.existsByName(name.trim())) {
-            throw new IllegalArgumentException("name must be unique: " + name);
-        }
-        validateConfigJson(configJson);
-        final String encryptedConfig = encryptSensitiveValues(configJson);
-        final Instant now = Instant.now();
-        final UUID id = UUID.randomUUID();
-        final DataSource entity = new DataSource(id, name.trim(), type, encryptedConfig, now, now);
-        return dataSourceRepository.save(entity);
+        return createTimer.record(() -> insert(name, type, configJson));
     }
 
     public List<DataSource> findAll() {
-        return dataSourceRepository.findAll();
-    }
-
-    public DataSource getById(final UUID id) {
-        return dataSourceRepository
-                .findById(id)
-                .orElseThrow(() -> new DataSourceNotFoundException("Data source not found: " + id));
+        return readTimer.record(() -> dataSourceRepository.findAll());
     }
 
-    @Transactional
-    public DataSource update(
-            final UUID id, final String name, final DataSourceType type, final String configJson) {
-        final DataSource entity =
-                dataSourceRepository
-                        .findById(id)
-                        .orElseThrow(
-                                () ->
-                                        new DataSourceNotFoundException(
-                                                "Data source not found: " + id));
-        if (name == null || name.isBlank()) {
-            throw new IllegalArgumentException("name is required");
-        }
-        if (type == null) {
-            throw new IllegalArgumentException("type is required");
-        }
-        if (dataSourceRepository.existsByNameAndIdNot(name.trim(), id)) {
-            throw new IllegalArgumentException("name must be unique: " + name);
-        }
-        validateConfigJson(configJson);
-        final String mergedConfig = mergeConfigPreservingSecrets(configJson, entity.getConfig());
-        final String encryptedConfig = encryptSensitiveValues(mergedConfig);
-        entity.setName(name.trim());
-        entity.setType(type);
-        entity.setConfig(encryptedConfig);
-        entity.setUpdatedAt(Instant.now());
-        return dataSourceRepository.save(entity);
+    /**
+     * One page of data source summaries ordered by name, without loading configs. {@code cursor} is
+     * the {@code nextCursor} of the previous page; the result's cursor is null on the last page.
+     */
+    public DataSourcePage findPage(
+            final DataSourceType type,
+            final String namePrefix,
+            final String cursor,
+            final Integer limit) {
+        return pageTimer.record(() -> page(type, namePrefix, cursor, limit));
     }
 
     /**
-     * Merges new config with existing; sensitive keys with value "******" or missing are replaced
-     * by the existing (encrypted) value so secrets are never overwritten when not updated.
+     * Returns the data source, from {@link DataSourceCache} when possible. The result is a detached
+     * copy shared between callers: read it, never modify it.
      */
-    private String mergeConfigPreservingSecrets(
-            final String newConfigJson, final String existingConfigJson) {
-        try {
-            final JsonNode newRoot = objectMapper.readTree(newConfigJson);
-            final JsonNode existingRoot = objectMapper.readTree(existingConfigJson);
-            if (!newRoot.isObject() || !existingRoot.isObject()) {
-                return newConfigJson;
-            }
-            final ObjectNode merged =
-                    mergePreservingSecrets((ObjectNode) newRoot, (ObjectNode) existingRoot);
-            return objectMapper.writeValueAsString(merged);
-        } catch (final JsonProcessingException e) {
-            throw new IllegalStateException("Failed to merge config", e);
-        }
+    public DataSource getById(final UUID id) {
+        return readTimer.record(() -> cache.get(id, this::load));
     }
 
-    private ObjectNode mergePreservingSecrets(
-            final ObjectNode fromRequest, final ObjectNode existing) {
-        final ObjectNode result = fromRequest.deepCopy();
-        result.fields()
-                .forEachRemaining(
-                        entry -> {
-                            final String key = entry.getKey();
-                            final JsonNode newVal = entry.getValue();
-                            if (newVal != null && newVal.isTextual()) {
-                                final String str = newVal.asText();
-                                if (isSensitiveKey(key)
-                                        && (MASKED_VALUE.equals(str) || str.isBlank())) {
-                                    final JsonNode existingVal = existing.get(key);
-                                    if (existingVal != null) {
-                                        result.set(key, existingVal);
-                                    }
-                                }
-                            } else if (newVal != null && newVal.isObject()) {
-                                final JsonNode existingChild = existing.get(key);
-                                if (existingChild != null && existingChild.isObject()) {
-                                    result.set(
-                                            key,
-                                            mergePreservingSecrets(
-                                                    (ObjectNode) newVal,
-                                                    (ObjectNode) existingChild));
-                                }
-                            }
-                        });
-        return result;
+    @Transactional
+    public DataSource update(
+            final UUID id, final String name, final DataSourceType type, final String configJson) {
+        return updateTimer.record(() -> modify(id, name, type, configJson));
     }
 
     @Transactional
     public void deleteById(final UUID id) {
-        if (!dataSourceRepository.existsById(id)) {
-            throw new DataSourceNotFoundException("Data source not found: " + id);
-        }
-        dataSourceRepository.deleteById(id);
+        deleteTimer.record(() -> delete(id));
     }
 
     /**
@@ -174,104 +110,143 @@ public class DataSourceService {
      * decrypted secrets.
      */
     public String maskConfigForApi(final String configJson) {
-        if (configJson == null || configJson.isBlank()) {
-            return configJson;
-        }
         try {
-            final JsonNode root = objectMapper.readTree(configJson);
-            if (!root.isObject()) {
-                return configJson;
-            }
-            final JsonNode masked = maskSensitiveInObject((ObjectNode) root);
-            return objectMapper.writeValueAsString(masked);
+            return configTransformer.mask(configJson);
         } catch (final JsonProcessingException e) {
             LOG.warn("Could not mask config JSON, returning as-is: {}", e.getMessage());
             return configJson;
         }
     }
 
-    private void validateConfigJson(final String configJson) {
-        if (configJson == null || configJson.isBlank()) {
-            throw new IllegalArgumentException("config is required and must be valid JSON");
-        }
-        try {
-            objectMapper.readTree(configJson);
-        } catch (final JsonProcessingException e) {
-            throw new IllegalArgumentException("config must be valid JSON: " + e.getMessage());
-        }
+    /** Validates config JSON before a connection test; see {@link ConnectionTestService}. */
+    public void validateConfigForTest(final String configJson) {
+        configTransformer.validate(configJson);
     }
 
     /**
-     * Validates config for test connection. MVP: config JSON only; no actual connectivity check.
+     * Returns the stored config with encrypted values decrypted, for connectors that need real
+     * credentials. Decrypted configs are cached per data source version; each call gets its own
+     * copy. The result must stay inside the JVM: never log it or return it from the API.
      */
-    public void validateConfigForTest(final String configJson) {
-        validateConfigJson(configJson);
+    public JsonNode decryptConfig(final DataSource dataSource) {
+        return cache.decryptedConfig(
+                dataSource,
+                () -> decryptTimer.record(() -> configTransformer.decrypt(dataSource.getConfig())));
     }
 
-    /**
-     * Validates config for existing data source by id (uses stored config). MVP: validation only.
-     */
-    public void validateConfigForTestById(final UUID id) {
-        final DataSource entity = getById(id);
-        validateConfigJson(entity.getConfig());
+    private DataSource insert(
+            final String name, final DataSourceType type, final String configJson) {
+        validate(name, type);
+        if (dataSourceRepository.existsByName(name.trim())) {
+            throw new IllegalArgumentException("name must be unique: " + name);
+        }
+        final String encryptedConfig = configTransformer.prepareForStorage(configJson, null);
+        final Instant now = Instant.now();
+        final DataSource entity =
+                new DataSource(UUID.randomUUID(), name.trim(), type, encryptedConfig, now, now);
+        return dataSourceRepository.save(entity);
+    }
+
+    private DataSourcePage page(
+            final DataSourceType type,
+            final String namePrefix,
+            final String cursor,
+            final Integer limit) {
+        final int pageSize = limit == null ? DEFAULT_PAGE_SIZE : limit;
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        final String prefix = namePrefix == null || namePrefix.isBlank() ? null : namePrefix.trim();
+        final String afterName = cursor == null || cursor.isBlank() ? null : decodeCursor(cursor);
+        // One extra row tells whether another page exists without a count query.
+        final List<DataSourceSummary> rows =
+                dataSourceRepository.findSummaries(type, prefix, afterName, pageSize + 1);
+        if (rows.size() <= pageSize) {
+            return new DataSourcePage(rows, null);
+        }
+        final List<DataSourceSummary> page = List.copyOf(rows.subList(0, pageSize));
+        return new DataSourcePage(page, encodeCursor(page.get(pageSize - 1).name()));
+    }
+
+    private static String encodeCursor(final String lastName) {
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(lastName.getBytes(StandardCharsets.UTF_8));
     }
 
-    /** Encrypts only sensitive leaf values; non-sensitive values remain plaintext. */
-    private String encryptSensitiveValues(final String configJson) {
+    private static String decodeCursor(final String cursor) {
         try {
-            final JsonNode root = objectMapper.readTree(configJson);
-            if (!root.isObject()) {
-                return configJson;
-            }
-            encryptSensitiveInObject((ObjectNode) root);
-            return objectMapper.writeValueAsString(root);
-        } catch (final JsonProcessingException e) {
-            throw new IllegalStateException("Failed to encrypt config", e);
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (final IllegalArgumentException e) {
+            throw new IllegalArgumentException("cursor is invalid");
         }
     }
 
-    private void encryptSensitiveInObject(final ObjectNode node) {
-        node.fields()
-                .forEachRemaining(
-                        entry -> {
-                            final String key = entry.getKey();
-                            final JsonNode value = entry.getValue();
-                            if (value != null && value.isTextual()) {
-                                final String str = value.asText();
-                                if (isSensitiveKey(key) && !encryptionService.isEncrypted(str)) {
-                                    final String encrypted = encryptionService.encrypt(str);
-                                    node.put(key, encrypted);
-                                }
-                            } else if (value != null && value.isObject()) {
-                                encryptSensitiveInObject((ObjectNode) value);
-                            }
-                        });
+    private DataSource load(final UUID id) {
+        return dataSourceRepository
+                .findById(id)
+                .map(DataSourceService::detachedCopy)
+                .orElseThrow(() -> new DataSourceNotFoundException("Data source not found: " + id));
+    }
+
+    private DataSource modify(
+            final UUID id, final String name, final DataSourceType type, final String configJson) {
+        final DataSource entity =
+                dataSourceRepository
+                        .findById(id)
+                        .orElseThrow(
+                                () ->
+                                        new DataSourceNotFoundException(
+                                                "Data source not found: " + id));
+        validate(name, type);
+        if (dataSourceRepository.existsByNameAndIdNot(name.trim(), id)) {
+            throw new IllegalArgumentException("name must be unique: " + name);
+        }
+        final String encryptedConfig =
+                configTransformer.prepareForStorage(configJson, entity.getConfig());
+        entity.setName(name.trim());
+        entity.setType(type);
+        entity.setConfig(encryptedConfig);
+        entity.setUpdatedAt(Instant.now());
+        final DataSource saved = dataSourceRepository.save(entity);
+        cache.evict(id);
+        eventPublisher.publishEvent(new DataSourceChangedEvent(id, false));
+        return saved;
     }
 
-    private JsonNode maskSensitiveInObject(final ObjectNode node) {
-        final ObjectNode copy = node.deepCopy();
-        copy.fields()
-                .forEachRemaining(
-                        entry -> {
-                            final String key = entry.getKey();
-                            final JsonNode value = entry.getValue();
-                            if (value != null && value.isTextual()) {
-                                if (isSensitiveKey(key)
-                                        || encryptionService.isEncrypted(value.asText())) {
-                                    copy.put(key, MASKED_VALUE);
-                                }
-                            } else if (value != null && value.isObject()) {
-                                copy.set(key, maskSensitiveInObject((ObjectNode) value));
-                            }
-                        });
-        return copy;
+    private void delete(final UUID id) {
+        if (!dataSourceRepository.existsById(id)) {
+            throw new DataSourceNotFoundException("Data source not found: " + id);
+        }
+        dataSourceRepository.deleteById(id);
+        cache.evict(id);
+        eventPublisher.publishEvent(new DataSourceChangedEvent(id, true));
     }
 
-    private boolean isSensitiveKey(final String key) {
-        if (key == null || key.isBlank()) {
-            return false;
+    private static void validate(final String name, final DataSourceType type) {
+        if (name == null || name.isBlank()) {
+            throw new IllegalArgumentException("name is required");
         }
-        return SENSITIVE_KEYS.stream().anyMatch(s -> s.equalsIgnoreCase(key));
+        if (type == null) {
+            throw new IllegalArgumentException("type is required");
+        }
+    }
+
+    private static DataSource detachedCopy(final DataSource entity) {
+        return new DataSource(
+                entity.getId(),
+                entity.getName(),
+                entity.getType(),
+                entity.getConfig(),
+                entity.getCreatedAt(),
+                entity.getUpdatedAt());
+    }
+
+    private static Timer timer(final MeterRegistry registry, final String operation) {
+        return Timer.builder("datadrift.datasource.operations")
+                .description("Time spent in data source service operations")
+                .tag("operation", operation)
+                .register(registry);
     }
 
     /** Thrown when a data source is not found (e.g. get or delete by id). */
@@ -0,0 +1,60 @@
+package com.datadrift.service;
+
+import com.datadrift.connector.ConnectionCallback;
+import com.datadrift.connector.DatabaseConnectionPools;
+import com.datadrift.connector.DatabaseSourceConfig;
+import com.datadrift.connector.SourceReadException;
+import com.datadrift.domain.DataSource;
+import com.datadrift.domain.DataSourceType;
+import java.sql.SQLException;
+import java.util.UUID;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Runs JDBC work against DATABASE data sources through their pooled connections. Credentials are
+ * decrypted only when a pool is (re)built; pools are discarded once a change to the data source
+ * commits, and a pool built from an older version of the data source is replaced on next use.
+ */
+@Service
+public class DatabaseConnectorService {
+
+    private final DataSourceService dataSourceService;
+    private final DatabaseConnectionPools pools;
+
+    public DatabaseConnectorService(
+            final DataSourceService dataSourceService, final DatabaseConnectionPools pools) {
+        this.dataSourceService = dataSourceService;
+        this.pools = pools;
+    }
+
+    public <T> T withConnection(final UUID dataSourceId, final ConnectionCallback<T> callback) {
+        return withConnection(dataSourceService.getById(dataSourceId), callback);
+    }
+
+    public <T> T withConnection(final DataSource dataSource, final ConnectionCallback<T> callback) {
+        if (dataSource.getType() != DataSourceType.DATABASE) {
+            throw new IllegalArgumentException(
+                    "Data source " + dataSource.getId() + " is not a DATABASE data source");
+        }
+        try {
+            return pools.withConnection(
+                    dataSource.getId(),
+                    dataSource.getUpdatedAt(),
+                    () -> DatabaseSourceConfig.from(dataSourceService.decryptConfig(dataSource)),
+                    callback);
+        } catch (final SQLException e) {
+            throw new SourceReadException("Database query failed: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Runs after commit, so a connection borrowed meanwhile cannot rebuild the pool from the old
+     * row; without a transaction it runs immediately.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onDataSourceChanged(final DataSourceChangedEvent event) {
+        pools.evict(event.dataSourceId());
+    }
+}
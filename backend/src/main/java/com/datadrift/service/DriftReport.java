@@ -0,0 +1,39 @@
+package com.datadrift.service;
+
+import java.util.List;
+
+/**
+ * Rows inserted, deleted and changed in a data source since the previous drift run, identified by
+ * their key column values. Key lists are samples capped at the configured size; the counts are
+ * exact. {@code baseline} is true on the first run, which records the state and reports no drift.
+ */
+public record DriftReport(
+        List<String> keyColumns,
+        boolean baseline,
+        long inserted,
+        long deleted,
+        long changed,
+        List<List<String>> insertedKeys,
+        List<List<String>> deletedKeys,
+        List<List<String>> changedKeys) {
+
+    public DriftReport {
+        keyColumns = List.copyOf(keyColumns);
+        insertedKeys = List.copyOf(insertedKeys);
+        deletedKeys = List.copyOf(deletedKeys);
+        changedKeys = List.copyOf(changedKeys);
+    }
+
+    static DriftReport unchanged(final List<String> keyColumns, final boolean baseline) {
+        return new DriftReport(keyColumns, baseline, 0, 0, 0, List.of(), List.of(), List.of());
+    }
+
+    public long total() {
+        return inserted + deleted + changed;
+    }
+
+    /** Compact form for logs and execution messages, e.g. "+3 -1 ~2". */
+    public String summary() {
+        return baseline ? "baseline recorded" : "+" + inserted + " -" + deleted + " ~" + changed;
+    }
+}
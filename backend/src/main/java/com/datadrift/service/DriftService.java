@@ -0,0 +1,405 @@
+package com.datadrift.service;
+
+import com.datadrift.connector.DuckDbConnectionPool;
+import com.datadrift.connector.SourceReadException;
+import com.datadrift.domain.DataSource;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+/**
+ * Detects rows inserted, deleted and changed in a data source between runs. Each run reduces the
+ * source's Parquet snapshot (see {@link SourceSnapshotService}) to one hash per key, stored on disk
+ * sorted by key bucket, plus one digest per bucket. Runs compare bucket digests first and join rows
+ * only inside buckets whose digest moved; since the row file is sorted by bucket, DuckDB skips the
+ * row groups of unchanged buckets. The work after hashing is proportional to the change, not the
+ * table, and nothing is diffed in JVM memory. An unchanged snapshot returns immediately.
+ *
+ * <p>State is kept per data source and key column list. Rows with a duplicate key are folded into
+ * one entry, so a key whose rows change in any way reports as changed.
+ */
+@Service
+public class DriftService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DriftService.class);
+    private static final String ROWS = ".rows.parquet";
+    private static final String BUCKETS = ".buckets.parquet";
+    private static final String META = ".properties";
+    private static final String PENDING = ".next";
+
+    private final DataSourceService dataSourceService;
+    private final SourceSnapshotService snapshots;
+    private final DuckDbConnectionPool pool;
+    private final ObjectMapper objectMapper;
+    private final Path directory;
+    private final int buckets;
+    private final int sampleSize;
+    private final Map<String, ReentrantLock> locks = new ConcurrentHashMap<>();
+
+    public DriftService(
+            final DataSourceService dataSourceService,
+            final SourceSnapshotService snapshots,
+            final DuckDbConnectionPool pool,
+            final ObjectMapper objectMapper,
+            @Value("${datadrift.drift.dir:${java.io.tmpdir}/datadrift-drift}") final Path directory,
+            @Value("${datadrift.drift.buckets:1024}") final int buckets,
+            @Value("${datadrift.drift.sample-size:100}") final int sampleSize)
+            throws IOException {
+        if (buckets < 1) {
+            throw new IllegalArgumentException("datadrift.drift.buckets must be at least 1");
+        }
+        this.dataSourceService = dataSourceService;
+        this.snapshots = snapshots;
+        this.pool = pool;
+        this.objectMapper = objectMapper;
+        this.directory = Files.createDirectories(directory);
+        this.buckets = buckets;
+        this.sampleSize = Math.max(0, sampleSize);
+    }
+
+    public DriftReport detect(final UUID dataSourceId, final List<String> keyColumns) {
+        return detect(dataSourceService.getById(dataSourceId), keyColumns);
+    }
+
+    /**
+     * Compares the data source with the state recorded by the previous run for the same key
+     * columns, then records the current state. The first run records a baseline.
+     *
+     * @throws IllegalArgumentException if the key columns are missing or not columns of the source
+     * @throws SourceReadException if the source cannot be snapshotted or the state cannot be stored
+     */
+    public DriftReport detect(final DataSource dataSource, final List<String> keyColumns) {
+        final List<String> keys = requireKeyColumns(keyColumns);
+        final SourceSnapshotService.Snapshot snapshot =
+                snapshots.ensureCurrent(dataSource, readConfig(dataSource));
+        final Path base = directory.resolve(baseName(dataSource.getId(), keys));
+        final ReentrantLock lock = locks.computeIfAbsent(base.toString(), k -> new ReentrantLock());
+        lock.lock();
+        try {
+            final String previousVersion = readVersion(base);
+            if (snapshot.version().equals(previousVersion)) {
+                return DriftReport.unchanged(keys, false);
+            }
+            final DriftReport report =
+                    pool.withConnection(
+                            connection -> compare(connection, snapshot.file(), base, keys));
+            commit(base, snapshot.version());
+            LOG.info("Drift for data source {}: {}", dataSource.getId(), report.summary());
+            return report;
+        } catch (final SQLException e) {
+            throw new SourceReadException("Drift detection failed: " + e.getMessage(), e);
+        } catch (final IOException e) {
+            throw new SourceReadException("Could not store drift state: " + e.getMessage(), e);
+        } finally {
+            deleteQuietly(pending(base, ROWS));
+            deleteQuietly(pending(base, BUCKETS));
+            lock.unlock();
+        }
+    }
+
+    /** Drops the recorded state of a deleted data source. */
+    @EventListener
+    public void onDataSourceChanged(final DataSourceChangedEvent event) {
+        if (!event.deleted()) {
+            return;
+        }
+        try (DirectoryStream<Path> files =
+                Files.newDirectoryStream(directory, event.dataSourceId() + "-*")) {
+            for (final Path file : files) {
+                deleteQuietly(file);
+            }
+        } catch (final IOException e) {
+            LOG.warn("Could not list drift state of data source {}", event.dataSourceId());
+        }
+    }
+
+    /**
+     * Writes the current row hashes and bucket digests next to the recorded ones and diffs them.
+     */
+    private DriftReport compare(
+            final Connection connection,
+            final Path snapshot,
+            final Path base,
+            final List<String> keys)
+            throws SQLException {
+        final String source =
+                "read_parquet(" + ViewQueryService.quoteLiteral(snapshot.toString()) + ")";
+        final List<String> columns = columns(connection, source);
+        for (final String key : keys) {
+            if (!columns.contains(key)) {
+                throw new IllegalArgumentException("Unknown key column: " + key);
+            }
+        }
+        final String keyHash = "hash(" + quoteAll(keys) + ")";
+        final StringJoiner keyValues = new StringJoiner(", ");
+        for (int i = 0; i < keys.size(); i++) {
+            keyValues.add(
+                    "CAST("
+                            + ViewQueryService.quoteIdentifier(keys.get(i))
+                            + " AS VARCHAR) AS k_"
+                            + i);
+        }
+        final Path nextRows = pending(base, ROWS);
+        final Path nextBuckets = pending(base, BUCKETS);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(
+                    "COPY (SELECT CAST("
+                            + keyHash
+                            + " % "
+                            + buckets
+                            + " AS INTEGER) AS bucket, "
+                            + keyHash
+                            + " AS key_hash, "
+                            + keyValues
+                            + ", bit_xor(hash("
+                            + quoteAll(columns)
+                            + ")) AS row_hash, count(*) AS copies FROM "
+                            + source
+                            + " GROUP BY ALL ORDER BY bucket, key_hash) TO "
+                            + parquet(nextRows));
+            statement.execute(
+                    "COPY (SELECT bucket, bit_xor(hash(key_hash, row_hash, copies)) AS digest"
+                            + " FROM read_parquet("
+                            + ViewQueryService.quoteLiteral(nextRows.toString())
+                            + ") GROUP BY bucket ORDER BY bucket) TO "
+                            + parquet(nextBuckets));
+        }
+        final Path rows = base.resolveSibling(base.getFileName() + ROWS);
+        final Path digests = base.resolveSibling(base.getFileName() + BUCKETS);
+        if (!Files.isRegularFile(rows) || !Files.isRegularFile(digests)) {
+            return DriftReport.unchanged(keys, true);
+        }
+        final List<Integer> changedBuckets = changedBuckets(connection, nextBuckets, digests);
+        if (changedBuckets.isEmpty()) {
+            return DriftReport.unchanged(keys, false);
+        }
+        return diffRows(connection, nextRows, rows, changedBuckets, keys);
+    }
+
+    private List<Integer> changedBuckets(
+            final Connection connection, final Path next, final Path previous) throws SQLException {
+        final List<Integer> changed = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+                ResultSet resultSet =
+                        statement.executeQuery(
+                                "SELECT coalesce(n.bucket, p.bucket) FROM read_parquet("
+                                        + ViewQueryService.quoteLiteral(next.toString())
+                                        + ") n FULL OUTER JOIN read_parquet("
+                                        + ViewQueryService.quoteLiteral(previous.toString())
+                                        + ") p ON n.bucket = p.bucket"
+                                        + " WHERE n.digest IS DISTINCT FROM p.digest")) {
+            while (resultSet.next()) {
+                changed.add(resultSet.getInt(1));
+            }
+        }
+        return changed;
+    }
+
+    private DriftReport diffRows(
+            final Connection connection,
+            final Path next,
+            final Path previous,
+            final List<Integer> changedBuckets,
+            final List<String> keys)
+            throws SQLException {
+        final int keyCount = keys.size();
+        final StringJoiner bucketList = new StringJoiner(", ", "(", ")");
+        changedBuckets.forEach(bucket -> bucketList.add(Integer.toString(bucket)));
+        final StringJoiner join = new StringJoiner(" AND ", "n.key_hash = p.key_hash AND ", "");
+        final StringJoiner select = new StringJoiner(", ");
+        for (int i = 0; i < keyCount; i++) {
+            join.add("n.k_" + i + " IS NOT DISTINCT FROM p.k_" + i);
+            select.add("coalesce(n.k_" + i + ", p.k_" + i + ")");
+        }
+        final String sql =
+                "SELECT CASE WHEN p.key_hash IS NULL THEN 'I' WHEN n.key_hash IS NULL THEN 'D'"
+                        + " ELSE 'C' END AS kind, "
+                        + select
+                        + " FROM (SELECT * FROM read_parquet("
+                        + ViewQueryService.quoteLiteral(next.toString())
+                        + ") WHERE bucket IN "
+                        + bucketList
+                        + ") n FULL OUTER JOIN (SELECT * FROM read_parquet("
+                        + ViewQueryService.quoteLiteral(previous.toString())
+                        + ") WHERE bucket IN "
+                        + bucketList
+                        + ") p ON "
+                        + join
+                        + " WHERE p.key_hash IS NULL OR n.key_hash IS NULL"
+                        + " OR n.row_hash <> p.row_hash OR n.copies <> p.copies";
+        long inserted = 0;
+        long deleted = 0;
+        long changed = 0;
+        final List<List<String>> insertedKeys = new ArrayList<>();
+        final List<List<String>> deletedKeys = new ArrayList<>();
+        final List<List<String>> changedKeys = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+                ResultSet resultSet = statement.executeQuery(sql)) {
+            while (resultSet.next()) {
+                final List<List<String>> samples;
+                switch (resultSet.getString(1)) {
+                    case "I" -> {
+                        inserted++;
+                        samples = insertedKeys;
+                    }
+                    case "D" -> {
+                        deleted++;
+                        samples = deletedKeys;
+                    }
+                    default -> {
+                        changed++;
+                        samples = changedKeys;
+                    }
+                }
+                if (samples.size() < sampleSize) {
+                    final List<String> key = new ArrayList<>(keyCount);
+                    for (int i = 0; i < keyCount; i++) {
+                        key.add(resultSet.getString(i + 2));
+                    }
+                    samples.add(key);
+                }
+            }
+        }
+        return new DriftReport(
+                keys, false, inserted, deleted, changed, insertedKeys, deletedKeys, changedKeys);
+    }
+
+    /** Promotes the pending files to the recorded state, then records the snapshot version. */
+    private void commit(final Path base, final String version) throws IOException {
+        Files.move(
+                pending(base, ROWS),
+                base.resolveSibling(base.getFileName() + ROWS),
+                StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+        Files.move(
+                pending(base, BUCKETS),
+                base.resolveSibling(base.getFileName() + BUCKETS),
+                StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+        final Properties meta = new Properties();
+        meta.setProperty("version", version);
+        final Path metaFile = base.resolveSibling(base.getFileName() + META);
+        final Path partial = pending(base, META);
+        try (OutputStream out = Files.newOutputStream(partial)) {
+            meta.store(out, null);
+        }
+        Files.move(
+                partial,
+                metaFile,
+                StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static String readVersion(final Path base) {
+        final Path metaFile = base.resolveSibling(base.getFileName() + META);
+        if (!Files.isRegularFile(metaFile)) {
+            return null;
+        }
+        final Properties meta = new Properties();
+        try (InputStream in = Files.newInputStream(metaFile)) {
+            meta.load(in);
+            return meta.getProperty("version");
+        } catch (final IOException e) {
+            LOG.warn("Could not read drift state {}: {}", metaFile.getFileName(), e.getMessage());
+            return null;
+        }
+    }
+
+    private static List<String> columns(final Connection connection, final String source)
+            throws SQLException {
+        final List<String> columns = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+                ResultSet resultSet = statement.executeQuery("DESCRIBE SELECT * FROM " + source)) {
+            while (resultSet.next()) {
+                columns.add(resultSet.getString("column_name"));
+            }
+        }
+        return columns;
+    }
+
+    private static List<String> requireKeyColumns(final List<String> keyColumns) {
+        if (keyColumns == null || keyColumns.isEmpty()) {
+            throw new IllegalArgumentException("keyColumns is required");
+        }
+        final Set<String> keys = new LinkedHashSet<>();
+        for (final String key : keyColumns) {
+            if (key == null || key.isBlank()) {
+                throw new IllegalArgumentException("keyColumns must not contain blank names");
+            }
+            keys.add(key);
+        }
+        return List.copyOf(keys);
+    }
+
+    private static String quoteAll(final List<String> columns) {
+        final StringJoiner joiner = new StringJoiner(", ");
+        columns.forEach(column -> joiner.add(ViewQueryService.quoteIdentifier(column)));
+        return joiner.toString();
+    }
+
+    private static String parquet(final Path file) {
+        return ViewQueryService.quoteLiteral(file.toString())
+                + " (FORMAT parquet, COMPRESSION zstd)";
+    }
+
+    private static Path pending(final Path base, final String suffix) {
+        return base.resolveSibling(base.getFileName() + PENDING + suffix);
+    }
+
+    private static String baseName(final UUID dataSourceId, final List<String> keys) {
+        try {
+            final byte[] digest =
+                    MessageDigest.getInstance("SHA-256")
+                            .digest(String.join("\u0000", keys).getBytes(StandardCharsets.UTF_8));
+            return dataSourceId + "-" + HexFormat.of().formatHex(digest, 0, 8);
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private JsonNode readConfig(final DataSource dataSource) {
+        try {
+            return objectMapper.readTree(dataSource.getConfig());
+        } catch (final JsonProcessingException e) {
+            throw new IllegalArgumentException("config must be valid JSON: " + e.getMessage());
+        }
+    }
+
+    private static void deleteQuietly(final Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (final IOException e) {
+            LOG.warn("Could not delete drift state file {}", file.getFileName());
+        }
+    }
+}
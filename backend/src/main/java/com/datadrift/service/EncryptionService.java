@@ -1,10 +1,19 @@
 package com.datadrift.service;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
 import java.security.SecureRandom;
+import java.util.ArrayList;
 import java.util.Base64;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
 import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
 import javax.crypto.spec.GCMParameterSpec;
 import javax.crypto.spec.SecretKeySpec;
 import org.springframework.stereotype.Service;
@@ -13,6 +22,12 @@ import org.springframework.stereotype.Service;
  * AES-256-GCM authenticated encryption for sensitive config values. Encrypted values are
  * identifiable via ENC(base64) prefix so we never decrypt non-encrypted strings. Random IV per
  * encryption.
+ *
+ * <p>The key spec is built once. Cipher instances and IV generators are pooled rather than held in
+ * thread locals because rule executions run on short-lived virtual threads; each borrower gets its
+ * own {@link Cipher} and {@link SecureRandom}, so concurrent calls never contend on a shared lock.
+ * {@link #encryptAll}/{@link #decryptAll} borrow once for a whole config. Each value's cipher work
+ * is timed as {@code datadrift.encryption} tagged by operation.
  */
 @Service
 public class EncryptionService {
@@ -23,12 +38,15 @@ public class EncryptionService {
     private static final String ENC_PREFIX = "ENC(";
     private static final String ENC_SUFFIX = ")";
 
-    private final byte[] key;
-    private final SecureRandom secureRandom;
+    private final SecretKey key;
+    private final Queue<CipherContext> pool = new ConcurrentLinkedQueue<>();
+    private final Timer encryptTimer;
+    private final Timer decryptTimer;
 
-    public EncryptionService(final byte[] encryptionKey) {
-        this.key = encryptionKey.clone();
-        this.secureRandom = new SecureRandom();
+    public EncryptionService(final byte[] encryptionKey, final MeterRegistry registry) {
+        this.key = new SecretKeySpec(encryptionKey.clone(), "AES");
+        this.encryptTimer = timer(registry, "encrypt");
+        this.decryptTimer = timer(registry, "decrypt");
     }
 
     /**
@@ -39,29 +57,88 @@ public class EncryptionService {
         if (plaintext == null || plaintext.isEmpty()) {
             return plaintext;
         }
+        final CipherContext context = borrow();
+        try {
+            return encrypt(context, plaintext);
+        } finally {
+            pool.offer(context);
+        }
+    }
+
+    /** Encrypts every value in order, using one pooled cipher for the whole batch. */
+    public List<String> encryptAll(final List<String> plaintexts) {
+        final List<String> result = new ArrayList<>(plaintexts.size());
+        final CipherContext context = borrow();
+        try {
+            for (final String plaintext : plaintexts) {
+                result.add(
+                        plaintext == null || plaintext.isEmpty()
+                                ? plaintext
+                                : encrypt(context, plaintext));
+            }
+        } finally {
+            pool.offer(context);
+        }
+        return result;
+    }
+
+    /**
+     * Decrypts a value previously produced by {@link #encrypt}. Only call for values that {@link
+     * #isEncrypted} returns true for; never decrypt untrusted or non-encrypted strings.
+     */
+    public String decrypt(final String encrypted) {
+        final CipherContext context = borrow();
+        try {
+            return decrypt(context, encrypted);
+        } finally {
+            pool.offer(context);
+        }
+    }
+
+    /** Decrypts every value in order, using one pooled cipher for the whole batch. */
+    public List<String> decryptAll(final List<String> encryptedValues) {
+        final List<String> result = new ArrayList<>(encryptedValues.size());
+        final CipherContext context = borrow();
+        try {
+            for (final String encrypted : encryptedValues) {
+                result.add(decrypt(context, encrypted));
+            }
+        } finally {
+            pool.offer(context);
+        }
+        return result;
+    }
+
+    /** Returns true if the value is in ENC(base64) format (encrypted at rest). */
+    public boolean isEncrypted(final String value) {
+        return value != null
+                && value.startsWith(ENC_PREFIX)
+                && value.endsWith(ENC_SUFFIX)
+                && value.length() > ENC_PREFIX.length() + ENC_SUFFIX.length();
+    }
+
+    private String encrypt(final CipherContext context, final String plaintext) {
+        final long started = System.nanoTime();
         try {
             final byte[] iv = new byte[GCM_IV_LENGTH_BYTES];
-            secureRandom.nextBytes(iv);
-            final Cipher cipher = Cipher.getInstance(TRANSFORMATION);
-            final GCMParameterSpec spec = new GCMParameterSpec(GCM_TAG_LENGTH_BITS, iv);
-            cipher.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(key, "AES"), spec);
+            context.random().nextBytes(iv);
+            final Cipher cipher = context.cipher();
+            cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(GCM_TAG_LENGTH_BITS, iv));
             final byte[] plain = plaintext.getBytes(StandardCharsets.UTF_8);
-            final byte[] ciphertext = cipher.doFinal(plain);
-            final ByteBuffer buf = ByteBuffer.allocate(iv.length + ciphertext.length);
+            final ByteBuffer buf =
+                    ByteBuffer.allocate(iv.length + cipher.getOutputSize(plain.length));
             buf.put(iv);
-            buf.put(ciphertext);
+            cipher.doFinal(ByteBuffer.wrap(plain), buf);
             final String encoded = Base64.getEncoder().encodeToString(buf.array());
             return ENC_PREFIX + encoded + ENC_SUFFIX;
-        } catch (final Exception e) {
+        } catch (final GeneralSecurityException e) {
             throw new IllegalStateException("Encryption failed", e);
+        } finally {
+            encryptTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
         }
     }
 
-    /**
-     * Decrypts a value previously produced by {@link #encrypt}. Only call for values that {@link
-     * #isEncrypted} returns true for; never decrypt untrusted or non-encrypted strings.
-     */
-    public String decrypt(final String encrypted) {
+    private String decrypt(final CipherContext context, final String encrypted) {
         if (!isEncrypted(encrypted)) {
             throw new IllegalArgumentException("Value is not in ENC(...) format");
         }
@@ -76,27 +153,42 @@ public class EncryptionService {
         if (raw.length < GCM_IV_LENGTH_BYTES) {
             throw new IllegalArgumentException("Invalid ENC payload: too short");
         }
+        final long started = System.nanoTime();
         try {
-            final ByteBuffer buf = ByteBuffer.wrap(raw);
-            final byte[] iv = new byte[GCM_IV_LENGTH_BYTES];
-            buf.get(iv);
-            final byte[] ciphertext = new byte[buf.remaining()];
-            buf.get(ciphertext);
-            final Cipher cipher = Cipher.getInstance(TRANSFORMATION);
-            final GCMParameterSpec spec = new GCMParameterSpec(GCM_TAG_LENGTH_BITS, iv);
-            cipher.init(Cipher.DECRYPT_MODE, new SecretKeySpec(key, "AES"), spec);
-            final byte[] plain = cipher.doFinal(ciphertext);
+            final Cipher cipher = context.cipher();
+            cipher.init(
+                    Cipher.DECRYPT_MODE,
+                    key,
+                    new GCMParameterSpec(GCM_TAG_LENGTH_BITS, raw, 0, GCM_IV_LENGTH_BYTES));
+            final byte[] plain =
+                    cipher.doFinal(raw, GCM_IV_LENGTH_BYTES, raw.length - GCM_IV_LENGTH_BYTES);
             return new String(plain, StandardCharsets.UTF_8);
-        } catch (final Exception e) {
+        } catch (final GeneralSecurityException e) {
             throw new IllegalStateException("Decryption failed", e);
+        } finally {
+            decryptTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
         }
     }
 
-    /** Returns true if the value is in ENC(base64) format (encrypted at rest). */
-    public boolean isEncrypted(final String value) {
-        return value != null
-                && value.startsWith(ENC_PREFIX)
-                && value.endsWith(ENC_SUFFIX)
-                && value.length() > ENC_PREFIX.length() + ENC_SUFFIX.length();
+    private static Timer timer(final MeterRegistry registry, final String operation) {
+        return Timer.builder("datadrift.encryption")
+                .description("Time to encrypt or decrypt one config value")
+                .tag("operation", operation)
+                .register(registry);
     }
+
+    private CipherContext borrow() {
+        final CipherContext pooled = pool.poll();
+        if (pooled != null) {
+            return pooled;
+        }
+        try {
+            return new CipherContext(Cipher.getInstance(TRANSFORMATION), new SecureRandom());
+        } catch (final GeneralSecurityException e) {
+            throw new IllegalStateException("AES/GCM is not available", e);
+        }
+    }
+
+    /** A cipher and IV source owned by one caller at a time. */
+    private record CipherContext(Cipher cipher, SecureRandom random) {}
 }
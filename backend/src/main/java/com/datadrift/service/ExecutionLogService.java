@@ -0,0 +1,86 @@
+package com.datadrift.service;
+
+import com.datadrift.domain.ExecutionRecord;
+import com.datadrift.domain.ExecutionStatus;
+import com.datadrift.repository.ExecutionFilter;
+import com.datadrift.repository.ExecutionLogRepository;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.stereotype.Service;
+
+/**
+ * Reads the execution log for the audit views. Pages are newest-first and addressed by an opaque
+ * cursor holding the (started_at, id) of the last row returned, so paging stays cheap no matter how
+ * deep the client goes.
+ */
+@Service
+public class ExecutionLogService {
+
+    static final int DEFAULT_LIMIT = 50;
+    static final int MAX_LIMIT = 500;
+
+    private final ExecutionLogRepository repository;
+
+    public ExecutionLogService(final ExecutionLogRepository repository) {
+        this.repository = repository;
+    }
+
+    public ExecutionPage find(
+            final UUID ruleId,
+            final ExecutionStatus status,
+            final Instant from,
+            final Instant to,
+            final String cursor,
+            final Integer limit) {
+        final int pageSize = limit == null ? DEFAULT_LIMIT : limit;
+        if (pageSize < 1 || pageSize > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT);
+        }
+        Instant afterStartedAt = null;
+        UUID afterId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            final String[] parts = decodeCursor(cursor);
+            try {
+                afterStartedAt = Instant.parse(parts[0]);
+                afterId = UUID.fromString(parts[1]);
+            } catch (final DateTimeException | IllegalArgumentException e) {
+                throw new IllegalArgumentException("cursor is invalid");
+            }
+        }
+        // Fetch one extra row to learn whether another page exists.
+        final List<ExecutionRecord> rows =
+                repository.find(
+                        new ExecutionFilter(
+                                ruleId, status, from, to, afterStartedAt, afterId, pageSize + 1));
+        if (rows.size() <= pageSize) {
+            return new ExecutionPage(rows, null);
+        }
+        final List<ExecutionRecord> page = rows.subList(0, pageSize);
+        return new ExecutionPage(List.copyOf(page), encodeCursor(page.get(pageSize - 1)));
+    }
+
+    private static String encodeCursor(final ExecutionRecord last) {
+        final String raw = last.startedAt() + "," + last.id();
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decodeCursor(final String cursor) {
+        final String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (final IllegalArgumentException e) {
+            throw new IllegalArgumentException("cursor is invalid");
+        }
+        final String[] parts = raw.split(",", -1);
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("cursor is invalid");
+        }
+        return parts;
+    }
+}
@@ -0,0 +1,7 @@
+package com.datadrift.service;
+
+import com.datadrift.domain.ExecutionRecord;
+import java.util.List;
+
+/** One page of the execution log; {@code nextCursor} is null on the last page. */
+public record ExecutionPage(List<ExecutionRecord> items, String nextCursor) {}
@@ -0,0 +1,24 @@
+package com.datadrift.service;
+
+import com.datadrift.domain.Condition;
+import java.util.List;
+
+/**
+ * How a condition tree is split between the engine and the JVM: {@code where} (with {@code ?}
+ * placeholders bound to {@code parameters} in order) is added to the view query, {@code residual}
+ * is evaluated on the returned rows. Either part may be null.
+ */
+public record PushdownPlan(
+        String where, List<Object> parameters, Condition pushed, Condition residual) {
+
+    /** Nothing to filter. */
+    public static final PushdownPlan NONE = new PushdownPlan(null, List.of(), null, null);
+
+    public PushdownPlan {
+        parameters = List.copyOf(parameters);
+    }
+
+    public boolean fullyPushed() {
+        return residual == null;
+    }
+}
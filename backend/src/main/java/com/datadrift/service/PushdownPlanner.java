@@ -0,0 +1,196 @@
+package com.datadrift.service;
+
+import com.datadrift.domain.Condition;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Splits an automation condition tree into a SQL WHERE clause for the view query and a residual for
+ * in-JVM evaluation (see {@link com.datadrift.execution.ConditionCompiler}). The SQL has the same
+ * semantics as the compiled predicates: numeric literals compare with {@code TRY_CAST(... AS
+ * DOUBLE)} so non-numeric values never match, text compares the value's text, and comparisons on
+ * NULL are false. Literals are always bound as parameters.
+ *
+ * <p>A comparison is pushed when its field is a column of the view with a scalar type. AND pushes
+ * each pushable child and keeps the rest as residual; OR is pushed only when all of its children
+ * are, otherwise it stays in the JVM as a whole.
+ */
+public final class PushdownPlanner {
+
+    private PushdownPlanner() {}
+
+    /**
+     * Plans {@code condition} against the view's columns.
+     *
+     * @param columnTypes column name to engine type name, as reported by DESCRIBE
+     */
+    public static PushdownPlan plan(
+            final Condition condition, final Map<String, String> columnTypes) {
+        if (condition == null) {
+            return PushdownPlan.NONE;
+        }
+        final List<Object> parameters = new ArrayList<>();
+        final Split split = split(condition, columnTypes, parameters);
+        return new PushdownPlan(split.sql(), parameters, split.pushed(), split.residual());
+    }
+
+    /** Readable rendering of a condition tree for plans and logs, e.g. {@code amount > 100}. */
+    public static String describe(final Condition condition) {
+        if (condition == null) {
+            return null;
+        }
+        if (condition instanceof Condition.Group group) {
+            final StringJoiner joiner = new StringJoiner(" " + group.junction() + " ", "(", ")");
+            group.conditions().forEach(child -> joiner.add(describe(child)));
+            return joiner.toString();
+        }
+        final Condition.Comparison comparison = (Condition.Comparison) condition;
+        final String field = ViewQueryService.quoteIdentifier(comparison.field());
+        return switch (comparison.operator()) {
+            case IS_NULL -> field + " IS NULL";
+            case IS_NOT_NULL -> field + " IS NOT NULL";
+            case IN -> {
+                final StringJoiner values = new StringJoiner(", ", "(", ")");
+                comparison.values().forEach(value -> values.add(literal(value)));
+                yield field + " IN " + values;
+            }
+            case CONTAINS -> field + " CONTAINS " + literal(comparison.value());
+            default -> field
+                    + " "
+                    + symbol(comparison.operator())
+                    + " "
+                    + literal(comparison.value());
+        };
+    }
+
+    private static Split split(
+            final Condition condition,
+            final Map<String, String> columnTypes,
+            final List<Object> parameters) {
+        if (condition instanceof Condition.Comparison comparison) {
+            if (!pushable(comparison, columnTypes)) {
+                return new Split(null, null, comparison);
+            }
+            return new Split(comparisonSql(comparison, parameters), comparison, null);
+        }
+        final Condition.Group group = (Condition.Group) condition;
+        if (group.junction() == Condition.Junction.OR) {
+            final List<Object> groupParameters = new ArrayList<>();
+            final StringJoiner sql = new StringJoiner(" OR ", "(", ")");
+            for (final Condition child : group.conditions()) {
+                final Split childSplit = split(child, columnTypes, groupParameters);
+                if (childSplit.residual() != null) {
+                    return new Split(null, null, group);
+                }
+                sql.add(childSplit.sql());
+            }
+            parameters.addAll(groupParameters);
+            return new Split(sql.toString(), group, null);
+        }
+        final StringJoiner sql = new StringJoiner(" AND ", "(", ")");
+        final List<Condition> pushed = new ArrayList<>();
+        final List<Condition> residual = new ArrayList<>();
+        for (final Condition child : group.conditions()) {
+            final Split childSplit = split(child, columnTypes, parameters);
+            if (childSplit.sql() != null) {
+                sql.add(childSplit.sql());
+                pushed.add(childSplit.pushed());
+            }
+            if (childSplit.residual() != null) {
+                residual.add(childSplit.residual());
+            }
+        }
+        return new Split(pushed.isEmpty() ? null : sql.toString(), and(pushed), and(residual));
+    }
+
+    private static Condition and(final List<Condition> conditions) {
+        if (conditions.isEmpty()) {
+            return null;
+        }
+        return conditions.size() == 1
+                ? conditions.get(0)
+                : new Condition.Group(Condition.Junction.AND, conditions);
+    }
+
+    private static boolean pushable(
+            final Condition.Comparison comparison, final Map<String, String> columnTypes) {
+        final String type = columnTypes.get(comparison.field());
+        if (type == null) {
+            return false;
+        }
+        final String upper = type.toUpperCase(Locale.ROOT);
+        return !upper.endsWith("]")
+                && !upper.startsWith("STRUCT")
+                && !upper.startsWith("MAP")
+                && !upper.startsWith("UNION");
+    }
+
+    private static String comparisonSql(
+            final Condition.Comparison comparison, final List<Object> parameters) {
+        final String column = ViewQueryService.quoteIdentifier(comparison.field());
+        final String text = "CAST(" + column + " AS VARCHAR)";
+        switch (comparison.operator()) {
+            case IS_NULL -> {
+                return column + " IS NULL";
+            }
+            case IS_NOT_NULL -> {
+                return column + " IS NOT NULL";
+            }
+            case CONTAINS -> {
+                parameters.add(comparison.value());
+                return "position(? IN " + text + ") > 0";
+            }
+            case IN -> {
+                final StringJoiner placeholders = new StringJoiner(", ", "(", ")");
+                for (final Object value : comparison.values()) {
+                    parameters.add(value instanceof Double ? value : value.toString());
+                    placeholders.add("?");
+                }
+                return operand(comparison.value(), column) + " IN " + placeholders;
+            }
+            default -> {
+                final Object value = comparison.value();
+                parameters.add(value instanceof Boolean ? value.toString() : value);
+                return operand(value, column) + " " + symbol(comparison.operator()) + " ?";
+            }
+        }
+    }
+
+    /** The column expression a literal of this type is compared with. */
+    private static String operand(final Object literal, final String column) {
+        if (literal instanceof Double) {
+            return "TRY_CAST(" + column + " AS DOUBLE)";
+        }
+        if (literal instanceof Boolean) {
+            return "lower(CAST(" + column + " AS VARCHAR))";
+        }
+        return "CAST(" + column + " AS VARCHAR)";
+    }
+
+    private static String symbol(final Condition.Operator operator) {
+        return switch (operator) {
+            case EQUALS -> "=";
+            case NOT_EQUALS -> "<>";
+            case GT -> ">";
+            case GTE -> ">=";
+            case LT -> "<";
+            case LTE -> "<=";
+            default -> throw new IllegalArgumentException("Not a binary operator: " + operator);
+        };
+    }
+
+    private static String literal(final Object value) {
+        if (value instanceof String text) {
+            return ViewQueryService.quoteLiteral(text);
+        }
+        if (value instanceof Double number && number == Math.rint(number) && !number.isInfinite()) {
+            return Long.toString(number.longValue());
+        }
+        return String.valueOf(value);
+    }
+
+    private record Split(String sql, Condition pushed, Condition residual) {}
+}
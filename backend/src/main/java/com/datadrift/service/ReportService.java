@@ -0,0 +1,314 @@
+package com.datadrift.service;
+
+import com.datadrift.connector.RowHandler;
+import com.datadrift.connector.SourceRow;
+import com.datadrift.domain.Report;
+import com.datadrift.domain.ReportFormat;
+import com.datadrift.domain.ViewDefinition;
+import com.datadrift.report.ReportWriter;
+import com.datadrift.repository.ReportRepository;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Writes Data View results to report files in the reports directory. The view is scanned on the
+ * calling thread while a virtual writer thread encodes rows (optionally gzipped) to disk; the two
+ * hand over fixed-size batches through a bounded queue, so a report of any size holds at most
+ * {@code buffer-batches} batches in memory and a slow disk throttles the scan instead of piling up
+ * rows. Files are written under a temporary name and moved into place once complete, so a listed
+ * report is always a whole file. Because a slow disk stretches the scan, reports have their own
+ * {@code query-timeout} instead of the preview one.
+ */
+@Service
+public class ReportService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ReportService.class);
+    private static final String PARTIAL_SUFFIX = ".partial";
+    private static final int STREAM_BUFFER_BYTES = 64 * 1024;
+    private static final long OFFER_WAIT_MILLIS = 100;
+
+    private final ViewQueryService viewQueryService;
+    private final ReportRepository reportRepository;
+    private final Clock clock;
+    private final Path directory;
+    private final int batchSize;
+    private final int bufferBatches;
+    private final Duration queryTimeout;
+
+    public ReportService(
+            final ViewQueryService viewQueryService,
+            final ReportRepository reportRepository,
+            final Clock clock,
+            @Value("${datadrift.reports.dir:${java.io.tmpdir}/datadrift-reports}")
+                    final Path directory,
+            @Value("${datadrift.reports.batch-size:1024}") final int batchSize,
+            @Value("${datadrift.reports.buffer-batches:8}") final int bufferBatches,
+            @Value("${datadrift.reports.query-timeout:1h}") final Duration queryTimeout)
+            throws IOException {
+        if (batchSize < 1 || bufferBatches < 1) {
+            throw new IllegalArgumentException(
+                    "datadrift.reports.batch-size and buffer-batches must be positive");
+        }
+        this.viewQueryService = viewQueryService;
+        this.reportRepository = reportRepository;
+        this.clock = clock;
+        this.directory = Files.createDirectories(directory);
+        this.batchSize = batchSize;
+        this.bufferBatches = bufferBatches;
+        this.queryTimeout = queryTimeout;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Streams every row of the view into a new report file and records it.
+     *
+     * @param ruleId the automation rule that produced the report, or null
+     * @throws ViewQueryService.ViewQueryException if the view query fails
+     * @throws UncheckedIOException if the file cannot be written
+     */
+    public Report generate(
+            final String name,
+            final ViewDefinition definition,
+            final ReportFormat format,
+            final boolean gzip,
+            final UUID ruleId) {
+        if (name == null || name.isBlank()) {
+            throw new IllegalArgumentException("name is required");
+        }
+        if (format == null) {
+            throw new IllegalArgumentException("format is required");
+        }
+        final UUID id = UUID.randomUUID();
+        final String fileName = id + "." + format.extension() + (gzip ? ".gz" : "");
+        final Path target = directory.resolve(fileName);
+        final Path partial = directory.resolve(fileName + PARTIAL_SUFFIX);
+        final BlockingQueue<Chunk> queue = new ArrayBlockingQueue<>(bufferBatches);
+        final AtomicReference<IOException> failure = new AtomicReference<>();
+        final Thread writer =
+                Thread.ofVirtual()
+                        .name("report-writer-" + id)
+                        .start(() -> write(queue, partial, format, gzip, failure));
+        boolean completed = false;
+        try {
+            final BatchingHandler handler = new BatchingHandler(queue, writer, failure);
+            final long rows = viewQueryService.scan(definition, handler, queryTimeout);
+            handler.finish();
+            writer.join();
+            if (failure.get() != null) {
+                throw new UncheckedIOException("Could not write report " + id, failure.get());
+            }
+            Files.move(partial, target, StandardCopyOption.ATOMIC_MOVE);
+            final Report report =
+                    new Report(
+                            id,
+                            name.trim(),
+                            ruleId,
+                            definition.dataSourceId(),
+                            format,
+                            gzip,
+                            fileName,
+                            rows,
+                            Files.size(target),
+                            Instant.now(clock));
+            final Report saved = reportRepository.save(report);
+            completed = true;
+            LOG.info("Report {} written: {} rows, {} bytes", id, rows, report.getSizeBytes());
+            return saved;
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Could not write report " + id, e);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while writing report " + id, e);
+        } finally {
+            if (!completed) {
+                writer.interrupt();
+                awaitQuietly(writer);
+                deleteQuietly(partial);
+                deleteQuietly(target);
+            }
+        }
+    }
+
+    public List<Report> findAll() {
+        return reportRepository.findAllByOrderByCreatedAtDesc();
+    }
+
+    public Report getById(final UUID id) {
+        return reportRepository
+                .findById(id)
+                .orElseThrow(() -> new ReportNotFoundException("Report not found: " + id));
+    }
+
+    /**
+     * Returns the stored file of the report.
+     *
+     * @throws ReportNotFoundException if the file was removed from the reports directory
+     */
+    public Path file(final Report report) {
+        final Path file = directory.resolve(report.getFileName());
+        if (!Files.isRegularFile(file)) {
+            throw new ReportNotFoundException("Report file not found: " + report.getId());
+        }
+        return file;
+    }
+
+    public void deleteById(final UUID id) {
+        final Report report = getById(id);
+        reportRepository.delete(report);
+        deleteQuietly(directory.resolve(report.getFileName()));
+    }
+
+    /** Writer thread: drains batches into the encoder until the end marker arrives. */
+    private static void write(
+            final BlockingQueue<Chunk> queue,
+            final Path partial,
+            final ReportFormat format,
+            final boolean gzip,
+            final AtomicReference<IOException> failure) {
+        try (OutputStream file = Files.newOutputStream(partial);
+                OutputStream out =
+                        gzip
+                                ? new GZIPOutputStream(file, STREAM_BUFFER_BYTES)
+                                : new BufferedOutputStream(file, STREAM_BUFFER_BYTES)) {
+            final ReportWriter encoder = ReportWriter.create(format, out);
+            while (true) {
+                final Chunk chunk = queue.take();
+                if (chunk == Chunk.END) {
+                    break;
+                }
+                if (chunk.columns() != null) {
+                    encoder.start(chunk.columns());
+                }
+                for (int i = 0; i < chunk.size(); i++) {
+                    encoder.row(chunk.rows()[i]);
+                }
+            }
+            encoder.finish();
+        } catch (final IOException e) {
+            failure.set(e);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void awaitQuietly(final Thread thread) {
+        try {
+            thread.join();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void deleteQuietly(final Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (final IOException e) {
+            LOG.warn("Could not delete report file {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Copies rows into batches and hands full batches to the writer; stops if the writer failed.
+     */
+    private final class BatchingHandler implements RowHandler {
+
+        private final BlockingQueue<Chunk> queue;
+        private final Thread writer;
+        private final AtomicReference<IOException> failure;
+        private List<String> columns;
+        private int columnCount;
+        private Object[][] rows = new Object[batchSize][];
+        private int size;
+
+        BatchingHandler(
+                final BlockingQueue<Chunk> queue,
+                final Thread writer,
+                final AtomicReference<IOException> failure) {
+            this.queue = queue;
+            this.writer = writer;
+            this.failure = failure;
+        }
+
+        @Override
+        public void onStart(final List<String> columns) {
+            this.columns = List.copyOf(columns);
+            this.columnCount = columns.size();
+        }
+
+        @Override
+        public boolean onRow(final SourceRow row) {
+            // Values keep their types, whether they come from the engine or a source reader.
+            final Object[] values = new Object[columnCount];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = row.getValue(i);
+            }
+            rows[size++] = values;
+            return size < batchSize || flush();
+        }
+
+        void finish() {
+            if ((size > 0 || columns != null) && !flush()) {
+                return;
+            }
+            hand(Chunk.END);
+        }
+
+        /** Hands the current batch (and the columns, once) to the writer. */
+        private boolean flush() {
+            final Chunk chunk = new Chunk(columns, rows, size);
+            columns = null;
+            rows = new Object[batchSize][];
+            size = 0;
+            return hand(chunk);
+        }
+
+        private boolean hand(final Chunk chunk) {
+            try {
+                while (!queue.offer(chunk, OFFER_WAIT_MILLIS, TimeUnit.MILLISECONDS)) {
+                    if (!writer.isAlive()) {
+                        return false;
+                    }
+                }
+                return failure.get() == null;
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+    }
+
+    /** One batch of rows; the first batch also carries the column names. */
+    private record Chunk(List<String> columns, Object[][] rows, int size) {
+
+        static final Chunk END = new Chunk(null, new Object[0][], 0);
+    }
+
+    /** Thrown when a report or its file does not exist. */
+    public static final class ReportNotFoundException extends RuntimeException {
+        public ReportNotFoundException(final String message) {
+            super(message);
+        }
+    }
+}
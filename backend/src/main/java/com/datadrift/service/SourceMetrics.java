@@ -0,0 +1,107 @@
+package com.datadrift.service;
+
+import com.datadrift.connector.SourceReadException;
+import com.datadrift.domain.DataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongConsumer;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Connector fetch metrics per data source: {@code datadrift.connector.fetch} times every read of a
+ * source (scan or snapshot build) tagged by outcome, and {@code datadrift.connector.bytes.read}
+ * counts the bytes read from it. Also remembers which sources failed their last read, a signal for
+ * the connectors health check. Meters of a deleted source are removed.
+ */
+@Component
+public class SourceMetrics {
+
+    static final String FETCH_TIMER = "datadrift.connector.fetch";
+    static final String BYTES_COUNTER = "datadrift.connector.bytes.read";
+
+    private final MeterRegistry registry;
+    private final Map<UUID, String> lastErrors = new ConcurrentHashMap<>();
+
+    public SourceMetrics(final MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Runs one read of the data source and records its duration, outcome and the bytes the read
+     * reports through its {@link LongConsumer}.
+     *
+     * @return what the read returned (usually a row count)
+     */
+    public long timed(final DataSource dataSource, final Read read) {
+        final long started = System.nanoTime();
+        final long[] bytes = new long[1];
+        boolean succeeded = false;
+        try {
+            final long result = read.run(count -> bytes[0] += count);
+            succeeded = true;
+            lastErrors.remove(dataSource.getId());
+            return result;
+        } catch (final SourceReadException | IllegalArgumentException e) {
+            lastErrors.put(dataSource.getId(), String.valueOf(e.getMessage()));
+            throw e;
+        } finally {
+            record(dataSource, succeeded, System.nanoTime() - started, bytes[0]);
+        }
+    }
+
+    /** Data sources whose most recent read failed, with the failure message. */
+    public Map<UUID, String> failingSources() {
+        return Map.copyOf(lastErrors);
+    }
+
+    @EventListener
+    public void onDataSourceChanged(final DataSourceChangedEvent event) {
+        if (!event.deleted()) {
+            return;
+        }
+        final String source = event.dataSourceId().toString();
+        for (final Meter meter : List.copyOf(registry.getMeters())) {
+            if (meter.getId().getName().startsWith("datadrift.connector.")
+                    && source.equals(meter.getId().getTag("source"))) {
+                registry.remove(meter);
+            }
+        }
+        lastErrors.remove(event.dataSourceId());
+    }
+
+    private void record(
+            final DataSource dataSource,
+            final boolean succeeded,
+            final long nanos,
+            final long bytes) {
+        final String source = dataSource.getId().toString();
+        final String type = dataSource.getType().name();
+        Timer.builder(FETCH_TIMER)
+                .description("Time to read a data source")
+                .tags("source", source, "type", type, "outcome", succeeded ? "success" : "failure")
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+        if (bytes > 0) {
+            Counter.builder(BYTES_COUNTER)
+                    .description("Bytes read from a data source")
+                    .baseUnit("bytes")
+                    .tags("source", source, "type", type)
+                    .register(registry)
+                    .increment(bytes);
+        }
+    }
+
+    /** A read of a data source that reports the bytes it consumed. */
+    @FunctionalInterface
+    public interface Read {
+        long run(final LongConsumer bytesRead);
+    }
+}
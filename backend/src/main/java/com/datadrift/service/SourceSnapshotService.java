@@ -0,0 +1,263 @@
+package com.datadrift.service;
+
+import com.datadrift.connector.CsvSourceConfig;
+import com.datadrift.connector.DuckDbConnectionPool;
+import com.datadrift.connector.SourceReadException;
+import com.datadrift.domain.DataSource;
+import com.datadrift.domain.DataSourceType;
+import com.fasterxml.jackson.databind.JsonNode;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+/**
+ * Materializes CSV and JSON data sources into compressed Parquet snapshots on local disk so views
+ * and rules scan a columnar file instead of re-parsing the raw source. A snapshot is versioned by
+ * the data source's updatedAt and the file's size and modification time; the version is part of the
+ * file name, so snapshots survive restarts and a changed source never reads a stale one.
+ *
+ * <p>DuckDB reads snapshots in place: only the columns a query touches are decoded and row groups
+ * are skipped using their min/max statistics, and nothing is held in the engine's memory between
+ * queries.
+ */
+@Service
+public class SourceSnapshotService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SourceSnapshotService.class);
+    private static final String SUFFIX = ".parquet";
+    private static final Set<String> COMPRESSIONS =
+            Set.of("uncompressed", "snappy", "gzip", "zstd");
+
+    private final DuckDbConnectionPool pool;
+    private final SourceMetrics sourceMetrics;
+    private final Path directory;
+    private final String compression;
+    private final Map<UUID, Snapshot> current = new ConcurrentHashMap<>();
+    private final Map<UUID, ReentrantLock> buildLocks = new ConcurrentHashMap<>();
+
+    public SourceSnapshotService(
+            final DuckDbConnectionPool pool,
+            final SourceMetrics sourceMetrics,
+            @Value("${datadrift.snapshots.dir:${java.io.tmpdir}/datadrift-snapshots}")
+                    final Path directory,
+            @Value("${datadrift.snapshots.compression:zstd}") final String compression)
+            throws IOException {
+        final String codec = compression.trim().toLowerCase(Locale.ROOT);
+        if (!COMPRESSIONS.contains(codec)) {
+            throw new IllegalArgumentException(
+                    "datadrift.snapshots.compression must be one of " + COMPRESSIONS);
+        }
+        this.pool = pool;
+        this.sourceMetrics = sourceMetrics;
+        this.directory = Files.createDirectories(directory);
+        this.compression = codec;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /** A Parquet snapshot of one data source at {@code version}. */
+    public record Snapshot(Path file, String version) {}
+
+    /**
+     * Returns the snapshot matching the source's current version, building it first when the source
+     * changed or was never snapshotted. Concurrent callers for one source build it once.
+     *
+     * @throws SourceReadException if the source file is unreadable or cannot be converted
+     */
+    public Snapshot ensureCurrent(final DataSource dataSource, final JsonNode config) {
+        final Path source = sourcePath(dataSource, config);
+        final String version = dataSource.getUpdatedAt() + "|" + fileVersion(source);
+        final Snapshot known = current.get(dataSource.getId());
+        if (known != null && known.version().equals(version)) {
+            return known;
+        }
+        final ReentrantLock lock =
+                buildLocks.computeIfAbsent(dataSource.getId(), id -> new ReentrantLock());
+        lock.lock();
+        try {
+            final Snapshot latest = current.get(dataSource.getId());
+            if (latest != null && latest.version().equals(version)) {
+                return latest;
+            }
+            final Path file = directory.resolve(fileName(dataSource.getId(), version));
+            if (!Files.isRegularFile(file)) {
+                sourceMetrics.timed(
+                        dataSource,
+                        bytesRead -> {
+                            build(dataSource, config, source, file);
+                            bytesRead.accept(fileSize(source));
+                            return 0;
+                        });
+            }
+            final Snapshot snapshot = new Snapshot(file, version);
+            current.put(dataSource.getId(), snapshot);
+            deleteSnapshots(dataSource.getId(), file);
+            return snapshot;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Drops the snapshots of a changed or deleted data source; the next read rebuilds. */
+    @EventListener
+    public void onDataSourceChanged(final DataSourceChangedEvent event) {
+        current.remove(event.dataSourceId());
+        deleteSnapshots(event.dataSourceId(), null);
+    }
+
+    private void build(
+            final DataSource dataSource,
+            final JsonNode config,
+            final Path source,
+            final Path target) {
+        final Path partial = target.resolveSibling(target.getFileName() + ".partial");
+        final String copySql =
+                "COPY (SELECT * FROM "
+                        + tableFunction(dataSource.getType(), config, source)
+                        + ") TO "
+                        + ViewQueryService.quoteLiteral(partial.toString())
+                        + " (FORMAT parquet, COMPRESSION "
+                        + compression
+                        + ")";
+        final long started = System.nanoTime();
+        try {
+            pool.withConnection(
+                    connection -> {
+                        try (Statement statement = connection.createStatement()) {
+                            statement.execute(copySql);
+                        }
+                        return null;
+                    });
+            Files.move(partial, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (final SQLException e) {
+            throw new SourceReadException("Failed to snapshot data source: " + e.getMessage(), e);
+        } catch (final IOException e) {
+            throw new SourceReadException("Failed to store snapshot: " + e.getMessage(), e);
+        } finally {
+            deleteQuietly(partial);
+        }
+        LOG.info(
+                "Snapshotted data source {} in {} ms",
+                dataSource.getId(),
+                (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /** Deletes the source's snapshot files other than {@code keep} (all when null). */
+    private void deleteSnapshots(final UUID dataSourceId, final Path keep) {
+        try (DirectoryStream<Path> files =
+                Files.newDirectoryStream(directory, dataSourceId + "-*" + SUFFIX)) {
+            for (final Path file : files) {
+                if (!file.equals(keep)) {
+                    deleteQuietly(file);
+                }
+            }
+        } catch (final IOException e) {
+            LOG.warn("Could not list snapshots of data source {}", dataSourceId);
+        }
+    }
+
+    private static String tableFunction(
+            final DataSourceType type, final JsonNode config, final Path path) {
+        final String file = ViewQueryService.quoteLiteral(path.toString());
+        if (type == DataSourceType.CSV) {
+            final CsvSourceConfig csv = CsvSourceConfig.from(config);
+            return "read_csv("
+                    + file
+                    + ", header = "
+                    + csv.header()
+                    + ", delim = "
+                    + ViewQueryService.quoteLiteral(String.valueOf(csv.delimiter()))
+                    + duckDbEncoding(csv.charset())
+                    + ")";
+        }
+        return "read_json_auto(" + file + ")";
+    }
+
+    private static String duckDbEncoding(final Charset charset) {
+        if (StandardCharsets.UTF_8.equals(charset) || StandardCharsets.US_ASCII.equals(charset)) {
+            return "";
+        }
+        if (StandardCharsets.ISO_8859_1.equals(charset)) {
+            return ", encoding = 'latin-1'";
+        }
+        if (StandardCharsets.UTF_16.equals(charset)) {
+            return ", encoding = 'utf-16'";
+        }
+        throw new IllegalArgumentException("Encoding not supported for views: " + charset.name());
+    }
+
+    private static Path sourcePath(final DataSource dataSource, final JsonNode config) {
+        final DataSourceType type = dataSource.getType();
+        if (type == DataSourceType.REST) {
+            throw new IllegalArgumentException(
+                    "REST data sources support Basic-mode views only; Advanced views and"
+                            + " aggregations need a CSV or JSON source");
+        }
+        if (type != DataSourceType.CSV && type != DataSourceType.JSON) {
+            throw new IllegalArgumentException(
+                    "Data views are not supported for " + type + " data sources yet");
+        }
+        final String path = config.path("path").asText("");
+        if (path.isBlank()) {
+            throw new IllegalArgumentException(type + " data source requires a local file path");
+        }
+        return Path.of(path);
+    }
+
+    private static long fileSize(final Path path) {
+        try {
+            return Files.size(path);
+        } catch (final IOException e) {
+            return 0;
+        }
+    }
+
+    private static String fileVersion(final Path path) {
+        try {
+            return Files.size(path) + "|" + Files.getLastModifiedTime(path).toMillis();
+        } catch (final IOException e) {
+            throw new SourceReadException("Data source file is not readable: " + path, e);
+        }
+    }
+
+    private static String fileName(final UUID dataSourceId, final String version) {
+        try {
+            final byte[] digest =
+                    MessageDigest.getInstance("SHA-256")
+                            .digest(version.getBytes(StandardCharsets.UTF_8));
+            return dataSourceId + "-" + HexFormat.of().formatHex(digest, 0, 8) + SUFFIX;
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static void deleteQuietly(final Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (final IOException e) {
+            LOG.warn("Could not delete snapshot file {}", file.getFileName());
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.datadrift.service;
+
+import java.util.List;
+
+/**
+ * How a view query was executed: the SQL sent to the engine with its bound parameters, the
+ * conditions pushed into it and the residual conditions evaluated in the JVM (null when none). The
+ * SQL is null when the view was read straight from its source.
+ */
+public record ViewPlan(String sql, List<Object> parameters, String pushed, String residual) {
+
+    public ViewPlan {
+        parameters = List.copyOf(parameters);
+    }
+}
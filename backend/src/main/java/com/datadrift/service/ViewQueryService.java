@@ -0,0 +1,1004 @@
+package com.datadrift.service;
+
+import com.datadrift.connector.DuckDbConnectionPool;
+import com.datadrift.connector.JsonFileReader;
+import com.datadrift.connector.ResultSetRow;
+import com.datadrift.connector.RowHandler;
+import com.datadrift.connector.RowPredicate;
+import com.datadrift.connector.SourceRow;
+import com.datadrift.domain.AggregationSpec;
+import com.datadrift.domain.Condition;
+import com.datadrift.domain.DataSource;
+import com.datadrift.domain.DataSourceType;
+import com.datadrift.domain.ViewDefinition;
+import com.datadrift.domain.ViewMode;
+import com.datadrift.execution.ConditionCompiler;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ScheduledFuture;
+import java.util.regex.Pattern;
+import org.springframework.stereotype.Service;
+
+/**
+ * Evaluates Data Views with the embedded DuckDB engine. CSV and JSON data sources are read from
+ * their Parquet snapshot (see {@link SourceSnapshotService}), which is rebuilt only when the data
+ * source or its file changes; queries run as columnar, vectorized scans on a pooled connection
+ * where the snapshot is visible as table {@code source}.
+ *
+ * <p>Full scans of Basic-mode views (rule executions and reports) skip the snapshot: they read the
+ * source once, so its reader streams just the selected fields straight to the caller (see {@link
+ * DataSourceScanService}) and conditions are evaluated in the JVM. The readers name, match and type
+ * fields as DuckDB does, so a run sees the rows its preview showed, and the scan fails once the
+ * query timeout passes. REST sources have no snapshot, so only their Basic-mode views are
+ * supported, and previews read the first pages of the source.
+ */
+@Service
+public class ViewQueryService {
+
+    private static final String SOURCE_VIEW = "source";
+    private static final String SHARED_SCAN_TABLE = "shared_scan";
+    private static final int DEFAULT_LIMIT = 100;
+    private static final int MAX_LIMIT = 10_000;
+    private static final Pattern SELECT_START =
+            Pattern.compile("^\\s*(select|with)\\b", Pattern.CASE_INSENSITIVE);
+
+    /** Scalar functions that would let a view read the server's environment. */
+    private static final Set<String> FORBIDDEN_FUNCTIONS = Set.of("getenv");
+
+    private final DataSourceService dataSourceService;
+    private final DuckDbConnectionPool pool;
+    private final ObjectMapper objectMapper;
+    private final ViewResultCache resultCache;
+    private final SourceSnapshotService snapshots;
+    private final DataSourceScanService scanService;
+
+    public ViewQueryService(
+            final DataSourceService dataSourceService,
+            final DuckDbConnectionPool pool,
+            final ObjectMapper objectMapper,
+            final ViewResultCache resultCache,
+            final SourceSnapshotService snapshots,
+            final DataSourceScanService scanService) {
+        this.dataSourceService = dataSourceService;
+        this.pool = pool;
+        this.objectMapper = objectMapper;
+        this.resultCache = resultCache;
+        this.snapshots = snapshots;
+        this.scanService = scanService;
+    }
+
+    /**
+     * Runs the view and returns at most {@code limit} rows (default 100, max 10000). Results are
+     * served from {@link ViewResultCache} while the data source and its file are unchanged.
+     *
+     * @throws ViewQueryException if the SQL is invalid, fails or exceeds the query timeout
+     */
+    public ViewResult preview(final ViewDefinition definition, final Integer limit) {
+        return preview(definition, null, limit);
+    }
+
+    /**
+     * Runs the view filtered by an automation condition tree. Conditions the engine can evaluate
+     * are pushed into the query (see {@link PushdownPlanner}), the rest are applied to the returned
+     * rows; the result's {@link ViewPlan} shows the split.
+     *
+     * @throws IllegalArgumentException if a condition refers to a field the view does not have
+     */
+    public ViewResult preview(
+            final ViewDefinition definition, final Condition condition, final Integer limit) {
+        final int rowLimit = resolveLimit(limit);
+        final DataSource dataSource = dataSourceOf(definition);
+        final String viewSql = buildSql(definition, dataSource.getType());
+        if (streamsFromSource(definition, dataSource)
+                && dataSource.getType() == DataSourceType.REST) {
+            return previewFromSource(definition, dataSource, condition, rowLimit);
+        }
+        final SourceSnapshotService.Snapshot snapshot =
+                snapshots.ensureCurrent(dataSource, readConfig(dataSource));
+        final ViewResultCache.Key key =
+                new ViewResultCache.Key(definition, condition, rowLimit, snapshot.version());
+        final ViewResult cached = resultCache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        final ViewResult result;
+        try {
+            result =
+                    pool.withConnection(
+                            connection -> {
+                                bindSource(connection, snapshot.file());
+                                final PushdownPlan plan = plan(connection, viewSql, condition);
+                                String sql = filteredSql(viewSql, plan);
+                                if (plan.fullyPushed()) {
+                                    sql += " LIMIT " + (rowLimit + 1);
+                                }
+                                return execute(connection, sql, plan, rowLimit);
+                            });
+        } catch (final SQLException e) {
+            throw new ViewQueryException("Query failed: " + e.getMessage(), e);
+        }
+        resultCache.put(key, result);
+        return result;
+    }
+
+    /**
+     * Counts the view's rows and those matching {@code condition} (all rows when null). When the
+     * whole condition can be pushed down this is a single aggregate query and no rows leave the
+     * engine; otherwise only rows passing the pushed part are streamed and tested in the JVM.
+     * Basic-mode views over a streamed source are counted while reading the source.
+     */
+    public MatchCount countMatches(final ViewDefinition definition, final Condition condition) {
+        final DataSource dataSource = dataSourceOf(definition);
+        final String viewSql = buildSql(definition, dataSource.getType());
+        if (streamsFromSource(definition, dataSource)) {
+            final long[] matched = new long[1];
+            final long rows =
+                    scanSource(
+                            dataSource,
+                            definition.fields(),
+                            new MatchingRowHandler(condition, () -> matched[0]++),
+                            pool.getQueryTimeout());
+            return new MatchCount(rows, matched[0]);
+        }
+        final SourceSnapshotService.Snapshot snapshot =
+                snapshots.ensureCurrent(dataSource, readConfig(dataSource));
+        try {
+            return pool.withConnection(
+                    connection -> {
+                        bindSource(connection, snapshot.file());
+                        final PushdownPlan plan = plan(connection, viewSql, condition);
+                        final String from = " FROM (" + viewSql + ") AS view_result";
+                        if (plan.fullyPushed()) {
+                            final String matched =
+                                    plan.where() == null
+                                            ? "count(*)"
+                                            : "count(*) FILTER (WHERE " + plan.where() + ")";
+                            final long[] counts =
+                                    queryCounts(
+                                            connection,
+                                            "SELECT count(*), " + matched + from,
+                                            plan.parameters());
+                            return new MatchCount(counts[0], counts[1]);
+                        }
+                        final long total =
+                                queryCounts(connection, "SELECT count(*)" + from, List.of())[0];
+                        final long[] matched = new long[1];
+                        stream(
+                                connection,
+                                filteredSql(viewSql, plan),
+                                plan.parameters(),
+                                new MatchingRowHandler(plan.residual(), () -> matched[0]++),
+                                pool.getQueryTimeout());
+                        return new MatchCount(total, matched[0]);
+                    });
+        } catch (final SQLException e) {
+            throw new ViewQueryException("Query failed: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Aggregates the view in the engine and returns one row per group in columnar form, at most
+     * {@code spec.limit()} groups (default 100, max 10000). {@code condition} filters rows first
+     * and must be fully expressible in SQL, since the JVM never sees the view's rows here.
+     *
+     * @throws IllegalArgumentException if the spec or condition is invalid
+     */
+    public AggregationResult aggregate(
+            final ViewDefinition definition,
+            final Condition condition,
+            final AggregationSpec spec) {
+        final int groupLimit = resolveLimit(spec.limit());
+        final List<String> columns = AggregationPlanner.columns(spec);
+        final DataSource dataSource = dataSourceOf(definition);
+        final String viewSql = buildSql(definition, dataSource.getType());
+        final SourceSnapshotService.Snapshot snapshot =
+                snapshots.ensureCurrent(dataSource, readConfig(dataSource));
+        try {
+            return pool.withConnection(
+                    connection -> {
+                        bindSource(connection, snapshot.file());
+                        final PushdownPlan plan = plan(connection, viewSql, condition);
+                        if (!plan.fullyPushed()) {
+                            throw new IllegalArgumentException(
+                                    "conditions cannot be evaluated in the engine: "
+                                            + PushdownPlanner.describe(plan.residual()));
+                        }
+                        final String sql =
+                                AggregationPlanner.sql(
+                                        filteredSql(viewSql, plan), spec, groupLimit + 1);
+                        return collectColumns(
+                                connection, sql, plan.parameters(), columns, groupLimit);
+                    });
+        } catch (final SQLException e) {
+            throw new ViewQueryException("Query failed: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Streams every row of the view to the handler without collecting them, for reports. The query
+     * is cancelled once {@code timeout} elapses; it covers the time the handler spends on rows, so
+     * a consumer that throttles the scan needs a budget well above the preview timeout. Basic-mode
+     * views over a streamed source are read by the source's reader under the same deadline.
+     *
+     * @return number of rows passed to the handler
+     */
+    public long scan(
+            final ViewDefinition definition, final RowHandler handler, final Duration timeout) {
+        final DataSource dataSource = dataSourceOf(definition);
+        final String viewSql = buildSql(definition, dataSource.getType());
+        if (streamsFromSource(definition, dataSource)) {
+            return scanSource(dataSource, definition.fields(), handler, timeout);
+        }
+        final SourceSnapshotService.Snapshot snapshot =
+                snapshots.ensureCurrent(dataSource, readConfig(dataSource));
+        try {
+            return pool.withConnection(
+                    connection -> {
+                        bindSource(connection, snapshot.file());
+                        return stream(connection, viewSql, List.of(), handler, timeout);
+                    });
+        } catch (final SQLException e) {
+            throw new ViewQueryException("Query failed: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * True when full scans of the view read the source directly instead of its snapshot: Basic-mode
+     * views only select fields, which the source readers project while parsing.
+     */
+    private static boolean streamsFromSource(
+            final ViewDefinition definition, final DataSource dataSource) {
+        return definition.mode() == ViewMode.BASIC
+                && dataSource.getType() != DataSourceType.DATABASE;
+    }
+
+    /**
+     * Reads the source until {@code rowLimit} rows match, evaluating the whole condition in the
+     * JVM; the plan has no SQL. Values are typed as {@link SourceRow#getValue} types them.
+     */
+    private ViewResult previewFromSource(
+            final ViewDefinition definition,
+            final DataSource dataSource,
+            final Condition condition,
+            final int rowLimit) {
+        final CollectingRowHandler handler = new CollectingRowHandler(condition, rowLimit);
+        scanSource(dataSource, definition.fields(), handler, pool.getQueryTimeout());
+        return new ViewResult(
+                handler.columns,
+                handler.rows,
+                handler.truncated,
+                new ViewPlan(null, List.of(), null, PushdownPlanner.describe(condition)));
+    }
+
+    /**
+     * Streams the selected fields of the source to the handler, failing the read with a timeout
+     * once {@code timeLimit} has passed, as the engine cancels a query that runs too long.
+     */
+    private long scanSource(
+            final DataSource dataSource,
+            final List<String> fields,
+            final RowHandler handler,
+            final Duration timeLimit) {
+        return scanService.scan(dataSource, fields, new DeadlineRowHandler(handler, timeLimit));
+    }
+
+    private DataSource dataSourceOf(final ViewDefinition definition) {
+        if (definition.dataSourceId() == null) {
+            throw new IllegalArgumentException("dataSourceId is required");
+        }
+        return dataSourceService.getById(definition.dataSourceId());
+    }
+
+    /** Builds the SQL for a view definition after validating it. */
+    String buildSql(final ViewDefinition definition) {
+        return buildSql(definition, null);
+    }
+
+    /**
+     * Builds the SQL for a view over a source of the given type. Basic-mode fields keep the names
+     * they were selected by, and on JSON sources a dotted field reads the nested struct field, so
+     * the columns match what the source's reader streams for the same view.
+     */
+    private String buildSql(final ViewDefinition definition, final DataSourceType type) {
+        if (definition.dataSourceId() == null) {
+            throw new IllegalArgumentException("dataSourceId is required");
+        }
+        if (definition.mode() == null) {
+            throw new IllegalArgumentException("mode is required");
+        }
+        if (definition.mode() == ViewMode.BASIC) {
+            if (definition.fields().isEmpty()) {
+                return "SELECT * FROM " + SOURCE_VIEW;
+            }
+            final List<String> columns = new ArrayList<>(definition.fields().size());
+            for (final String field : definition.fields()) {
+                if (field == null || field.isBlank()) {
+                    throw new IllegalArgumentException("fields must not contain blank names");
+                }
+                columns.add(fieldExpression(field, type) + " AS " + quoteIdentifier(field));
+            }
+            return "SELECT " + String.join(", ", columns) + " FROM " + SOURCE_VIEW;
+        }
+        return validateSql(definition.sql());
+    }
+
+    private static String fieldExpression(final String field, final DataSourceType type) {
+        if (type != DataSourceType.JSON) {
+            return quoteIdentifier(field);
+        }
+        final List<String> path = new ArrayList<>();
+        for (final String segment : JsonFileReader.parsePath(field)) {
+            path.add(quoteIdentifier(segment));
+        }
+        return String.join(".", path);
+    }
+
+    /**
+     * Checks Advanced SQL against DuckDB's own parse tree rather than its text: it must be one
+     * SELECT whose tables are all {@code source} or a CTE. Table functions and quoted file names
+     * (DuckDB's replacement scans, e.g. {@code FROM '/etc/passwd'}) are rejected, so a view cannot
+     * read anything but its data source.
+     */
+    private String validateSql(final String sql) {
+        if (sql == null || sql.isBlank()) {
+            throw new IllegalArgumentException("sql is required for ADVANCED views");
+        }
+        String trimmed = sql.strip();
+        while (trimmed.endsWith(";")) {
+            trimmed = trimmed.substring(0, trimmed.length() - 1).stripTrailing();
+        }
+        if (!SELECT_START.matcher(trimmed).find()) {
+            throw new IllegalArgumentException("sql must be a SELECT query");
+        }
+        final JsonNode tree = parse(trimmed);
+        if (tree.path("error").asBoolean()) {
+            throw new IllegalArgumentException(
+                    "sql must be a valid SELECT query: " + tree.path("error_message").asText());
+        }
+        if (tree.path("statements").size() != 1) {
+            throw new IllegalArgumentException("sql must be a single statement");
+        }
+        checkReferences(tree, Set.of(SOURCE_VIEW));
+        return trimmed;
+    }
+
+    /** DuckDB's parse tree of the SQL as JSON; parsing neither binds nor runs it. */
+    private JsonNode parse(final String sql) {
+        try {
+            final String json =
+                    pool.withConnection(
+                            connection -> {
+                                try (PreparedStatement statement =
+                                        connection.prepareStatement(
+                                                "SELECT json_serialize_sql(?::VARCHAR)")) {
+                                    statement.setString(1, sql);
+                                    try (ResultSet resultSet = statement.executeQuery()) {
+                                        resultSet.next();
+                                        return resultSet.getString(1);
+                                    }
+                                }
+                            });
+            return objectMapper.readTree(json);
+        } catch (final SQLException e) {
+            throw new ViewQueryException("Could not parse sql: " + e.getMessage(), e);
+        } catch (final JsonProcessingException e) {
+            throw new IllegalStateException("DuckDB returned an unreadable parse tree", e);
+        }
+    }
+
+    /**
+     * Rejects every table reference other than the source view and the CTEs in scope where it
+     * appears. A name that binds to nothing falls through to a DuckDB replacement scan of the file
+     * it names, so scoping follows the binder: a CTE is visible in its own query and to the CTEs
+     * declared after it, and in its own body only as the recursive part of a recursive CTE.
+     */
+    private static void checkReferences(final JsonNode node, final Set<String> tables) {
+        if (node.isArray()) {
+            for (final JsonNode child : node) {
+                checkReferences(child, tables);
+            }
+            return;
+        }
+        if (!node.isObject()) {
+            return;
+        }
+        final String type = node.path("type").asText();
+        final boolean foreignTable =
+                "BASE_TABLE".equals(type)
+                        && (!node.path("catalog_name").asText().isEmpty()
+                                || !node.path("schema_name").asText().isEmpty()
+                                || !tables.contains(
+                                        node.path("table_name").asText().toLowerCase(Locale.ROOT)));
+        final boolean forbiddenFunction =
+                "FUNCTION".equals(node.path("class").asText())
+                        && FORBIDDEN_FUNCTIONS.contains(
+                                node.path("function_name").asText().toLowerCase(Locale.ROOT));
+        if (foreignTable || "TABLE_FUNCTION".equals(type) || forbiddenFunction) {
+            throw new IllegalArgumentException("sql may only query the view's data source");
+        }
+        final Set<String> visible = new HashSet<>(tables);
+        for (final JsonNode entry : node.path("cte_map").path("map")) {
+            checkReferences(entry.path("value"), Set.copyOf(visible));
+            visible.add(entry.path("key").asText().toLowerCase(Locale.ROOT));
+        }
+        final Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+        while (fields.hasNext()) {
+            final Map.Entry<String, JsonNode> field = fields.next();
+            if ("cte_map".equals(field.getKey())) {
+                continue;
+            }
+            if ("RECURSIVE_CTE_NODE".equals(type) && "right".equals(field.getKey())) {
+                final Set<String> recursive = new HashSet<>(visible);
+                recursive.add(node.path("cte_name").asText().toLowerCase(Locale.ROOT));
+                checkReferences(field.getValue(), recursive);
+            } else {
+                checkReferences(field.getValue(), visible);
+            }
+        }
+    }
+
+    /** Splits the condition against the view's column types. */
+    private PushdownPlan plan(
+            final Connection connection, final String viewSql, final Condition condition)
+            throws SQLException {
+        if (condition == null) {
+            return PushdownPlan.NONE;
+        }
+        return PushdownPlanner.plan(condition, describe(connection, viewSql));
+    }
+
+    /** Column names and types of the view; DESCRIBE only binds the query. */
+    private static Map<String, String> describe(final Connection connection, final String viewSql)
+            throws SQLException {
+        final Map<String, String> columnTypes = new HashMap<>();
+        try (Statement statement = connection.createStatement();
+                ResultSet resultSet =
+                        statement.executeQuery(
+                                "DESCRIBE SELECT * FROM (" + viewSql + ") AS view_result")) {
+            while (resultSet.next()) {
+                columnTypes.put(
+                        resultSet.getString("column_name"), resultSet.getString("column_type"));
+            }
+        }
+        return columnTypes;
+    }
+
+    private static String filteredSql(final String viewSql, final PushdownPlan plan) {
+        final String sql = "SELECT * FROM (" + viewSql + ") AS view_result";
+        return plan.where() == null ? sql : sql + " WHERE " + plan.where();
+    }
+
+    private long[] queryCounts(
+            final Connection connection, final String sql, final List<Object> parameters)
+            throws SQLException {
+        try (PreparedStatement statement = prepare(connection, sql, parameters)) {
+            final ScheduledFuture<?> timeout = pool.cancelOnTimeout(statement);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                final long[] counts = new long[resultSet.getMetaData().getColumnCount()];
+                for (int i = 0; i < counts.length; i++) {
+                    counts[i] = resultSet.getLong(i + 1);
+                }
+                return counts;
+            } catch (final SQLException e) {
+                throw timedOut(timeout, e);
+            } finally {
+                timeout.cancel(false);
+            }
+        }
+    }
+
+    private static PreparedStatement prepare(
+            final Connection connection, final String sql, final List<Object> parameters)
+            throws SQLException {
+        final PreparedStatement statement = connection.prepareStatement(sql);
+        try {
+            for (int i = 0; i < parameters.size(); i++) {
+                if (parameters.get(i) instanceof Double number) {
+                    statement.setDouble(i + 1, number);
+                } else {
+                    statement.setString(i + 1, parameters.get(i).toString());
+                }
+            }
+            return statement;
+        } catch (final SQLException e) {
+            statement.close();
+            throw e;
+        }
+    }
+
+    private SQLException timedOut(final ScheduledFuture<?> timeout, final SQLException e) {
+        return timedOut(timeout, pool.getQueryTimeout(), e);
+    }
+
+    private static SQLException timedOut(
+            final ScheduledFuture<?> timeout, final Duration timeLimit, final SQLException e) {
+        if (timeout.isDone() && !timeout.isCancelled()) {
+            throw new ViewQueryException(
+                    "Query exceeded timeout of " + timeLimit.toSeconds() + "s", e);
+        }
+        return e;
+    }
+
+    private void bindSource(final Connection connection, final Path snapshot) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(
+                    "CREATE OR REPLACE TEMP VIEW "
+                            + SOURCE_VIEW
+                            + " AS SELECT * FROM read_parquet("
+                            + quoteLiteral(snapshot.toString())
+                            + ")");
+        }
+    }
+
+    private ViewResult execute(
+            final Connection connection, final String sql, final PushdownPlan plan, final int limit)
+            throws SQLException {
+        try (PreparedStatement statement = prepare(connection, sql, plan.parameters())) {
+            final ScheduledFuture<?> timeout = pool.cancelOnTimeout(statement);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                final List<String> columns = columns(resultSet.getMetaData());
+                final int columnCount = columns.size();
+                final RowPredicate residual = ConditionCompiler.compile(plan.residual(), columns);
+                final ResultSetRow current = new ResultSetRow(resultSet, columnCount);
+                final List<List<Object>> rows = new ArrayList<>();
+                boolean truncated = false;
+                while (resultSet.next()) {
+                    if (!residual.test(current)) {
+                        continue;
+                    }
+                    if (rows.size() == limit) {
+                        truncated = true;
+                        break;
+                    }
+                    final List<Object> row = new ArrayList<>(columnCount);
+                    for (int i = 1; i <= columnCount; i++) {
+                        row.add(toJsonValue(resultSet.getObject(i)));
+                    }
+                    rows.add(row);
+                }
+                final ViewPlan viewPlan =
+                        new ViewPlan(
+                                sql,
+                                plan.parameters(),
+                                PushdownPlanner.describe(plan.pushed()),
+                                PushdownPlanner.describe(plan.residual()));
+                return new ViewResult(columns, rows, truncated, viewPlan);
+            } catch (final SQLException e) {
+                throw timedOut(timeout, e);
+            } finally {
+                timeout.cancel(false);
+            }
+        }
+    }
+
+    /**
+     * Aggregates one view for several specs, e.g. the tiles of a dashboard that share a Data View,
+     * reading the source once: the filtered view is scanned into a connection-local temp table
+     * holding only the columns the specs use, and every spec aggregates that table. The table holds
+     * at most {@code maxSharedRows} rows; a larger view is dropped after that many and each spec
+     * then queries the view on its own, trading repeated reads for bounded memory. Results are
+     * collected (at most {@code limit} groups per spec) and go to {@code listener} once the
+     * connection is back in the pool, so a slow consumer never holds it; a spec that is invalid,
+     * names a column the view lacks or whose query fails is reported on its own. With a single
+     * valid spec no table is built.
+     *
+     * @throws IllegalArgumentException if the view or condition is invalid; no spec was reported
+     * @throws ViewQueryException if the view cannot be scanned; no spec was reported
+     */
+    public void aggregateAll(
+            final ViewDefinition definition,
+            final Condition condition,
+            final List<AggregationSpec> specs,
+            final long maxSharedRows,
+            final AggregationListener listener) {
+        final DataSource dataSource = dataSourceOf(definition);
+        final String viewSql = buildSql(definition, dataSource.getType());
+        final SourceSnapshotService.Snapshot snapshot =
+                snapshots.ensureCurrent(dataSource, readConfig(dataSource));
+        final CollectingListener collected = new CollectingListener(specs.size());
+        try {
+            pool.withConnection(
+                    connection -> {
+                        bindSource(connection, snapshot.file());
+                        final Map<String, String> columnTypes = describe(connection, viewSql);
+                        final PushdownPlan plan =
+                                condition == null
+                                        ? PushdownPlan.NONE
+                                        : PushdownPlanner.plan(condition, columnTypes);
+                        if (!plan.fullyPushed()) {
+                            throw new IllegalArgumentException(
+                                    "conditions cannot be evaluated in the engine: "
+                                            + PushdownPlanner.describe(plan.residual()));
+                        }
+                        final List<Integer> valid = new ArrayList<>();
+                        final Set<String> fields = new LinkedHashSet<>();
+                        for (int i = 0; i < specs.size(); i++) {
+                            final AggregationSpec spec = specs.get(i);
+                            try {
+                                AggregationPlanner.validate(spec);
+                                resolveLimit(spec.limit());
+                                for (final String field : AggregationPlanner.fields(spec)) {
+                                    if (!columnTypes.containsKey(field)) {
+                                        throw new IllegalArgumentException(
+                                                "unknown column: " + field);
+                                    }
+                                }
+                            } catch (final IllegalArgumentException e) {
+                                collected.onError(i, e);
+                                continue;
+                            }
+                            valid.add(i);
+                            fields.addAll(AggregationPlanner.fields(spec));
+                        }
+                        final boolean shared =
+                                valid.size() > 1
+                                        && scanShared(
+                                                connection, viewSql, plan, fields, maxSharedRows);
+                        final String input =
+                                shared
+                                        ? "SELECT * FROM " + SHARED_SCAN_TABLE
+                                        : filteredSql(viewSql, plan);
+                        final List<Object> parameters = shared ? List.of() : plan.parameters();
+                        try {
+                            for (final int index : valid) {
+                                aggregateOne(
+                                        connection,
+                                        input,
+                                        parameters,
+                                        index,
+                                        specs.get(index),
+                                        collected);
+                            }
+                        } finally {
+                            if (shared) {
+                                dropShared(connection);
+                            }
+                        }
+                        return null;
+                    });
+        } catch (final SQLException e) {
+            throw new ViewQueryException("Query failed: " + e.getMessage(), e);
+        }
+        collected.reportTo(listener);
+    }
+
+    /**
+     * Materializes the filtered view's {@code fields} (every column when none) once. Returns false,
+     * leaving no table behind, when the view has more than {@code maxRows} rows.
+     */
+    private boolean scanShared(
+            final Connection connection,
+            final String viewSql,
+            final PushdownPlan plan,
+            final Set<String> fields,
+            final long maxRows)
+            throws SQLException {
+        final List<String> columns = new ArrayList<>(fields.size());
+        for (final String field : fields) {
+            columns.add(quoteIdentifier(field));
+        }
+        final String sql =
+                "CREATE OR REPLACE TEMP TABLE "
+                        + SHARED_SCAN_TABLE
+                        + " AS SELECT "
+                        + (columns.isEmpty() ? "*" : String.join(", ", columns))
+                        + " FROM ("
+                        + filteredSql(viewSql, plan)
+                        + ") AS scan LIMIT "
+                        + (maxRows + 1);
+        try (PreparedStatement statement = prepare(connection, sql, plan.parameters())) {
+            final ScheduledFuture<?> timeout = pool.cancelOnTimeout(statement);
+            try {
+                statement.execute();
+            } catch (final SQLException e) {
+                throw timedOut(timeout, e);
+            } finally {
+                timeout.cancel(false);
+            }
+        }
+        if (queryCounts(connection, "SELECT count(*) FROM " + SHARED_SCAN_TABLE, List.of())[0]
+                > maxRows) {
+            dropShared(connection);
+            return false;
+        }
+        return true;
+    }
+
+    private static void dropShared(final Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS " + SHARED_SCAN_TABLE);
+        }
+    }
+
+    private void aggregateOne(
+            final Connection connection,
+            final String inputSql,
+            final List<Object> parameters,
+            final int index,
+            final AggregationSpec spec,
+            final AggregationListener listener) {
+        final int groupLimit = resolveLimit(spec.limit());
+        final AggregationResult result;
+        try {
+            result =
+                    collectColumns(
+                            connection,
+                            AggregationPlanner.sql(inputSql, spec, groupLimit + 1),
+                            parameters,
+                            AggregationPlanner.columns(spec),
+                            groupLimit);
+        } catch (final SQLException e) {
+            listener.onError(index, new ViewQueryException("Query failed: " + e.getMessage(), e));
+            return;
+        } catch (final ViewQueryException e) {
+            listener.onError(index, e);
+            return;
+        }
+        listener.onResult(index, result);
+    }
+
+    /** Reads up to {@code limit} rows column by column; more rows mark the result truncated. */
+    private AggregationResult collectColumns(
+            final Connection connection,
+            final String sql,
+            final List<Object> parameters,
+            final List<String> columns,
+            final int limit)
+            throws SQLException {
+        try (PreparedStatement statement = prepare(connection, sql, parameters)) {
+            final ScheduledFuture<?> timeout = pool.cancelOnTimeout(statement);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                final List<List<Object>> data = new ArrayList<>(columns.size());
+                for (int i = 0; i < columns.size(); i++) {
+                    data.add(new ArrayList<>());
+                }
+                int rows = 0;
+                boolean truncated = false;
+                while (resultSet.next()) {
+                    if (rows == limit) {
+                        truncated = true;
+                        break;
+                    }
+                    for (int i = 0; i < columns.size(); i++) {
+                        data.get(i).add(toJsonValue(resultSet.getObject(i + 1)));
+                    }
+                    rows++;
+                }
+                return new AggregationResult(columns, data, rows, truncated);
+            } catch (final SQLException e) {
+                throw timedOut(timeout, e);
+            } finally {
+                timeout.cancel(false);
+            }
+        }
+    }
+
+    private long stream(
+            final Connection connection,
+            final String sql,
+            final List<Object> parameters,
+            final RowHandler handler,
+            final Duration timeLimit)
+            throws SQLException {
+        try (PreparedStatement statement = prepare(connection, sql, parameters)) {
+            final ScheduledFuture<?> timeout = pool.cancelOnTimeout(statement, timeLimit);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                final List<String> columns = columns(resultSet.getMetaData());
+                handler.onStart(columns);
+                final ResultSetRow row = new ResultSetRow(resultSet, columns.size());
+                long rows = 0;
+                while (resultSet.next()) {
+                    rows++;
+                    if (!handler.onRow(row)) {
+                        break;
+                    }
+                }
+                return rows;
+            } catch (final SQLException e) {
+                throw timedOut(timeout, timeLimit, e);
+            } finally {
+                timeout.cancel(false);
+            }
+        }
+    }
+
+    private static List<String> columns(final ResultSetMetaData meta) throws SQLException {
+        final int columnCount = meta.getColumnCount();
+        final List<String> columns = new ArrayList<>(columnCount);
+        for (int i = 1; i <= columnCount; i++) {
+            columns.add(meta.getColumnLabel(i));
+        }
+        return columns;
+    }
+
+    /** JDBC value as a JSON-friendly scalar: numbers, booleans and strings pass through. */
+    static Object toJsonValue(final Object value) {
+        if (value == null
+                || value instanceof Number
+                || value instanceof Boolean
+                || value instanceof String) {
+            return value;
+        }
+        return value.toString();
+    }
+
+    private JsonNode readConfig(final DataSource dataSource) {
+        try {
+            return objectMapper.readTree(dataSource.getConfig());
+        } catch (final JsonProcessingException e) {
+            throw new IllegalArgumentException("config must be valid JSON: " + e.getMessage());
+        }
+    }
+
+    private static int resolveLimit(final Integer limit) {
+        if (limit == null) {
+            return DEFAULT_LIMIT;
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT);
+        }
+        return limit;
+    }
+
+    static String quoteIdentifier(final String identifier) {
+        return "\"" + identifier.replace("\"", "\"\"") + "\"";
+    }
+
+    static String quoteLiteral(final String value) {
+        return "'" + value.replace("'", "''") + "'";
+    }
+
+    /** Counts the rows passing a condition that is bound once the columns are known. */
+    private static final class MatchingRowHandler implements RowHandler {
+
+        private final Condition condition;
+        private final Runnable onMatch;
+        private RowPredicate predicate = RowPredicate.ALWAYS;
+
+        MatchingRowHandler(final Condition condition, final Runnable onMatch) {
+            this.condition = condition;
+            this.onMatch = onMatch;
+        }
+
+        @Override
+        public void onStart(final List<String> columns) {
+            predicate = ConditionCompiler.compile(condition, columns);
+        }
+
+        @Override
+        public boolean onRow(final SourceRow row) {
+            if (predicate.test(row)) {
+                onMatch.run();
+            }
+            return true;
+        }
+    }
+
+    /** Collects the first {@code limit} rows matching the condition, then stops the read. */
+    private static final class CollectingRowHandler implements RowHandler {
+
+        private final Condition condition;
+        private final int limit;
+        private final List<List<Object>> rows = new ArrayList<>();
+        private List<String> columns = List.of();
+        private RowPredicate predicate = RowPredicate.ALWAYS;
+        private boolean truncated;
+
+        CollectingRowHandler(final Condition condition, final int limit) {
+            this.condition = condition;
+            this.limit = limit;
+        }
+
+        @Override
+        public void onStart(final List<String> sourceColumns) {
+            columns = List.copyOf(sourceColumns);
+            predicate = ConditionCompiler.compile(condition, columns);
+        }
+
+        @Override
+        public boolean onRow(final SourceRow row) {
+            if (!predicate.test(row)) {
+                return true;
+            }
+            if (rows.size() == limit) {
+                truncated = true;
+                return false;
+            }
+            final List<Object> values = new ArrayList<>(columns.size());
+            for (int i = 0; i < columns.size(); i++) {
+                values.add(row.getValue(i));
+            }
+            rows.add(values);
+            return true;
+        }
+    }
+
+    /** Keeps each spec's result or error until they can be reported without a connection. */
+    private static final class CollectingListener implements AggregationListener {
+
+        private final AggregationResult[] results;
+        private final RuntimeException[] errors;
+
+        CollectingListener(final int specs) {
+            this.results = new AggregationResult[specs];
+            this.errors = new RuntimeException[specs];
+        }
+
+        @Override
+        public void onResult(final int index, final AggregationResult result) {
+            results[index] = result;
+        }
+
+        @Override
+        public void onError(final int index, final RuntimeException error) {
+            errors[index] = error;
+        }
+
+        void reportTo(final AggregationListener listener) {
+            for (int i = 0; i < results.length; i++) {
+                if (results[i] != null) {
+                    listener.onResult(i, results[i]);
+                } else if (errors[i] != null) {
+                    listener.onError(i, errors[i]);
+                }
+            }
+        }
+    }
+
+    /** Fails a source read with a timeout once the time limit has passed. */
+    private static final class DeadlineRowHandler implements RowHandler {
+
+        private final RowHandler delegate;
+        private final Duration timeLimit;
+        private final long deadline;
+
+        DeadlineRowHandler(final RowHandler delegate, final Duration timeLimit) {
+            this.delegate = delegate;
+            this.timeLimit = timeLimit;
+            this.deadline = System.nanoTime() + timeLimit.toNanos();
+        }
+
+        @Override
+        public void onStart(final List<String> columns) {
+            delegate.onStart(columns);
+        }
+
+        @Override
+        public boolean onRow(final SourceRow row) {
+            if (System.nanoTime() - deadline > 0) {
+                throw new ViewQueryException(
+                        "Query exceeded timeout of " + timeLimit.toSeconds() + "s", null);
+            }
+            return delegate.onRow(row);
+        }
+    }
+
+    /** Rows of a view and how many of them matched a condition. */
+    public record MatchCount(long rows, long matched) {}
+
+    /** Thrown when a view query fails, is rejected by the engine or exceeds the timeout. */
+    public static final class ViewQueryException extends RuntimeException {
+        public ViewQueryException(final String message, final Throwable cause) {
+            super(message, cause);
+        }
+    }
+}
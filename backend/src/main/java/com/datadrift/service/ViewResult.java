@@ -0,0 +1,16 @@
+package com.datadrift.service;
+
+import java.util.List;
+
+/**
+ * Tabular result of evaluating a Data View. {@code truncated} is true when more rows were available
+ * than the requested limit; {@code plan} describes how the query ran, when recorded.
+ */
+public record ViewResult(
+        List<String> columns, List<List<Object>> rows, boolean truncated, ViewPlan plan) {
+
+    public ViewResult(
+            final List<String> columns, final List<List<Object>> rows, final boolean truncated) {
+        this(columns, rows, truncated, null);
+    }
+}
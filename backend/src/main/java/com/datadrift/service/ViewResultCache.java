@@ -0,0 +1,158 @@
+package com.datadrift.service;
+
+import com.datadrift.domain.Condition;
+import com.datadrift.domain.ViewDefinition;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * In-memory cache of Data View results, bounded by an estimate of the bytes held. Entries are keyed
+ * by the view definition, filter conditions, row limit and source version (data source updatedAt
+ * plus file size and modification time), so a changed source never serves stale rows; least
+ * recently used entries are evicted once the byte budget is exceeded.
+ *
+ * <p>Publishes the standard {@code cache.*} meters (tag {@code cache=view-results}) plus a lifetime
+ * {@code datadrift.cache.hit.ratio}.
+ */
+@Component
+public class ViewResultCache implements MeterBinder {
+
+    private static final String CACHE_NAME = "view-results";
+
+    private static final long ENTRY_OVERHEAD_BYTES = 128;
+    private static final long ROW_OVERHEAD_BYTES = 48;
+    private static final long REFERENCE_BYTES = 8;
+    private static final long BOXED_VALUE_BYTES = 24;
+    private static final long STRING_OVERHEAD_BYTES = 40;
+
+    private final long maxBytes;
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long currentBytes;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public ViewResultCache(@Value("${datadrift.view-cache.max-size:64MB}") final DataSize maxSize) {
+        this.maxBytes = maxSize.toBytes();
+    }
+
+    /** Returns the cached result or null, recording a hit or miss. */
+    public synchronized ViewResult get(final Key key) {
+        final Entry entry = entries.get(key);
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.result();
+    }
+
+    /** Caches the result unless it alone exceeds the byte budget. */
+    public synchronized void put(final Key key, final ViewResult result) {
+        final long bytes = estimateBytes(result);
+        if (bytes > maxBytes) {
+            return;
+        }
+        final Entry previous = entries.put(key, new Entry(result, bytes));
+        if (previous != null) {
+            currentBytes -= previous.bytes();
+        }
+        currentBytes += bytes;
+        final Iterator<Entry> eldest = entries.values().iterator();
+        while (currentBytes > maxBytes && eldest.hasNext()) {
+            currentBytes -= eldest.next().bytes();
+            eldest.remove();
+            evictions++;
+        }
+    }
+
+    /** Drops every entry computed from the given data source. */
+    public synchronized void invalidate(final UUID dataSourceId) {
+        final Iterator<Map.Entry<Key, Entry>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            final Map.Entry<Key, Entry> next = it.next();
+            if (next.getKey().definition().dataSourceId().equals(dataSourceId)) {
+                currentBytes -= next.getValue().bytes();
+                it.remove();
+            }
+        }
+    }
+
+    @EventListener
+    public void onDataSourceChanged(final DataSourceChangedEvent event) {
+        invalidate(event.dataSourceId());
+    }
+
+    public synchronized Stats stats() {
+        return new Stats(hits, misses, evictions, entries.size(), currentBytes, maxBytes);
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        FunctionCounter.builder("cache.gets", this, cache -> cache.stats().hits())
+                .tags("cache", CACHE_NAME, "result", "hit")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", this, cache -> cache.stats().misses())
+                .tags("cache", CACHE_NAME, "result", "miss")
+                .register(registry);
+        FunctionCounter.builder("cache.evictions", this, cache -> cache.stats().evictions())
+                .tag("cache", CACHE_NAME)
+                .register(registry);
+        Gauge.builder("cache.size", this, cache -> cache.stats().entries())
+                .tag("cache", CACHE_NAME)
+                .register(registry);
+        Gauge.builder("datadrift.cache.bytes", this, cache -> cache.stats().bytes())
+                .tag("cache", CACHE_NAME)
+                .baseUnit("bytes")
+                .register(registry);
+        Gauge.builder("datadrift.cache.hit.ratio", this, cache -> cache.stats().hitRatio())
+                .tag("cache", CACHE_NAME)
+                .register(registry);
+    }
+
+    static long estimateBytes(final ViewResult result) {
+        long bytes = ENTRY_OVERHEAD_BYTES;
+        for (final String column : result.columns()) {
+            bytes += REFERENCE_BYTES + STRING_OVERHEAD_BYTES + 2L * column.length();
+        }
+        for (final List<Object> row : result.rows()) {
+            bytes += ROW_OVERHEAD_BYTES + REFERENCE_BYTES * row.size();
+            for (final Object value : row) {
+                if (value instanceof String str) {
+                    bytes += STRING_OVERHEAD_BYTES + 2L * str.length();
+                } else if (value != null) {
+                    bytes += BOXED_VALUE_BYTES;
+                }
+            }
+        }
+        return bytes;
+    }
+
+    /** Cache key: what was asked for and which version of the source it was computed from. */
+    public record Key(
+            ViewDefinition definition, Condition condition, int limit, String sourceVersion) {}
+
+    /** Point-in-time cache counters. */
+    public record Stats(
+            long hits, long misses, long evictions, int entries, long bytes, long maxBytes) {
+
+        /** Share of lookups that were hits; 0 before the first lookup. */
+        public double hitRatio() {
+            final long lookups = hits + misses;
+            return lookups == 0 ? 0 : (double) hits / lookups;
+        }
+    }
+
+    private record Entry(ViewResult result, long bytes) {}
+}
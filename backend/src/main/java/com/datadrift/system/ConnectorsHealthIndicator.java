@@ -0,0 +1,100 @@
+package com.datadrift.system;
+
+import com.datadrift.connector.DatabaseConnectionPools;
+import com.datadrift.connector.DuckDbConnectionPool;
+import com.datadrift.connector.RestResponseCache;
+import com.datadrift.service.SourceMetrics;
+import com.datadrift.service.SourceSnapshotService;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Readiness of the connector layer: the embedded DuckDB engine answers a query and the snapshot and
+ * REST cache directories are writable; otherwise DOWN. Open DATABASE pools and data sources whose
+ * last read failed are reported as details only, since one unreachable external source must not
+ * take the whole application out of rotation.
+ */
+@Component
+public class ConnectorsHealthIndicator implements HealthIndicator {
+
+    private final DuckDbConnectionPool duckDb;
+    private final DatabaseConnectionPools databasePools;
+    private final SourceSnapshotService snapshots;
+    private final RestResponseCache restCache;
+    private final SourceMetrics sourceMetrics;
+
+    public ConnectorsHealthIndicator(
+            final DuckDbConnectionPool duckDb,
+            final DatabaseConnectionPools databasePools,
+            final SourceSnapshotService snapshots,
+            final RestResponseCache restCache,
+            final SourceMetrics sourceMetrics) {
+        this.duckDb = duckDb;
+        this.databasePools = databasePools;
+        this.snapshots = snapshots;
+        this.restCache = restCache;
+        this.sourceMetrics = sourceMetrics;
+    }
+
+    @Override
+    public Health health() {
+        final Health.Builder builder = Health.up();
+        probeDuckDb(builder);
+        checkWritable(builder, "snapshotDir", snapshots.getDirectory());
+        checkWritable(builder, "restCacheDir", restCache.getDirectory());
+        final Map<String, String> pools = new LinkedHashMap<>();
+        databasePools
+                .stats()
+                .forEach(
+                        (id, stats) ->
+                                pools.put(
+                                        id.toString(),
+                                        stats.active()
+                                                + " active, "
+                                                + stats.idle()
+                                                + " idle, "
+                                                + stats.waiting()
+                                                + " waiting"));
+        builder.withDetail("databasePools", pools);
+        final Map<String, String> failing = new LinkedHashMap<>();
+        sourceMetrics.failingSources().forEach((id, error) -> failing.put(id.toString(), error));
+        return builder.withDetail("failingSources", failing).build();
+    }
+
+    /**
+     * Runs a trivial query; skipped when every connection is busy, which proves the engine works.
+     */
+    private void probeDuckDb(final Health.Builder builder) {
+        final int idle = duckDb.idleCount();
+        builder.withDetail("duckdbConnections", idle + "/" + duckDb.getPoolSize() + " idle");
+        if (idle == 0) {
+            return;
+        }
+        try {
+            duckDb.withConnection(
+                    connection -> {
+                        try (Statement statement = connection.createStatement();
+                                ResultSet rs = statement.executeQuery("SELECT 1")) {
+                            return rs.next();
+                        }
+                    });
+        } catch (final SQLException e) {
+            builder.down().withDetail("duckdb", e.getMessage());
+        }
+    }
+
+    private static void checkWritable(
+            final Health.Builder builder, final String name, final Path directory) {
+        if (!Files.isDirectory(directory) || !Files.isWritable(directory)) {
+            builder.down().withDetail(name, "not writable: " + directory);
+        }
+    }
+}
@@ -1,24 +1,59 @@
 package com.datadrift.system;
 
+import java.util.Locale;
 import java.util.Map;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.HealthComponent;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.info.BuildProperties;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+/**
+ * Summary health for the frontend, backed by the actuator readiness group (database and connectors)
+ * and the build's version. Scrapers and orchestrators should use {@code /actuator/health/*} and
+ * {@code /actuator/prometheus} instead.
+ */
 @RestController
 @RequestMapping("/api/health")
 public class HealthController {
 
-    private static final String APP = "DataDrift";
-    private static final String VERSION = "0.1.0";
+    private static final String READINESS_GROUP = "readiness";
+    private static final String UNKNOWN_VERSION = "unknown";
+
+    private final HealthEndpoint healthEndpoint;
+    private final String app;
+    private final String version;
+
+    public HealthController(
+            final HealthEndpoint healthEndpoint,
+            final ObjectProvider<BuildProperties> buildProperties,
+            @Value("${spring.application.name:DataDrift}") final String app) {
+        this.healthEndpoint = healthEndpoint;
+        this.app = app;
+        final BuildProperties build = buildProperties.getIfAvailable();
+        this.version = build == null ? UNKNOWN_VERSION : build.getVersion();
+    }
 
     @GetMapping
     public ResponseEntity<Map<String, String>> health() {
-        return ResponseEntity.ok(
-                Map.of(
-                        "status", "ok",
-                        "app", APP,
-                        "version", VERSION));
+        final HealthComponent readiness = healthEndpoint.healthForPath(READINESS_GROUP);
+        final Status status =
+                readiness == null ? healthEndpoint.health().getStatus() : readiness.getStatus();
+        final boolean up = Status.UP.equals(status);
+        return ResponseEntity.status(up ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE)
+                .body(
+                        Map.of(
+                                "status",
+                                up ? "ok" : status.getCode().toLowerCase(Locale.ROOT),
+                                "app",
+                                app,
+                                "version",
+                                version));
     }
 }
@@ -0,0 +1,20 @@
+-- Automation rules: trigger and definition (view, conditions, actions) are versioned JSON.
+-- Reversible: drop table automation_rules;
+
+CREATE TABLE automation_rules (
+    id UUID NOT NULL PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    enabled BOOLEAN NOT NULL,
+    data_source_id UUID NOT NULL,
+    trigger_config TEXT NOT NULL,
+    definition TEXT NOT NULL,
+    version INT NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    CONSTRAINT uq_automation_rules_name UNIQUE (name),
+    CONSTRAINT fk_automation_rules_data_source
+        FOREIGN KEY (data_source_id) REFERENCES data_sources (id)
+);
+
+CREATE INDEX idx_automation_rules_data_source ON automation_rules (data_source_id);
+CREATE INDEX idx_automation_rules_enabled ON automation_rules (enabled);
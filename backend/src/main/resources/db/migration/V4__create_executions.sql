@@ -0,0 +1,20 @@
+-- Execution log: one append-only row per automation run, written in JDBC batches.
+-- No foreign key to automation_rules so the audit trail outlives deleted rules.
+-- Audit views filter by rule and time range and page newest-first by (started_at, id).
+-- Reversible: drop table executions;
+
+CREATE TABLE executions (
+    id UUID NOT NULL PRIMARY KEY,
+    rule_id UUID NOT NULL,
+    rule_name VARCHAR(255),
+    data_source_id UUID,
+    trigger_type VARCHAR(20) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    started_at TIMESTAMP NOT NULL,
+    finished_at TIMESTAMP NOT NULL,
+    rows_scanned BIGINT NOT NULL,
+    message TEXT
+);
+
+CREATE INDEX idx_executions_rule_started ON executions (rule_id, started_at DESC, id DESC);
+CREATE INDEX idx_executions_started ON executions (started_at DESC, id DESC);
@@ -0,0 +1,19 @@
+-- Reports: metadata of artifacts written from a Data View; the file lives in datadrift.reports.dir.
+-- No foreign keys so a report stays downloadable after its rule or data source is deleted.
+-- Reversible: drop table reports;
+
+CREATE TABLE reports (
+    id UUID NOT NULL PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    rule_id UUID,
+    data_source_id UUID NOT NULL,
+    format VARCHAR(10) NOT NULL,
+    compressed BOOLEAN NOT NULL,
+    file_name VARCHAR(255) NOT NULL,
+    row_count BIGINT NOT NULL,
+    size_bytes BIGINT NOT NULL,
+    created_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_reports_created ON reports (created_at DESC);
+CREATE INDEX idx_reports_rule ON reports (rule_id);
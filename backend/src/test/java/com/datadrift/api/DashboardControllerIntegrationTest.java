@@ -0,0 +1,244 @@
+package com.datadrift.api;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.datadrift.BaseIntegrationTest;
+import com.datadrift.connector.DuckDbConnectionPool;
+import com.datadrift.domain.AggregationSpec;
+import com.datadrift.domain.AggregationSpec.Function;
+import com.datadrift.domain.AggregationSpec.Measure;
+import com.datadrift.domain.ViewDefinition;
+import com.datadrift.domain.ViewMode;
+import com.datadrift.service.AggregationListener;
+import com.datadrift.service.AggregationResult;
+import com.datadrift.service.ViewQueryService;
+import com.fasterxml.jackson.databind.JsonNode;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+
+class DashboardControllerIntegrationTest extends BaseIntegrationTest {
+
+    @TempDir private Path tempDir;
+
+    @Autowired private ViewQueryService viewQueryService;
+
+    @Autowired private DuckDbConnectionPool pool;
+
+    private String dataSourceId;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        final Path csv = tempDir.resolve("orders.csv");
+        Files.writeString(csv, "id,customer,amount\n1,acme,10\n2,globex,25\n3,acme,5\n");
+        final String body =
+                objectMapper()
+                        .writeValueAsString(
+                                Map.of(
+                                        "name",
+                                        "orders-" + System.nanoTime(),
+                                        "type",
+                                        "CSV",
+                                        "config",
+                                        objectMapper()
+                                                .writeValueAsString(
+                                                        Map.of("path", csv.toString()))));
+        dataSourceId =
+                given(requestSpec())
+                        .contentType("application/json")
+                        .body(body)
+                        .when()
+                        .post("/api/data-sources")
+                        .then()
+                        .statusCode(201)
+                        .extract()
+                        .path("id");
+    }
+
+    @Test
+    @DisplayName("POST /api/dashboard/tiles when tiles share a view then streams one line per tile")
+    void tiles__when_shared_view__then_streams_each_tile() throws Exception {
+        final Map<String, Object> byCustomer = query();
+        byCustomer.put("groupBy", List.of("customer"));
+        byCustomer.put("measures", List.of(Map.of("function", "SUM", "field", "amount")));
+        final Map<String, Object> total = query();
+        total.put("measures", List.of(Map.of("function", "COUNT")));
+        final Map<String, Object> broken = query();
+        broken.put("measures", List.of(Map.of("function", "MAX", "field", "missing")));
+        final Map<String, Object> filtered = query();
+        filtered.put(
+                "conditions",
+                objectMapper().readTree("{\"field\":\"amount\",\"op\":\"GT\",\"value\":6}"));
+        filtered.put("measures", List.of(Map.of("function", "COUNT")));
+
+        final String ndjson =
+                given(requestSpec())
+                        .contentType("application/json")
+                        .body(
+                                objectMapper()
+                                        .writeValueAsString(
+                                                Map.of(
+                                                        "tiles",
+                                                        List.of(
+                                                                tile("by-customer", byCustomer),
+                                                                tile("total", total),
+                                                                tile("broken", broken),
+                                                                tile("filtered", filtered)))))
+                        .when()
+                        .post("/api/dashboard/tiles")
+                        .then()
+                        .statusCode(200)
+                        .contentType("application/x-ndjson")
+                        .extract()
+                        .asString();
+
+        final Map<String, JsonNode> lines = new HashMap<>();
+        for (final String line : ndjson.split("\n")) {
+            final JsonNode node = objectMapper().readTree(line);
+            lines.put(node.get("id").asText(), node);
+        }
+        assertEquals(4, lines.size());
+        assertEquals(
+                "[\"acme\",\"globex\"]", lines.get("by-customer").get("data").get(0).toString());
+        assertEquals("[15,25]", lines.get("by-customer").get("data").get(1).toString());
+        assertEquals(3, lines.get("total").get("data").get(0).get(0).asInt());
+        assertEquals(2, lines.get("filtered").get("data").get(0).get(0).asInt());
+        assertTrue(lines.get("broken").get("error").asText().contains("missing"));
+        assertFalse(lines.get("total").has("error"));
+    }
+
+    @Test
+    @DisplayName("POST /api/dashboard/tiles when tile ids repeat then returns 400")
+    void tiles__when_duplicate_ids__then_returns_400() throws Exception {
+        final Map<String, Object> count = query();
+        count.put("measures", List.of(Map.of("function", "COUNT")));
+        given(requestSpec())
+                .contentType("application/json")
+                .body(
+                        objectMapper()
+                                .writeValueAsString(
+                                        Map.of(
+                                                "tiles",
+                                                List.of(tile("a", count), tile("a", count)))))
+                .when()
+                .post("/api/dashboard/tiles")
+                .then()
+                .statusCode(400)
+                .body("error", equalTo("duplicate tile id: a"));
+    }
+
+    @Test
+    @DisplayName("aggregateAll when the view exceeds the shared scan cap then aggregates per spec")
+    void aggregateAll__when_view_exceeds_shared_cap__then_aggregates_per_spec() {
+        final ViewDefinition definition =
+                new ViewDefinition(UUID.fromString(dataSourceId), ViewMode.BASIC, List.of(), null);
+        final List<AggregationSpec> specs =
+                List.of(
+                        new AggregationSpec(
+                                List.of("customer"),
+                                List.of(new Measure(Function.SUM, "amount", null)),
+                                null,
+                                null),
+                        new AggregationSpec(
+                                List.of(),
+                                List.of(new Measure(Function.COUNT, null, null)),
+                                null,
+                                null));
+
+        final Map<Integer, Object> shared = aggregateAll(definition, specs, 3);
+        final Map<Integer, Object> perSpec = aggregateAll(definition, specs, 2);
+
+        assertEquals("[[acme, globex], [15, 25]]", perSpec.get(0).toString());
+        assertEquals("[[3]]", perSpec.get(1).toString());
+        assertEquals(shared, perSpec);
+    }
+
+    @Test
+    @DisplayName("aggregateAll when results are reported then no connection is held")
+    void aggregateAll__when_reporting_results__then_holds_no_connection() {
+        final ViewDefinition definition =
+                new ViewDefinition(UUID.fromString(dataSourceId), ViewMode.BASIC, List.of(), null);
+        final List<AggregationSpec> specs =
+                List.of(
+                        new AggregationSpec(
+                                List.of("customer"),
+                                List.of(new Measure(Function.COUNT, null, null)),
+                                null,
+                                null),
+                        new AggregationSpec(
+                                List.of("unknown"),
+                                List.of(new Measure(Function.COUNT, null, null)),
+                                null,
+                                null));
+        final List<Integer> idle = new ArrayList<>();
+
+        viewQueryService.aggregateAll(
+                definition,
+                null,
+                specs,
+                100,
+                new AggregationListener() {
+                    @Override
+                    public void onResult(final int index, final AggregationResult result) {
+                        idle.add(pool.idleCount());
+                    }
+
+                    @Override
+                    public void onError(final int index, final RuntimeException error) {
+                        idle.add(pool.idleCount());
+                    }
+                });
+
+        assertEquals(List.of(pool.getPoolSize(), pool.getPoolSize()), idle);
+    }
+
+    /** Data of each spec's result, or its error, by spec index. */
+    private Map<Integer, Object> aggregateAll(
+            final ViewDefinition definition,
+            final List<AggregationSpec> specs,
+            final long maxSharedRows) {
+        final Map<Integer, Object> results = new HashMap<>();
+        viewQueryService.aggregateAll(
+                definition,
+                null,
+                specs,
+                maxSharedRows,
+                new AggregationListener() {
+                    @Override
+                    public void onResult(final int index, final AggregationResult result) {
+                        results.put(index, result.data());
+                    }
+
+                    @Override
+                    public void onError(final int index, final RuntimeException error) {
+                        results.put(index, error.getMessage());
+                    }
+                });
+        return results;
+    }
+
+    private Map<String, Object> query() {
+        final Map<String, Object> query = new HashMap<>();
+        query.put("dataSourceId", dataSourceId);
+        query.put("mode", "BASIC");
+        return query;
+    }
+
+    private static Map<String, Object> tile(final String id, final Map<String, Object> query) {
+        return Map.of("id", id, "query", query);
+    }
+}
@@ -2,10 +2,16 @@ package com.datadrift.api;
 
 import static io.restassured.RestAssured.given;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasKey;
+import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.notNullValue;
 
 import com.datadrift.BaseIntegrationTest;
 import com.datadrift.repository.DataSourceRepository;
+import io.restassured.config.EncoderConfig;
+import io.restassured.config.RestAssuredConfig;
+import io.restassured.http.ContentType;
+import io.restassured.specification.RequestSpecification;
 import java.util.Map;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -81,6 +87,51 @@ class DataSourcesControllerIntegrationTest extends BaseIntegrationTest {
                 .body("size()", equalTo(0));
     }
 
+    @Test
+    @DisplayName("GET /api/data-sources when more than limit then returns summaries and cursor")
+    void list__when_more_than_limit__then_returns_summaries_and_cursor() throws Exception {
+        final String prefix = "paged-" + System.nanoTime() + "-";
+        for (int i = 0; i < 3; i++) {
+            given(requestSpec())
+                    .contentType("application/json")
+                    .body(
+                            objectMapper()
+                                    .writeValueAsString(
+                                            Map.of(
+                                                    "name", prefix + i,
+                                                    "type", "CSV",
+                                                    "config", "{\"path\":\"/tmp/x.csv\"}")))
+                    .when()
+                    .post("/api/data-sources")
+                    .then()
+                    .statusCode(201);
+        }
+        final String cursor =
+                given(requestSpec())
+                        .queryParam("namePrefix", prefix)
+                        .queryParam("limit", 2)
+                        .when()
+                        .get("/api/data-sources")
+                        .then()
+                        .statusCode(200)
+                        .body("size()", equalTo(2))
+                        .body("[0].name", equalTo(prefix + 0))
+                        .body("[0]", not(hasKey("config")))
+                        .header("X-Next-Cursor", notNullValue())
+                        .extract()
+                        .header("X-Next-Cursor");
+        given(requestSpec())
+                .queryParam("namePrefix", prefix)
+                .queryParam("limit", 2)
+                .queryParam("cursor", cursor)
+                .when()
+                .get("/api/data-sources")
+                .then()
+                .statusCode(200)
+                .body("size()", equalTo(1))
+                .body("[0].name", equalTo(prefix + 2));
+    }
+
     @Test
     @DisplayName("GET /api/data-sources/{id} when not found then returns 404")
     void getById__when_not_found__then_returns_404() {
@@ -191,4 +242,154 @@ class DataSourcesControllerIntegrationTest extends BaseIntegrationTest {
                 .statusCode(404)
                 .body("error", notNullValue());
     }
+
+    @Test
+    @DisplayName(
+            "POST /api/data-sources/import when valid NDJSON then creates all with secrets encrypted")
+    void import__when_valid_ndjson__then_creates_all_with_secrets_encrypted() {
+        final String prefix = "bulk-" + System.nanoTime() + "-";
+        final String ndjson =
+                "{\"name\":\""
+                        + prefix
+                        + "a\",\"type\":\"REST\",\"config\":{\"url\":\"https://a.example.com\","
+                        + "\"apiKey\":\"bulk-secret\"}}\n\n"
+                        + "{\"name\":\""
+                        + prefix
+                        + "b\",\"type\":\"csv\",\"config\":\"{\\\"path\\\":\\\"/b.csv\\\"}\"}\n";
+
+        given(ndjsonSpec())
+                .body(ndjson)
+                .when()
+                .post("/api/data-sources/import")
+                .then()
+                .statusCode(200)
+                .body("created", equalTo(2))
+                .body("updated", equalTo(0));
+
+        final String stored =
+                dataSourceRepository.findByName(prefix + "a").orElseThrow().getConfig();
+        org.hamcrest.MatcherAssert.assertThat(stored, org.hamcrest.Matchers.containsString("ENC("));
+        org.hamcrest.MatcherAssert.assertThat(
+                stored, not(org.hamcrest.Matchers.containsString("bulk-secret")));
+        org.hamcrest.MatcherAssert.assertThat(
+                dataSourceRepository.findByName(prefix + "b").orElseThrow().getConfig(),
+                org.hamcrest.Matchers.containsString("/b.csv"));
+    }
+
+    @Test
+    @DisplayName("POST /api/data-sources/import when any line is invalid then nothing is created")
+    void import__when_any_line_is_invalid__then_nothing_is_created() {
+        final String name = "bulk-valid-" + System.nanoTime();
+        final String ndjson =
+                "{\"name\":\""
+                        + name
+                        + "\",\"type\":\"CSV\",\"config\":{\"path\":\"/a.csv\"}}\n"
+                        + "{\"name\":\"x\",\"type\":\"FTP\",\"config\":{}}\n"
+                        + "not json\n"
+                        + "{\"name\":\""
+                        + name
+                        + "\",\"type\":\"CSV\",\"config\":{}}\n";
+
+        given(ndjsonSpec())
+                .body(ndjson)
+                .when()
+                .post("/api/data-sources/import")
+                .then()
+                .statusCode(400)
+                .body("details.size()", equalTo(3))
+                .body("details[0]", org.hamcrest.Matchers.startsWith("line 2:"))
+                .body("details[2]", org.hamcrest.Matchers.containsString("duplicate name"));
+
+        org.hamcrest.MatcherAssert.assertThat(
+                dataSourceRepository.findByName(name).isPresent(), equalTo(false));
+    }
+
+    @Test
+    @DisplayName(
+            "POST /api/data-sources/import when upsert then updates existing and keeps masked secrets")
+    void import__when_upsert__then_updates_existing_and_keeps_masked_secrets() throws Exception {
+        final String name = "bulk-upsert-" + System.nanoTime();
+        final String line =
+                "{\"name\":\""
+                        + name
+                        + "\",\"type\":\"REST\",\"config\":{\"url\":\"%s\",\"token\":\"%s\"}}\n";
+        given(ndjsonSpec())
+                .body(String.format(line, "https://old.example.com", "t0ken"))
+                .when()
+                .post("/api/data-sources/import")
+                .then()
+                .statusCode(200);
+        final String before = dataSourceRepository.findByName(name).orElseThrow().getConfig();
+
+        given(ndjsonSpec())
+                .body(String.format(line, "https://new.example.com", "******"))
+                .when()
+                .post("/api/data-sources/import")
+                .then()
+                .statusCode(400);
+        given(ndjsonSpec())
+                .queryParam("upsert", true)
+                .body(String.format(line, "https://new.example.com", "******"))
+                .when()
+                .post("/api/data-sources/import")
+                .then()
+                .statusCode(200)
+                .body("created", equalTo(0))
+                .body("updated", equalTo(1));
+
+        final String after = dataSourceRepository.findByName(name).orElseThrow().getConfig();
+        org.hamcrest.MatcherAssert.assertThat(
+                after, org.hamcrest.Matchers.containsString("new.example.com"));
+        org.hamcrest.MatcherAssert.assertThat(
+                objectMapper().readTree(after).get("token"),
+                equalTo(objectMapper().readTree(before).get("token")));
+    }
+
+    @Test
+    @DisplayName(
+            "GET /api/data-sources/export when data sources exist then streams NDJSON with secrets encrypted")
+    void export__when_data_sources_exist__then_streams_ndjson_with_secrets_encrypted()
+            throws Exception {
+        final String name = "bulk-export-" + System.nanoTime();
+        given(ndjsonSpec())
+                .body(
+                        "{\"name\":\""
+                                + name
+                                + "\",\"type\":\"REST\",\"config\":{\"url\":\"https://x.example.com\","
+                                + "\"password\":\"export-secret\"}}")
+                .when()
+                .post("/api/data-sources/import")
+                .then()
+                .statusCode(200);
+
+        final String body =
+                given(requestSpec())
+                        .when()
+                        .get("/api/data-sources/export")
+                        .then()
+                        .statusCode(200)
+                        .contentType(org.hamcrest.Matchers.containsString("application/x-ndjson"))
+                        .extract()
+                        .asString();
+
+        final String exported =
+                body.lines().filter(line -> line.contains(name)).findFirst().orElseThrow();
+        org.hamcrest.MatcherAssert.assertThat(
+                objectMapper().readTree(exported).at("/config/password").asText(),
+                org.hamcrest.Matchers.startsWith("ENC("));
+        org.hamcrest.MatcherAssert.assertThat(
+                body, not(org.hamcrest.Matchers.containsString("export-secret")));
+    }
+
+    /** RestAssured has no NDJSON encoder; the body is sent as text. */
+    private RequestSpecification ndjsonSpec() {
+        return given(requestSpec())
+                .config(
+                        RestAssuredConfig.config()
+                                .encoderConfig(
+                                        EncoderConfig.encoderConfig()
+                                                .encodeContentTypeAs(
+                                                        "application/x-ndjson", ContentType.TEXT)))
+                .contentType("application/x-ndjson");
+    }
 }
@@ -0,0 +1,111 @@
+package com.datadrift.api;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.datadrift.BaseIntegrationTest;
+import com.fasterxml.jackson.databind.JsonNode;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+class EventsControllerIntegrationTest extends BaseIntegrationTest {
+
+    @LocalServerPort private int port;
+
+    @TempDir private Path tempDir;
+
+    @Test
+    @DisplayName("GET /api/events when a data source is tested then streams connection-tested")
+    void subscribe__when_connection_tested__then_streams_event() throws Exception {
+        final Path csv = tempDir.resolve("orders.csv");
+        Files.writeString(csv, "id,amount\n1,10\n");
+        final String id =
+                given(requestSpec())
+                        .contentType("application/json")
+                        .body(
+                                objectMapper()
+                                        .writeValueAsString(
+                                                Map.of(
+                                                        "name",
+                                                        "events-" + System.nanoTime(),
+                                                        "type",
+                                                        "CSV",
+                                                        "config",
+                                                        objectMapper()
+                                                                .writeValueAsString(
+                                                                        Map.of(
+                                                                                "path",
+                                                                                csv.toString())))))
+                        .when()
+                        .post("/api/data-sources")
+                        .then()
+                        .statusCode(201)
+                        .extract()
+                        .path("id");
+        final HttpClient client = HttpClient.newHttpClient();
+        final HttpResponse<InputStream> stream =
+                client.send(
+                        HttpRequest.newBuilder(
+                                        URI.create("http://localhost:" + port + "/api/events"))
+                                .header("Accept", "text/event-stream")
+                                .build(),
+                        HttpResponse.BodyHandlers.ofInputStream());
+        assertEquals(200, stream.statusCode());
+        assertTrue(
+                stream.headers()
+                        .firstValue("Content-Type")
+                        .orElse("")
+                        .startsWith("text/event-stream"));
+
+        try (BufferedReader reader =
+                new BufferedReader(new InputStreamReader(stream.body(), StandardCharsets.UTF_8))) {
+            final CompletableFuture<String> data =
+                    CompletableFuture.supplyAsync(() -> readData(reader, "connection-tested"));
+
+            given(requestSpec())
+                    .when()
+                    .post("/api/data-sources/" + id + "/test")
+                    .then()
+                    .statusCode(200);
+
+            final JsonNode event = objectMapper().readTree(data.get(10, TimeUnit.SECONDS));
+            assertEquals(id, event.get("id").asText());
+            assertTrue(event.get("success").asBoolean());
+        }
+    }
+
+    /** Returns the data of the first event with the given name. */
+    private static String readData(final BufferedReader reader, final String name) {
+        try {
+            String event = null;
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                if (line.startsWith("event:")) {
+                    event = line.substring("event:".length()).trim();
+                } else if (line.startsWith("data:") && name.equals(event)) {
+                    return line.substring("data:".length());
+                }
+            }
+            throw new IllegalStateException("stream ended");
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
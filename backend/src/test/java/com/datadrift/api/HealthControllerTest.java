@@ -1,12 +1,16 @@
 package com.datadrift.api;
 
 import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
 
 import com.datadrift.BaseIntegrationTest;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
 
+/** Metrics export is off in tests by default; this class turns it on to scrape Prometheus. */
+@AutoConfigureObservability(tracing = false)
 class HealthControllerTest extends BaseIntegrationTest {
 
     @Test
@@ -21,4 +25,36 @@ class HealthControllerTest extends BaseIntegrationTest {
                 .body("app", equalTo("DataDrift"))
                 .body("version", equalTo("0.1.0"));
     }
+
+    @Test
+    @DisplayName("GET /actuator/health/readiness reports the database and connectors")
+    void readiness__when_requested__then_includes_db_and_connectors() {
+        given(requestSpec())
+                .when()
+                .get("/actuator/health/readiness")
+                .then()
+                .statusCode(200)
+                .body("status", equalTo("UP"))
+                .body("components.db.status", equalTo("UP"))
+                .body("components.connectors.status", equalTo("UP"))
+                .body("components.connectors.details.duckdbConnections", containsString("idle"));
+    }
+
+    @Test
+    @DisplayName("GET /actuator/prometheus exposes application meters in Prometheus format")
+    void prometheus__when_scraped__then_exposes_datadrift_meters() {
+        given(requestSpec()).when().get("/api/data-sources").then().statusCode(200);
+
+        given(requestSpec())
+                .when()
+                .get("/actuator/prometheus")
+                .then()
+                .statusCode(200)
+                .contentType(containsString("text/plain"))
+                .body(containsString("datadrift_datasource_operations_seconds_count"))
+                .body(
+                        containsString(
+                                "cache_gets_total{application=\"DataDrift\",cache=\"view-results\""))
+                .body(containsString("datadrift_rules_queued"));
+    }
 }
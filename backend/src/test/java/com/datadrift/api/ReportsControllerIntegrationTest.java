@@ -0,0 +1,429 @@
+package com.datadrift.api;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasItem;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.datadrift.BaseIntegrationTest;
+import com.datadrift.connector.DuckDbConnectionPool;
+import com.datadrift.connector.RowHandler;
+import com.datadrift.connector.SourceRow;
+import com.datadrift.domain.ViewDefinition;
+import com.datadrift.domain.ViewMode;
+import com.datadrift.service.SourceSnapshotService;
+import com.datadrift.service.ViewQueryService;
+import com.datadrift.service.ViewResult;
+import com.fasterxml.jackson.databind.JsonNode;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.test.context.TestPropertySource;
+
+@TestPropertySource(properties = "datadrift.duckdb.query-timeout=1s")
+class ReportsControllerIntegrationTest extends BaseIntegrationTest {
+
+    private static final String ORDERED = "SELECT * FROM source ORDER BY id";
+    private static final String CSV =
+            "id,customer,amount\r\n1,acme,10\r\n2,globex,25\r\n3,acme,5\r\n";
+
+    @TempDir private Path tempDir;
+
+    @Autowired private SourceSnapshotService snapshots;
+    @Autowired private ViewQueryService viewQueryService;
+    @Autowired private DuckDbConnectionPool pool;
+
+    @Value("${datadrift.reports.query-timeout}")
+    private Duration reportTimeout;
+
+    private String dataSourceId;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        final Path csv = tempDir.resolve("orders.csv");
+        Files.writeString(csv, "id,customer,amount\n1,acme,10\n2,globex,25\n3,acme,5\n");
+        dataSourceId = createDataSource("CSV", csv);
+    }
+
+    @Test
+    @DisplayName("POST /api/reports when CSV then writes every row and download returns the file")
+    void create__when_csv__then_writes_every_row_and_download_returns_the_file() throws Exception {
+        final String id = createReport("CSV", false);
+
+        given(requestSpec())
+                .when()
+                .get("/api/reports")
+                .then()
+                .statusCode(200)
+                .body("id", hasItem(id));
+        given(requestSpec())
+                .when()
+                .get("/api/reports/" + id + "/download")
+                .then()
+                .statusCode(200)
+                .header("Accept-Ranges", "bytes")
+                .header("Content-Disposition", containsString("orders_report.csv"))
+                .contentType(containsString("text/csv"))
+                .body(equalTo(CSV));
+    }
+
+    @Test
+    @DisplayName("GET /api/reports/{id}/download when Range then returns 206 with the slice")
+    void download__when_range__then_returns_206_with_the_slice() throws Exception {
+        final String id = createReport("CSV", false);
+
+        given(requestSpec())
+                .header("Range", "bytes=0-1")
+                .when()
+                .get("/api/reports/" + id + "/download")
+                .then()
+                .statusCode(206)
+                .header("Content-Range", "bytes 0-1/" + CSV.length())
+                .body(equalTo("id"));
+        given(requestSpec())
+                .header("Range", "bytes=-3")
+                .when()
+                .get("/api/reports/" + id + "/download")
+                .then()
+                .statusCode(206)
+                .body(equalTo("5\r\n"));
+    }
+
+    @Test
+    @DisplayName("GET /api/reports/{id}/download when range is unsatisfiable then returns 416")
+    void download__when_range_is_unsatisfiable__then_returns_416() throws Exception {
+        final String id = createReport("CSV", false);
+
+        given(requestSpec())
+                .header("Range", "bytes=10000-")
+                .when()
+                .get("/api/reports/" + id + "/download")
+                .then()
+                .statusCode(416)
+                .header("Content-Range", "bytes */" + CSV.length());
+    }
+
+    @Test
+    @DisplayName("POST /api/reports when gzip JSON then download decompresses to all rows")
+    void create__when_gzip_json__then_download_decompresses_to_all_rows() throws Exception {
+        final String id = createReport("JSON", true);
+
+        final byte[] body =
+                given(requestSpec())
+                        .when()
+                        .get("/api/reports/" + id + "/download")
+                        .then()
+                        .statusCode(200)
+                        .contentType(containsString("application/gzip"))
+                        .extract()
+                        .asByteArray();
+        final JsonNode rows;
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            rows = objectMapper().readTree(in);
+        }
+        assertEquals(3, rows.size());
+        assertEquals("globex", rows.get(1).get("customer").asText());
+        assertEquals(25, rows.get(1).get("amount").asInt());
+    }
+
+    @Test
+    @DisplayName("POST /api/reports when basic view then streams the fields from the source file")
+    void create__when_basic_view__then_streams_fields_from_the_source() throws Exception {
+        final Map<String, Object> body = new HashMap<>();
+        body.put("name", "customers");
+        body.put("dataSourceId", dataSourceId);
+        body.put("mode", "BASIC");
+        body.put("fields", List.of("customer", "id"));
+        body.put("format", "CSV");
+        final String id =
+                given(requestSpec())
+                        .contentType("application/json")
+                        .body(objectMapper().writeValueAsString(body))
+                        .when()
+                        .post("/api/reports")
+                        .then()
+                        .statusCode(201)
+                        .body("rowCount", equalTo(3))
+                        .extract()
+                        .path("id");
+
+        given(requestSpec())
+                .when()
+                .get("/api/reports/" + id + "/download")
+                .then()
+                .statusCode(200)
+                .body(equalTo("customer,id\r\nacme,1\r\nglobex,2\r\nacme,3\r\n"));
+        try (Stream<Path> files = Files.list(snapshots.getDirectory())) {
+            assertTrue(
+                    files.noneMatch(
+                            file -> file.getFileName().toString().startsWith(dataSourceId)));
+        }
+    }
+
+    @Test
+    @DisplayName("POST /api/reports when basic view of JSON then streams the fields from the file")
+    void create__when_basic_view_of_json__then_streams_fields_from_the_file() throws Exception {
+        final Path json = tempDir.resolve("orders.ndjson");
+        Files.writeString(
+                json,
+                "{\"id\":1,\"customer\":\"acme\",\"amount\":10}\n"
+                        + "{\"id\":2,\"customer\":\"globex\",\"amount\":25}\n");
+        final String jsonSourceId = createDataSource("JSON", json);
+        final Map<String, Object> body = new HashMap<>();
+        body.put("name", "json customers");
+        body.put("dataSourceId", jsonSourceId);
+        body.put("mode", "BASIC");
+        body.put("fields", List.of("customer", "amount"));
+        body.put("format", "CSV");
+        final String id =
+                given(requestSpec())
+                        .contentType("application/json")
+                        .body(objectMapper().writeValueAsString(body))
+                        .when()
+                        .post("/api/reports")
+                        .then()
+                        .statusCode(201)
+                        .body("rowCount", equalTo(2))
+                        .extract()
+                        .path("id");
+
+        given(requestSpec())
+                .when()
+                .get("/api/reports/" + id + "/download")
+                .then()
+                .statusCode(200)
+                .body(equalTo("customer,amount\r\nacme,10\r\nglobex,25\r\n"));
+        try (Stream<Path> files = Files.list(snapshots.getDirectory())) {
+            assertTrue(
+                    files.noneMatch(
+                            file -> file.getFileName().toString().startsWith(jsonSourceId)));
+        }
+    }
+
+    @Test
+    @DisplayName("POST /api/reports when basic view as JSON then numbers stay numbers")
+    void create__when_basic_view_as_json__then_numbers_stay_numbers() throws Exception {
+        final Map<String, Object> body = new HashMap<>();
+        body.put("name", "typed customers");
+        body.put("dataSourceId", dataSourceId);
+        body.put("mode", "BASIC");
+        body.put("fields", List.of("id", "customer"));
+        body.put("format", "JSON");
+        final String id =
+                given(requestSpec())
+                        .contentType("application/json")
+                        .body(objectMapper().writeValueAsString(body))
+                        .when()
+                        .post("/api/reports")
+                        .then()
+                        .statusCode(201)
+                        .extract()
+                        .path("id");
+
+        final JsonNode rows =
+                objectMapper()
+                        .readTree(
+                                given(requestSpec())
+                                        .when()
+                                        .get("/api/reports/" + id + "/download")
+                                        .then()
+                                        .statusCode(200)
+                                        .extract()
+                                        .asString());
+        assertTrue(rows.get(0).get("id").isIntegralNumber());
+        assertEquals("acme", rows.get(0).get("customer").asText());
+    }
+
+    @Test
+    @DisplayName("scan when basic view of a headerless CSV then reads the rows its preview shows")
+    void scan__when_basic_view_of_headerless_csv__then_matches_preview() throws Exception {
+        final Path csv = tempDir.resolve("headerless.csv");
+        Files.writeString(csv, "1,acme,10.5\n2,globex,25.25\n");
+        final String sourceId =
+                createDataSource("CSV", Map.of("path", csv.toString(), "header", false));
+        final ViewDefinition definition =
+                new ViewDefinition(
+                        UUID.fromString(sourceId),
+                        ViewMode.BASIC,
+                        List.of("COLUMN1", "column0", "Column2"),
+                        null);
+
+        final ViewResult preview = viewQueryService.preview(definition, 100);
+        final List<String> columns = new ArrayList<>();
+        final List<List<Object>> rows = scanRows(definition, columns);
+
+        assertEquals(List.of("COLUMN1", "column0", "Column2"), columns);
+        assertEquals(List.of("acme", 1L, 10.5), rows.get(0));
+        assertEquals(preview.columns(), columns);
+        assertEquals(preview.rows(), rows);
+    }
+
+    @Test
+    @DisplayName(
+            "scan when basic view selects nested JSON fields then reads what the preview shows")
+    void scan__when_basic_view_of_nested_json__then_matches_preview() throws Exception {
+        final Path json = tempDir.resolve("nested.ndjson");
+        Files.writeString(
+                json,
+                "{\"ID\":1,\"customer\":{\"Name\":\"acme\"},\"amount\":10.5,\"code\":\"7\"}\n"
+                        + "{\"ID\":2,\"customer\":{\"Name\":\"globex\"},\"amount\":25.25,"
+                        + "\"code\":\"9\"}\n");
+        final String sourceId = createDataSource("JSON", json);
+        final ViewDefinition definition =
+                new ViewDefinition(
+                        UUID.fromString(sourceId),
+                        ViewMode.BASIC,
+                        List.of("id", "customer.name", "AMOUNT", "code"),
+                        null);
+
+        final ViewResult preview = viewQueryService.preview(definition, 100);
+        final List<String> columns = new ArrayList<>();
+        final List<List<Object>> rows = scanRows(definition, columns);
+
+        assertEquals(List.of(1L, "acme", 10.5, "7"), rows.get(0));
+        assertEquals(preview.columns(), columns);
+        assertEquals(preview.rows(), rows);
+    }
+
+    @Test
+    @DisplayName("scan when a basic view read outlasts its timeout then fails")
+    void scan__when_basic_view_read_outlasts_timeout__then_fails() {
+        final ViewDefinition definition =
+                new ViewDefinition(
+                        UUID.fromString(dataSourceId), ViewMode.BASIC, List.of("id"), null);
+
+        assertThrows(
+                ViewQueryService.ViewQueryException.class,
+                () -> viewQueryService.scan(definition, slowHandler(300), Duration.ofMillis(100)));
+    }
+
+    @Test
+    @DisplayName("DELETE /api/reports/{id} when deleted then report is gone")
+    void delete__when_deleted__then_report_is_gone() throws Exception {
+        final String id = createReport("YAML", false);
+
+        given(requestSpec()).when().delete("/api/reports/" + id).then().statusCode(204);
+        given(requestSpec()).when().get("/api/reports/" + id + "/download").then().statusCode(404);
+        given(requestSpec()).when().get("/api/reports/" + UUID.randomUUID()).then().statusCode(404);
+    }
+
+    @Test
+    @DisplayName("scan when the consumer is slower than the preview timeout then reads every row")
+    void scan__when_slower_than_preview_timeout__then_reads_every_row() {
+        final ViewDefinition definition =
+                new ViewDefinition(
+                        UUID.fromString(dataSourceId), ViewMode.ADVANCED, List.of(), ORDERED);
+        final long pause = pool.getQueryTimeout().toMillis() * 3 / 2;
+
+        assertEquals(3, viewQueryService.scan(definition, slowHandler(pause), reportTimeout));
+    }
+
+    /** Scans the view, copying each row's typed values. */
+    private List<List<Object>> scanRows(
+            final ViewDefinition definition, final List<String> columns) {
+        final List<List<Object>> rows = new ArrayList<>();
+        viewQueryService.scan(
+                definition,
+                new RowHandler() {
+                    @Override
+                    public void onStart(final List<String> names) {
+                        columns.addAll(names);
+                    }
+
+                    @Override
+                    public boolean onRow(final SourceRow row) {
+                        final List<Object> values = new ArrayList<>();
+                        for (int i = 0; i < row.size(); i++) {
+                            values.add(row.getValue(i));
+                        }
+                        rows.add(values);
+                        return true;
+                    }
+                },
+                reportTimeout);
+        return rows;
+    }
+
+    /** Stalls on the first row, as a report writer behind a slow disk would. */
+    private static RowHandler slowHandler(final long pauseMillis) {
+        final boolean[] paused = new boolean[1];
+        return row -> {
+            if (!paused[0]) {
+                paused[0] = true;
+                try {
+                    Thread.sleep(pauseMillis);
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return true;
+        };
+    }
+
+    private String createDataSource(final String type, final Path file) throws IOException {
+        return createDataSource(type, Map.of("path", file.toString()));
+    }
+
+    private String createDataSource(final String type, final Map<String, Object> config)
+            throws IOException {
+        final String body =
+                objectMapper()
+                        .writeValueAsString(
+                                Map.of(
+                                        "name",
+                                        "orders-" + System.nanoTime(),
+                                        "type",
+                                        type,
+                                        "config",
+                                        objectMapper().writeValueAsString(config)));
+        return given(requestSpec())
+                .contentType("application/json")
+                .body(body)
+                .when()
+                .post("/api/data-sources")
+                .then()
+                .statusCode(201)
+                .extract()
+                .path("id");
+    }
+
+    private String createReport(final String format, final boolean gzip) throws Exception {
+        final Map<String, Object> body = new HashMap<>();
+        body.put("name", "orders report");
+        body.put("dataSourceId", dataSourceId);
+        body.put("mode", "ADVANCED");
+        body.put("sql", ORDERED);
+        body.put("format", format);
+        body.put("gzip", gzip);
+        return given(requestSpec())
+                .contentType("application/json")
+                .body(objectMapper().writeValueAsString(body))
+                .when()
+                .post("/api/reports")
+                .then()
+                .statusCode(201)
+                .body("rowCount", equalTo(3))
+                .body("compressed", equalTo(gzip))
+                .extract()
+                .path("id");
+    }
+}
@@ -0,0 +1,211 @@
+package com.datadrift.api;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.datadrift.BaseIntegrationTest;
+import com.datadrift.execution.RuleScheduler;
+import com.datadrift.repository.AutomationRuleRepository;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+class RulesControllerIntegrationTest extends BaseIntegrationTest {
+
+    private static final String TRIGGER =
+            "{\"version\":1,\"type\":\"SCHEDULE\",\"frequency\":\"DAILY\",\"time\":\"08:30\"}";
+    private static final String DEFINITION =
+            "{\"version\":1,\"view\":{\"mode\":\"ADVANCED\","
+                    + "\"sql\":\"SELECT COUNT(*) AS n FROM source\"}}";
+
+    @TempDir private Path tempDir;
+
+    @Autowired private RuleScheduler ruleScheduler;
+
+    @Autowired private AutomationRuleRepository ruleRepository;
+
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    private String dataSourceId;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        final Path csv = tempDir.resolve("orders.csv");
+        Files.writeString(csv, "id,amount\n1,10\n2,25\n");
+        final String body =
+                objectMapper()
+                        .writeValueAsString(
+                                Map.of(
+                                        "name",
+                                        "rule-source-" + System.nanoTime(),
+                                        "type",
+                                        "CSV",
+                                        "config",
+                                        objectMapper()
+                                                .writeValueAsString(
+                                                        Map.of("path", csv.toString()))));
+        dataSourceId =
+                given(requestSpec())
+                        .contentType("application/json")
+                        .body(body)
+                        .when()
+                        .post("/api/data-sources")
+                        .then()
+                        .statusCode(201)
+                        .extract()
+                        .path("id");
+    }
+
+    /** Rules reference data sources; other tests delete all data sources. */
+    @AfterEach
+    void tearDown() {
+        ruleRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("POST /api/rules when valid then schedules rule and DELETE unschedules it")
+    void create__when_valid__then_schedules_and_delete_unschedules() throws Exception {
+        final int before = ruleScheduler.scheduledCount();
+        final String id =
+                given(requestSpec())
+                        .contentType("application/json")
+                        .body(ruleBody("rule-" + System.nanoTime(), DEFINITION))
+                        .when()
+                        .post("/api/rules")
+                        .then()
+                        .statusCode(201)
+                        .body("id", notNullValue())
+                        .body("version", equalTo(1))
+                        .extract()
+                        .path("id");
+        assertEquals(before + 1, ruleScheduler.scheduledCount());
+
+        given(requestSpec())
+                .when()
+                .post("/api/rules/" + id + "/run")
+                .then()
+                .statusCode(202)
+                .body("dispatched", notNullValue());
+
+        given(requestSpec()).when().delete("/api/rules/" + id).then().statusCode(204);
+        assertEquals(before, ruleScheduler.scheduledCount());
+        given(requestSpec()).when().get("/api/rules/" + id).then().statusCode(404);
+    }
+
+    @Test
+    @DisplayName("POST /api/rules when view SQL is not a query then returns 400")
+    void create__when_view_sql_invalid__then_returns_400() throws Exception {
+        final String definition =
+                "{\"version\":1,\"view\":{\"mode\":\"ADVANCED\",\"sql\":\"DROP TABLE x\"}}";
+        given(requestSpec())
+                .contentType("application/json")
+                .body(ruleBody("bad-rule-" + System.nanoTime(), definition))
+                .when()
+                .post("/api/rules")
+                .then()
+                .statusCode(400);
+    }
+
+    @Test
+    @DisplayName("DELETE /api/data-sources/{id} when rules reference it then returns 409")
+    void deleteDataSource__when_rules_reference_it__then_returns_409() throws Exception {
+        given(requestSpec())
+                .contentType("application/json")
+                .body(ruleBody("ref-rule-" + System.nanoTime(), DEFINITION))
+                .when()
+                .post("/api/rules")
+                .then()
+                .statusCode(201);
+        given(requestSpec())
+                .when()
+                .delete("/api/data-sources/" + dataSourceId)
+                .then()
+                .statusCode(409);
+    }
+
+    @Test
+    @DisplayName(
+            "POST /api/rules/{id}/run when the source config cannot be decrypted then logs FAILED")
+    void run__when_config_cannot_be_decrypted__then_records_failed_execution() throws Exception {
+        // A well-formed ENC(...) value that was not encrypted with this key fails the GCM tag
+        // check; Basic views stream from the source, which decrypts its config first.
+        final String bogus = "ENC(" + Base64.getEncoder().encodeToString(new byte[32]) + ")";
+        final String config =
+                objectMapper()
+                        .writeValueAsString(
+                                Map.of(
+                                        "path",
+                                        tempDir.resolve("orders.csv").toString(),
+                                        "password",
+                                        bogus));
+        jdbcTemplate.update(
+                "UPDATE data_sources SET config = ? WHERE id = ?",
+                config,
+                UUID.fromString(dataSourceId));
+        final String id =
+                given(requestSpec())
+                        .contentType("application/json")
+                        .body(
+                                ruleBody(
+                                        "undecryptable-" + System.nanoTime(),
+                                        "{\"version\":1,\"view\":{\"mode\":\"BASIC\","
+                                                + "\"fields\":[\"id\"]}}"))
+                        .when()
+                        .post("/api/rules")
+                        .then()
+                        .statusCode(201)
+                        .extract()
+                        .path("id");
+
+        given(requestSpec()).when().post("/api/rules/" + id + "/run").then().statusCode(202);
+
+        final long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        List<Map<String, Object>> items = List.of();
+        while (items.isEmpty()) {
+            assertTrue(System.nanoTime() < deadline, "no execution was recorded");
+            Thread.sleep(100);
+            items =
+                    given(requestSpec())
+                            .queryParam("ruleId", id)
+                            .when()
+                            .get("/api/executions")
+                            .then()
+                            .statusCode(200)
+                            .extract()
+                            .path("items");
+        }
+        assertEquals("FAILED", items.get(0).get("status"));
+        assertEquals("Decryption failed", items.get(0).get("message"));
+    }
+
+    private String ruleBody(final String name, final String definition) throws IOException {
+        return objectMapper()
+                .writeValueAsString(
+                        Map.of(
+                                "name",
+                                name,
+                                "enabled",
+                                true,
+                                "dataSourceId",
+                                dataSourceId,
+                                "trigger",
+                                TRIGGER,
+                                "definition",
+                                definition));
+    }
+}
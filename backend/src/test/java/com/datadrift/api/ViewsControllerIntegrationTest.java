@@ -0,0 +1,390 @@
+package com.datadrift.api;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+
+import com.datadrift.BaseIntegrationTest;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ViewsControllerIntegrationTest extends BaseIntegrationTest {
+
+    @TempDir private Path tempDir;
+
+    private String dataSourceId;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        final Path csv = tempDir.resolve("orders.csv");
+        Files.writeString(csv, "id,customer,amount\n1,acme,10\n2,globex,25\n3,acme,5\n");
+        final String body =
+                objectMapper()
+                        .writeValueAsString(
+                                Map.of(
+                                        "name",
+                                        "orders-" + System.nanoTime(),
+                                        "type",
+                                        "CSV",
+                                        "config",
+                                        objectMapper()
+                                                .writeValueAsString(
+                                                        Map.of("path", csv.toString()))));
+        dataSourceId =
+                given(requestSpec())
+                        .contentType("application/json")
+                        .body(body)
+                        .when()
+                        .post("/api/data-sources")
+                        .then()
+                        .statusCode(201)
+                        .extract()
+                        .path("id");
+    }
+
+    @Test
+    @DisplayName("POST /api/views/preview when basic fields then returns selected columns")
+    void preview__when_basic_fields__then_returns_selected_columns() throws Exception {
+        given(requestSpec())
+                .contentType("application/json")
+                .body(previewBody("BASIC", List.of("customer"), null))
+                .when()
+                .post("/api/views/preview")
+                .then()
+                .statusCode(200)
+                .body("columns", contains("customer"))
+                .body("rows.size()", equalTo(3))
+                .body("truncated", equalTo(false));
+    }
+
+    @Test
+    @DisplayName("POST /api/views/preview when advanced SQL then aggregates over source")
+    void preview__when_advanced_sql__then_aggregates_over_source() throws Exception {
+        given(requestSpec())
+                .contentType("application/json")
+                .body(
+                        previewBody(
+                                "ADVANCED",
+                                null,
+                                "SELECT customer, SUM(amount) AS total FROM source"
+                                        + " GROUP BY customer ORDER BY customer"))
+                .when()
+                .post("/api/views/preview")
+                .then()
+                .statusCode(200)
+                .body("columns", contains("customer", "total"))
+                .body("rows[0][0]", equalTo("acme"))
+                .body("rows[0][1]", equalTo(15));
+    }
+
+    @Test
+    @DisplayName(
+            "POST /api/views/preview when conditions then filters rows and shows pushdown plan")
+    void preview__when_conditions__then_filters_and_returns_plan() throws Exception {
+        final Map<String, Object> body =
+                objectMapper().readValue(previewBody("BASIC", List.of(), null), Map.class);
+        body.put(
+                "conditions",
+                objectMapper()
+                        .readTree(
+                                "{\"op\":\"AND\",\"conditions\":["
+                                        + "{\"field\":\"amount\",\"op\":\"GT\",\"value\":6},"
+                                        + "{\"field\":\"customer\",\"op\":\"CONTAINS\","
+                                        + "\"value\":\"ac\"}]}"));
+        given(requestSpec())
+                .contentType("application/json")
+                .body(objectMapper().writeValueAsString(body))
+                .when()
+                .post("/api/views/preview")
+                .then()
+                .statusCode(200)
+                .body("rows.size()", equalTo(1))
+                .body("rows[0][0]", equalTo(1))
+                .body("plan.pushed", equalTo("(\"amount\" > 6 AND \"customer\" CONTAINS 'ac')"))
+                .body("plan.residual", nullValue())
+                .body("plan.parameters", contains(6.0f, "ac"));
+    }
+
+    @Test
+    @DisplayName("POST /api/views/preview when SQL is not a SELECT then returns 400")
+    void preview__when_sql_not_select__then_returns_400() throws Exception {
+        given(requestSpec())
+                .contentType("application/json")
+                .body(previewBody("ADVANCED", null, "DROP TABLE source"))
+                .when()
+                .post("/api/views/preview")
+                .then()
+                .statusCode(400)
+                .body("error", notNullValue());
+    }
+
+    @Test
+    @DisplayName("POST /api/views/preview when SQL reads another file then returns 400")
+    void preview__when_sql_reads_another_file__then_returns_400() throws Exception {
+        final Path secret = tempDir.resolve("secret.csv");
+        Files.writeString(secret, "password\nhunter2\n");
+        final String quoted = "'" + secret + "'";
+        for (final String sql :
+                List.of(
+                        "SELECT * FROM " + quoted,
+                        "SELECT * FROM source JOIN " + quoted + " ON true",
+                        "SELECT (SELECT count(*) FROM \"" + secret + "\") AS n",
+                        "WITH s AS (SELECT * FROM read_text(" + quoted + ")) SELECT * FROM s")) {
+            given(requestSpec())
+                    .contentType("application/json")
+                    .body(previewBody("ADVANCED", null, sql))
+                    .when()
+                    .post("/api/views/preview")
+                    .then()
+                    .statusCode(400)
+                    .body("error", equalTo("sql may only query the view's data source"));
+        }
+    }
+
+    @Test
+    @DisplayName(
+            "POST /api/views/preview when a file is named like an out-of-scope CTE then returns 400")
+    void preview__when_file_named_like_out_of_scope_cte__then_returns_400() throws Exception {
+        final Path secret = tempDir.resolve("secret.csv");
+        Files.writeString(secret, "password\nhunter2\n");
+        final String file = "\"" + secret + "\"";
+        for (final String sql :
+                List.of(
+                        "SELECT * FROM "
+                                + file
+                                + " WHERE EXISTS (WITH "
+                                + file
+                                + " AS (SELECT 1) SELECT 1)",
+                        "WITH " + file + " AS (SELECT * FROM " + file + ") SELECT * FROM " + file,
+                        "WITH RECURSIVE "
+                                + file
+                                + " AS (SELECT * FROM "
+                                + file
+                                + ") SELECT * FROM "
+                                + file)) {
+            given(requestSpec())
+                    .contentType("application/json")
+                    .body(previewBody("ADVANCED", null, sql))
+                    .when()
+                    .post("/api/views/preview")
+                    .then()
+                    .statusCode(400)
+                    .body("error", equalTo("sql may only query the view's data source"));
+        }
+    }
+
+    @Test
+    @DisplayName("POST /api/views/preview when CTEs are in scope then runs the query")
+    void preview__when_ctes_in_scope__then_runs_the_query() throws Exception {
+        given(requestSpec())
+                .contentType("application/json")
+                .body(
+                        previewBody(
+                                "ADVANCED",
+                                null,
+                                "WITH RECURSIVE n AS (SELECT 1 AS i UNION ALL SELECT i + 1 FROM n"
+                                        + " WHERE i < 2), s AS (SELECT * FROM source)"
+                                        + " SELECT count(*) AS c FROM s, n"))
+                .when()
+                .post("/api/views/preview")
+                .then()
+                .statusCode(200)
+                .body("rows[0][0]", equalTo(6));
+    }
+
+    @Test
+    @DisplayName("POST /api/views/preview when a literal contains a semicolon then runs the query")
+    void preview__when_literal_contains_semicolon__then_runs_the_query() throws Exception {
+        given(requestSpec())
+                .contentType("application/json")
+                .body(
+                        previewBody(
+                                "ADVANCED", null, "SELECT ';' AS semi, count(*) AS n FROM source;"))
+                .when()
+                .post("/api/views/preview")
+                .then()
+                .statusCode(200)
+                .body("rows[0][0]", equalTo(";"))
+                .body("rows[0][1]", equalTo(3));
+    }
+
+    @Test
+    @DisplayName("POST /api/views/preview when SQL references unknown column then returns 422")
+    void preview__when_unknown_column__then_returns_422() throws Exception {
+        given(requestSpec())
+                .contentType("application/json")
+                .body(previewBody("ADVANCED", null, "SELECT missing FROM source"))
+                .when()
+                .post("/api/views/preview")
+                .then()
+                .statusCode(422)
+                .body("error", notNullValue());
+    }
+
+    @Test
+    @DisplayName("POST /api/views/preview when basic view of REST then filters the fetched rows")
+    void preview__when_basic_view_of_rest__then_filters_fetched_rows() throws Exception {
+        final HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext(
+                "/orders",
+                exchange -> {
+                    final byte[] json =
+                            ("[{\"id\":1,\"customer\":\"acme\",\"amount\":10},"
+                                            + "{\"id\":2,\"customer\":\"globex\",\"amount\":25},"
+                                            + "{\"id\":3,\"customer\":\"acme\",\"amount\":5}]")
+                                    .getBytes(StandardCharsets.UTF_8);
+                    exchange.getResponseHeaders().add("Content-Type", "application/json");
+                    exchange.sendResponseHeaders(200, json.length);
+                    exchange.getResponseBody().write(json);
+                    exchange.close();
+                });
+        server.start();
+        try {
+            final String url = "http://127.0.0.1:" + server.getAddress().getPort() + "/orders";
+            final String restSourceId =
+                    given(requestSpec())
+                            .contentType("application/json")
+                            .body(
+                                    objectMapper()
+                                            .writeValueAsString(
+                                                    Map.of(
+                                                            "name",
+                                                            "orders-api-" + System.nanoTime(),
+                                                            "type",
+                                                            "REST",
+                                                            "config",
+                                                            objectMapper()
+                                                                    .writeValueAsString(
+                                                                            Map.of("url", url)))))
+                            .when()
+                            .post("/api/data-sources")
+                            .then()
+                            .statusCode(201)
+                            .extract()
+                            .path("id");
+            final Map<String, Object> body = new HashMap<>();
+            body.put("dataSourceId", restSourceId);
+            body.put("mode", "BASIC");
+            body.put("fields", List.of("customer", "amount"));
+            body.put(
+                    "conditions",
+                    objectMapper().readTree("{\"field\":\"amount\",\"op\":\"GT\",\"value\":6}"));
+            given(requestSpec())
+                    .contentType("application/json")
+                    .body(objectMapper().writeValueAsString(body))
+                    .when()
+                    .post("/api/views/preview")
+                    .then()
+                    .statusCode(200)
+                    .body("columns", contains("customer", "amount"))
+                    .body("rows", contains(List.of("acme", 10), List.of("globex", 25)))
+                    .body("plan.sql", nullValue())
+                    .body("plan.residual", equalTo("\"amount\" > 6"));
+
+            body.put("mode", "ADVANCED");
+            body.put("sql", "SELECT * FROM source");
+            given(requestSpec())
+                    .contentType("application/json")
+                    .body(objectMapper().writeValueAsString(body))
+                    .when()
+                    .post("/api/views/preview")
+                    .then()
+                    .statusCode(400)
+                    .body("error", containsString("Basic-mode views only"));
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    @DisplayName("POST /api/views/aggregate when grouped with measures then returns columns")
+    void aggregate__when_group_by__then_returns_columnar_groups() throws Exception {
+        final Map<String, Object> body = aggregateBody("BASIC", null);
+        body.put("groupBy", List.of("customer"));
+        body.put(
+                "measures",
+                List.of(
+                        Map.of("function", "SUM", "field", "amount", "as", "total"),
+                        Map.of("function", "COUNT")));
+        given(requestSpec())
+                .contentType("application/json")
+                .body(objectMapper().writeValueAsString(body))
+                .when()
+                .post("/api/views/aggregate")
+                .then()
+                .statusCode(200)
+                .body("columns", contains("customer", "total", "count"))
+                .body("data[0]", contains("acme", "globex"))
+                .body("data[1]", contains(15, 25))
+                .body("data[2]", contains(2, 1))
+                .body("rows", equalTo(2))
+                .body("truncated", equalTo(false));
+    }
+
+    @Test
+    @DisplayName("POST /api/views/aggregate when time bucket then returns at most points buckets")
+    void aggregate__when_time_bucket__then_downsamples_to_points() throws Exception {
+        final Map<String, Object> body =
+                aggregateBody(
+                        "ADVANCED",
+                        "SELECT *, TIMESTAMP '2024-01-01 00:00:00' + to_hours(id) AS ts FROM"
+                                + " source");
+        body.put("timeBucket", Map.of("field", "ts", "points", 2));
+        body.put("measures", List.of(Map.of("function", "SUM", "field", "amount")));
+        given(requestSpec())
+                .contentType("application/json")
+                .body(objectMapper().writeValueAsString(body))
+                .when()
+                .post("/api/views/aggregate")
+                .then()
+                .statusCode(200)
+                .body("columns", contains("bucket", "sum_amount"))
+                .body("data[0][0]", equalTo(1_704_070_800_000L))
+                .body("data[1]", contains(35, 5));
+    }
+
+    @Test
+    @DisplayName("POST /api/views/aggregate when no measures then returns 400")
+    void aggregate__when_no_measures__then_returns_400() throws Exception {
+        given(requestSpec())
+                .contentType("application/json")
+                .body(objectMapper().writeValueAsString(aggregateBody("BASIC", null)))
+                .when()
+                .post("/api/views/aggregate")
+                .then()
+                .statusCode(400)
+                .body("error", equalTo("measures must not be empty"));
+    }
+
+    private Map<String, Object> aggregateBody(final String mode, final String sql) {
+        final Map<String, Object> body = new HashMap<>();
+        body.put("dataSourceId", dataSourceId);
+        body.put("mode", mode);
+        body.put("sql", sql);
+        return body;
+    }
+
+    private String previewBody(final String mode, final List<String> fields, final String sql)
+            throws Exception {
+        final Map<String, Object> body = new HashMap<>();
+        body.put("dataSourceId", dataSourceId);
+        body.put("mode", mode);
+        body.put("fields", fields);
+        body.put("sql", sql);
+        return objectMapper().writeValueAsString(body);
+    }
+}
@@ -0,0 +1,167 @@
+package com.datadrift.api;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.datadrift.BaseIntegrationTest;
+import com.datadrift.execution.ExecutionLogWriter;
+import com.datadrift.repository.AutomationRuleRepository;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+
+class WebhooksControllerIntegrationTest extends BaseIntegrationTest {
+
+    private static final String DEFINITION =
+            "{\"version\":1,\"view\":{\"mode\":\"ADVANCED\","
+                    + "\"sql\":\"SELECT COUNT(*) AS n FROM source\"}}";
+
+    @TempDir private Path tempDir;
+
+    @Autowired private AutomationRuleRepository ruleRepository;
+
+    @Autowired private ExecutionLogWriter executionLog;
+
+    private String dataSourceId;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        final Path csv = tempDir.resolve("orders.csv");
+        Files.writeString(csv, "id,amount\n1,10\n2,25\n");
+        final String body =
+                objectMapper()
+                        .writeValueAsString(
+                                Map.of(
+                                        "name",
+                                        "webhook-source-" + System.nanoTime(),
+                                        "type",
+                                        "CSV",
+                                        "config",
+                                        objectMapper()
+                                                .writeValueAsString(
+                                                        Map.of("path", csv.toString()))));
+        dataSourceId =
+                given(requestSpec())
+                        .contentType("application/json")
+                        .body(body)
+                        .when()
+                        .post("/api/data-sources")
+                        .then()
+                        .statusCode(201)
+                        .extract()
+                        .path("id");
+    }
+
+    /** Rules reference data sources; other tests delete all data sources. */
+    @AfterEach
+    void tearDown() {
+        ruleRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("POST /api/webhooks/{ruleId} when called in a burst then coalesces the runs")
+    void receive__when_burst__then_coalesces_runs() throws Exception {
+        final String ruleId =
+                createRule("{\"version\":1,\"type\":\"WEBHOOK\",\"coalesceSeconds\":2}");
+
+        for (int i = 0; i < 5; i++) {
+            given(requestSpec())
+                    .when()
+                    .post("/api/webhooks/" + ruleId)
+                    .then()
+                    .statusCode(202)
+                    .body("sequence", notNullValue());
+        }
+
+        // Leading run at once, at most one more when the window closes.
+        final long deadline = System.currentTimeMillis() + 10_000;
+        while (webhookRuns(ruleId) == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(100);
+        }
+        Thread.sleep(3_000);
+        final int runs = webhookRuns(ruleId);
+        assertTrue(runs >= 1 && runs <= 2, "expected 1 or 2 runs for 5 calls but got " + runs);
+    }
+
+    @Test
+    @DisplayName("POST /api/webhooks/{ruleId} when rule is scheduled then returns 404")
+    void receive__when_schedule_rule__then_returns_404() throws Exception {
+        final String ruleId =
+                createRule(
+                        "{\"version\":1,\"type\":\"SCHEDULE\",\"frequency\":\"DAILY\","
+                                + "\"time\":\"08:30\"}");
+
+        given(requestSpec())
+                .when()
+                .post("/api/webhooks/" + ruleId)
+                .then()
+                .statusCode(404)
+                .body("error", equalTo("No enabled webhook rule: " + ruleId));
+    }
+
+    @Test
+    @DisplayName("POST /api/rules when webhook window is negative then returns 400")
+    void createRule__when_negative_window__then_returns_400() throws Exception {
+        given(requestSpec())
+                .contentType("application/json")
+                .body(ruleBody("{\"version\":1,\"type\":\"WEBHOOK\",\"coalesceSeconds\":-1}"))
+                .when()
+                .post("/api/rules")
+                .then()
+                .statusCode(400);
+    }
+
+    private int webhookRuns(final String ruleId) {
+        executionLog.flush();
+        final List<String> triggers =
+                given(requestSpec())
+                        .queryParam("ruleId", ruleId)
+                        .when()
+                        .get("/api/executions")
+                        .then()
+                        .statusCode(200)
+                        .extract()
+                        .path("items.trigger");
+        assertEquals(0, triggers.stream().filter(trigger -> !"WEBHOOK".equals(trigger)).count());
+        return triggers.size();
+    }
+
+    private String createRule(final String trigger) throws IOException {
+        return given(requestSpec())
+                .contentType("application/json")
+                .body(ruleBody(trigger))
+                .when()
+                .post("/api/rules")
+                .then()
+                .statusCode(201)
+                .extract()
+                .path("id");
+    }
+
+    private String ruleBody(final String trigger) throws IOException {
+        return objectMapper()
+                .writeValueAsString(
+                        Map.of(
+                                "name",
+                                "webhook-rule-" + System.nanoTime(),
+                                "enabled",
+                                true,
+                                "dataSourceId",
+                                dataSourceId,
+                                "trigger",
+                                trigger,
+                                "definition",
+                                DEFINITION));
+    }
+}
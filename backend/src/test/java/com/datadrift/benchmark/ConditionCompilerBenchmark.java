@@ -0,0 +1,194 @@
+package com.datadrift.benchmark;
+
+import com.datadrift.connector.RowPredicate;
+import com.datadrift.connector.SourceRow;
+import com.datadrift.execution.ConditionCompiler;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Evaluates a condition tree of {@code depth} alternating AND/OR levels over {@code rows} in-memory
+ * rows, once with the compiled predicate and once by walking the JSON per row with name lookups and
+ * boxed values, which is what evaluation would cost without the compiler.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConditionCompilerBenchmark {
+
+    private static final List<String> COLUMNS = List.of("id", "amount", "customer", "status");
+    private static final String[] CUSTOMERS = {"acme", "globex", "initech", "umbrella", "hooli"};
+    private static final String[] STATUSES = {"open", "paid", "void"};
+
+    @Param({"1000000"})
+    private int rows;
+
+    @Param({"3", "6"})
+    private int depth;
+
+    private JsonNode json;
+    private RowPredicate compiled;
+    private ColumnarRow row;
+    private Map<String, Integer> positions;
+
+    @Setup
+    public void setUp() {
+        final ObjectMapper objectMapper = new ObjectMapper();
+        json = tree(objectMapper, depth, 0);
+        compiled = ConditionCompiler.compile(ConditionCompiler.parse(json), COLUMNS);
+        positions = new HashMap<>();
+        for (int i = 0; i < COLUMNS.size(); i++) {
+            positions.put(COLUMNS.get(i), i);
+        }
+        row = new ColumnarRow(rows, new Random(42));
+    }
+
+    @Benchmark
+    public long compiled() {
+        long matched = 0;
+        for (int i = 0; i < rows; i++) {
+            row.position = i;
+            if (compiled.test(row)) {
+                matched++;
+            }
+        }
+        return matched;
+    }
+
+    @Benchmark
+    public long interpreted() {
+        long matched = 0;
+        for (int i = 0; i < rows; i++) {
+            row.position = i;
+            if (interpret(json, row)) {
+                matched++;
+            }
+        }
+        return matched;
+    }
+
+    private boolean interpret(final JsonNode node, final SourceRow current) {
+        if (node.has("conditions")) {
+            final boolean and = "AND".equals(node.get("op").asText());
+            for (final JsonNode child : node.get("conditions")) {
+                if (interpret(child, current) != and) {
+                    return !and;
+                }
+            }
+            return and;
+        }
+        final int index = positions.get(node.get("field").asText());
+        if (current.isNull(index)) {
+            return false;
+        }
+        final JsonNode value = node.get("value");
+        final Object actual =
+                value.isNumber() ? (Object) current.getDouble(index) : current.getString(index);
+        final Object expected = value.isNumber() ? (Object) value.asDouble() : value.asText();
+        return switch (node.get("op").asText()) {
+            case "CONTAINS" -> actual.toString().contains(expected.toString());
+            case "EQUALS" -> actual.equals(expected);
+            case "GT" -> ((Double) actual).compareTo((Double) expected) > 0;
+            case "LT" -> ((Double) actual).compareTo((Double) expected) < 0;
+            default -> ((Double) actual).compareTo((Double) expected) >= 0;
+        };
+    }
+
+    /** A binary tree; leaves rotate through numeric, equality and contains tests. */
+    private static JsonNode tree(
+            final ObjectMapper objectMapper, final int levels, final int seed) {
+        if (levels == 0) {
+            final ObjectNode leaf = objectMapper.createObjectNode();
+            switch (seed % 4) {
+                case 0 -> leaf.put("field", "amount").put("op", "GT").put("value", 250 + seed);
+                case 1 -> leaf.put("field", "status").put("op", "EQUALS").put("value", "paid");
+                case 2 -> leaf.put("field", "customer").put("op", "CONTAINS").put("value", "e");
+                default -> leaf.put("field", "id").put("op", "LT").put("value", 500_000 + seed);
+            }
+            return leaf;
+        }
+        final ObjectNode group = objectMapper.createObjectNode();
+        group.put("op", levels % 2 == 0 ? "AND" : "OR");
+        final ArrayNode children = group.putArray("conditions");
+        children.add(tree(objectMapper, levels - 1, seed * 2 + 1));
+        children.add(tree(objectMapper, levels - 1, seed * 2 + 2));
+        return group;
+    }
+
+    /** Rows held column by column, exposed through one reusable cursor like the real readers. */
+    private static final class ColumnarRow implements SourceRow {
+        private final long[] ids;
+        private final double[] amounts;
+        private final String[] customers;
+        private final String[] statuses;
+        private int position;
+
+        ColumnarRow(final int rows, final Random random) {
+            ids = new long[rows];
+            amounts = new double[rows];
+            customers = new String[rows];
+            statuses = new String[rows];
+            for (int i = 0; i < rows; i++) {
+                ids[i] = i;
+                amounts[i] = random.nextInt(100_000) / 100.0;
+                customers[i] = CUSTOMERS[random.nextInt(CUSTOMERS.length)];
+                statuses[i] = STATUSES[random.nextInt(STATUSES.length)];
+            }
+        }
+
+        @Override
+        public int size() {
+            return COLUMNS.size();
+        }
+
+        @Override
+        public boolean isNull(final int index) {
+            return false;
+        }
+
+        @Override
+        public String getString(final int index) {
+            return switch (index) {
+                case 0 -> Long.toString(ids[position]);
+                case 1 -> Double.toString(amounts[position]);
+                case 2 -> customers[position];
+                default -> statuses[position];
+            };
+        }
+
+        @Override
+        public long getLong(final int index) {
+            return index == 0 ? ids[position] : (long) getDouble(index);
+        }
+
+        @Override
+        public double getDouble(final int index) {
+            return switch (index) {
+                case 0 -> ids[position];
+                case 1 -> amounts[position];
+                default -> Double.parseDouble(getString(index));
+            };
+        }
+    }
+}
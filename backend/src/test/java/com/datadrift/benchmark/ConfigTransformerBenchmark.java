@@ -0,0 +1,91 @@
+package com.datadrift.benchmark;
+
+import com.datadrift.service.ConfigTransformer;
+import com.datadrift.service.EncryptionService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of the data source config paths on large nested configs: a REST source with {@code headers}
+ * plain headers, a few secret headers and a nested auth block. Covers create, update with masked
+ * secrets, API masking and connector decryption.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConfigTransformerBenchmark {
+
+    private static final byte[] KEY = "01234567890123456789012345678901".getBytes();
+    private static final int SECRET_HEADERS = 4;
+
+    @Param({"10", "200", "1000"})
+    private int headers;
+
+    private ConfigTransformer transformer;
+    private String incoming;
+    private String maskedUpdate;
+    private String stored;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        final ObjectMapper objectMapper = new ObjectMapper();
+        transformer =
+                new ConfigTransformer(
+                        objectMapper, new EncryptionService(KEY, new SimpleMeterRegistry()));
+        incoming = objectMapper.writeValueAsString(restConfig(objectMapper, "plain-secret"));
+        maskedUpdate = objectMapper.writeValueAsString(restConfig(objectMapper, "******"));
+        stored = transformer.prepareForStorage(incoming, null);
+    }
+
+    @Benchmark
+    public String create() {
+        return transformer.prepareForStorage(incoming, null);
+    }
+
+    @Benchmark
+    public String updateWithMaskedSecrets() {
+        return transformer.prepareForStorage(maskedUpdate, stored);
+    }
+
+    @Benchmark
+    public String maskForApi() throws JsonProcessingException {
+        return transformer.mask(stored);
+    }
+
+    @Benchmark
+    public Object decryptForConnector() {
+        return transformer.decrypt(stored);
+    }
+
+    private ObjectNode restConfig(final ObjectMapper objectMapper, final String secret) {
+        final ObjectNode root = objectMapper.createObjectNode();
+        root.put("url", "https://api.example.com/v1/orders");
+        root.put("token", secret);
+        final ObjectNode headerNode = root.putObject("headers");
+        for (int i = 0; i < headers; i++) {
+            headerNode.put("X-Header-" + i, "value-" + i);
+        }
+        for (int i = 0; i < SECRET_HEADERS; i++) {
+            headerNode.putObject("vendor-" + i).put("apiKey", secret);
+        }
+        root.putObject("auth").putObject("oauth").put("secret", secret).put("client", "app");
+        return root;
+    }
+}
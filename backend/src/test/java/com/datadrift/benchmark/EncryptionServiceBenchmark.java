@@ -0,0 +1,81 @@
+package com.datadrift.benchmark;
+
+import com.datadrift.service.EncryptionService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Per-value cost of {@link EncryptionService} under concurrent load (8 threads). The batch
+ * benchmarks process one config's worth of secrets per invocation; divide by {@code secrets} for
+ * the per-value cost.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class EncryptionServiceBenchmark {
+
+    private static final byte[] KEY = "01234567890123456789012345678901".getBytes();
+
+    @Param({"1", "16"})
+    private int secrets;
+
+    private EncryptionService encryptionService;
+    private List<String> plaintexts;
+    private List<String> encrypted;
+
+    @Setup
+    public void setUp() {
+        encryptionService = new EncryptionService(KEY, new SimpleMeterRegistry());
+        plaintexts = new ArrayList<>();
+        for (int i = 0; i < secrets; i++) {
+            plaintexts.add("s3cr3t-credential-value-" + i);
+        }
+        encrypted = encryptionService.encryptAll(plaintexts);
+    }
+
+    @Benchmark
+    public List<String> decryptEach() {
+        final List<String> result = new ArrayList<>(encrypted.size());
+        for (final String value : encrypted) {
+            result.add(encryptionService.decrypt(value));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<String> decryptBatch() {
+        return encryptionService.decryptAll(encrypted);
+    }
+
+    @Benchmark
+    public List<String> encryptEach() {
+        final List<String> result = new ArrayList<>(plaintexts.size());
+        for (final String value : plaintexts) {
+            result.add(encryptionService.encrypt(value));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<String> encryptBatch() {
+        return encryptionService.encryptAll(plaintexts);
+    }
+}
@@ -0,0 +1,192 @@
+package com.datadrift.connector;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class CsvFileReaderTest {
+
+    @TempDir private Path tempDir;
+
+    @Test
+    @DisplayName("read when file has header then reports columns and typed values")
+    void read__when_file_has_header__then_reports_columns_and_typed_values() throws IOException {
+        final Path file = write("id,name,amount\n1,alpha,10.5\n-42,beta,7\n");
+        final List<String> columns = new ArrayList<>();
+        final List<String> names = new ArrayList<>();
+        final List<Long> ids = new ArrayList<>();
+        final List<Double> amounts = new ArrayList<>();
+
+        final long rows =
+                reader(file, true, CsvFileReader.DEFAULT_WINDOW_BYTES)
+                        .read(
+                                new RowHandler() {
+                                    @Override
+                                    public void onStart(final List<String> header) {
+                                        columns.addAll(header);
+                                    }
+
+                                    @Override
+                                    public boolean onRow(final SourceRow row) {
+                                        ids.add(row.getLong(0));
+                                        names.add(row.getString(1));
+                                        amounts.add(row.getDouble(2));
+                                        return true;
+                                    }
+                                });
+
+        assertEquals(2, rows);
+        assertEquals(List.of("id", "name", "amount"), columns);
+        assertEquals(List.of(1L, -42L), ids);
+        assertEquals(List.of("alpha", "beta"), names);
+        assertEquals(List.of(10.5, 7.0), amounts);
+    }
+
+    @Test
+    @DisplayName("getDouble when an integer has more digits than a long holds then parses it")
+    void getDouble__when_integer_exceeds_long__then_parses_it() throws IOException {
+        final Path file = write("amount\n12345678901234567890\n-98765432109876543210\n");
+        final List<Double> amounts = new ArrayList<>();
+
+        reader(file, true, CsvFileReader.DEFAULT_WINDOW_BYTES)
+                .read(
+                        row -> {
+                            amounts.add(row.getDouble(0));
+                            return true;
+                        });
+
+        assertEquals(List.of(12345678901234567890d, -98765432109876543210d), amounts);
+    }
+
+    @Test
+    @DisplayName("read when fields are quoted then handles delimiters, newlines and escaped quotes")
+    void read__when_fields_quoted__then_unescapes_values() throws IOException {
+        final Path file = write("a,b\r\n\"x,y\",\"line1\nline2\"\r\n\"say \"\"hi\"\"\",\r\n");
+        final List<List<String>> rows = readAll(file, CsvFileReader.DEFAULT_WINDOW_BYTES);
+
+        assertEquals(2, rows.size());
+        assertEquals(List.of("x,y", "line1\nline2"), rows.get(0));
+        assertEquals("say \"hi\"", rows.get(1).get(0));
+        assertNull(rows.get(1).get(1));
+    }
+
+    @Test
+    @DisplayName("read when rows span window boundaries then yields same rows as single window")
+    void read__when_rows_span_windows__then_yields_same_rows() throws IOException {
+        final StringBuilder content = new StringBuilder("id,text\n");
+        for (int i = 0; i < 500; i++) {
+            content.append(i).append(",\"value ").append(i).append(", quoted\"\r\n");
+        }
+        final Path file = write(content.toString());
+
+        final List<List<String>> expected = readAll(file, CsvFileReader.DEFAULT_WINDOW_BYTES);
+        final List<List<String>> windowed = readAll(file, 64);
+
+        assertEquals(500, expected.size());
+        assertEquals(expected, windowed);
+    }
+
+    @Test
+    @DisplayName("read when handler returns false then stops early")
+    void read__when_handler_returns_false__then_stops_early() throws IOException {
+        final Path file = write("n\n1\n2\n3\n");
+        final long rows = reader(file, true, CsvFileReader.DEFAULT_WINDOW_BYTES).read(row -> false);
+        assertEquals(1, rows);
+    }
+
+    @Test
+    @DisplayName("read when row larger than window then throws SourceReadException")
+    void read__when_row_larger_than_window__then_throws() throws IOException {
+        final Path file = write("a\n" + "x".repeat(200) + "\nb\n");
+        assertThrows(SourceReadException.class, () -> reader(file, true, 64).read(row -> true));
+    }
+
+    @Test
+    @DisplayName("read when file missing then throws SourceReadException")
+    void read__when_file_missing__then_throws() {
+        final Path file = tempDir.resolve("missing.csv");
+        assertThrows(
+                SourceReadException.class,
+                () -> reader(file, true, CsvFileReader.DEFAULT_WINDOW_BYTES).read(row -> true));
+    }
+
+    @Test
+    @DisplayName("constructor when encoding is not ASCII-compatible then throws")
+    void constructor__when_encoding_not_ascii_compatible__then_throws() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () ->
+                        new CsvFileReader(
+                                tempDir.resolve("x.csv"), StandardCharsets.UTF_16, ',', true));
+    }
+
+    @Test
+    @DisplayName("read when no header then names columns like DuckDB")
+    void read__when_no_header__then_generates_column_names() throws IOException {
+        final Path file = write("1,2\n");
+
+        assertEquals(List.of("column0", "column1"), columns(file, false));
+    }
+
+    @Test
+    @DisplayName("read when header names are blank or repeat then names them like DuckDB")
+    void read__when_header_names_blank_or_repeated__then_names_them_like_duckdb()
+            throws IOException {
+        final Path file = write("a,,A, a_1 ,a\n1,2,3,4,5\n");
+
+        assertEquals(List.of("a", "column1", "A_1", "a_1_1", "a_2"), columns(file, true));
+    }
+
+    private List<String> columns(final Path file, final boolean header) {
+        final List<String> columns = new ArrayList<>();
+        reader(file, header, CsvFileReader.DEFAULT_WINDOW_BYTES)
+                .read(
+                        new RowHandler() {
+                            @Override
+                            public void onStart(final List<String> names) {
+                                columns.addAll(names);
+                            }
+
+                            @Override
+                            public boolean onRow(final SourceRow row) {
+                                return true;
+                            }
+                        });
+        return columns;
+    }
+
+    private Path write(final String content) throws IOException {
+        final Path file = tempDir.resolve("data.csv");
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+        return file;
+    }
+
+    private CsvFileReader reader(final Path file, final boolean header, final int windowBytes) {
+        return new CsvFileReader(file, StandardCharsets.UTF_8, ',', header, windowBytes);
+    }
+
+    private List<List<String>> readAll(final Path file, final int windowBytes) {
+        final List<List<String>> rows = new ArrayList<>();
+        reader(file, true, windowBytes)
+                .read(
+                        row -> {
+                            final List<String> values = new ArrayList<>();
+                            for (int i = 0; i < row.size(); i++) {
+                                values.add(row.getString(i));
+                            }
+                            rows.add(values);
+                            return true;
+                        });
+        return rows;
+    }
+}
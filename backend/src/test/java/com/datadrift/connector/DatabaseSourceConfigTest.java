@@ -0,0 +1,47 @@
+package com.datadrift.connector;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Properties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class DatabaseSourceConfigTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Test
+    @DisplayName("connectionProperties when postgresql then sets timeouts in seconds")
+    void connectionProperties__when_postgresql__then_timeouts_in_seconds() throws IOException {
+        final Properties properties =
+                config(
+                                "{\"host\":\"db\",\"database\":\"app\",\"username\":\"u\",\"password\":\"p\"}")
+                        .connectionProperties(Duration.ofMillis(2500));
+
+        assertEquals("u", properties.getProperty("user"));
+        assertEquals("p", properties.getProperty("password"));
+        assertEquals("3", properties.getProperty("loginTimeout"));
+        assertEquals("3", properties.getProperty("connectTimeout"));
+        assertEquals("3", properties.getProperty("socketTimeout"));
+    }
+
+    @Test
+    @DisplayName("connectionProperties when mysql then sets timeouts in milliseconds")
+    void connectionProperties__when_mysql__then_timeouts_in_millis() throws IOException {
+        final Properties properties =
+                config("{\"dbType\":\"mysql\",\"host\":\"db\",\"database\":\"app\"}")
+                        .connectionProperties(Duration.ofMillis(2500));
+
+        assertEquals("2500", properties.getProperty("connectTimeout"));
+        assertEquals("2500", properties.getProperty("socketTimeout"));
+        assertNull(properties.getProperty("loginTimeout"));
+    }
+
+    private static DatabaseSourceConfig config(final String json) throws IOException {
+        return DatabaseSourceConfig.from(MAPPER.readTree(json));
+    }
+}
@@ -0,0 +1,144 @@
+package com.datadrift.connector;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class JsonFileReaderTest {
+
+    @TempDir private Path tempDir;
+
+    @Test
+    @DisplayName("read when top-level array and no projection then uses first record keys")
+    void read__when_array_without_projection__then_uses_first_record_keys() throws IOException {
+        final Path file =
+                write("[{\"id\":1,\"name\":\"alpha\"},{\"name\":\"beta\",\"id\":2,\"x\":true}]");
+        final List<String> columns = new ArrayList<>();
+        final List<List<String>> rows = readAll(file, List.of(), columns, List.of());
+
+        assertEquals(List.of("id", "name"), columns);
+        assertEquals(List.of(List.of("1", "alpha"), List.of("2", "beta")), rows);
+    }
+
+    @Test
+    @DisplayName("read when NDJSON with projection then returns only selected nested paths")
+    void read__when_ndjson_with_projection__then_returns_selected_paths() throws IOException {
+        final Path file =
+                write(
+                        "{\"id\":1,\"customer\":{\"name\":\"acme\",\"tier\":\"gold\"},"
+                                + "\"lines\":[1,2],\"big\":{\"skip\":[1,2,3]}}\n"
+                                + "{\"id\":2,\"customer\":{\"name\":\"globex\"}}\n");
+        final List<String> columns = new ArrayList<>();
+        final List<List<String>> rows =
+                readAll(file, List.of(), columns, List.of("$.customer.name", "id", "lines"));
+
+        assertEquals(List.of("$.customer.name", "id", "lines"), columns);
+        assertEquals(
+                List.of(Arrays.asList("acme", "1", "[1,2]"), Arrays.asList("globex", "2", null)),
+                rows);
+    }
+
+    @Test
+    @DisplayName("read when recordsPath given then streams the nested array")
+    void read__when_records_path__then_streams_nested_array() throws IOException {
+        final Path file =
+                write("{\"meta\":{\"count\":2},\"data\":{\"items\":[{\"v\":10.5},{\"v\":-3}]}}");
+        final List<Double> values = new ArrayList<>();
+        final long count =
+                new JsonFileReader(file, StandardCharsets.UTF_8, List.of("data", "items"))
+                        .read(
+                                List.of("v"),
+                                row -> {
+                                    values.add(row.getDouble(0));
+                                    return true;
+                                });
+        assertEquals(2, count);
+        assertEquals(List.of(10.5, -3.0), values);
+    }
+
+    @Test
+    @DisplayName("isNull when index is outside the row then is null rather than throwing")
+    void isNull__when_index_outside_row__then_null() throws IOException {
+        final Path file = write("{\"a\":1,\"b\":null}\n");
+        final List<Boolean> nulls = new ArrayList<>();
+        new JsonFileReader(file, StandardCharsets.UTF_8, List.of())
+                .read(
+                        List.of("a", "b"),
+                        row -> {
+                            for (int i = -1; i <= row.size(); i++) {
+                                nulls.add(row.isNull(i));
+                            }
+                            assertNull(row.getString(row.size()));
+                            return true;
+                        });
+        assertEquals(List.of(true, false, true, true), nulls);
+    }
+
+    @Test
+    @DisplayName("read when handler returns false then stops early")
+    void read__when_handler_returns_false__then_stops_early() throws IOException {
+        final Path file = write("{\"a\":1}\n{\"a\":2}\n{\"a\":3}\n");
+        final long count =
+                new JsonFileReader(file, StandardCharsets.UTF_8, List.of()).read(row -> false);
+        assertEquals(1, count);
+    }
+
+    @Test
+    @DisplayName("read when JSON is malformed then throws SourceReadException")
+    void read__when_malformed__then_throws_source_read_exception() throws IOException {
+        final Path file = write("[{\"a\":1},{\"a\":]");
+        final SourceReadException ex =
+                assertThrows(
+                        SourceReadException.class,
+                        () ->
+                                new JsonFileReader(file, StandardCharsets.UTF_8, List.of())
+                                        .read(row -> true));
+        assertTrue(ex.getMessage().startsWith("Invalid JSON"));
+    }
+
+    private Path write(final String content) throws IOException {
+        final Path file = tempDir.resolve("data.json");
+        Files.writeString(file, content);
+        return file;
+    }
+
+    private static List<List<String>> readAll(
+            final Path file,
+            final List<String> recordsPath,
+            final List<String> columns,
+            final List<String> fields) {
+        final List<List<String>> rows = new ArrayList<>();
+        new JsonFileReader(file, StandardCharsets.UTF_8, recordsPath)
+                .read(
+                        fields,
+                        new RowHandler() {
+                            @Override
+                            public void onStart(final List<String> header) {
+                                columns.addAll(header);
+                            }
+
+                            @Override
+                            public boolean onRow(final SourceRow row) {
+                                final List<String> values = new ArrayList<>();
+                                for (int i = 0; i < row.size(); i++) {
+                                    values.add(row.getString(i));
+                                }
+                                rows.add(values);
+                                return true;
+                            }
+                        });
+        return rows;
+    }
+}
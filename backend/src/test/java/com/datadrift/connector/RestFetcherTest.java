@@ -0,0 +1,265 @@
+package com.datadrift.connector;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+class RestFetcherTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<String> requestedQueries = new ArrayList<>();
+    private final ConcurrentHashMap<Integer, AtomicInteger> statuses = new ConcurrentHashMap<>();
+
+    @TempDir private Path cacheDir;
+
+    private HttpServer server;
+    private RestFetcher fetcher;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newFixedThreadPool(4));
+        server.start();
+        fetcher =
+                new RestFetcher(
+                        new RestResponseCache(cacheDir, DataSize.ofMegabytes(1)),
+                        new SimpleMeterRegistry(),
+                        Duration.ofSeconds(5),
+                        Duration.ofSeconds(5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        fetcher.destroy();
+        server.stop(0);
+    }
+
+    @Test
+    @DisplayName("fetch when PAGE pagination then reads pages in order until an empty page")
+    void fetch__when_page_pagination__then_reads_in_order_until_empty_page() throws IOException {
+        server.createContext(
+                "/items",
+                exchange -> {
+                    final int page = Integer.parseInt(queryValue(exchange, "page"));
+                    respond(
+                            exchange,
+                            200,
+                            page <= 3
+                                    ? "{\"data\":[{\"id\":"
+                                            + (page * 10 + 1)
+                                            + "},{\"id\":"
+                                            + (page * 10 + 2)
+                                            + "}]}"
+                                    : "{\"data\":[]}",
+                            null);
+                });
+        final RestSourceConfig config =
+                config(
+                        "/items",
+                        "{\"recordsPath\":\"data\",\"pagination\":{\"type\":\"PAGE\","
+                                + "\"pageParam\":\"page\",\"startPage\":1,\"sizeParam\":\"size\","
+                                + "\"pageSize\":2,\"prefetch\":3}}");
+
+        final List<List<String>> rows = fetchAll(config, List.of());
+
+        assertEquals(
+                List.of(
+                        List.of("11"),
+                        List.of("12"),
+                        List.of("21"),
+                        List.of("22"),
+                        List.of("31"),
+                        List.of("32")),
+                rows);
+        assertTrue(requestedQueries.contains("page=4&size=2"));
+    }
+
+    @Test
+    @DisplayName("fetch when LINK pagination then follows rel next headers")
+    void fetch__when_link_pagination__then_follows_next_links() throws IOException {
+        server.createContext(
+                "/feed",
+                exchange -> {
+                    final String page = queryValue(exchange, "p");
+                    if (page == null) {
+                        exchange.getResponseHeaders()
+                                .add("Link", "</feed?p=2>; rel=\"next\", </feed>; rel=\"first\"");
+                        respond(exchange, 200, "[{\"name\":\"a\",\"n\":1}]", null);
+                    } else {
+                        respond(exchange, 200, "[{\"n\":2,\"name\":\"b\"}]", null);
+                    }
+                });
+        final RestSourceConfig config = config("/feed", "{\"pagination\":{\"type\":\"LINK\"}}");
+
+        final List<String> columns = new ArrayList<>();
+        final List<List<String>> rows = fetchAll(config, List.of(), columns);
+
+        assertEquals(List.of("name", "n"), columns);
+        assertEquals(List.of(List.of("a", "1"), List.of("b", "2")), rows);
+    }
+
+    @Test
+    @DisplayName("fetch when CURSOR pagination then passes the cursor until it is absent")
+    void fetch__when_cursor_pagination__then_passes_cursor_until_absent() throws IOException {
+        server.createContext(
+                "/events",
+                exchange -> {
+                    final String cursor = queryValue(exchange, "after");
+                    if (cursor == null) {
+                        respond(
+                                exchange,
+                                200,
+                                "{\"items\":[{\"e\":\"x\"}],\"meta\":{\"next\":\"c 1\"}}",
+                                null);
+                    } else {
+                        respond(
+                                exchange,
+                                200,
+                                "{\"items\":[{\"e\":\"" + cursor + "\"}],\"meta\":{}}",
+                                null);
+                    }
+                });
+        final RestSourceConfig config =
+                config(
+                        "/events",
+                        "{\"recordsPath\":\"items\",\"pagination\":{\"type\":\"CURSOR\","
+                                + "\"cursorParam\":\"after\",\"cursorPath\":\"meta.next\"}}");
+
+        final List<List<String>> rows = fetchAll(config, List.of("e"));
+
+        assertEquals(List.of(List.of("x"), List.of("c 1")), rows);
+        assertEquals(List.of("", "after=c+1"), requestedQueries);
+    }
+
+    @Test
+    @DisplayName(
+            "fetch when response has an ETag then the next fetch revalidates and reuses the body")
+    void fetch__when_etag__then_second_fetch_gets_304_and_same_rows() throws IOException {
+        server.createContext(
+                "/static",
+                exchange -> {
+                    if ("\"v1\"".equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                        respond(exchange, 304, null, "\"v1\"");
+                    } else {
+                        respond(exchange, 200, "[{\"id\":1},{\"id\":2}]", "\"v1\"");
+                    }
+                });
+        final RestSourceConfig config = config("/static", "{}");
+
+        final List<List<String>> first = fetchAll(config, List.of());
+        final List<List<String>> second = fetchAll(config, List.of());
+
+        assertEquals(List.of(List.of("1"), List.of("2")), first);
+        assertEquals(first, second);
+        assertEquals(1, statuses.get(200).get());
+        assertEquals(1, statuses.get(304).get());
+    }
+
+    @Test
+    @DisplayName("fetch when server returns an error status then throws SourceReadException")
+    void fetch__when_error_status__then_throws() throws IOException {
+        server.createContext("/broken", exchange -> respond(exchange, 500, "{}", null));
+        final RestSourceConfig config = config("/broken", "{}");
+
+        assertThrows(SourceReadException.class, () -> fetchAll(config, List.of()));
+    }
+
+    private RestSourceConfig config(final String path, final String json) throws IOException {
+        final ObjectNode node = (ObjectNode) objectMapper.readTree(json);
+        node.put("url", "http://127.0.0.1:" + server.getAddress().getPort() + path);
+        return RestSourceConfig.from(node);
+    }
+
+    private List<List<String>> fetchAll(final RestSourceConfig config, final List<String> fields) {
+        return fetchAll(config, fields, new ArrayList<>());
+    }
+
+    private List<List<String>> fetchAll(
+            final RestSourceConfig config, final List<String> fields, final List<String> columns) {
+        final List<List<String>> rows = new ArrayList<>();
+        final long count =
+                fetcher.fetch(
+                        config,
+                        fields,
+                        new RowHandler() {
+                            @Override
+                            public void onStart(final List<String> header) {
+                                columns.addAll(header);
+                            }
+
+                            @Override
+                            public boolean onRow(final SourceRow row) {
+                                final List<String> values = new ArrayList<>();
+                                for (int i = 0; i < row.size(); i++) {
+                                    values.add(row.getString(i));
+                                }
+                                rows.add(values);
+                                return true;
+                            }
+                        });
+        assertEquals(rows.size(), count);
+        return rows;
+    }
+
+    private void respond(
+            final HttpExchange exchange, final int status, final String body, final String etag)
+            throws IOException {
+        synchronized (requestedQueries) {
+            final String query = exchange.getRequestURI().getRawQuery();
+            requestedQueries.add(query == null ? "" : query);
+        }
+        statuses.computeIfAbsent(status, s -> new AtomicInteger()).incrementAndGet();
+        if (etag != null) {
+            exchange.getResponseHeaders().add("ETag", etag);
+        }
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        if (body == null) {
+            exchange.sendResponseHeaders(status, -1);
+            exchange.close();
+            return;
+        }
+        final byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static String queryValue(final HttpExchange exchange, final String name) {
+        final String query = exchange.getRequestURI().getRawQuery();
+        if (query == null) {
+            return null;
+        }
+        for (final String pair : query.split("&")) {
+            final int eq = pair.indexOf('=');
+            if (eq > 0 && pair.substring(0, eq).equals(name)) {
+                return URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+            }
+        }
+        return null;
+    }
+}
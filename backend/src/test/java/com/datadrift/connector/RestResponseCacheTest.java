@@ -0,0 +1,50 @@
+package com.datadrift.connector;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+class RestResponseCacheTest {
+
+    @TempDir private Path cacheDir;
+
+    @Test
+    @DisplayName("trim when an entry is pinned then keeps its body until it is unpinned")
+    void trim__when_entry_pinned__then_keeps_body_until_unpinned() throws IOException {
+        final RestResponseCache cache = new RestResponseCache(cacheDir, DataSize.ofBytes(100));
+        final Path served = cache.store("served", download(cache, 60), "\"v1\"", null);
+        cache.unpin("served");
+        final RestResponseCache.Entry revalidating = cache.lookup("served");
+        assertNotNull(revalidating);
+
+        cache.unpin(stored(cache, "other", 60));
+        assertTrue(Files.exists(served), "a pinned body was trimmed");
+
+        cache.unpin("served");
+        cache.unpin(stored(cache, "newest", 60));
+        assertFalse(Files.exists(served));
+        assertNull(cache.lookup("served"));
+    }
+
+    /** Stores a body of {@code size} bytes under {@code key} and returns the key. */
+    private static String stored(final RestResponseCache cache, final String key, final int size)
+            throws IOException {
+        cache.store(key, download(cache, size), "\"" + key + "\"", null);
+        return key;
+    }
+
+    private static Path download(final RestResponseCache cache, final int size) throws IOException {
+        final Path file = cache.newTempFile();
+        Files.write(file, new byte[size]);
+        return file;
+    }
+}
@@ -0,0 +1,64 @@
+package com.datadrift.domain;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ScheduleTriggerTest {
+
+    @Test
+    @DisplayName("nextFireAfter when interval then aligns to the next interval boundary")
+    void nextFireAfter__when_interval__then_aligns_to_next_boundary() {
+        final ScheduleTrigger trigger =
+                new ScheduleTrigger(
+                        ScheduleTrigger.Frequency.INTERVAL,
+                        Duration.ofMinutes(15),
+                        LocalTime.MIDNIGHT,
+                        null,
+                        ZoneOffset.UTC);
+        assertEquals(
+                Instant.parse("2024-03-01T10:15:00Z"),
+                trigger.nextFireAfter(Instant.parse("2024-03-01T10:07:31Z")));
+        assertEquals(
+                Instant.parse("2024-03-01T10:30:00Z"),
+                trigger.nextFireAfter(Instant.parse("2024-03-01T10:15:00Z")));
+    }
+
+    @Test
+    @DisplayName("nextFireAfter when daily time already passed then fires tomorrow in the zone")
+    void nextFireAfter__when_daily_time_passed__then_fires_tomorrow() {
+        final ScheduleTrigger trigger =
+                new ScheduleTrigger(
+                        ScheduleTrigger.Frequency.DAILY,
+                        null,
+                        LocalTime.of(8, 30),
+                        null,
+                        ZoneId.of("Europe/Berlin"));
+        assertEquals(
+                Instant.parse("2024-03-02T07:30:00Z"),
+                trigger.nextFireAfter(Instant.parse("2024-03-01T09:00:00Z")));
+    }
+
+    @Test
+    @DisplayName("nextFireAfter when weekly then fires on the configured day")
+    void nextFireAfter__when_weekly__then_fires_on_configured_day() {
+        final ScheduleTrigger trigger =
+                new ScheduleTrigger(
+                        ScheduleTrigger.Frequency.WEEKLY,
+                        null,
+                        LocalTime.of(6, 0),
+                        DayOfWeek.MONDAY,
+                        ZoneOffset.UTC);
+        // 2024-03-01 is a Friday.
+        assertEquals(
+                Instant.parse("2024-03-04T06:00:00Z"),
+                trigger.nextFireAfter(Instant.parse("2024-03-01T12:00:00Z")));
+    }
+}
@@ -0,0 +1,156 @@
+package com.datadrift.execution;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.datadrift.connector.RowPredicate;
+import com.datadrift.connector.SourceRow;
+import com.datadrift.domain.Condition;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ConditionCompilerTest {
+
+    private static final List<String> COLUMNS = List.of("id", "customer", "amount", "active");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("compile when numeric comparisons then compares values numerically")
+    void compile__when_numeric_comparisons__then_compares_numerically() throws IOException {
+        final RowPredicate gt = predicate("{\"field\":\"amount\",\"op\":\"GT\",\"value\":9.5}");
+        final RowPredicate lte = predicate("{\"field\":\"amount\",\"op\":\"LTE\",\"value\":10}");
+
+        assertTrue(gt.test(row("1", "acme", "10", "true")));
+        assertFalse(gt.test(row("1", "acme", "9", "true")));
+        assertTrue(lte.test(row("1", "acme", "10.0", "true")));
+        assertFalse(lte.test(row("1", "acme", "100", "true")));
+    }
+
+    @Test
+    @DisplayName("compile when field is null or not numeric then comparison is false")
+    void compile__when_null_or_not_numeric__then_false() throws IOException {
+        final RowPredicate gt = predicate("{\"field\":\"amount\",\"op\":\"GT\",\"value\":1}");
+        final RowPredicate isNull = predicate("{\"field\":\"amount\",\"op\":\"IS_NULL\"}");
+
+        assertFalse(gt.test(row("1", "acme", null, "true")));
+        assertFalse(gt.test(row("1", "acme", "n/a", "true")));
+        assertTrue(isNull.test(row("1", "acme", null, "true")));
+    }
+
+    @Test
+    @DisplayName("compile when text, boolean and IN tests then matches by type")
+    void compile__when_text_boolean_and_in__then_matches_by_type() throws IOException {
+        final RowPredicate contains =
+                predicate("{\"field\":\"customer\",\"op\":\"CONTAINS\",\"value\":\"cm\"}");
+        final RowPredicate active =
+                predicate("{\"field\":\"active\",\"op\":\"EQUALS\",\"value\":true}");
+        final RowPredicate in = predicate("{\"field\":\"id\",\"op\":\"IN\",\"values\":[3,1]}");
+
+        assertTrue(contains.test(row("1", "acme", "1", "TRUE")));
+        assertFalse(contains.test(row("1", "globex", "1", "TRUE")));
+        assertTrue(active.test(row("1", "acme", "1", "TRUE")));
+        assertFalse(active.test(row("1", "acme", "1", "false")));
+        assertTrue(in.test(row("3", "acme", "1", "true")));
+        assertFalse(in.test(row("2", "acme", "1", "true")));
+    }
+
+    @Test
+    @DisplayName("compile when nested AND/OR groups then short-circuits like the tree")
+    void compile__when_nested_groups__then_evaluates_tree() throws IOException {
+        final RowPredicate predicate =
+                predicate(
+                        "{\"op\":\"AND\",\"conditions\":["
+                                + "{\"field\":\"amount\",\"op\":\"GTE\",\"value\":5},"
+                                + "{\"op\":\"OR\",\"conditions\":["
+                                + "{\"field\":\"customer\",\"op\":\"EQUALS\",\"value\":\"acme\"},"
+                                + "{\"field\":\"id\",\"op\":\"LT\",\"value\":2}]}]}");
+
+        assertTrue(predicate.test(row("9", "acme", "5", "true")));
+        assertTrue(predicate.test(row("1", "globex", "7", "true")));
+        assertFalse(predicate.test(row("9", "globex", "7", "true")));
+        assertFalse(predicate.test(row("1", "acme", "4", "true")));
+    }
+
+    @Test
+    @DisplayName("parse when groups nest the same junction then flattens and orders by cost")
+    void parse__when_same_junction_nested__then_flattens_and_orders() throws IOException {
+        final Condition condition =
+                ConditionCompiler.parse(
+                        objectMapper.readTree(
+                                "{\"op\":\"AND\",\"conditions\":["
+                                        + "{\"field\":\"customer\",\"op\":\"CONTAINS\",\"value\":1},"
+                                        + "{\"op\":\"AND\",\"conditions\":["
+                                        + "{\"field\":\"amount\",\"op\":\"GT\",\"value\":1},"
+                                        + "{\"field\":\"id\",\"op\":\"IS_NOT_NULL\"}]}]}"));
+
+        final Condition.Group group = assertInstanceOf(Condition.Group.class, condition);
+        assertEquals(
+                List.of("id", "amount", "customer"),
+                group.conditions().stream()
+                        .map(child -> ((Condition.Comparison) child).field())
+                        .toList());
+        assertEquals("1", ((Condition.Comparison) group.conditions().get(2)).value());
+    }
+
+    @Test
+    @DisplayName("parse and compile when invalid tree or unknown field then throws")
+    void parse__when_invalid__then_throws() throws IOException {
+        assertNull(ConditionCompiler.parse(objectMapper.readTree("{}")));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> predicate("{\"field\":\"amount\",\"op\":\"BETWEEN\",\"value\":1}"));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> predicate("{\"field\":\"active\",\"op\":\"GT\",\"value\":true}"));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> predicate("{\"op\":\"OR\",\"conditions\":[]}"));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> predicate("{\"field\":\"missing\",\"op\":\"IS_NULL\"}"));
+    }
+
+    private RowPredicate predicate(final String json) throws IOException {
+        return ConditionCompiler.compile(
+                ConditionCompiler.parse(objectMapper.readTree(json)), COLUMNS);
+    }
+
+    private static SourceRow row(final String... values) {
+        final List<String> cells = Arrays.asList(values);
+        return new SourceRow() {
+            @Override
+            public int size() {
+                return cells.size();
+            }
+
+            @Override
+            public boolean isNull(final int index) {
+                return cells.get(index) == null;
+            }
+
+            @Override
+            public String getString(final int index) {
+                return cells.get(index);
+            }
+
+            @Override
+            public long getLong(final int index) {
+                return Long.parseLong(cells.get(index));
+            }
+
+            @Override
+            public double getDouble(final int index) {
+                return Double.parseDouble(cells.get(index));
+            }
+        };
+    }
+}
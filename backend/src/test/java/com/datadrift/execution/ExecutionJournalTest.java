@@ -0,0 +1,121 @@
+package com.datadrift.execution;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.datadrift.domain.ExecutionTrigger;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+class ExecutionJournalTest {
+
+    private static final Instant NOW = Instant.parse("2024-01-01T00:00:00Z");
+
+    @TempDir private Path tempDir;
+
+    @Test
+    @DisplayName("start when executions were not finished then recovers their latest state")
+    void start__when_unfinished__then_recovers_latest_state() {
+        final Path file = tempDir.resolve("executions.journal");
+        final UUID queuedRule = UUID.randomUUID();
+        final UUID runningRule = UUID.randomUUID();
+        final ExecutionJournal first = journal(file, DataSize.ofMegabytes(1));
+        first.start();
+        final UUID finished = first.queued(UUID.randomUUID(), ExecutionTrigger.MANUAL);
+        final UUID queued = first.queued(queuedRule, ExecutionTrigger.SCHEDULE);
+        final UUID running = first.queued(runningRule, ExecutionTrigger.WEBHOOK);
+        first.running(running);
+        first.running(finished);
+        first.finished(finished);
+        first.stop();
+
+        final ExecutionJournal second = journal(file, DataSize.ofMegabytes(1));
+        second.start();
+        try {
+            assertEquals(
+                    List.of(
+                            new ExecutionJournal.OpenExecution(
+                                    queued,
+                                    queuedRule,
+                                    ExecutionTrigger.SCHEDULE,
+                                    ExecutionJournal.State.QUEUED,
+                                    NOW),
+                            new ExecutionJournal.OpenExecution(
+                                    running,
+                                    runningRule,
+                                    ExecutionTrigger.WEBHOOK,
+                                    ExecutionJournal.State.RUNNING,
+                                    NOW)),
+                    second.recovered());
+            second.finished(queued);
+            second.finished(running);
+            assertEquals(0, second.openCount());
+        } finally {
+            second.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("append when the journal is full then compacts it to the open executions")
+    void append__when_full__then_compacts() {
+        final Path file = tempDir.resolve("executions.journal");
+        final ExecutionJournal journal = journal(file, DataSize.ofBytes(256));
+        journal.start();
+        final UUID open = journal.queued(UUID.randomUUID(), ExecutionTrigger.SCHEDULE);
+        for (int i = 0; i < 100; i++) {
+            final UUID execution = journal.queued(UUID.randomUUID(), ExecutionTrigger.MANUAL);
+            journal.running(execution);
+            journal.finished(execution);
+        }
+        journal.stop();
+
+        final ExecutionJournal reopened = journal(file, DataSize.ofBytes(256));
+        reopened.start();
+        try {
+            assertEquals(1, reopened.recovered().size());
+            assertEquals(open, reopened.recovered().get(0).executionId());
+        } finally {
+            reopened.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("start when a record is torn then recovers the records before it")
+    void start__when_torn_record__then_ignores_the_rest() throws IOException {
+        final Path file = tempDir.resolve("executions.journal");
+        final ExecutionJournal first = journal(file, DataSize.ofKilobytes(4));
+        first.start();
+        final UUID kept = first.queued(UUID.randomUUID(), ExecutionTrigger.SCHEDULE);
+        final UUID torn = first.queued(UUID.randomUUID(), ExecutionTrigger.SCHEDULE);
+        first.running(torn);
+        first.stop();
+        final byte[] bytes = Files.readAllBytes(file);
+        // Records are 46 bytes: flip a bit in the second record's execution id.
+        bytes[46 + 1] ^= 0x7f;
+        Files.write(file, bytes);
+
+        final ExecutionJournal second = journal(file, DataSize.ofKilobytes(4));
+        second.start();
+        try {
+            assertEquals(1, second.recovered().size());
+            assertEquals(kept, second.recovered().get(0).executionId());
+        } finally {
+            second.stop();
+        }
+    }
+
+    private static ExecutionJournal journal(final Path file, final DataSize size) {
+        return new ExecutionJournal(
+                Clock.fixed(NOW, ZoneOffset.UTC), new SimpleMeterRegistry(), file, size);
+    }
+}
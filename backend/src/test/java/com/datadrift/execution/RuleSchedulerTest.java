@@ -0,0 +1,286 @@
+package com.datadrift.execution;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.datadrift.domain.AutomationRule;
+import com.datadrift.domain.ExecutionRecord;
+import com.datadrift.domain.ExecutionStatus;
+import com.datadrift.domain.ExecutionTrigger;
+import com.datadrift.repository.ExecutionLogRepository;
+import com.datadrift.service.AutomationRuleService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+class RuleSchedulerTest {
+
+    /** Aligned to every interval, so an N-minute rule first fires at NOW + N minutes. */
+    private static final Instant NOW = Instant.parse("2024-01-01T00:00:00Z");
+
+    private static final UUID SOURCE = UUID.randomUUID();
+    private static final UUID OTHER_SOURCE = UUID.randomUUID();
+
+    @TempDir private Path tempDir;
+
+    private final StubRuleService ruleService = new StubRuleService();
+    private final StubRunner runner = new StubRunner();
+    private final List<ExecutionRecord> committed = new CopyOnWriteArrayList<>();
+    private ExecutionJournal journal;
+    private ExecutionLogWriter writer;
+    private RuleScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        journal =
+                new ExecutionJournal(
+                        Clock.fixed(NOW, ZoneOffset.UTC),
+                        new SimpleMeterRegistry(),
+                        tempDir.resolve("executions.journal"),
+                        DataSize.ofKilobytes(64));
+        journal.start();
+        final ExecutionLogRepository repository =
+                new ExecutionLogRepository(null) {
+                    @Override
+                    public void insertAll(final List<ExecutionRecord> records) {
+                        committed.addAll(records);
+                    }
+                };
+        // Never started, so appended records are written (and settled) synchronously.
+        writer =
+                new ExecutionLogWriter(
+                        repository, journal, 16, 16, Duration.ofSeconds(1), Duration.ofSeconds(1));
+        scheduler =
+                new RuleScheduler(
+                        ruleService,
+                        runner,
+                        journal,
+                        writer,
+                        Clock.fixed(NOW, ZoneOffset.UTC),
+                        new SimpleMeterRegistry(),
+                        2,
+                        true);
+        scheduler.open();
+    }
+
+    @AfterEach
+    void tearDown() {
+        runner.release.countDown();
+        scheduler.stop();
+        journal.stop();
+    }
+
+    @Test
+    @DisplayName("fireDue when several rules are due then dispatches them by due time")
+    void fireDue__when_several_due__then_dispatches_by_due_time() {
+        final UUID tenMinutes = add(rule(10, SOURCE));
+        final UUID threeMinutes = add(rule(3, OTHER_SOURCE));
+        final UUID fiveMinutes = add(rule(5, UUID.randomUUID()));
+        runner.release.countDown();
+
+        assertEquals(List.of(), scheduler.fireDue(NOW.plusSeconds(60)));
+        assertEquals(
+                List.of(threeMinutes, fiveMinutes, tenMinutes),
+                scheduler.fireDue(NOW.plusSeconds(600)));
+        await(() -> runner.finished.size() == 3);
+    }
+
+    @Test
+    @DisplayName("schedule when a rule changes then its earlier queue entries are superseded")
+    void schedule__when_rule_changes__then_earlier_entries_superseded() {
+        final AutomationRule rule = rule(3, SOURCE);
+        final UUID ruleId = add(rule);
+        runner.release.countDown();
+
+        edit(rule, true, 10);
+        assertEquals(List.of(), scheduler.fireDue(NOW.plusSeconds(300)));
+
+        edit(rule, false, 10);
+        assertEquals(List.of(), scheduler.fireDue(NOW.plusSeconds(600)));
+        assertEquals(0, scheduler.scheduledCount());
+
+        edit(rule, true, 10);
+        assertEquals(List.of(ruleId), scheduler.fireDue(NOW.plusSeconds(600)));
+    }
+
+    @Test
+    @DisplayName("fireDue when a source is at its cap then queues its rules but not other sources")
+    void fireDue__when_source_at_cap__then_queues_only_that_source() {
+        final UUID first = add(rule(1, SOURCE));
+        final UUID second = add(rule(1, SOURCE));
+        final UUID third = add(rule(1, SOURCE));
+        final UUID elsewhere = add(rule(1, OTHER_SOURCE));
+
+        assertEquals(4, scheduler.fireDue(NOW.plusSeconds(60)).size());
+        await(() -> runner.started.size() == 3);
+
+        assertTrue(runner.started.contains(elsewhere));
+        assertEquals(2, runner.started.stream().filter(id -> !id.equals(elsewhere)).count());
+        assertEquals(4, scheduler.inFlightCount());
+        runner.release.countDown();
+        await(() -> runner.finished.size() == 4);
+        assertTrue(runner.started.containsAll(List.of(first, second, third)));
+        assertEquals(2, runner.maxRunning(SOURCE));
+    }
+
+    @Test
+    @DisplayName("fireDue when the previous run is in flight then skips the firing")
+    void fireDue__when_previous_run_in_flight__then_skips() {
+        final UUID ruleId = add(rule(1, SOURCE));
+
+        assertEquals(List.of(ruleId), scheduler.fireDue(NOW.plusSeconds(60)));
+        await(() -> runner.started.size() == 1);
+        assertEquals(List.of(), scheduler.fireDue(NOW.plusSeconds(120)));
+
+        runner.release.countDown();
+        await(() -> scheduler.inFlightCount() == 0);
+        assertEquals(List.of(ruleId), scheduler.fireDue(NOW.plusSeconds(180)));
+        await(() -> runner.finished.size() == 2);
+        assertEquals(List.of(ruleId, ruleId), runner.started);
+    }
+
+    @Test
+    @DisplayName("run when its record is not committed yet then the execution stays open")
+    void run__when_record_not_committed__then_execution_stays_open() {
+        final UUID ruleId = add(rule(1, SOURCE));
+        runner.release.countDown();
+
+        assertEquals(List.of(ruleId), scheduler.fireDue(NOW.plusSeconds(60)));
+        await(() -> scheduler.inFlightCount() == 0);
+        assertEquals(1, journal.openCount());
+
+        final UUID executionId = runner.executions.get(0);
+        writer.append(
+                new ExecutionRecord(
+                        executionId,
+                        ruleId,
+                        null,
+                        SOURCE,
+                        ExecutionTrigger.SCHEDULE,
+                        ExecutionStatus.SUCCESS,
+                        NOW,
+                        NOW,
+                        0,
+                        "ok"));
+        assertEquals(executionId, committed.get(0).id());
+        assertEquals(0, journal.openCount());
+    }
+
+    private UUID add(final AutomationRule rule) {
+        ruleService.rules.put(rule.getId(), rule);
+        scheduler.schedule(rule);
+        return rule.getId();
+    }
+
+    private void edit(final AutomationRule rule, final boolean enabled, final int intervalMinutes) {
+        rule.update(
+                rule.getName(),
+                enabled,
+                rule.getDataSourceId(),
+                interval(intervalMinutes),
+                rule.getDefinition(),
+                NOW);
+        scheduler.schedule(rule);
+    }
+
+    private AutomationRule rule(final int intervalMinutes, final UUID dataSourceId) {
+        final UUID id = UUID.randomUUID();
+        runner.sources.put(id, dataSourceId);
+        return new AutomationRule(
+                id, "rule-" + id, true, dataSourceId, interval(intervalMinutes), "{}", NOW);
+    }
+
+    private static String interval(final int minutes) {
+        return "{\"type\":\"schedule\",\"frequency\":\"INTERVAL\",\"intervalMinutes\":"
+                + minutes
+                + "}";
+    }
+
+    private static void await(final BooleanSupplier condition) {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not met within 5s");
+            try {
+                Thread.sleep(10);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /** Serves rules from memory; only what the scheduler calls is supported. */
+    private static final class StubRuleService extends AutomationRuleService {
+
+        private final Map<UUID, AutomationRule> rules = new ConcurrentHashMap<>();
+
+        StubRuleService() {
+            super(null, null, null, new ObjectMapper(), event -> {});
+        }
+
+        @Override
+        public List<AutomationRule> findEnabled() {
+            return rules.values().stream().filter(AutomationRule::isEnabled).toList();
+        }
+
+        @Override
+        public AutomationRule getById(final UUID id) {
+            final AutomationRule rule = rules.get(id);
+            if (rule == null) {
+                throw new RuleNotFoundException("Automation rule not found: " + id);
+            }
+            return rule;
+        }
+    }
+
+    /** Records runs and holds each one until {@link #release} opens. */
+    private static final class StubRunner implements RuleRunner {
+
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final List<UUID> executions = new CopyOnWriteArrayList<>();
+        private final List<UUID> started = new CopyOnWriteArrayList<>();
+        private final List<UUID> finished = new CopyOnWriteArrayList<>();
+        private final Map<UUID, UUID> sources = new ConcurrentHashMap<>();
+        private final Map<UUID, Integer> running = new ConcurrentHashMap<>();
+        private final Map<UUID, Integer> maxRunning = new ConcurrentHashMap<>();
+
+        @Override
+        public void run(final UUID executionId, final UUID ruleId, final ExecutionTrigger trigger) {
+            executions.add(executionId);
+            final UUID source = sources.get(ruleId);
+            final int now = running.merge(source, 1, Integer::sum);
+            maxRunning.merge(source, now, Math::max);
+            started.add(ruleId);
+            try {
+                release.await();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                running.merge(source, -1, Integer::sum);
+                finished.add(ruleId);
+            }
+        }
+
+        int maxRunning(final UUID source) {
+            return maxRunning.getOrDefault(source, 0);
+        }
+    }
+}
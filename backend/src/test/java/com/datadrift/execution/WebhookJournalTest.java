@@ -0,0 +1,110 @@
+package com.datadrift.execution;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class WebhookJournalTest {
+
+    private static final Instant NOW = Instant.parse("2024-01-01T00:00:00Z");
+
+    @TempDir private Path tempDir;
+
+    @Test
+    @DisplayName("open when events were not acknowledged then replays them in order")
+    void open__when_unacknowledged__then_replays() throws IOException {
+        final Path file = tempDir.resolve("webhooks.journal");
+        final UUID first = UUID.randomUUID();
+        final UUID second = UUID.randomUUID();
+        try (WebhookJournal journal = open(file, false)) {
+            journal.append(first, NOW);
+            journal.append(second, NOW);
+            journal.append(first, NOW);
+            journal.ack(first, 1);
+        }
+
+        try (WebhookJournal journal = open(file, false)) {
+            assertEquals(
+                    List.of(
+                            new WebhookJournal.Event(2, second, NOW),
+                            new WebhookJournal.Event(3, first, NOW)),
+                    journal.replayed());
+            assertEquals(4, journal.append(second, NOW).sequence());
+        }
+    }
+
+    @Test
+    @DisplayName("ack when every event is acknowledged then nothing is replayed")
+    void ack__when_all_acknowledged__then_replays_nothing() throws IOException {
+        final Path file = tempDir.resolve("webhooks.journal");
+        final UUID rule = UUID.randomUUID();
+        try (WebhookJournal journal = open(file, true)) {
+            journal.append(rule, NOW);
+            journal.append(rule, NOW);
+            journal.awaitDurable();
+            journal.ack(rule, 2);
+        }
+
+        try (WebhookJournal journal = open(file, false)) {
+            assertTrue(journal.replayed().isEmpty());
+        }
+    }
+
+    @Test
+    @DisplayName("append when the journal is full then compacts it to the outstanding events")
+    void append__when_full__then_compacts() throws IOException {
+        final Path file = tempDir.resolve("webhooks.journal");
+        final UUID busy = UUID.randomUUID();
+        final UUID idle = UUID.randomUUID();
+        try (WebhookJournal journal = open(file, true, WebhookJournal.MIN_BYTES * 4)) {
+            journal.append(idle, NOW);
+            for (int i = 0; i < 100; i++) {
+                final WebhookJournal.Event event = journal.append(busy, NOW);
+                journal.awaitDurable();
+                journal.ack(busy, event.sequence());
+            }
+        }
+
+        try (WebhookJournal journal = open(file, false)) {
+            assertEquals(List.of(new WebhookJournal.Event(1, idle, NOW)), journal.replayed());
+        }
+    }
+
+    @Test
+    @DisplayName("open when a record is torn then replays the records before it")
+    void open__when_torn_record__then_ignores_the_rest() throws IOException {
+        final Path file = tempDir.resolve("webhooks.journal");
+        final UUID rule = UUID.randomUUID();
+        try (WebhookJournal journal = open(file, false)) {
+            journal.append(rule, NOW);
+            journal.append(rule, NOW);
+        }
+        final byte[] bytes = Files.readAllBytes(file);
+        bytes[WebhookJournal.MIN_BYTES + 1] ^= 0x7f;
+        Files.write(file, bytes);
+
+        try (WebhookJournal journal = open(file, false)) {
+            assertEquals(List.of(new WebhookJournal.Event(1, rule, NOW)), journal.replayed());
+        }
+    }
+
+    private static WebhookJournal open(final Path file, final boolean fsync) throws IOException {
+        return open(file, fsync, 64 * 1024);
+    }
+
+    private static WebhookJournal open(final Path file, final boolean fsync, final int capacity)
+            throws IOException {
+        return WebhookJournal.open(
+                file, fsync, capacity, new SimpleMeterRegistry().timer("webhooks.journal.sync"));
+    }
+}
@@ -0,0 +1,97 @@
+package com.datadrift.report;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.datadrift.domain.ReportFormat;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ReportWriterTest {
+
+    private static final List<String> COLUMNS = List.of("id", "name", "active");
+
+    @Test
+    @DisplayName("CSV when values contain separators and quotes then quotes only those fields")
+    void csv__when_values_contain_separators_and_quotes__then_quotes_only_those_fields()
+            throws IOException {
+        final String csv =
+                write(
+                        ReportFormat.CSV,
+                        new Object[] {1L, "acme, inc", true},
+                        new Object[] {2L, "say \"hi\"", null});
+
+        assertEquals("id,name,active\r\n1,\"acme, inc\",true\r\n2,\"say \"\"hi\"\"\",\r\n", csv);
+    }
+
+    @Test
+    @DisplayName("JSON when rows written then produces an array of typed objects")
+    void json__when_rows_written__then_produces_an_array_of_typed_objects() throws IOException {
+        final JsonNode json =
+                new ObjectMapper()
+                        .readTree(
+                                write(
+                                        ReportFormat.JSON,
+                                        new Object[] {1L, "acme", true},
+                                        new Object[] {2.5, null, false}));
+
+        assertEquals(2, json.size());
+        assertEquals(1L, json.get(0).get("id").asLong());
+        assertEquals("acme", json.get(0).get("name").asText());
+        assertEquals(2.5, json.get(1).get("id").asDouble());
+        assertEquals(true, json.get(1).get("name").isNull());
+    }
+
+    @Test
+    @DisplayName("XML when values need escaping then escapes them and marks nulls")
+    void xml__when_values_need_escaping__then_escapes_them_and_marks_nulls() throws IOException {
+        final String xml = write(ReportFormat.XML, new Object[] {1L, "a<b & c", null});
+
+        assertEquals(
+                "<?xml version=\"1.0\" encoding=\"UTF-8\"?><report><row>"
+                        + "<field name=\"id\">1</field>"
+                        + "<field name=\"name\">a&lt;b &amp; c</field>"
+                        + "<field name=\"active\" null=\"true\"/>"
+                        + "</row></report>",
+                xml);
+    }
+
+    @Test
+    @DisplayName("YAML when strings look like other types then double-quotes them")
+    void yaml__when_strings_look_like_other_types__then_double_quotes_them() throws IOException {
+        final String yaml =
+                write(
+                        ReportFormat.YAML,
+                        new Object[] {1L, "yes", true},
+                        new Object[] {Double.NaN, "line\nbreak: \"x\"", null});
+
+        assertEquals(
+                "- \"id\": 1\n  \"name\": \"yes\"\n  \"active\": true\n"
+                        + "- \"id\": .nan\n  \"name\": \"line\\nbreak: \\\"x\\\"\"\n"
+                        + "  \"active\": null\n",
+                yaml);
+    }
+
+    @Test
+    @DisplayName("YAML when no rows then writes an empty sequence")
+    void yaml__when_no_rows__then_writes_an_empty_sequence() throws IOException {
+        assertEquals("[]\n", write(ReportFormat.YAML));
+    }
+
+    private static String write(final ReportFormat format, final Object[]... rows)
+            throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final ReportWriter writer = ReportWriter.create(format, out);
+        writer.start(COLUMNS);
+        for (final Object[] row : rows) {
+            writer.row(row);
+        }
+        writer.finish();
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
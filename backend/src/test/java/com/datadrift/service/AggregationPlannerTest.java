@@ -0,0 +1,98 @@
+package com.datadrift.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.datadrift.domain.AggregationSpec;
+import com.datadrift.domain.AggregationSpec.Function;
+import com.datadrift.domain.AggregationSpec.Measure;
+import com.datadrift.domain.AggregationSpec.TimeBucket;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class AggregationPlannerTest {
+
+    private static final String VIEW = "SELECT * FROM source";
+
+    @Test
+    @DisplayName("sql when grouped then groups and orders by position with default aliases")
+    void sql__when_grouped__then_positional_keys() {
+        final AggregationSpec spec =
+                new AggregationSpec(
+                        List.of("customer"),
+                        List.of(
+                                new Measure(Function.SUM, "amount", null),
+                                new Measure(Function.COUNT_DISTINCT, "id", "orders")),
+                        null,
+                        null);
+
+        assertEquals(
+                "WITH view_result AS (SELECT * FROM source) SELECT \"customer\","
+                        + " sum(\"amount\") AS \"sum_amount\","
+                        + " count(DISTINCT \"id\") AS \"orders\" FROM view_result"
+                        + " GROUP BY 1 ORDER BY 1 LIMIT 11",
+                AggregationPlanner.sql(VIEW, spec, 11));
+        assertEquals(List.of("customer", "sum_amount", "orders"), AggregationPlanner.columns(spec));
+    }
+
+    @Test
+    @DisplayName("sql when time bucket then sizes buckets from the column's range and points")
+    void sql__when_time_bucket__then_bucket_first() {
+        final AggregationSpec spec =
+                new AggregationSpec(
+                        List.of(),
+                        List.of(new Measure(Function.COUNT, null, null)),
+                        new TimeBucket("ts", 300),
+                        null);
+
+        final String sql = AggregationPlanner.sql(VIEW, spec, 10);
+
+        assertTrue(sql.contains("(hi - lo) // 300 + 1"), sql);
+        assertTrue(sql.contains("// 1000 AS \"bucket\", count(*) AS \"count\""), sql);
+        assertTrue(sql.endsWith("IS NOT NULL GROUP BY 1 ORDER BY 1 LIMIT 10"), sql);
+        assertEquals(List.of("bucket", "count"), AggregationPlanner.columns(spec));
+    }
+
+    @Test
+    @DisplayName("sql when spec is invalid then throws IllegalArgumentException")
+    void sql__when_invalid__then_throws() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> AggregationPlanner.sql(VIEW, new AggregationSpec(null, null, null, null), 1));
+        assertThrows(
+                IllegalArgumentException.class,
+                () ->
+                        AggregationPlanner.sql(
+                                VIEW,
+                                new AggregationSpec(
+                                        null,
+                                        List.of(new Measure(Function.SUM, null, null)),
+                                        null,
+                                        null),
+                                1));
+        assertThrows(
+                IllegalArgumentException.class,
+                () ->
+                        AggregationPlanner.sql(
+                                VIEW,
+                                new AggregationSpec(
+                                        List.of("sum_amount"),
+                                        List.of(new Measure(Function.SUM, "amount", null)),
+                                        null,
+                                        null),
+                                1));
+        assertThrows(
+                IllegalArgumentException.class,
+                () ->
+                        AggregationPlanner.sql(
+                                VIEW,
+                                new AggregationSpec(
+                                        null,
+                                        List.of(new Measure(Function.COUNT, null, null)),
+                                        new TimeBucket("ts", 0),
+                                        null),
+                                1));
+    }
+}
@@ -0,0 +1,72 @@
+package com.datadrift.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ConfigTransformerTest {
+
+    private static final byte[] TEST_KEY = "01234567890123456789012345678901".getBytes();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private EncryptionService encryptionService;
+    private ConfigTransformer transformer;
+
+    @BeforeEach
+    void setUp() {
+        encryptionService = new EncryptionService(TEST_KEY, new SimpleMeterRegistry());
+        transformer = new ConfigTransformer(objectMapper, encryptionService);
+    }
+
+    @Test
+    @DisplayName("prepareForStorage when nested sensitive keys in any case then encrypts them")
+    void prepareForStorage__when_nested_sensitive_keys__then_encrypts_them() throws Exception {
+        final String stored =
+                transformer.prepareForStorage(
+                        "{\"url\":\"u\",\"auth\":{\"PASSWORD\":\"p\",\"user\":\"x\"},"
+                                + "\"headers\":{\"Api_Key\":\"k\"}}",
+                        null);
+        final JsonNode root = objectMapper.readTree(stored);
+        assertTrue(encryptionService.isEncrypted(root.at("/auth/PASSWORD").asText()));
+        assertTrue(encryptionService.isEncrypted(root.at("/headers/Api_Key").asText()));
+        assertEquals("x", root.at("/auth/user").asText());
+        assertEquals("p", transformer.decrypt(stored).at("/auth/PASSWORD").asText());
+    }
+
+    @Test
+    @DisplayName("prepareForStorage when update sends masked nested secret then keeps stored value")
+    void prepareForStorage__when_masked_nested_secret__then_keeps_stored_value() {
+        final String stored =
+                transformer.prepareForStorage("{\"auth\":{\"token\":\"t1\"},\"a\":1}", null);
+        final String updated =
+                transformer.prepareForStorage("{\"auth\":{\"token\":\"******\"},\"a\":2}", stored);
+        final JsonNode decrypted = transformer.decrypt(updated);
+        assertEquals("t1", decrypted.at("/auth/token").asText());
+        assertEquals(2, decrypted.get("a").asInt());
+    }
+
+    @Test
+    @DisplayName("mask when nested secrets then masks in place and leaves other values")
+    void mask__when_nested_secrets__then_masks_secrets_only() throws Exception {
+        final String stored =
+                transformer.prepareForStorage("{\"db\":{\"secret\":\"s\",\"host\":\"h\"}}", null);
+        final String masked = transformer.mask(stored);
+        assertEquals("{\"db\":{\"secret\":\"******\",\"host\":\"h\"}}", masked);
+    }
+
+    @Test
+    @DisplayName("prepareForStorage when invalid JSON then throws IllegalArgumentException")
+    void prepareForStorage__when_invalid_json__then_throws() {
+        assertThrows(
+                IllegalArgumentException.class, () -> transformer.prepareForStorage("{", null));
+        assertFalse(ConfigTransformer.isSensitiveKey("username"));
+    }
+}
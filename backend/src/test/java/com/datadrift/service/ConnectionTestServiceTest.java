@@ -0,0 +1,158 @@
+package com.datadrift.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.datadrift.domain.DataSourceType;
+import com.datadrift.repository.DataSourceRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+@ExtendWith(SpringExtension.class)
+@DataJpaTest
+class ConnectionTestServiceTest {
+
+    private static final byte[] TEST_KEY = "01234567890123456789012345678901".getBytes();
+    private static final Duration TIMEOUT = Duration.ofMillis(500);
+
+    @Autowired private DataSourceRepository dataSourceRepository;
+
+    @TempDir private Path tempDir;
+
+    private DataSourceService dataSourceService;
+    private ConnectionTestService connectionTestService;
+    private HttpServer server;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        dataSourceService =
+                new DataSourceService(
+                        dataSourceRepository,
+                        new EncryptionService(TEST_KEY, new SimpleMeterRegistry()),
+                        new ObjectMapper(),
+                        event -> {},
+                        new DataSourceCache(Duration.ofMinutes(5), 100),
+                        new SimpleMeterRegistry());
+        connectionTestService =
+                new ConnectionTestService(
+                        dataSourceService, new ObjectMapper(), event -> {}, TIMEOUT);
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext(
+                "/ok",
+                exchange -> {
+                    exchange.sendResponseHeaders(200, -1);
+                    exchange.close();
+                });
+        server.createContext(
+                "/secured",
+                exchange -> {
+                    final boolean authorized =
+                            "Bearer t0ken"
+                                    .equals(exchange.getRequestHeaders().getFirst("Authorization"));
+                    exchange.sendResponseHeaders(authorized ? 200 : 401, -1);
+                    exchange.close();
+                });
+        server.createContext(
+                "/slow",
+                exchange -> {
+                    try {
+                        Thread.sleep(5_000);
+                    } catch (final InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    exchange.sendResponseHeaders(200, -1);
+                    exchange.close();
+                });
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+        connectionTestService.destroy();
+    }
+
+    @Test
+    @DisplayName("test when CSV file exists then succeeds")
+    void test__when_csv_file_exists__then_succeeds() throws IOException {
+        final Path file = Files.writeString(tempDir.resolve("a.csv"), "a\n1\n");
+        final ConnectionTestResult result =
+                connectionTestService.test(
+                        DataSourceType.CSV, "{\"path\":\"" + file.toString() + "\"}");
+        assertTrue(result.success(), result.message());
+    }
+
+    @Test
+    @DisplayName("test when JSON file missing then fails with message")
+    void test__when_json_file_missing__then_fails() {
+        final ConnectionTestResult result =
+                connectionTestService.test(
+                        DataSourceType.JSON, "{\"path\":\"" + tempDir.resolve("none.json") + "\"}");
+        assertFalse(result.success());
+        assertTrue(result.message().contains("not found"));
+    }
+
+    @Test
+    @DisplayName("testById when REST token stored encrypted then sends decrypted bearer token")
+    void testById__when_rest_token_encrypted__then_sends_decrypted_token() {
+        final var source =
+                dataSourceService.create(
+                        "api",
+                        DataSourceType.REST,
+                        "{\"url\":\"" + url("/secured") + "\",\"token\":\"t0ken\"}");
+        final ConnectionTestResult result = connectionTestService.testById(source.getId());
+        assertTrue(result.success(), result.message());
+        assertEquals(source.getId(), result.dataSourceId());
+    }
+
+    @Test
+    @DisplayName("test when DATABASE reachable then completes JDBC handshake")
+    void test__when_database_reachable__then_succeeds() {
+        final ConnectionTestResult result =
+                connectionTestService.test(
+                        DataSourceType.DATABASE,
+                        "{\"dbType\":\"h2\",\"database\":\"probe\",\"username\":\"sa\"}");
+        assertTrue(result.success(), result.message());
+    }
+
+    @Test
+    @DisplayName("testAll when endpoints hang then each times out and batch stays bounded")
+    void testAll__when_endpoints_hang__then_batch_bounded_by_timeout() {
+        for (int i = 0; i < 5; i++) {
+            dataSourceService.create(
+                    "slow-" + i, DataSourceType.REST, "{\"url\":\"" + url("/slow") + "\"}");
+        }
+        dataSourceService.create("fine", DataSourceType.REST, "{\"url\":\"" + url("/ok") + "\"}");
+
+        final long start = System.nanoTime();
+        final List<ConnectionTestResult> results = connectionTestService.testAll();
+        final Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        assertEquals(6, results.size());
+        assertEquals(1, results.stream().filter(ConnectionTestResult::success).count());
+        assertTrue(elapsed.compareTo(TIMEOUT.multipliedBy(3)) < 0, "took " + elapsed);
+    }
+
+    private String url(final String path) {
+        return "http://localhost:" + server.getAddress().getPort() + path;
+    }
+}
@@ -1,12 +1,21 @@
 package com.datadrift.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.datadrift.domain.DataSourceType;
 import com.datadrift.repository.DataSourceRepository;
+import com.datadrift.repository.DataSourceSummary;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -23,13 +32,22 @@ class DataSourceServiceTest {
 
     @Autowired private DataSourceRepository dataSourceRepository;
 
+    private final List<Object> publishedEvents = new ArrayList<>();
+
     private DataSourceService dataSourceService;
 
     @BeforeEach
     void setUp() {
-        EncryptionService encryptionService = new EncryptionService(TEST_KEY);
+        EncryptionService encryptionService =
+                new EncryptionService(TEST_KEY, new SimpleMeterRegistry());
         dataSourceService =
-                new DataSourceService(dataSourceRepository, encryptionService, new ObjectMapper());
+                new DataSourceService(
+                        dataSourceRepository,
+                        encryptionService,
+                        new ObjectMapper(),
+                        publishedEvents::add,
+                        new DataSourceCache(Duration.ofMinutes(5), 100),
+                        new SimpleMeterRegistry());
     }
 
     @Test
@@ -58,7 +76,8 @@ class DataSourceServiceTest {
     @Test
     @DisplayName("maskConfigForApi when config has ENC value then masks value")
     void maskConfigForApi__when_config_has_enc_value__then_masks_value() {
-        final String encrypted = new EncryptionService(TEST_KEY).encrypt("secret");
+        final String encrypted =
+                new EncryptionService(TEST_KEY, new SimpleMeterRegistry()).encrypt("secret");
         final String config = "{\"apiKey\":\"" + encrypted + "\"}";
         final String masked = dataSourceService.maskConfigForApi(config);
         assertTrue(masked.contains("\"apiKey\":\"******\""));
@@ -132,4 +151,93 @@ class DataSourceServiceTest {
                         dataSourceService.update(
                                 created.getId(), "other", DataSourceType.JSON, "{}"));
     }
+
+    @Test
+    @DisplayName("update when valid input then publishes data source changed event")
+    void update__when_valid_input__then_publishes_changed_event() {
+        final var created = dataSourceService.create("evented", DataSourceType.CSV, "{}");
+        dataSourceService.update(created.getId(), "evented", DataSourceType.CSV, "{\"a\":1}");
+        dataSourceService.deleteById(created.getId());
+        assertEquals(
+                List.of(
+                        new DataSourceChangedEvent(created.getId(), false),
+                        new DataSourceChangedEvent(created.getId(), true)),
+                publishedEvents);
+    }
+
+    @Test
+    @DisplayName("getById when cached then does not query the repository again")
+    void getById__when_cached__then_does_not_query_the_repository_again() {
+        final var created = dataSourceService.create("cached", DataSourceType.CSV, "{}");
+        final var first = dataSourceService.getById(created.getId());
+        dataSourceRepository.deleteAll();
+        dataSourceRepository.flush();
+
+        assertSame(first, dataSourceService.getById(created.getId()));
+    }
+
+    @Test
+    @DisplayName("update when data source is cached then evicts it")
+    void update__when_data_source_is_cached__then_evicts_it() {
+        final var created = dataSourceService.create("before", DataSourceType.CSV, "{}");
+        dataSourceService.getById(created.getId());
+
+        dataSourceService.update(created.getId(), "after", DataSourceType.CSV, "{}");
+
+        assertEquals("after", dataSourceService.getById(created.getId()).getName());
+        dataSourceService.deleteById(created.getId());
+        assertThrows(
+                DataSourceService.DataSourceNotFoundException.class,
+                () -> dataSourceService.getById(created.getId()));
+    }
+
+    @Test
+    @DisplayName("decryptConfig when cached then every caller gets its own copy")
+    void decryptConfig__when_cached__then_every_caller_gets_its_own_copy() {
+        final var created =
+                dataSourceService.create(
+                        "secretive", DataSourceType.REST, "{\"url\":\"u\",\"token\":\"t0ken\"}");
+        final var dataSource = dataSourceService.getById(created.getId());
+
+        final JsonNode first = dataSourceService.decryptConfig(dataSource);
+        ((ObjectNode) first).put("token", "tampered");
+
+        assertEquals("t0ken", dataSourceService.decryptConfig(dataSource).get("token").asText());
+    }
+
+    @Test
+    @DisplayName("findPage when more rows than limit then pages by name with cursor")
+    void findPage__when_more_rows_than_limit__then_pages_by_name() {
+        for (final String name : List.of("orders-c", "orders-a", "orders-b", "users")) {
+            dataSourceService.create(name, DataSourceType.CSV, "{}");
+        }
+        final DataSourcePage first = dataSourceService.findPage(null, "orders-", null, 2);
+        assertEquals(
+                List.of("orders-a", "orders-b"),
+                first.items().stream().map(DataSourceSummary::name).toList());
+        final DataSourcePage second =
+                dataSourceService.findPage(null, "orders-", first.nextCursor(), 2);
+        assertEquals(
+                List.of("orders-c"), second.items().stream().map(DataSourceSummary::name).toList());
+        assertNull(second.nextCursor());
+    }
+
+    @Test
+    @DisplayName("findPage when type and LIKE wildcard in prefix then filters literally")
+    void findPage__when_type_and_wildcard_prefix__then_filters_literally() {
+        dataSourceService.create("a_1", DataSourceType.CSV, "{}");
+        dataSourceService.create("ab", DataSourceType.CSV, "{}");
+        dataSourceService.create("a_2", DataSourceType.JSON, "{}");
+        final DataSourcePage page =
+                dataSourceService.findPage(DataSourceType.CSV, "a_", null, null);
+        assertEquals(List.of("a_1"), page.items().stream().map(DataSourceSummary::name).toList());
+    }
+
+    @Test
+    @DisplayName("findPage when limit out of range then throws")
+    void findPage__when_limit_out_of_range__then_throws() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> dataSourceService.findPage(null, null, null, 0));
+    }
 }
@@ -0,0 +1,152 @@
+package com.datadrift.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.datadrift.connector.DatabaseConnectionPools;
+import com.datadrift.connector.SourceReadException;
+import com.datadrift.domain.DataSource;
+import com.datadrift.domain.DataSourceType;
+import com.datadrift.repository.DataSourceRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+@ExtendWith(SpringExtension.class)
+@DataJpaTest
+class DatabaseConnectorServiceTest {
+
+    private static final byte[] TEST_KEY = "01234567890123456789012345678901".getBytes();
+    private static final String H2_CONFIG =
+            "{\"dbType\":\"h2\",\"database\":\"connector_test\",\"username\":\"sa\","
+                    + "\"password\":\"s3cret\"}";
+
+    @Autowired private DataSourceRepository dataSourceRepository;
+
+    private DataSourceService dataSourceService;
+    private DatabaseConnectionPools pools;
+    private DatabaseConnectorService connectorService;
+
+    @BeforeEach
+    void setUp() {
+        dataSourceService =
+                new DataSourceService(
+                        dataSourceRepository,
+                        new EncryptionService(TEST_KEY, new SimpleMeterRegistry()),
+                        new ObjectMapper(),
+                        event -> {},
+                        new DataSourceCache(Duration.ofMinutes(5), 100),
+                        new SimpleMeterRegistry());
+        pools = new DatabaseConnectionPools(2, Duration.ofSeconds(5), Duration.ofMinutes(1));
+        connectorService = new DatabaseConnectorService(dataSourceService, pools);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pools.destroy();
+    }
+
+    @Test
+    @DisplayName("withConnection when DATABASE source then queries with decrypted credentials")
+    void withConnection__when_database_source__then_queries_with_decrypted_credentials() {
+        final DataSource source =
+                dataSourceService.create("warehouse", DataSourceType.DATABASE, H2_CONFIG);
+        assertFalse(source.getConfig().contains("s3cret"));
+
+        final int value =
+                connectorService.withConnection(
+                        source.getId(),
+                        connection -> {
+                            try (Statement statement = connection.createStatement();
+                                    ResultSet rs = statement.executeQuery("SELECT 42")) {
+                                rs.next();
+                                return rs.getInt(1);
+                            }
+                        });
+
+        assertEquals(42, value);
+        assertTrue(pools.hasPool(source.getId()));
+    }
+
+    @Test
+    @DisplayName("onDataSourceChanged when pool exists then closes it")
+    void onDataSourceChanged__when_pool_exists__then_closes_it() {
+        final DataSource source =
+                dataSourceService.create("warehouse-2", DataSourceType.DATABASE, H2_CONFIG);
+        connectorService.withConnection(source.getId(), connection -> connection.isValid(1));
+
+        connectorService.onDataSourceChanged(new DataSourceChangedEvent(source.getId(), false));
+
+        assertFalse(pools.hasPool(source.getId()));
+    }
+
+    @Test
+    @DisplayName("withConnection when the data source was updated then replaces the pool")
+    void withConnection__when_updated__then_replaces_the_pool() {
+        final DataSource source =
+                dataSourceService.create("warehouse-4", DataSourceType.DATABASE, H2_CONFIG);
+        final DataSource stale =
+                new DataSource(
+                        source.getId(),
+                        source.getName(),
+                        source.getType(),
+                        source.getConfig(),
+                        source.getCreatedAt(),
+                        source.getUpdatedAt());
+        final Connection[] first = new Connection[1];
+        connectorService.withConnection(source, connection -> unwrap(connection, first));
+        source.setUpdatedAt(source.getUpdatedAt().plusSeconds(1));
+
+        final Connection[] second = new Connection[1];
+        connectorService.withConnection(source, connection -> unwrap(connection, second));
+        final Connection[] third = new Connection[1];
+        connectorService.withConnection(stale, connection -> unwrap(connection, third));
+
+        assertNotSame(first[0], second[0]);
+        assertSame(second[0], third[0]);
+    }
+
+    @Test
+    @DisplayName("withConnection when source is not DATABASE then throws")
+    void withConnection__when_not_database__then_throws() {
+        final DataSource source = dataSourceService.create("csv", DataSourceType.CSV, "{}");
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> connectorService.withConnection(source.getId(), connection -> null));
+    }
+
+    @Test
+    @DisplayName("withConnection when SQL fails then throws SourceReadException")
+    void withConnection__when_sql_fails__then_throws_source_read_exception() {
+        final DataSource source =
+                dataSourceService.create("warehouse-3", DataSourceType.DATABASE, H2_CONFIG);
+        assertThrows(
+                SourceReadException.class,
+                () ->
+                        connectorService.withConnection(
+                                source.getId(),
+                                connection -> connection.createStatement().execute("NOT SQL")));
+    }
+
+    private static boolean unwrap(final Connection connection, final Connection[] physical)
+            throws SQLException {
+        physical[0] = connection.unwrap(Connection.class);
+        return true;
+    }
+}
@@ -0,0 +1,148 @@
+package com.datadrift.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.datadrift.connector.DuckDbConnectionPool;
+import com.datadrift.domain.DataSource;
+import com.datadrift.domain.DataSourceType;
+import com.datadrift.repository.DataSourceRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+@ExtendWith(SpringExtension.class)
+@DataJpaTest
+class DriftServiceTest {
+
+    private static final byte[] TEST_KEY = "01234567890123456789012345678901".getBytes();
+
+    @Autowired private DataSourceRepository dataSourceRepository;
+
+    @TempDir private Path tempDir;
+
+    private DuckDbConnectionPool pool;
+    private DriftService driftService;
+    private Path csv;
+    private DataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException, IOException {
+        final ObjectMapper objectMapper = new ObjectMapper();
+        final DataSourceService dataSourceService =
+                new DataSourceService(
+                        dataSourceRepository,
+                        new EncryptionService(TEST_KEY, new SimpleMeterRegistry()),
+                        objectMapper,
+                        event -> {},
+                        new DataSourceCache(Duration.ofMinutes(5), 100),
+                        new SimpleMeterRegistry());
+        pool = new DuckDbConnectionPool(2, Duration.ofSeconds(5), Duration.ofSeconds(30), "256MB");
+        final SourceSnapshotService snapshots =
+                new SourceSnapshotService(
+                        pool,
+                        new SourceMetrics(new SimpleMeterRegistry()),
+                        tempDir.resolve("snapshots"),
+                        "zstd");
+        driftService =
+                new DriftService(
+                        dataSourceService,
+                        snapshots,
+                        pool,
+                        objectMapper,
+                        tempDir.resolve("drift"),
+                        8,
+                        10);
+        csv = tempDir.resolve("orders.csv");
+        Files.writeString(csv, "id,customer,amount\n1,acme,10\n2,globex,25\n3,initech,5\n");
+        dataSource =
+                dataSourceService.create(
+                        "orders-" + System.nanoTime(),
+                        DataSourceType.CSV,
+                        objectMapper.writeValueAsString(Map.of("path", csv.toString())));
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        pool.destroy();
+    }
+
+    @Test
+    @DisplayName(
+            "detect when first run then records a baseline, and reports nothing while unchanged")
+    void detect__when_first_run__then_baseline_then_no_drift() {
+        final DriftReport first = driftService.detect(dataSource, List.of("id"));
+        final DriftReport second = driftService.detect(dataSource, List.of("id"));
+
+        assertTrue(first.baseline());
+        assertEquals(0, first.total());
+        assertFalse(second.baseline());
+        assertEquals(0, second.total());
+    }
+
+    @Test
+    @DisplayName("detect when rows inserted, deleted and changed then reports each by key")
+    void detect__when_rows_change__then_reports_each_kind_by_key() throws IOException {
+        driftService.detect(dataSource, List.of("id"));
+        rewrite("id,customer,amount\n1,acme,11\n3,initech,5\n4,hooli,7\n5,umbrella,1\n");
+
+        final DriftReport report = driftService.detect(dataSource, List.of("id"));
+
+        assertFalse(report.baseline());
+        assertEquals(2, report.inserted());
+        assertEquals(1, report.deleted());
+        assertEquals(1, report.changed());
+        assertEquals(List.of(List.of("2")), report.deletedKeys());
+        assertEquals(List.of(List.of("1")), report.changedKeys());
+        assertEquals(2, report.insertedKeys().size());
+        assertEquals("+2 -1 ~1", report.summary());
+
+        final DriftReport again = driftService.detect(dataSource, List.of("id"));
+        assertEquals(0, again.total());
+    }
+
+    @Test
+    @DisplayName("detect when key columns differ then keeps separate state per key list")
+    void detect__when_other_key_columns__then_separate_baseline() throws IOException {
+        driftService.detect(dataSource, List.of("id"));
+        rewrite("id,customer,amount\n1,acme,10\n2,globex,25\n3,initech,6\n");
+
+        assertTrue(driftService.detect(dataSource, List.of("customer")).baseline());
+        assertEquals(1, driftService.detect(dataSource, List.of("id")).changed());
+    }
+
+    @Test
+    @DisplayName("detect when key column does not exist then throws IllegalArgumentException")
+    void detect__when_unknown_key_column__then_throws() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> driftService.detect(dataSource, List.of("missing")));
+        assertThrows(
+                IllegalArgumentException.class, () -> driftService.detect(dataSource, List.of()));
+    }
+
+    private void rewrite(final String content) throws IOException {
+        final FileTime previous = Files.getLastModifiedTime(csv);
+        Files.writeString(csv, content);
+        Files.setLastModifiedTime(
+                csv, FileTime.from(previous.toInstant().plus(Duration.ofSeconds(1))));
+    }
+}
@@ -5,6 +5,13 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -17,7 +24,7 @@ class EncryptionServiceTest {
 
     @BeforeEach
     void setUp() {
-        encryptionService = new EncryptionService(KEY_32_BYTES);
+        encryptionService = new EncryptionService(KEY_32_BYTES, new SimpleMeterRegistry());
     }
 
     @Test
@@ -84,4 +91,43 @@ class EncryptionServiceTest {
         assertEquals(null, encryptionService.encrypt(null));
         assertEquals("", encryptionService.encrypt(""));
     }
+
+    @Test
+    @DisplayName("encryptAll when given values then decryptAll round-trips them in order")
+    void encryptAll__when_given_values__then_decryptAll_round_trips_in_order() {
+        final List<String> plain = List.of("a", "bb", "ccc");
+        final List<String> encrypted = encryptionService.encryptAll(plain);
+        assertEquals(3, encrypted.size());
+        assertTrue(encrypted.stream().allMatch(encryptionService::isEncrypted));
+        assertEquals(plain, encryptionService.decryptAll(encrypted));
+    }
+
+    @Test
+    @DisplayName("decrypt when used from many threads then every value round-trips")
+    void decrypt__when_used_from_many_threads__then_every_value_round_trips() throws Exception {
+        final List<String> encrypted = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            encrypted.add(encryptionService.encrypt("value-" + i));
+        }
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            final List<Future<String>> futures = new ArrayList<>();
+            for (final String value : encrypted) {
+                futures.add(executor.submit(() -> encryptionService.decrypt(value)));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                assertEquals("value-" + i, futures.get(i).get());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("decrypt when ciphertext tampered then throws")
+    void decrypt__when_ciphertext_tampered__then_throws() {
+        final String encrypted = encryptionService.encrypt("secret");
+        final byte[] raw =
+                Base64.getDecoder().decode(encrypted.substring(4, encrypted.length() - 1));
+        raw[raw.length - 1] ^= 1;
+        final String tampered = "ENC(" + Base64.getEncoder().encodeToString(raw) + ")";
+        assertThrows(IllegalStateException.class, () -> encryptionService.decrypt(tampered));
+    }
 }
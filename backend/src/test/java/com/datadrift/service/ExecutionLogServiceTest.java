@@ -0,0 +1,199 @@
+package com.datadrift.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.datadrift.domain.ExecutionRecord;
+import com.datadrift.domain.ExecutionStatus;
+import com.datadrift.domain.ExecutionTrigger;
+import com.datadrift.execution.ExecutionJournal;
+import com.datadrift.execution.ExecutionLogWriter;
+import com.datadrift.repository.ExecutionLogRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.util.unit.DataSize;
+
+@ExtendWith(SpringExtension.class)
+@DataJpaTest
+class ExecutionLogServiceTest {
+
+    private static final Instant BASE = Instant.parse("2024-05-01T12:00:00Z");
+
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    @TempDir private Path tempDir;
+
+    private ExecutionLogRepository repository;
+    private ExecutionLogService executionLogService;
+    private ExecutionJournal journal;
+
+    @BeforeEach
+    void setUp() {
+        repository = new ExecutionLogRepository(jdbcTemplate);
+        executionLogService = new ExecutionLogService(repository);
+        journal =
+                new ExecutionJournal(
+                        Clock.systemUTC(),
+                        new SimpleMeterRegistry(),
+                        tempDir.resolve("executions.journal"),
+                        DataSize.ofKilobytes(64));
+        journal.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        journal.stop();
+    }
+
+    @Test
+    @DisplayName("append when writer running then records are flushed in batches on stop")
+    void append__when_writer_running__then_flushed_on_stop() {
+        final UUID ruleId = UUID.randomUUID();
+        final ExecutionLogWriter writer =
+                new ExecutionLogWriter(
+                        repository,
+                        journal,
+                        1000,
+                        50,
+                        Duration.ofMillis(200),
+                        Duration.ofSeconds(1));
+        writer.start();
+        for (int i = 0; i < 120; i++) {
+            writer.append(record(ruleId, ExecutionStatus.SUCCESS, BASE.plusSeconds(i)));
+        }
+        writer.stop();
+
+        assertEquals(0, writer.pendingCount());
+        final ExecutionPage page = executionLogService.find(ruleId, null, null, null, null, 500);
+        assertEquals(120, page.items().size());
+        assertEquals(BASE.plusSeconds(119), page.items().get(0).startedAt());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    @DisplayName("append when the first insert fails then the batch is retried and arrives")
+    void append__when_first_insert_fails__then_batch_is_retried() {
+        final UUID ruleId = UUID.randomUUID();
+        final AtomicInteger attempts = new AtomicInteger();
+        final ExecutionLogRepository flaky =
+                new ExecutionLogRepository(jdbcTemplate) {
+                    @Override
+                    public void insertAll(final List<ExecutionRecord> records) {
+                        if (attempts.incrementAndGet() == 1) {
+                            throw new CannotGetJdbcConnectionException("database unavailable");
+                        }
+                        super.insertAll(records);
+                    }
+                };
+        final ExecutionLogWriter writer =
+                new ExecutionLogWriter(
+                        flaky, journal, 1000, 50, Duration.ofMillis(50), Duration.ofSeconds(1));
+        writer.start();
+        try {
+            for (int i = 0; i < 3; i++) {
+                writer.append(record(ruleId, ExecutionStatus.SUCCESS, BASE.plusSeconds(i)));
+            }
+            final long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+            while (writer.pendingCount() > 0 || attempts.get() < 2) {
+                assertTrue(System.nanoTime() < deadline, "records were not retried");
+                Thread.onSpinWait();
+            }
+        } finally {
+            writer.stop();
+        }
+
+        assertTrue(attempts.get() >= 2);
+        assertEquals(
+                3, executionLogService.find(ruleId, null, null, null, null, 10).items().size());
+    }
+
+    @Test
+    @DisplayName("find when more rows than limit then pages newest first via cursor")
+    void find__when_more_rows_than_limit__then_pages_via_cursor() {
+        final UUID ruleId = UUID.randomUUID();
+        final List<ExecutionRecord> records = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            // Two records per timestamp exercise the id tie-breaker.
+            records.add(record(ruleId, ExecutionStatus.SUCCESS, BASE.plusSeconds(i / 2)));
+        }
+        repository.insertAll(records);
+
+        final List<UUID> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            final ExecutionPage page =
+                    executionLogService.find(ruleId, null, null, null, cursor, 2);
+            page.items().forEach(item -> seen.add(item.id()));
+            cursor = page.nextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(3, pages);
+        assertEquals(5, seen.size());
+        assertEquals(5, seen.stream().distinct().count());
+    }
+
+    @Test
+    @DisplayName("find when status and time range given then filters")
+    void find__when_status_and_range_given__then_filters() {
+        final UUID ruleId = UUID.randomUUID();
+        repository.insertAll(
+                List.of(
+                        record(ruleId, ExecutionStatus.SUCCESS, BASE),
+                        record(ruleId, ExecutionStatus.FAILED, BASE.plusSeconds(10)),
+                        record(ruleId, ExecutionStatus.FAILED, BASE.plusSeconds(3600))));
+
+        final ExecutionPage page =
+                executionLogService.find(
+                        ruleId, ExecutionStatus.FAILED, BASE, BASE.plusSeconds(60), null, null);
+
+        assertEquals(1, page.items().size());
+        assertEquals(BASE.plusSeconds(10), page.items().get(0).startedAt());
+        assertNotNull(page.items().get(0).message());
+    }
+
+    @Test
+    @DisplayName("find when cursor malformed then throws")
+    void find__when_cursor_malformed__then_throws() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> executionLogService.find(null, null, null, null, "not-a-cursor", 10));
+    }
+
+    private static ExecutionRecord record(
+            final UUID ruleId, final ExecutionStatus status, final Instant startedAt) {
+        return new ExecutionRecord(
+                UUID.randomUUID(),
+                ruleId,
+                "rule",
+                null,
+                ExecutionTrigger.SCHEDULE,
+                status,
+                startedAt,
+                startedAt.plusMillis(5),
+                3,
+                status == ExecutionStatus.FAILED ? "boom" : null);
+    }
+}
@@ -0,0 +1,79 @@
+package com.datadrift.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.datadrift.domain.Condition;
+import com.datadrift.execution.ConditionCompiler;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class PushdownPlannerTest {
+
+    private static final Map<String, String> COLUMNS =
+            Map.of(
+                    "id", "BIGINT",
+                    "customer", "VARCHAR",
+                    "amount", "DOUBLE",
+                    "tags", "VARCHAR[]");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("plan when every comparison is on a scalar column then pushes all with parameters")
+    void plan__when_all_scalar__then_fully_pushed() throws IOException {
+        final PushdownPlan plan =
+                plan(
+                        "{\"op\":\"AND\",\"conditions\":["
+                                + "{\"field\":\"customer\",\"op\":\"IN\",\"values\":[\"a\",\"b\"]},"
+                                + "{\"field\":\"amount\",\"op\":\"GTE\",\"value\":10},"
+                                + "{\"field\":\"id\",\"op\":\"IS_NOT_NULL\"}]}");
+
+        assertTrue(plan.fullyPushed());
+        assertEquals(
+                "(\"id\" IS NOT NULL AND TRY_CAST(\"amount\" AS DOUBLE) >= ?"
+                        + " AND CAST(\"customer\" AS VARCHAR) IN (?, ?))",
+                plan.where());
+        assertEquals(List.of(10.0, "a", "b"), plan.parameters());
+    }
+
+    @Test
+    @DisplayName("plan when AND has unpushable children then pushes the rest and keeps a residual")
+    void plan__when_and_with_unpushable__then_splits() throws IOException {
+        final PushdownPlan plan =
+                plan(
+                        "{\"op\":\"AND\",\"conditions\":["
+                                + "{\"field\":\"amount\",\"op\":\"LT\",\"value\":5},"
+                                + "{\"field\":\"tags\",\"op\":\"CONTAINS\",\"value\":\"x\"},"
+                                + "{\"field\":\"computed\",\"op\":\"EQUALS\",\"value\":\"y\"}]}");
+
+        assertEquals("(TRY_CAST(\"amount\" AS DOUBLE) < ?)", plan.where());
+        assertEquals(List.of(5.0), plan.parameters());
+        assertEquals(
+                "(\"computed\" = 'y' AND \"tags\" CONTAINS 'x')",
+                PushdownPlanner.describe(plan.residual()));
+    }
+
+    @Test
+    @DisplayName("plan when OR has an unpushable branch then evaluates the whole OR in the JVM")
+    void plan__when_or_with_unpushable__then_residual_or() throws IOException {
+        final PushdownPlan plan =
+                plan(
+                        "{\"op\":\"OR\",\"conditions\":["
+                                + "{\"field\":\"amount\",\"op\":\"GT\",\"value\":1},"
+                                + "{\"field\":\"tags\",\"op\":\"IS_NULL\"}]}");
+
+        assertNull(plan.where());
+        assertTrue(plan.parameters().isEmpty());
+        assertTrue(plan.residual() instanceof Condition.Group);
+    }
+
+    private PushdownPlan plan(final String json) throws IOException {
+        return PushdownPlanner.plan(ConditionCompiler.parse(objectMapper.readTree(json)), COLUMNS);
+    }
+}
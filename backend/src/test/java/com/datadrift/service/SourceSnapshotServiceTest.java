@@ -0,0 +1,133 @@
+package com.datadrift.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.datadrift.connector.DuckDbConnectionPool;
+import com.datadrift.domain.DataSource;
+import com.datadrift.domain.DataSourceType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SourceSnapshotServiceTest {
+
+    @TempDir private Path tempDir;
+
+    private DuckDbConnectionPool pool;
+    private Path snapshotDir;
+    private Path csv;
+    private DataSource dataSource;
+    private JsonNode config;
+
+    @BeforeEach
+    void setUp() throws SQLException, IOException {
+        pool = new DuckDbConnectionPool(2, Duration.ofSeconds(5), Duration.ofSeconds(30), "256MB");
+        snapshotDir = tempDir.resolve("snapshots");
+        csv = tempDir.resolve("orders.csv");
+        Files.writeString(csv, "id,customer\n1,acme\n2,globex\n");
+        final Instant now = Instant.now();
+        final String json = "{\"path\":\"" + csv.toString().replace("\\", "\\\\") + "\"}";
+        dataSource =
+                new DataSource(UUID.randomUUID(), "orders", DataSourceType.CSV, json, now, now);
+        config = new ObjectMapper().readTree(json);
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        pool.destroy();
+    }
+
+    @Test
+    @DisplayName("ensureCurrent when source unchanged then reuses the Parquet snapshot")
+    void ensureCurrent__when_source_unchanged__then_reuses_snapshot()
+            throws IOException, SQLException {
+        final SourceSnapshotService snapshots = service();
+
+        final SourceSnapshotService.Snapshot first = snapshots.ensureCurrent(dataSource, config);
+        final FileTime built = Files.getLastModifiedTime(first.file());
+        final SourceSnapshotService.Snapshot second = snapshots.ensureCurrent(dataSource, config);
+
+        assertEquals(first, second);
+        assertEquals(built, Files.getLastModifiedTime(second.file()));
+        assertEquals(2, countRows(first.file()));
+    }
+
+    @Test
+    @DisplayName(
+            "ensureCurrent when source file changes then rebuilds and deletes the old snapshot")
+    void ensureCurrent__when_file_changes__then_rebuilds_and_deletes_old()
+            throws IOException, SQLException {
+        final SourceSnapshotService snapshots = service();
+        final SourceSnapshotService.Snapshot first = snapshots.ensureCurrent(dataSource, config);
+
+        Files.writeString(csv, "id,customer\n1,acme\n2,globex\n3,initech\n");
+        final SourceSnapshotService.Snapshot second = snapshots.ensureCurrent(dataSource, config);
+
+        assertNotEquals(first.file(), second.file());
+        assertFalse(Files.exists(first.file()));
+        assertEquals(3, countRows(second.file()));
+    }
+
+    @Test
+    @DisplayName("ensureCurrent when restarted then reuses the snapshot on disk")
+    void ensureCurrent__when_restarted__then_reuses_snapshot_on_disk() throws IOException {
+        final SourceSnapshotService.Snapshot first = service().ensureCurrent(dataSource, config);
+        final FileTime built = Files.getLastModifiedTime(first.file());
+
+        final SourceSnapshotService.Snapshot second = service().ensureCurrent(dataSource, config);
+
+        assertEquals(first.file(), second.file());
+        assertEquals(built, Files.getLastModifiedTime(second.file()));
+    }
+
+    @Test
+    @DisplayName("onDataSourceChanged when deleted then removes its snapshots")
+    void onDataSourceChanged__when_deleted__then_removes_snapshots() throws IOException {
+        final SourceSnapshotService snapshots = service();
+        final SourceSnapshotService.Snapshot snapshot = snapshots.ensureCurrent(dataSource, config);
+        assertTrue(Files.exists(snapshot.file()));
+
+        snapshots.onDataSourceChanged(new DataSourceChangedEvent(dataSource.getId(), true));
+
+        assertFalse(Files.exists(snapshot.file()));
+    }
+
+    private SourceSnapshotService service() throws IOException {
+        return new SourceSnapshotService(
+                pool, new SourceMetrics(new SimpleMeterRegistry()), snapshotDir, "zstd");
+    }
+
+    private long countRows(final Path parquet) throws SQLException {
+        return pool.withConnection(
+                connection -> {
+                    try (Statement statement = connection.createStatement();
+                            ResultSet resultSet =
+                                    statement.executeQuery(
+                                            "SELECT COUNT(*) FROM read_parquet("
+                                                    + ViewQueryService.quoteLiteral(
+                                                            parquet.toString())
+                                                    + ")")) {
+                        resultSet.next();
+                        return resultSet.getLong(1);
+                    }
+                });
+    }
+}
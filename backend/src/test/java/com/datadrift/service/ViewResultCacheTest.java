@@ -0,0 +1,87 @@
+package com.datadrift.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import com.datadrift.domain.ViewDefinition;
+import com.datadrift.domain.ViewMode;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+class ViewResultCacheTest {
+
+    private static final ViewResult RESULT =
+            new ViewResult(List.of("a"), List.of(List.of("x"), List.of(1)), false);
+
+    @Test
+    @DisplayName("get when entry cached then returns it and counts hit")
+    void get__when_entry_cached__then_returns_it_and_counts_hit() {
+        final ViewResultCache cache = new ViewResultCache(DataSize.ofKilobytes(64));
+        final ViewResultCache.Key key = key(UUID.randomUUID(), "v1");
+
+        assertNull(cache.get(key));
+        cache.put(key, RESULT);
+
+        assertSame(RESULT, cache.get(key));
+        assertEquals(1, cache.stats().hits());
+        assertEquals(1, cache.stats().misses());
+    }
+
+    @Test
+    @DisplayName("get when source version differs then misses")
+    void get__when_source_version_differs__then_misses() {
+        final ViewResultCache cache = new ViewResultCache(DataSize.ofKilobytes(64));
+        final UUID id = UUID.randomUUID();
+        cache.put(key(id, "v1"), RESULT);
+
+        assertNull(cache.get(key(id, "v2")));
+    }
+
+    @Test
+    @DisplayName("put when byte budget exceeded then evicts least recently used")
+    void put__when_budget_exceeded__then_evicts_least_recently_used() {
+        final long entryBytes = ViewResultCache.estimateBytes(RESULT);
+        final ViewResultCache cache = new ViewResultCache(DataSize.ofBytes(entryBytes * 2));
+        final ViewResultCache.Key first = key(UUID.randomUUID(), "v1");
+        final ViewResultCache.Key second = key(UUID.randomUUID(), "v1");
+        final ViewResultCache.Key third = key(UUID.randomUUID(), "v1");
+
+        cache.put(first, RESULT);
+        cache.put(second, RESULT);
+        cache.get(first);
+        cache.put(third, RESULT);
+
+        assertSame(RESULT, cache.get(first));
+        assertNull(cache.get(second));
+        assertEquals(1, cache.stats().evictions());
+        assertEquals(entryBytes * 2, cache.stats().bytes());
+    }
+
+    @Test
+    @DisplayName("onDataSourceChanged when entries exist then drops only that source")
+    void onDataSourceChanged__when_entries_exist__then_drops_only_that_source() {
+        final ViewResultCache cache = new ViewResultCache(DataSize.ofKilobytes(64));
+        final UUID changed = UUID.randomUUID();
+        final UUID other = UUID.randomUUID();
+        cache.put(key(changed, "v1"), RESULT);
+        cache.put(key(other, "v1"), RESULT);
+
+        cache.onDataSourceChanged(new DataSourceChangedEvent(changed, false));
+
+        assertNull(cache.get(key(changed, "v1")));
+        assertSame(RESULT, cache.get(key(other, "v1")));
+        assertEquals(1, cache.stats().entries());
+    }
+
+    private static ViewResultCache.Key key(final UUID dataSourceId, final String version) {
+        return new ViewResultCache.Key(
+                new ViewDefinition(dataSourceId, ViewMode.BASIC, List.of(), null),
+                null,
+                100,
+                version);
+    }
+}
@@ -4,13 +4,19 @@
  * These functions currently return mock data so that the dashboard UI can be
  * implemented and exercised before backend endpoints exist. Replace the
  * implementations with real `/api` calls once the backend contract is ready.
+ * `fetchVisualisationData` and `fetchDashboardTiles` already call the backend.
  */
 
 import type {
+  AggregationRequest,
+  AggregationResult,
+  DashboardTileRequest,
+  DashboardTileResult,
   DashboardVisualisation,
   ExecutionLogEntry,
   ReportSummary,
 } from "@/types/dashboard";
+import { apiFetch } from "@/lib/httpClient";
 
 export async function fetchDashboardVisualisations(): Promise<DashboardVisualisation[]> {
   // TODO: Wire to real backend endpoint, e.g. GET /api/dashboard/visualisations
@@ -70,3 +76,68 @@ export async function fetchExecutionLogs(): Promise<ExecutionLogEntry[]> {
   return Promise.resolve(mock);
 }
 
+/**
+ * Aggregated data for one visualisation. Grouping and time bucketing run on
+ * the server, so only one row per group (or per pixel) is transferred.
+ */
+export async function fetchVisualisationData(
+  request: AggregationRequest
+): Promise<AggregationResult> {
+  const res = await apiFetch("/api/views/aggregate", {
+    method: "POST",
+    headers: { "Content-Type": "application/json" },
+    authProtected: true,
+    body: JSON.stringify(request),
+  });
+  const text = await res.text();
+  if (!res.ok) {
+    throw new Error(errorMessage(res.status, text));
+  }
+  return JSON.parse(text) as AggregationResult;
+}
+
+/**
+ * Evaluates every tile of a dashboard in one request. Results arrive as NDJSON
+ * in completion order and `onTile` is called for each as soon as its line is
+ * read, so fast tiles render before slow ones.
+ */
+export async function fetchDashboardTiles(
+  tiles: DashboardTileRequest[],
+  onTile: (result: DashboardTileResult) => void
+): Promise<void> {
+  const res = await apiFetch("/api/dashboard/tiles", {
+    method: "POST",
+    headers: { "Content-Type": "application/json" },
+    authProtected: true,
+    body: JSON.stringify({ tiles }),
+  });
+  if (!res.ok || !res.body) {
+    throw new Error(errorMessage(res.status, await res.text()));
+  }
+  const reader = res.body.pipeThrough(new TextDecoderStream()).getReader();
+  let buffered = "";
+  for (;;) {
+    const { done, value } = await reader.read();
+    if (value) buffered += value;
+    let newline = buffered.indexOf("\n");
+    while (newline >= 0) {
+      const line = buffered.slice(0, newline).trim();
+      buffered = buffered.slice(newline + 1);
+      if (line) onTile(JSON.parse(line) as DashboardTileResult);
+      newline = buffered.indexOf("\n");
+    }
+    if (done) break;
+  }
+  if (buffered.trim()) onTile(JSON.parse(buffered) as DashboardTileResult);
+}
+
+function errorMessage(status: number, text: string): string {
+  let message = `Request failed: ${status}`;
+  try {
+    const body = text ? (JSON.parse(text) as { error?: string }) : null;
+    if (body?.error) message = body.error;
+  } catch {
+    if (text) message = text;
+  }
+  return message;
+}
@@ -1,11 +1,14 @@
 /**
  * Data sources API client.
- * GET/POST /api/data-sources, PUT/DELETE /api/data-sources/{id}, POST /api/data-sources/test.
+ * GET/POST /api/data-sources, PUT/DELETE /api/data-sources/{id}, POST /api/data-sources/test,
+ * POST /api/data-sources/test-all.
  */
 
 import type {
   CreateDataSourceRequest,
   DataSource,
+  DataSourceSummary,
+  DataSourceTestResult,
   TestConnectionRequest,
   TestConnectionResponse,
 } from "../types/dataSources";
@@ -29,12 +32,23 @@ async function handleResponse<T>(res: Response): Promise<T> {
   return (text ? JSON.parse(text) : undefined) as T;
 }
 
-export async function fetchDataSources(): Promise<DataSource[]> {
-  const res = await apiFetch(BASE, {
-    method: "GET",
-    authProtected: true,
-  });
-  return handleResponse<DataSource[]>(res);
+const PAGE_SIZE = 500;
+
+/** All data sources ordered by name, following the API's X-Next-Cursor header page by page. */
+export async function fetchDataSources(): Promise<DataSourceSummary[]> {
+  const all: DataSourceSummary[] = [];
+  let cursor: string | null = null;
+  do {
+    const query = new URLSearchParams({ limit: String(PAGE_SIZE) });
+    if (cursor) query.set("cursor", cursor);
+    const res = await apiFetch(`${BASE}?${query}`, {
+      method: "GET",
+      authProtected: true,
+    });
+    all.push(...(await handleResponse<DataSourceSummary[]>(res)));
+    cursor = res.headers.get("X-Next-Cursor");
+  } while (cursor);
+  return all;
 }
 
 export async function fetchDataSourceById(id: string): Promise<DataSource> {
@@ -108,3 +122,11 @@ export async function testConnectionById(id: string): Promise<TestConnectionResp
   });
   return handleResponse<TestConnectionResponse>(res);
 }
+
+export async function testAllConnections(): Promise<DataSourceTestResult[]> {
+  const res = await apiFetch(`${BASE}/test-all`, {
+    method: "POST",
+    authProtected: true,
+  });
+  return handleResponse<DataSourceTestResult[]>(res);
+}
@@ -0,0 +1,66 @@
+/**
+ * Live events client: GET /api/events (Server-Sent Events).
+ * Replaces polling for execution status and data source test results.
+ */
+
+import type { ExecutionLogEntry } from "../types/dashboard";
+import type { DataSourceTestResult } from "../types/dataSources";
+
+export interface ExecutionStartedEvent {
+  ruleId: string;
+  trigger: string;
+  startedAt: string;
+}
+
+/**
+ * Execution log entry as sent by the backend when a run finishes.
+ */
+export interface ExecutionFinishedEvent {
+  id: string;
+  ruleId: string;
+  ruleName: string | null;
+  status: "SUCCESS" | "FAILED";
+  startedAt: string;
+  finishedAt: string;
+  durationMs: number;
+  rowsScanned: number;
+  message: string | null;
+}
+
+export interface LiveEventHandlers {
+  onExecutionStarted?: (event: ExecutionStartedEvent) => void;
+  onExecutionFinished?: (event: ExecutionFinishedEvent) => void;
+  onConnectionTested?: (result: DataSourceTestResult) => void;
+}
+
+/**
+ * Opens the live event stream; the browser reconnects on its own after a
+ * network error. Returns a function that closes the stream.
+ */
+export function subscribeToLiveEvents(handlers: LiveEventHandlers): () => void {
+  const source = new EventSource("/api/events");
+  const listen = <T>(name: string, handler?: (payload: T) => void) => {
+    if (!handler) return;
+    source.addEventListener(name, (event) => {
+      handler(JSON.parse((event as MessageEvent<string>).data) as T);
+    });
+  };
+  listen("execution-started", handlers.onExecutionStarted);
+  listen("execution-finished", handlers.onExecutionFinished);
+  listen("connection-tested", handlers.onConnectionTested);
+  return () => source.close();
+}
+
+/**
+ * Maps a finished execution to the dashboard's execution log row.
+ */
+export function toExecutionLogEntry(event: ExecutionFinishedEvent): ExecutionLogEntry {
+  return {
+    id: event.id,
+    executedAt: event.startedAt,
+    automationName: event.ruleName ?? event.ruleId,
+    status: event.status === "SUCCESS" ? "success" : "failed",
+    errorSummary: event.status === "FAILED" ? event.message : null,
+    errorDetails: null,
+  };
+}
@@ -1,5 +1,5 @@
 import { Link } from "react-router-dom";
-import type { DataSource } from "../../types/dataSources";
+import type { DataSourceSummary } from "../../types/dataSources";
 import {
   Table,
   TableBody,
@@ -12,7 +12,7 @@ import { Button } from "@/components/ui/button";
 import { StatusBadge } from "@/components/common/StatusBadge";
 
 interface DataSourceTableProps {
-  dataSources: DataSource[];
+  dataSources: DataSourceSummary[];
   onTestConnection: (id: string) => void;
   onDelete: (id: string) => void;
   isTestingId: string | null;
@@ -63,3 +63,65 @@ export interface ExecutionLogEntry {
   errorDetails?: string | null;
 }
 
+
+export type AggregationFunction = "COUNT" | "COUNT_DISTINCT" | "SUM" | "AVG" | "MIN" | "MAX";
+
+export interface AggregationMeasure {
+  function: AggregationFunction;
+  /**
+   * Column to aggregate; may be omitted for COUNT (all rows).
+   */
+  field?: string;
+  /**
+   * Output column name; defaults to e.g. `sum_amount`.
+   */
+  as?: string;
+}
+
+/**
+ * Server-side aggregation of a data view for one visualisation
+ * (POST /api/views/aggregate).
+ */
+export interface AggregationRequest {
+  dataSourceId: string;
+  mode: "BASIC" | "ADVANCED";
+  fields?: string[];
+  sql?: string;
+  conditions?: unknown;
+  groupBy?: string[];
+  measures: AggregationMeasure[];
+  /**
+   * Buckets a time column into at most `points` buckets; pass the chart's
+   * width in pixels so the series never has more points than it can draw.
+   */
+  timeBucket?: { field: string; points?: number };
+  limit?: number;
+}
+
+/**
+ * Column-major result: `data[i]` holds every value of `columns[i]`. With a
+ * time bucket the first column is `bucket`, in epoch milliseconds.
+ */
+export interface AggregationResult {
+  columns: string[];
+  data: unknown[][];
+  rows: number;
+  truncated: boolean;
+}
+
+/**
+ * One tile of a batched dashboard request (POST /api/dashboard/tiles).
+ */
+export interface DashboardTileRequest {
+  id: string;
+  query: AggregationRequest;
+}
+
+/**
+ * One streamed tile result: the aggregated data, or `error` alone when the
+ * tile could not be computed.
+ */
+export interface DashboardTileResult extends Partial<AggregationResult> {
+  id: string;
+  error?: string;
+}
@@ -15,6 +15,9 @@ export interface DataSource {
   updatedAt: string;
 }
 
+/** List-view shape from GET /api/data-sources; config is only returned by GET /{id}. */
+export type DataSourceSummary = Omit<DataSource, "config">;
+
 export interface CreateDataSourceRequest {
   name: string;
   type: DataSourceType;
@@ -62,4 +65,11 @@ export type TestConnectionRequest = CreateDataSourceRequest;
 export interface TestConnectionResponse {
   success: boolean;
   message?: string;
+  latencyMs?: number;
+}
+
+/** One entry of POST /api/data-sources/test-all. */
+export interface DataSourceTestResult extends TestConnectionResponse {
+  id: string;
+  name: string;
 }